@@ -0,0 +1,91 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.quatrevieux.araknemu.game.fight.ai.AiBaseCase;
+import fr.quatrevieux.araknemu.game.fight.ai.factory.type.Aggressive;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.CastSimulation;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.spell.Spell;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI turn generation : full action generation, and simulation of a single spell
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiBenchmark {
+    @State(Scope.Thread)
+    public static class AiState extends AiBaseCase {
+        public Simulator simulator;
+        public Spell spell;
+        public BattlefieldCell target;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+
+            simulator = container.get(Simulator.class);
+            actionFactory = new Aggressive(simulator);
+            dataSet.pushFunctionalSpells();
+
+            configureFight(b -> b
+                .addSelf(fb -> fb.cell(342))
+                .addEnemy(fb -> fb.cell(327))
+                .addEnemy(fb -> fb.cell(186))
+            );
+
+            spell = fighter.spells().get(3);
+            target = getEnemy(0).cell();
+        }
+
+        public CastSimulation simulate() {
+            return simulator.simulate(spell, ai, fighter, target);
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            fight.cancel(true);
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Object generateAction(AiState state) {
+        return state.generateAction();
+    }
+
+    @Benchmark
+    public CastSimulation simulateSpell(AiState state) {
+        return state.simulate();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.quatrevieux.araknemu.core.event.DefaultListenerAggregate;
+import fr.quatrevieux.araknemu.core.event.Listener;
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event dispatching on {@link DefaultListenerAggregate}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventDispatchBenchmark {
+    @State(Scope.Thread)
+    public static class DispatcherState {
+        public DefaultListenerAggregate dispatcher;
+        public Blackhole blackhole;
+
+        @Setup(Level.Trial)
+        public void init(Blackhole blackhole) {
+            this.blackhole = blackhole;
+
+            dispatcher = new DefaultListenerAggregate(LogManager.getLogger());
+            dispatcher.add(new FirstListener(this));
+            dispatcher.add(new SecondListener(this));
+            dispatcher.add(new ThirdListener(this));
+            dispatcher.add(new OtherListener(this));
+        }
+    }
+
+    /**
+     * Event with three listeners
+     */
+    public static final class HandledEvent {}
+
+    /**
+     * Event with a single listener
+     */
+    public static final class OtherEvent {}
+
+    /**
+     * Event without any listener
+     */
+    public static final class UnhandledEvent {}
+
+    @Benchmark
+    public void dispatchHandled(DispatcherState state) {
+        state.dispatcher.dispatch(new HandledEvent());
+    }
+
+    @Benchmark
+    public void dispatchSingleListener(DispatcherState state) {
+        state.dispatcher.dispatch(new OtherEvent());
+    }
+
+    @Benchmark
+    public void dispatchUnhandled(DispatcherState state) {
+        state.dispatcher.dispatch(new UnhandledEvent());
+    }
+
+    public static abstract class ConsumingListener<E> implements Listener<E> {
+        private final DispatcherState state;
+
+        public ConsumingListener(DispatcherState state) {
+            this.state = state;
+        }
+
+        @Override
+        public void on(E event) {
+            state.blackhole.consume(event);
+        }
+    }
+
+    public static final class FirstListener extends ConsumingListener<HandledEvent> {
+        public FirstListener(DispatcherState state) {
+            super(state);
+        }
+
+        @Override
+        public Class<HandledEvent> event() {
+            return HandledEvent.class;
+        }
+    }
+
+    public static final class SecondListener extends ConsumingListener<HandledEvent> {
+        public SecondListener(DispatcherState state) {
+            super(state);
+        }
+
+        @Override
+        public Class<HandledEvent> event() {
+            return HandledEvent.class;
+        }
+    }
+
+    public static final class ThirdListener extends ConsumingListener<HandledEvent> {
+        public ThirdListener(DispatcherState state) {
+            super(state);
+        }
+
+        @Override
+        public Class<HandledEvent> event() {
+            return HandledEvent.class;
+        }
+    }
+
+    public static final class OtherListener extends ConsumingListener<OtherEvent> {
+        public OtherListener(DispatcherState state) {
+            super(state);
+        }
+
+        @Override
+        public Class<OtherEvent> event() {
+            return OtherEvent.class;
+        }
+    }
+}
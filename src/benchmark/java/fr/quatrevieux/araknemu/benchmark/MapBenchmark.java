@@ -0,0 +1,91 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.arakne.utils.maps.serializer.CellData;
+import fr.arakne.utils.maps.serializer.DefaultMapDataSerializer;
+import fr.quatrevieux.araknemu.core.dbal.executor.ConnectionPoolExecutor;
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import fr.quatrevieux.araknemu.data.world.repository.environment.MapTemplateRepository;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.fight.map.FightMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.ResultSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of map data, and creation of fight maps
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapBenchmark {
+    @State(Scope.Benchmark)
+    public static class MapState extends GameBaseCase {
+        public String mapData;
+        public MapTemplate template;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+            dataSet.pushMaps();
+
+            mapData = new ConnectionPoolExecutor(app.database().get("game")).prepare(
+                "SELECT mapData FROM maps WHERE id = ?",
+                stmt -> {
+                    stmt.setInt(1, 10340);
+
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        rs.next();
+
+                        return rs.getString(1);
+                    }
+                }
+            );
+
+            template = container.get(MapTemplateRepository.class).get(10340);
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public CellData[] decode(MapState state) {
+        // Cache is not enabled : the data is fully parsed on each call
+        return new DefaultMapDataSerializer().deserialize(state.mapData);
+    }
+
+    @Benchmark
+    public FightMap fightMap(MapState state) {
+        return new FightMap(state.template);
+    }
+}
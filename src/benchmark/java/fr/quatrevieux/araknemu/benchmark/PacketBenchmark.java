@@ -0,0 +1,106 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.quatrevieux.araknemu.core.network.parser.PacketParser;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.fight.Fight;
+import fr.quatrevieux.araknemu.game.fight.FightBaseCase;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
+import fr.quatrevieux.araknemu.game.world.creature.Sprite;
+import fr.quatrevieux.araknemu.network.game.out.fight.turn.TurnMiddle;
+import fr.quatrevieux.araknemu.network.game.out.game.AddSprites;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Parsing of incoming packets, and serialization of the most frequent outgoing fight packets
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PacketBenchmark {
+    @State(Scope.Benchmark)
+    public static class ParserState extends GameBaseCase {
+        @Param({"GA001bcdfgh", "GA300103;250", "BM*|Hello world !|", "BD", "GKK0"})
+        public String packet;
+
+        public PacketParser parser;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+
+            parser = container.get(PacketParser.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class FightState extends FightBaseCase {
+        public Fight fight;
+        public List<Sprite> sprites;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+
+            fight = createFight();
+            sprites = fight.fighters().stream().map(Fighter::sprite).collect(Collectors.toList());
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Object parse(ParserState state) {
+        return state.parser.parse(state.packet);
+    }
+
+    @Benchmark
+    public String addSprites(FightState state) {
+        return new AddSprites(state.sprites).toString();
+    }
+
+    @Benchmark
+    public String turnMiddle(FightState state) {
+        return new TurnMiddle(state.fight.fighters()).toString();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.quatrevieux.araknemu.data.constant.Effect;
+import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.entity.player.PlayerItem;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
+import fr.quatrevieux.araknemu.data.value.ItemTemplateEffectEntry;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading of player data using SQL repositories on SQLite database
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RepositoryBenchmark {
+    @State(Scope.Benchmark)
+    public static class DatabaseState extends GameBaseCase {
+        public PlayerRepository playerRepository;
+        public PlayerItemRepository itemRepository;
+        public Player player;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+
+            playerRepository = container.get(PlayerRepository.class);
+            itemRepository = container.get(PlayerItemRepository.class);
+
+            final int playerId = gamePlayer(true).id();
+            final List<PlayerItem> items = new ArrayList<>();
+
+            for (int i = 1; i <= 50; ++i) {
+                items.add(new PlayerItem(
+                    playerId,
+                    i,
+                    2411,
+                    Arrays.asList(
+                        new ItemTemplateEffectEntry(Effect.ADD_STRENGTH, i, 0, 0, "0d0+" + i),
+                        new ItemTemplateEffectEntry(Effect.ADD_INTELLIGENCE, i, 0, 0, "0d0+" + i)
+                    ),
+                    1,
+                    -1
+                ));
+            }
+
+            itemRepository.addAll(items);
+            player = Player.forGame(playerId, session.account().id(), session.account().serverId());
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public Player loadPlayer(DatabaseState state) {
+        return state.playerRepository.getForGame(state.player);
+    }
+
+    @Benchmark
+    public Object loadItems(DatabaseState state) {
+        return state.itemRepository.byPlayer(state.player);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.benchmark;
+
+import fr.quatrevieux.araknemu.game.fight.Fight;
+import fr.quatrevieux.araknemu.game.fight.FightBaseCase;
+import fr.quatrevieux.araknemu.game.fight.castable.FightCastScope;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
+import fr.quatrevieux.araknemu.game.fight.module.CommonEffectsModule;
+import fr.quatrevieux.araknemu.game.fight.state.PlacementState;
+import fr.quatrevieux.araknemu.game.spell.Spell;
+import fr.quatrevieux.araknemu.game.spell.SpellService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application of spell effects on a running fight
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpellEffectBenchmark {
+    @State(Scope.Thread)
+    public static class FightState extends FightBaseCase {
+        public Fight fight;
+        public Fighter caster;
+        public Fighter target;
+        public Spell spell;
+
+        @Setup(Level.Trial)
+        public void init() throws Exception {
+            setUp();
+            setConfigValue("fight.initialErosion", "0");
+
+            dataSet.pushFunctionalSpells();
+
+            fight = createFight();
+            fight.register(new CommonEffectsModule(fight));
+
+            caster = player.fighter();
+            target = other.fighter();
+
+            caster.move(fight.map().get(185));
+            target.move(fight.map().get(170));
+
+            fight.state(PlacementState.class).startFight();
+            fight.turnList().start();
+
+            spell = container.get(SpellService.class).get(3).level(5); // Attaque naturelle
+        }
+
+        @TearDown(Level.Iteration)
+        public void clear() {
+            // Sent packets are kept in memory by the dummy channel
+            requestStack.clear();
+        }
+
+        @TearDown(Level.Trial)
+        public void destroy() throws Exception {
+            fight.cancel(true);
+            tearDown();
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public int damage(FightState state) {
+        state.fight.effects().apply(FightCastScope.simple(state.spell, state.caster, state.target.cell(), state.spell.effects()));
+
+        // Restore life to keep the target alive
+        return state.target.life().heal(state.caster, state.target.life().max());
+    }
+}
@@ -0,0 +1,472 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.dbal;
+
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Connection pool with a hard limit of opened connections
+ *
+ * - When all connections are acquired, the caller will wait until a connection is released, or the acquire timeout is reached
+ * - Connections are validated on acquire, at most once per validation interval
+ * - Connections unused for more than the idle timeout are closed, keeping at least "minIdle" idle connections
+ *
+ * Note: slow operations (i.e. connection creation, validation and close) are performed outside the pool lock
+ */
+public final class BoundedConnectionPool implements ConnectionPool, ConnectionPoolMetrics {
+    /**
+     * Timeout for validate a connection, in seconds
+     */
+    private static final int VALIDATION_TIMEOUT = 5;
+
+    private final Driver driver;
+    private final @Positive int maxSize;
+    private final @NonNegative int minIdle;
+    private final Duration acquireTimeout;
+    private final Duration idleTimeout;
+    private final Duration validationInterval;
+    private final Logger logger;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Deque<Entry> idle = new ArrayDeque<>();
+    private final Map<Connection, Entry> borrowed = new IdentityHashMap<>();
+    private final LatencyHistogram acquireLatency = new LatencyHistogram();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final ScheduledExecutorService executor = ExecutorFactory.createSingleThread();
+
+    /**
+     * Number of opened connections, including connections currently in creation
+     */
+    private int total = 0;
+    private int waiting = 0;
+    private boolean closed = false;
+
+    /**
+     * @param driver The database driver
+     * @param maxSize Maximum number of opened connections
+     * @param minIdle Minimum number of idle connections kept by the idle eviction
+     * @param acquireTimeout Maximum wait time for acquire a connection
+     * @param idleTimeout Time after an unused connection is closed. Use zero to disable the eviction
+     * @param validationInterval Minimal interval between two validations of a connection. Use zero to always validate the connection
+     * @param logger The logger
+     */
+    public BoundedConnectionPool(Driver driver, @Positive int maxSize, @NonNegative int minIdle, Duration acquireTimeout, Duration idleTimeout, Duration validationInterval, Logger logger) {
+        this.driver = driver;
+        this.maxSize = maxSize;
+        this.minIdle = minIdle;
+        this.acquireTimeout = acquireTimeout;
+        this.idleTimeout = idleTimeout;
+        this.validationInterval = validationInterval;
+        this.logger = logger;
+    }
+
+    @Override
+    public void initialize() throws SQLException {
+        int toInitialize = Math.min(maxSize, minIdle);
+        final long now = System.nanoTime();
+
+        while (toInitialize-- > 0) {
+            final Connection connection = driver.newConnection();
+
+            lock.lock();
+
+            try {
+                ++total;
+                idle.addLast(new Entry(connection, now));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        scheduleEviction();
+    }
+
+    @Override
+    public Connection acquire() throws SQLException {
+        final long start = System.nanoTime();
+        final long deadline = start + acquireTimeout.toNanos();
+
+        try {
+            for (;;) {
+                final Entry entry = reserve(deadline);
+
+                if (entry == null) {
+                    return borrow(new Entry(create(), System.nanoTime()));
+                }
+
+                if (validate(entry)) {
+                    return borrow(entry);
+                }
+
+                logger.warn("Invalid database connection detected : the connection is closed");
+                discard(entry.connection);
+            }
+        } finally {
+            acquireLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void release(Connection connection) {
+        boolean open;
+
+        try {
+            open = !connection.isClosed();
+        } catch (SQLException e) {
+            open = false;
+        }
+
+        lock.lock();
+
+        try {
+            final Entry entry = borrowed.remove(connection);
+
+            if (entry != null && open && !closed) {
+                entry.lastUsed = System.nanoTime();
+                idle.addLast(entry);
+                available.signal();
+
+                return;
+            }
+
+            if (entry != null) {
+                --total;
+                available.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // Closed connection, closed pool, or connection not handled by this pool
+        close(connection);
+    }
+
+    /**
+     * Get the number of available connections
+     * Acquired connections are not counted
+     */
+    @Override
+    public int size() {
+        return idle();
+    }
+
+    /**
+     * Get the number of opened connections (idle and active)
+     */
+    public @NonNegative int total() {
+        lock.lock();
+
+        try {
+            return Math.max(total, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @Positive int maxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public @NonNegative int active() {
+        lock.lock();
+
+        try {
+            return borrowed.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NonNegative int idle() {
+        lock.lock();
+
+        try {
+            return idle.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NonNegative int waiting() {
+        lock.lock();
+
+        try {
+            return Math.max(waiting, 0);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public @NonNegative long timeouts() {
+        return Math.max(timeouts.get(), 0);
+    }
+
+    @Override
+    public LatencyHistogram acquireLatency() {
+        return acquireLatency;
+    }
+
+    /**
+     * Close connections unused since more than the idle timeout
+     * This method is called regularly by the pool, so it's not required to call it manually
+     *
+     * @return Number of closed connections
+     */
+    public int evictIdle() {
+        final Collection<Connection> toClose = new ArrayList<>();
+        final long limit = System.nanoTime() - idleTimeout.toNanos();
+
+        lock.lock();
+
+        try {
+            final Iterator<Entry> iterator = idle.iterator();
+
+            while (iterator.hasNext() && idle.size() > minIdle) {
+                final Entry entry = iterator.next();
+
+                if (entry.lastUsed - limit <= 0) {
+                    iterator.remove();
+                    toClose.add(entry.connection);
+                    --total;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        toClose.forEach(this::close);
+
+        return toClose.size();
+    }
+
+    @Override
+    public void close() {
+        logger.info("Closing database connections...");
+
+        final Collection<Connection> toClose = new ArrayList<>();
+
+        executor.shutdownNow();
+        lock.lock();
+
+        try {
+            closed = true;
+
+            for (Entry entry : idle) {
+                toClose.add(entry.connection);
+            }
+
+            total -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        // Active connections will be closed on release
+        toClose.forEach(this::close);
+    }
+
+    /**
+     * Take an idle connection, or reserve a slot for create a new connection
+     * Wait for a released connection if the pool is full
+     *
+     * @param deadline The wait deadline, in nanoseconds
+     *
+     * @return The idle connection entry, or null if a new connection must be created
+     *
+     * @throws SQLTimeoutException When the deadline is reached
+     * @throws SQLException When the pool is closed, or the thread is interrupted
+     */
+    private @Nullable Entry reserve(long deadline) throws SQLException {
+        lock.lock();
+
+        try {
+            for (;;) {
+                if (closed) {
+                    throw new SQLException("The connection pool is closed");
+                }
+
+                final Entry entry = idle.pollLast();
+
+                if (entry != null) {
+                    return entry;
+                }
+
+                if (total < maxSize) {
+                    ++total;
+                    return null;
+                }
+
+                final long remaining = deadline - System.nanoTime();
+
+                if (remaining <= 0) {
+                    timeouts.incrementAndGet();
+                    throw new SQLTimeoutException("Cannot acquire a database connection after " + acquireTimeout.toMillis() + "ms : all the " + maxSize + " connections are used");
+                }
+
+                ++waiting;
+
+                try {
+                    available.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                } finally {
+                    --waiting;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Create a new connection on a reserved slot
+     * The slot is released if the creation fails
+     */
+    private Connection create() throws SQLException {
+        try {
+            return driver.newConnection();
+        } catch (SQLException | RuntimeException e) {
+            discard(null);
+            throw e;
+        }
+    }
+
+    /**
+     * Check if the connection is still valid
+     * The check is performed only if the last validation is older than the validation interval
+     */
+    private boolean validate(Entry entry) {
+        final long now = System.nanoTime();
+
+        if (now - entry.lastValidated < validationInterval.toNanos()) {
+            return true;
+        }
+
+        try {
+            if (!entry.connection.isValid(VALIDATION_TIMEOUT)) {
+                return false;
+            }
+        } catch (SQLException e) {
+            return false;
+        }
+
+        entry.lastValidated = now;
+
+        return true;
+    }
+
+    private Connection borrow(Entry entry) {
+        lock.lock();
+
+        try {
+            borrowed.put(entry.connection, entry);
+        } finally {
+            lock.unlock();
+        }
+
+        return entry.connection;
+    }
+
+    /**
+     * Release the slot of a connection which will not be returned to the pool
+     *
+     * @param connection Connection to close. If null, only the slot is released.
+     */
+    private void discard(@Nullable Connection connection) {
+        lock.lock();
+
+        try {
+            --total;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        if (connection != null) {
+            close(connection);
+        }
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // Ignore: the failed connection is not kept here
+        }
+    }
+
+    private void scheduleEviction() {
+        if (idleTimeout.isZero() || idleTimeout.isNegative() || executor.isShutdown()) {
+            return;
+        }
+
+        executor.schedule(() -> {
+            final int evicted = evictIdle();
+
+            if (evicted > 0) {
+                logger.debug("{} idle database connections closed", evicted);
+            }
+
+            scheduleEviction();
+        }, Math.max(idleTimeout.toMillis() / 2, 1), TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Entry {
+        private final Connection connection;
+        private long lastUsed;
+        private long lastValidated;
+
+        private Entry(Connection connection, long now) {
+            this.connection = connection;
+            this.lastUsed = now;
+            this.lastValidated = now;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.dbal;
+
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+/**
+ * Runtime metrics of a connection pool
+ */
+public interface ConnectionPoolMetrics {
+    /**
+     * The maximum number of opened connections
+     */
+    public @NonNegative int maxSize();
+
+    /**
+     * Number of connections currently acquired
+     */
+    public @NonNegative int active();
+
+    /**
+     * Number of opened connections available on the pool
+     */
+    public @NonNegative int idle();
+
+    /**
+     * Number of threads waiting for a connection
+     */
+    public @NonNegative int waiting();
+
+    /**
+     * Number of acquire which fail due to the timeout
+     */
+    public @NonNegative long timeouts();
+
+    /**
+     * Time spent to acquire connections (including wait, validation and creation of the connection)
+     */
+    public LatencyHistogram acquireLatency();
+}
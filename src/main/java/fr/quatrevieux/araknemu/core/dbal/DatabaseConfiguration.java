@@ -22,6 +22,9 @@ package fr.quatrevieux.araknemu.core.dbal;
 import fr.quatrevieux.araknemu.core.config.ConfigurationModule;
 import fr.quatrevieux.araknemu.core.config.Pool;
 import fr.quatrevieux.araknemu.core.config.PoolUtils;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.time.Duration;
 
 /**
  * Configuration module for database system
@@ -125,6 +128,41 @@ public final class DatabaseConfiguration {
             return pool.integer(name + ".poolSize", 16);
         }
 
+        /**
+         * Minimum number of idle connections kept open by the pool, and opened on initialization
+         * Default to 1
+         */
+        public @NonNegative int minIdle() {
+            return pool.nonNegativeInteger(name + ".minIdle", 1);
+        }
+
+        /**
+         * Maximum wait time for acquire a connection when all connections of the pool are used
+         * When this time is reached, the query will fail
+         * Default to 30 seconds
+         */
+        public Duration acquireTimeout() {
+            return pool.duration(name + ".acquireTimeout", Duration.ofSeconds(30));
+        }
+
+        /**
+         * Time after an unused connection is closed
+         * Use zero to disable the idle eviction
+         * Default to 10 minutes
+         */
+        public Duration idleTimeout() {
+            return pool.duration(name + ".idleTimeout", Duration.ofMinutes(10));
+        }
+
+        /**
+         * Minimal interval between two validations of a connection when acquired from the pool
+         * Use zero to validate the connection on each acquire
+         * Default to 5 seconds
+         */
+        public Duration validationInterval() {
+            return pool.duration(name + ".validationInterval", Duration.ofSeconds(5));
+        }
+
         /**
          * Get the database file path (sqlite)
          * By default same as {@link Connection#dbname()} with .db extension
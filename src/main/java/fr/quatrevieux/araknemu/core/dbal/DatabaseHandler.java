@@ -20,6 +20,7 @@
 package fr.quatrevieux.araknemu.core.dbal;
 
 import java.sql.SQLException;
+import java.util.Map;
 
 /**
  * Handle database connections
@@ -30,6 +31,12 @@ public interface DatabaseHandler {
      */
     public ConnectionPool get(String name) throws SQLException;
 
+    /**
+     * Get metrics of the opened connection pools, indexed by the connection name
+     * Pools without metrics (like single connection pool) are not returned
+     */
+    public Map<String, ConnectionPoolMetrics> metrics();
+
     /**
      * Stop all active connections
      */
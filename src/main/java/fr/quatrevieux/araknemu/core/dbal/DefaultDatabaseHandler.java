@@ -24,7 +24,9 @@ import org.apache.logging.log4j.Logger;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -36,6 +38,7 @@ public final class DefaultDatabaseHandler implements DatabaseHandler {
     private final Logger logger;
 
     private final Map<String, ConnectionPool> connections = new HashMap<>();
+    private final Map<String, ConnectionPoolMetrics> metrics = new LinkedHashMap<>();
 
     public DefaultDatabaseHandler(DatabaseConfiguration configuration, Logger logger, Map<String, Driver.Factory> factories) {
         this.configuration = configuration;
@@ -66,14 +69,23 @@ public final class DefaultDatabaseHandler implements DatabaseHandler {
             throw new IllegalArgumentException("Invalid database driver " + config.type());
         }
 
-        if (config.maxPoolSize() <= 0) {
+        final int maxPoolSize = config.maxPoolSize();
+
+        if (maxPoolSize <= 0) {
             pool = new SingleConnectionPool(factory.create(config));
         } else {
-            pool = new SimpleConnectionPool(
+            final BoundedConnectionPool boundedPool = new BoundedConnectionPool(
                 factory.create(config),
-                config.maxPoolSize(),
+                maxPoolSize,
+                config.minIdle(),
+                config.acquireTimeout(),
+                config.idleTimeout(),
+                config.validationInterval(),
                 logger
             );
+
+            metrics.put(name, boundedPool);
+            pool = boundedPool;
         }
 
         if (config.refreshPoolInterval() > 0) {
@@ -101,11 +113,17 @@ public final class DefaultDatabaseHandler implements DatabaseHandler {
         factories.put(type, factory);
     }
 
+    @Override
+    public Map<String, ConnectionPoolMetrics> metrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
     @Override
     public void stop() {
         final Collection<ConnectionPool> pools = new ArrayList<>(connections.values());
 
         connections.clear();
+        metrics.clear();
 
         for (ConnectionPool pool : pools) {
             try {
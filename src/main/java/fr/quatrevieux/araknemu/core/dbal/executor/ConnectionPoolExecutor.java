@@ -20,20 +20,42 @@
 package fr.quatrevieux.araknemu.core.dbal.executor;
 
 import fr.quatrevieux.araknemu.core.dbal.ConnectionPool;
+import org.checkerframework.checker.index.qual.NonNegative;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for connection pool queries
+ *
+ * Prepared statements are cached per connection, and reused by next queries with the same SQL.
+ * Queries returning generated keys are not cached.
  */
 public final class ConnectionPoolExecutor implements ConnectionPool, QueryExecutor {
+    /**
+     * Default number of cached statements per connection
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
     private final ConnectionPool pool;
+    private final @NonNegative int cacheSize;
+    private final Map<Connection, StatementCache> caches = new ConcurrentHashMap<>();
 
-    public ConnectionPoolExecutor(ConnectionPool pool) {
+    /**
+     * @param pool The connection pool
+     * @param cacheSize Maximum number of cached statements per connection. Use 0 to disable the cache
+     */
+    public ConnectionPoolExecutor(ConnectionPool pool, @NonNegative int cacheSize) {
         this.pool = pool;
+        this.cacheSize = cacheSize;
+    }
+
+    public ConnectionPoolExecutor(ConnectionPool pool) {
+        this(pool, DEFAULT_CACHE_SIZE);
     }
 
     @Override
@@ -58,6 +80,19 @@ public final class ConnectionPoolExecutor implements ConnectionPool, QueryExecut
 
     @Override
     public <T> T prepare(String sql, PreparedTask<T> task, boolean returnGeneratedKeys) throws SQLException {
+        if (cacheSize > 0 && !returnGeneratedKeys) {
+            return execute(connection -> {
+                final StatementCache cache = cache(connection);
+                final PreparedStatement stmt = cache.acquire(sql);
+
+                try {
+                    return task.execute(stmt);
+                } finally {
+                    cache.release(sql, stmt);
+                }
+            });
+        }
+
         return execute(connection -> {
             try (PreparedStatement stmt = connection.prepareStatement(
                 sql,
@@ -88,6 +123,27 @@ public final class ConnectionPoolExecutor implements ConnectionPool, QueryExecut
 
     @Override
     public void close() throws Exception {
+        caches.clear();
         pool.close();
     }
+
+    /**
+     * Get the number of connections with cached statements
+     */
+    public int cachedConnections() {
+        return caches.size();
+    }
+
+    private StatementCache cache(Connection connection) {
+        final StatementCache cache = caches.get(connection);
+
+        if (cache != null) {
+            return cache;
+        }
+
+        // New connection : remove caches of closed connections, which will never be used again
+        caches.values().removeIf(StatementCache::closed);
+
+        return caches.computeIfAbsent(connection, key -> new StatementCache(key, cacheSize));
+    }
 }
@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.core.dbal.executor;
 import org.apache.logging.log4j.Logger;
 
 import java.sql.SQLException;
+import java.util.Collection;
 
 /**
  * Logging executed queries
@@ -42,6 +43,13 @@ public final class LoggedQueryExecutor implements QueryExecutor {
         return executor.prepare(sql, task, returnGeneratedKeys);
     }
 
+    @Override
+    public <E> int[] batch(String sql, Collection<? extends E> elements, BatchBinder<E> binder) throws SQLException {
+        logger.debug("Execute batch of {} queries {}", elements.size(), sql);
+
+        return executor.batch(sql, elements, binder);
+    }
+
     @Override
     public void query(String sql) throws SQLException {
         logger.debug("Execute query {}", sql);
@@ -21,6 +21,7 @@ package fr.quatrevieux.araknemu.core.dbal.executor;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 
 /**
  * Execute SQL queries
@@ -69,6 +70,38 @@ public interface QueryExecutor {
         return prepare(sql, task, false);
     }
 
+    /**
+     * Execute the same query for each element of the collection, using a JDBC batch
+     * The whole batch is sent in one round-trip
+     *
+     * executor.batch("DELETE FROM ACCOUNT WHERE ACCOUNT_ID = ?", accounts, (stmt, account) -> {
+     *     stmt.setInt(1, account.id());
+     * });
+     *
+     * @param sql SQL query to prepare
+     * @param elements Elements to bind. If empty, the query is not executed.
+     * @param binder Bind an element to the query parameters
+     * @param <E> The element type
+     *
+     * @return The update count of each query. See {@link PreparedStatement#executeBatch()}
+     *
+     * @throws SQLException When error occurs during execution
+     */
+    public default <E> int[] batch(String sql, Collection<? extends E> elements, BatchBinder<E> binder) throws SQLException {
+        if (elements.isEmpty()) {
+            return new int[0];
+        }
+
+        return prepare(sql, statement -> {
+            for (E element : elements) {
+                binder.bind(statement, element);
+                statement.addBatch();
+            }
+
+            return statement.executeBatch();
+        });
+    }
+
     /**
      * Execute simple SQL query
      *
@@ -82,4 +115,15 @@ public interface QueryExecutor {
     public static interface PreparedTask<T> {
         public T execute(PreparedStatement statement) throws SQLException;
     }
+
+    @FunctionalInterface
+    public static interface BatchBinder<E> {
+        /**
+         * Bind the element to the query parameters
+         *
+         * @param statement The prepared query
+         * @param element Element to bind
+         */
+        public void bind(PreparedStatement statement, E element) throws SQLException;
+    }
 }
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.dbal.executor;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * LRU cache of prepared statements of a single connection
+ *
+ * Statements are kept open after use, so the same SQL query is parsed only once per connection.
+ * This class is not thread-safe : the connection must be acquired by the caller.
+ */
+final class StatementCache {
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    StatementCache(Connection connection, int size) {
+        this.connection = connection;
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= size || inUse.contains(eldest.getValue())) {
+                    return false;
+                }
+
+                close(eldest.getValue());
+
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Get the prepared statement for the given query, or prepare it if not cached
+     * The statement must be released using {@link StatementCache#release(String, PreparedStatement)} after use
+     *
+     * Note: if the cached statement is already used (i.e. nested query with the same SQL), a new statement is prepared and will be closed on release
+     *
+     * @param sql The SQL query
+     */
+    public PreparedStatement acquire(String sql) throws SQLException {
+        final PreparedStatement statement = statements.get(sql);
+
+        if (statement != null && !statement.isClosed()) {
+            if (!inUse.add(statement)) {
+                return connection.prepareStatement(sql, PreparedStatement.NO_GENERATED_KEYS);
+            }
+
+            return statement;
+        }
+
+        final PreparedStatement newStatement = connection.prepareStatement(sql, PreparedStatement.NO_GENERATED_KEYS);
+
+        inUse.add(newStatement);
+        statements.put(sql, newStatement);
+
+        return newStatement;
+    }
+
+    /**
+     * Release the statement after use, for allowing to reuse it
+     * The current result set is closed, to release locks held by the query
+     * If the statement cannot be reset, it will be closed and removed from the cache
+     *
+     * @param sql The SQL query
+     * @param statement The statement to release
+     */
+    public void release(String sql, PreparedStatement statement) {
+        if (!inUse.remove(statement)) {
+            close(statement);
+            return;
+        }
+
+        try {
+            statement.getMoreResults();
+            statement.clearParameters();
+            statement.clearBatch();
+        } catch (SQLException e) {
+            statements.remove(sql, statement);
+            close(statement);
+        }
+    }
+
+    /**
+     * Check if the connection of the cache is closed
+     */
+    public boolean closed() {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Number of cached statements
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    private static void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Ignore: the statement is no longer used
+        }
+    }
+}
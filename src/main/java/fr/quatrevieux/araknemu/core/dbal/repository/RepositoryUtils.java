@@ -26,6 +26,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -260,6 +261,78 @@ public class RepositoryUtils<E> {
         }
     }
 
+    /**
+     * Execute insert or update query on multiple entities, using a single batch
+     * Unlike {@link RepositoryUtils#update(String, Binder, Object)}, generated keys are not filled
+     *
+     * util.saveAll(
+     *     "UPDATE PLAYER_ITEM SET QUANTITY = ? WHERE PLAYER_ID = ? AND ITEM_ENTRY_ID = ?",
+     *     items,
+     *     (stmt, item) -> {
+     *         stmt.setInt(1, item.quantity());
+     *         stmt.setInt(2, item.playerId());
+     *         stmt.setInt(3, item.entryId());
+     *     }
+     * );
+     *
+     * @param query The insert / update query
+     * @param entities Entities to save
+     * @param binder Bind the entity to the query
+     *
+     * @return Number of saved entities
+     *
+     * @throws RepositoryException When error occurs during query execution
+     */
+    public int saveAll(String query, Collection<? extends E> entities, QueryExecutor.BatchBinder<E> binder) throws RepositoryException {
+        return batch(query, entities, binder);
+    }
+
+    /**
+     * Execute delete query on multiple entities, using a single batch
+     * Entities which are not found are ignored
+     *
+     * util.deleteAll(
+     *     "DELETE FROM PLAYER_ITEM WHERE PLAYER_ID = ? AND ITEM_ENTRY_ID = ?",
+     *     items,
+     *     (stmt, item) -> {
+     *         stmt.setInt(1, item.playerId());
+     *         stmt.setInt(2, item.entryId());
+     *     }
+     * );
+     *
+     * @param query The delete query
+     * @param entities Entities to delete
+     * @param binder Bind the entity to the query
+     *
+     * @return Number of deleted entities
+     *
+     * @throws RepositoryException When error occurs during query execution
+     */
+    public int deleteAll(String query, Collection<? extends E> entities, QueryExecutor.BatchBinder<E> binder) throws RepositoryException {
+        return batch(query, entities, binder);
+    }
+
+    private int batch(String query, Collection<? extends E> entities, QueryExecutor.BatchBinder<E> binder) {
+        final int[] results;
+
+        try {
+            results = executor.batch(query, entities, binder);
+        } catch (SQLException e) {
+            throw new RepositoryException(e);
+        }
+
+        int count = 0;
+
+        for (int rows : results) {
+            // Some drivers do not return the affected rows count on batch
+            if (rows > 0 || rows == Statement.SUCCESS_NO_INFO) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
     public interface Loader<E> {
         /**
          * Create an entity from database data
@@ -24,22 +24,34 @@ import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.EnsuresKeyForIf;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation for dispatcher, using maps
  *
+ * Listeners are stored into arrays indexed by the event class. Arrays are never modified, but replaced
+ * when a listener is added or removed (copy on write), so a dispatch in progress is not impacted by
+ * modifications, without any synchronisation on dispatch.
+ * See: https://github.com/Arakne/Araknemu/issues/250
+ *
  * Adding or removing listeners is not thread safe
  */
 public final class DefaultListenerAggregate implements ListenerAggregate {
     private static final Logger defaultLogger = LogManager.getLogger(DefaultListenerAggregate.class);
+    private static final Listener[] EMPTY = new Listener[0];
 
     private final Logger logger;
+    private final boolean hierarchical;
+    private final @Nullable DispatchProfiler profiler;
 
     /**
      * Store listeners instances by their class
@@ -48,41 +60,64 @@ public final class DefaultListenerAggregate implements ListenerAggregate {
     private final Map<Class<? extends Listener>, Listener> listeners = new HashMap<>();
 
     /**
-     * Store listeners containers by their handled event class
+     * Store listeners by their handled event class
+     */
+    private final Map<Class, Listener[]> containers = new HashMap<>();
+
+    /**
+     * Listeners resolved by dispatched event class, including listeners of the event super types
+     * Only used on hierarchical mode, and cleared on each modification
+     * This map is filled during dispatch, which may be called concurrently, so a concurrent map is used
      */
-    private final Map<Class, ListenersContainer<?>> containers = new HashMap<>();
+    private final Map<Class, Listener[]> resolved = new ConcurrentHashMap<>();
 
     public DefaultListenerAggregate() {
         this(defaultLogger);
     }
 
     public DefaultListenerAggregate(Logger logger) {
+        this(logger, false);
+    }
+
+    /**
+     * @param logger Logger used to report listeners errors
+     * @param hierarchical If true, the listeners of super classes and interfaces of the event are also called
+     */
+    public DefaultListenerAggregate(Logger logger, boolean hierarchical) {
+        this(logger, hierarchical, null);
+    }
+
+    /**
+     * @param logger Logger used to report listeners errors
+     * @param hierarchical If true, the listeners of super classes and interfaces of the event are also called
+     * @param profiler The profiler to use when enabled. If null, dispatches are not profiled
+     */
+    public DefaultListenerAggregate(Logger logger, boolean hierarchical, @Nullable DispatchProfiler profiler) {
         this.logger = logger;
+        this.hierarchical = hierarchical;
+        this.profiler = profiler;
     }
 
     @Override
     public void dispatch(Object event) {
-        final ListenersContainer<?> container = containers.get(event.getClass());
-
-        if (container == null || container.isEmpty()) {
+        final Class eventClass = event.getClass();
+        final Listener[] eventListeners = hierarchical
+            ? resolved.computeIfAbsent(eventClass, this::resolve)
+            : containers.getOrDefault(eventClass, EMPTY)
+        ;
+        final DispatchProfiler profiler = this.profiler;
+
+        if (profiler == null || !profiler.enabled()) {
+            dispatch(eventListeners, event);
             return;
         }
 
-        final boolean lastUse = container.use();
+        final long start = System.nanoTime();
 
         try {
-            // @todo use generics on dipatch parameter
-            for (Listener listener : container) {
-                try {
-                    listener.on(event);
-                } catch (Exception e) {
-                    logger.error("Error during execution of listener " + listener.getClass().getName(), e);
-                }
-            }
+            dispatch(eventListeners, event);
         } finally {
-            if (!lastUse) {
-                container.release();
-            }
+            profiler.record(eventClass, System.nanoTime() - start);
         }
     }
 
@@ -97,19 +132,14 @@ public final class DefaultListenerAggregate implements ListenerAggregate {
         }
 
         final Class eventClass = listener.event();
-        ListenersContainer<?> eventListeners = containers.get(eventClass);
-
-        if (eventListeners == null) {
-            eventListeners = new ListenersContainer<>();
-            containers.put(eventClass, eventListeners);
-        } else if (eventListeners.inUse()) {
-            // Current event is in use : duplicate container for ignore concurrent modification
-            // See: https://github.com/Arakne/Araknemu/issues/250
-            eventListeners = new ListenersContainer<>(eventListeners);
-            containers.put(eventClass, eventListeners);
-        }
+        final Listener[] current = containers.getOrDefault(eventClass, EMPTY);
+        final Listener[] eventListeners = new Listener[current.length + 1];
+
+        System.arraycopy(current, 0, eventListeners, 0, current.length);
 
-        eventListeners.add(listener);
+        eventListeners[current.length] = listener;
+        containers.put(eventClass, eventListeners);
+        resolved.clear();
     }
 
     @Override
@@ -133,111 +163,82 @@ public final class DefaultListenerAggregate implements ListenerAggregate {
         return (E) listeners.get(listenerClass);
     }
 
+    /**
+     * Call all listeners
+     */
+    @SuppressWarnings("unchecked") // @todo use generics on dipatch parameter
+    private void dispatch(Listener[] eventListeners, Object event) {
+        for (Listener listener : eventListeners) {
+            try {
+                listener.on(event);
+            } catch (Exception e) {
+                logger.error("Error during execution of listener " + listener.getClass().getName(), e);
+            }
+        }
+    }
+
     /**
      * Remove a listener instance from container
      */
-    private <E> void remove(Listener<E> listener) {
-        final Class<E> eventClass = listener.event();
-        ListenersContainer<E> container = (ListenersContainer<E>) containers.get(eventClass);
+    private void remove(Listener<?> listener) {
+        final Class eventClass = listener.event();
+        final Listener[] current = containers.get(eventClass);
 
-        if (container == null) {
+        if (current == null) {
             return;
         }
 
-        // Only requested listener is registered : simply remove the container
-        if (container.isSingleton()) {
-            containers.remove(eventClass);
-            return;
+        final List<Listener> eventListeners = new ArrayList<>(current.length);
+
+        for (Listener other : current) {
+            if (other != listener) {
+                eventListeners.add(other);
+            }
         }
 
-        // Requested listener is in use : duplicate container for ignore concurrent modification
-        // See: https://github.com/Arakne/Araknemu/issues/250
-        if (container.inUse()) {
-            container = new ListenersContainer<>(container);
-            containers.put(eventClass, container);
+        if (eventListeners.isEmpty()) {
+            containers.remove(eventClass);
+        } else {
+            containers.put(eventClass, eventListeners.toArray(new Listener[0]));
         }
 
-        container.remove(listener);
+        resolved.clear();
     }
 
     /**
-     * Contains listeners instances and "inUse" flag for handle concurrent modification
-     *
-     * See: https://github.com/Arakne/Araknemu/issues/250
-     *
-     * @param <E> Handled event class
+     * Get listeners of the event class and all its super types
+     * Listeners of the event class are called first, then those of super classes, and finally those of interfaces
      */
-    private static class ListenersContainer<E> implements Iterable<Listener<E>> {
-        private final Collection<Listener<E>> listeners;
-        private final AtomicBoolean inUse = new AtomicBoolean(false);
-
-        public ListenersContainer(ListenersContainer<E> other) {
-            this.listeners = new ArrayList<>(other.listeners);
-        }
-
-        public ListenersContainer() {
-            this.listeners = new ArrayList<>();
-        }
+    private Listener[] resolve(Class eventClass) {
+        final List<Listener> eventListeners = new ArrayList<>();
 
-        /**
-         * Add a new listener to the container
-         * Note: container must not be in use
-         */
-        public void add(Listener<E> listener) {
-            assert !inUse();
-            listeners.add(listener);
+        for (Class type : superTypes(eventClass)) {
+            Collections.addAll(eventListeners, containers.getOrDefault(type, EMPTY));
         }
 
-        /**
-         * Remove listener from the container
-         * Note: container must not be in use
-         */
-        public void remove(Listener<E> listener) {
-            assert !inUse();
-            listeners.remove(listener);
-        }
-
-        /**
-         * Does the container is empty ? (i.e. do not have any listeners)
-         */
-        public boolean isEmpty() {
-            return listeners.isEmpty();
-        }
+        return eventListeners.toArray(new Listener[0]);
+    }
 
-        /**
-         * Does the container has only one listener ?
-         */
-        public boolean isSingleton() {
-            return listeners.size() == 1;
-        }
+    /**
+     * List the class, its super classes, and then all implemented interfaces
+     */
+    private static Set<Class> superTypes(Class eventClass) {
+        final Set<Class> types = new LinkedHashSet<>();
+        final Deque<Class> interfaces = new ArrayDeque<>();
 
-        /**
-         * Set the flag "inUse" to true
-         *
-         * @return The last state of "inUse" flag
-         */
-        public boolean use() {
-            return inUse.getAndSet(true);
+        for (Class type = eventClass; type != null; type = type.getSuperclass()) {
+            types.add(type);
+            Collections.addAll(interfaces, type.getInterfaces());
         }
 
-        /**
-         * Check if the "inUse" flag value
-         * If this value is true, modification of listeners is disallowed
-         */
-        public boolean inUse() {
-            return inUse.get();
-        }
+        while (!interfaces.isEmpty()) {
+            final Class type = interfaces.pop();
 
-        /**
-         * Set the flag "inUse" to false
-         */
-        public void release() {
-            inUse.set(false);
+            if (types.add(type)) {
+                Collections.addAll(interfaces, type.getInterfaces());
+            }
         }
 
-        @Override
-        public Iterator<Listener<E>> iterator() {
-            return listeners.iterator();
-        }
+        return types;
     }
 }
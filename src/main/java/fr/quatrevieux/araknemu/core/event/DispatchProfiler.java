@@ -0,0 +1,87 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.event;
+
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collect dispatch count and duration of events, by event class
+ *
+ * The profiler is disabled by default, and can be enabled at runtime.
+ * When disabled, the cost on dispatch is a single volatile read.
+ *
+ * The instance is registered into the container, and must be given to the dispatchers to profile
+ *
+ * @see DefaultListenerAggregate#DefaultListenerAggregate(org.apache.logging.log4j.Logger, boolean, DispatchProfiler)
+ */
+public final class DispatchProfiler {
+    private final Map<Class<?>, LatencyHistogram> metrics = new ConcurrentHashMap<>();
+    private volatile boolean enabled = false;
+
+    /**
+     * Check if the dispatch should be recorded
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Enable the profiler
+     */
+    public void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Disable the profiler
+     * Recorded metrics are kept
+     */
+    public void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Record a dispatch
+     *
+     * @param event The event class
+     * @param nanos Duration of the dispatch (i.e. execution of all listeners) in nanoseconds
+     */
+    public void record(Class<?> event, long nanos) {
+        metrics.computeIfAbsent(event, type -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Get recorded metrics, indexed by the event class
+     */
+    public Map<Class<?>, LatencyHistogram> metrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Clear all recorded metrics
+     */
+    public void reset() {
+        metrics.clear();
+    }
+}
@@ -20,18 +20,35 @@
 package fr.quatrevieux.araknemu.core.network.netty;
 
 import fr.quatrevieux.araknemu.core.network.Channel;
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.concurrent.EventExecutor;
 
 import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Adapt Netty channel to Araknemu Channel
+ *
+ * @see FlushPolicy For configure the write behavior
  */
 public final class ChannelAdapter implements Channel {
     private final ChannelHandlerContext channel;
+    private final FlushPolicy flushPolicy;
 
-    public ChannelAdapter(ChannelHandlerContext channel) {
+    /**
+     * Is a flush task pending ?
+     * This field is only accessed from the channel event loop
+     */
+    private boolean flushScheduled = false;
+
+    public ChannelAdapter(ChannelHandlerContext channel, FlushPolicy flushPolicy) {
         this.channel = channel;
+        this.flushPolicy = flushPolicy;
+    }
+
+    public ChannelAdapter(ChannelHandlerContext channel) {
+        this(channel, FlushPolicy.immediate());
     }
 
     @Override
@@ -41,12 +58,49 @@ public final class ChannelAdapter implements Channel {
 
     @Override
     public void write(Object message) {
-        channel.writeAndFlush(message.toString());
+        // Serialize the packet on the caller thread, because the packet object may be modified later
+        // Shared packets are retained here, because the broadcaster will release it once sent to all channels
+        final Object packet = message instanceof SharedPacket
+            ? encoded((SharedPacket) message)
+            : message.toString()
+        ;
+
+        flushPolicy.packetWritten();
+
+        if (!flushPolicy.coalesce()) {
+            channel.writeAndFlush(packet);
+            flushPolicy.flushed();
+            return;
+        }
+
+        final EventExecutor executor = channel.executor();
+
+        if (executor.inEventLoop()) {
+            bufferedWrite(packet);
+        } else {
+            executor.execute(() -> bufferedWrite(packet));
+        }
     }
 
     @Override
     public void close() {
-        channel.close();
+        if (!flushPolicy.coalesce()) {
+            channel.close();
+            return;
+        }
+
+        // Pending packets must be flushed before closing the channel
+        final EventExecutor executor = channel.executor();
+
+        if (executor.inEventLoop()) {
+            flush();
+            channel.close();
+        } else {
+            executor.execute(() -> {
+                flush();
+                channel.close();
+            });
+        }
     }
 
     @Override
@@ -58,4 +112,48 @@ public final class ChannelAdapter implements Channel {
     public InetSocketAddress address() {
         return (InetSocketAddress) channel.channel().remoteAddress();
     }
+
+    /**
+     * Write the packet without flushing, and schedule the flush if not already done
+     * Must be called on the event loop
+     */
+    private void bufferedWrite(Object packet) {
+        channel.write(packet);
+
+        if (flushScheduled) {
+            return;
+        }
+
+        flushScheduled = true;
+
+        if (flushPolicy.delay() > 0) {
+            channel.executor().schedule(this::flush, flushPolicy.delay(), TimeUnit.NANOSECONDS);
+        } else {
+            channel.executor().execute(this::flush);
+        }
+    }
+
+    /**
+     * Flush buffered packets
+     * Must be called on the event loop
+     */
+    private void flush() {
+        if (!flushScheduled) {
+            return;
+        }
+
+        flushScheduled = false;
+        channel.flush();
+        flushPolicy.flushed();
+    }
+
+    /**
+     * Get the buffer to write for a shared packet
+     * The string form is used if the packet is not yet encoded (i.e. single recipient) or already released
+     */
+    private static Object encoded(SharedPacket packet) {
+        final EncodedPacket encoded = packet.encoded(EncodedPacket::encode);
+
+        return encoded != null ? encoded.retainedDuplicate() : packet.toString();
+    }
 }
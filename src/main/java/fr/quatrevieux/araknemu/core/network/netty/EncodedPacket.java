@@ -0,0 +1,99 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Packet already serialized and encoded as UTF-8, with the packet terminator
+ *
+ * This is the netty form of a {@link SharedPacket}: the packet is encoded only once,
+ * and each channel will write a duplicate of the same pooled buffer.
+ * The buffer is reference counted, so {@link EncodedPacket#release()} must be called once the packet is sent to all sessions.
+ *
+ * @see SharedPacket#encoded(java.util.function.Function)
+ */
+public final class EncodedPacket implements SharedPacket.Encoded {
+    private final String packet;
+    private final ByteBuf buffer;
+
+    private EncodedPacket(String packet, ByteBuf buffer) {
+        this.packet = packet;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Get a duplicate of the encoded buffer, with its own reader index
+     * The returned buffer is retained, and will be released by the channel after writing it
+     */
+    public ByteBuf retainedDuplicate() {
+        return buffer.retainedDuplicate();
+    }
+
+    /**
+     * Increase the reference count of the packet
+     *
+     * @return The current instance
+     */
+    public EncodedPacket retain() {
+        buffer.retain();
+
+        return this;
+    }
+
+    /**
+     * Decrease the reference count of the packet
+     * The buffer is deallocated when the count reach 0
+     */
+    @Override
+    public void release() {
+        buffer.release();
+    }
+
+    @Override
+    public String toString() {
+        return packet;
+    }
+
+    /**
+     * Serialize and encode the packet
+     * If the packet is already encoded, it will be retained and returned
+     *
+     * @param packet The packet to encode
+     *
+     * @return The encoded packet, which must be released after use
+     */
+    public static EncodedPacket encode(Object packet) {
+        if (packet instanceof EncodedPacket) {
+            return ((EncodedPacket) packet).retain();
+        }
+
+        final String serialized = packet.toString();
+        final ByteBuf buffer = PooledByteBufAllocator.DEFAULT.directBuffer(ByteBufUtil.utf8MaxBytes(serialized) + 1);
+
+        ByteBufUtil.writeUtf8(buffer, serialized);
+        buffer.writeByte(0);
+
+        return new EncodedPacket(serialized, buffer);
+    }
+}
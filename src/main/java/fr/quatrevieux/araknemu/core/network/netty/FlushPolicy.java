@@ -0,0 +1,105 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Define how written packets are flushed to the socket, and keep write statistics
+ *
+ * Two modes are available:
+ * - immediate: each packet is flushed on write (i.e. one syscall per packet)
+ * - coalesce: packets are buffered, and flushed once by the channel event loop, after the current task
+ *   or after a short delay. So all packets sent by a single handler or fight action are flushed together.
+ *
+ * The same instance should be shared by all channels of a server
+ */
+public final class FlushPolicy {
+    private final boolean coalesce;
+    private final long delay;
+
+    private final LongAdder packets = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    private FlushPolicy(boolean coalesce, Duration delay) {
+        this.coalesce = coalesce;
+        this.delay = delay.toNanos();
+    }
+
+    /**
+     * Does write coalescing is enabled ?
+     */
+    public boolean coalesce() {
+        return coalesce;
+    }
+
+    /**
+     * The delay, in nanoseconds, between the first buffered write and the flush
+     * If the value is 0, the flush is performed on the next event loop iteration
+     */
+    public long delay() {
+        return delay;
+    }
+
+    /**
+     * Get the total number of written packets
+     */
+    public long packets() {
+        return packets.sum();
+    }
+
+    /**
+     * Get the total number of flushes
+     */
+    public long flushes() {
+        return flushes.sum();
+    }
+
+    /**
+     * Called when a packet is written to a channel
+     */
+    void packetWritten() {
+        packets.increment();
+    }
+
+    /**
+     * Called when a channel is flushed
+     */
+    void flushed() {
+        flushes.increment();
+    }
+
+    /**
+     * Flush each packet on write
+     */
+    public static FlushPolicy immediate() {
+        return new FlushPolicy(false, Duration.ZERO);
+    }
+
+    /**
+     * Buffer packets, and flush them after the given delay
+     *
+     * @param delay The flush delay. Use {@link Duration#ZERO} to flush at the end of the current event loop task.
+     */
+    public static FlushPolicy coalesce(Duration delay) {
+        return new FlushPolicy(true, delay);
+    }
+}
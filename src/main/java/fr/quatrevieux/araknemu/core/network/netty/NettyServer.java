@@ -19,29 +19,40 @@
 
 package fr.quatrevieux.araknemu.core.network.netty;
 
+import fr.quatrevieux.araknemu.core.config.EmptyPool;
+import fr.quatrevieux.araknemu.core.config.PoolUtils;
 import fr.quatrevieux.araknemu.core.network.Server;
 import fr.quatrevieux.araknemu.core.network.SessionIdle;
 import fr.quatrevieux.araknemu.core.network.session.Session;
 import fr.quatrevieux.araknemu.core.network.session.SessionFactory;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.DelimiterBasedFrameDecoder;
-import io.netty.handler.codec.MessageToMessageEncoder;
+import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.util.CharsetUtil;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -49,35 +60,62 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Server adapter for Netty
+ *
+ * The native epoll transport is used when available (and enabled), otherwise NIO is used.
+ * Accept and IO are handled by two distinct event loop groups, which are sized following the {@link NetworkConfiguration}.
  */
 public final class NettyServer<S extends Session> implements Server<S> {
     private final SessionFactory<S> factory;
     private final int port;
     private final Duration readTimeout;
+    private final FlushPolicy flushPolicy;
+    private final NetworkConfiguration configuration;
+    private final SessionExecutor sessionExecutor;
 
-    private @MonotonicNonNull Channel serverChannel;
-    private @MonotonicNonNull EventLoopGroup loopGroup;
+    private final List<Channel> serverChannels = new ArrayList<>();
+    private @MonotonicNonNull EventLoopGroup bossGroup;
+    private @MonotonicNonNull EventLoopGroup workerGroup;
     private @MonotonicNonNull SessionHandlerAdapter<S> handlerAdapter;
 
-    public NettyServer(SessionFactory<S> factory, int port, Duration readTimeout) {
+    public NettyServer(SessionFactory<S> factory, int port, Duration readTimeout, FlushPolicy flushPolicy, NetworkConfiguration configuration, SessionExecutor sessionExecutor) {
         this.factory = factory;
         this.port = port;
         this.readTimeout = readTimeout;
+        this.flushPolicy = flushPolicy;
+        this.configuration = configuration;
+        this.sessionExecutor = sessionExecutor;
+    }
+
+    public NettyServer(SessionFactory<S> factory, int port, Duration readTimeout, FlushPolicy flushPolicy, NetworkConfiguration configuration) {
+        this(factory, port, readTimeout, flushPolicy, configuration, configuration.sessionExecutor());
+    }
+
+    public NettyServer(SessionFactory<S> factory, int port, Duration readTimeout, FlushPolicy flushPolicy) {
+        this(factory, port, readTimeout, flushPolicy, new NetworkConfiguration(new PoolUtils(new EmptyPool())));
+    }
+
+    public NettyServer(SessionFactory<S> factory, int port, Duration readTimeout) {
+        this(factory, port, readTimeout, FlushPolicy.immediate());
     }
 
     @Override
-    public void start() {
+    public void start() throws InterruptedException {
         final ServerBootstrap bootstrap = new ServerBootstrap();
+        final boolean epoll = useEpoll();
+        final int listeners = epoll ? configuration.listeners() : 1;
 
-        handlerAdapter = new SessionHandlerAdapter<>(factory);
+        handlerAdapter = new SessionHandlerAdapter<>(factory, flushPolicy, sessionExecutor);
 
         final StringDecoder decoder = new StringDecoder(CharsetUtil.UTF_8);
-        final StringEncoder encoder = new StringEncoder(CharsetUtil.UTF_8);
-        final MessageToMessageEncoder<Object> messageEncoder = new MessageEndEncoder();
+        final PacketEncoder encoder = new PacketEncoder();
 
         bootstrap
-            .group(loopGroup = new NioEventLoopGroup(Runtime.getRuntime().availableProcessors()))
-            .channel(NioServerSocketChannel.class)
+            .group(
+                bossGroup = createEventLoopGroup(epoll, configuration.bossThreads()),
+                workerGroup = createEventLoopGroup(epoll, configuration.workerThreads())
+            )
+            .channel(serverChannelType(epoll))
+            .childOption(ChannelOption.TCP_NODELAY, configuration.tcpNoDelay())
             .childHandler(new ChannelInitializer<Channel>() {
                 protected void initChannel(Channel channel) {
                     channel
@@ -85,7 +123,6 @@ public final class NettyServer<S extends Session> implements Server<S> {
                         .addLast(new DelimiterBasedFrameDecoder(4096, Unpooled.wrappedBuffer(new byte[]{10, 0})))
                         .addLast(encoder)
                         .addLast(decoder)
-                        .addLast(messageEncoder)
                         .addLast(new IdleStateHandler(readTimeout.toMillis(), 0, 0, TimeUnit.MILLISECONDS) {
                             @Override
                             protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) throws Exception {
@@ -98,21 +135,60 @@ public final class NettyServer<S extends Session> implements Server<S> {
             })
         ;
 
-        serverChannel = bootstrap
-            .localAddress(port)
-            .bind()
-            .channel()
-        ;
+        if (configuration.sendBufferSize() > 0) {
+            bootstrap.childOption(ChannelOption.SO_SNDBUF, configuration.sendBufferSize());
+        }
+
+        if (configuration.receiveBufferSize() > 0) {
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, configuration.receiveBufferSize());
+        }
+
+        // Multiple sockets can listen the same port : the kernel will spread incoming connections
+        if (listeners > 1) {
+            bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+        }
+
+        for (int i = 0; i < listeners; ++i) {
+            serverChannels.add(bootstrap.localAddress(port).bind().sync().channel());
+        }
     }
 
     @Override
     public void stop() throws Exception {
-        if (loopGroup == null || serverChannel == null) {
+        if (bossGroup == null || workerGroup == null) {
             return;
         }
 
-        loopGroup.shutdownGracefully().sync();
-        serverChannel.closeFuture().sync();
+        for (Channel channel : serverChannels) {
+            channel.close().sync();
+        }
+
+        serverChannels.clear();
+        bossGroup.shutdownGracefully().sync();
+        workerGroup.shutdownGracefully().sync();
+        sessionExecutor.shutdown();
+    }
+
+    /**
+     * Get the flush policy, with write statistics
+     */
+    public FlushPolicy flushPolicy() {
+        return flushPolicy;
+    }
+
+    /**
+     * Get the executor used for handle received packets, with dispatch statistics
+     */
+    public SessionExecutor sessionExecutor() {
+        return sessionExecutor;
+    }
+
+    /**
+     * Get the type of the event loop group used for handling IO
+     * This method returns null if the server is not started
+     */
+    public @Nullable Class<? extends EventLoopGroup> transport() {
+        return workerGroup != null ? workerGroup.getClass() : null;
     }
 
     @Override
@@ -120,11 +196,35 @@ public final class NettyServer<S extends Session> implements Server<S> {
         return handlerAdapter != null ? handlerAdapter.sessions() : Collections.emptyList();
     }
 
+    private boolean useEpoll() {
+        return configuration.nativeTransport() && Epoll.isAvailable();
+    }
+
+    private static EventLoopGroup createEventLoopGroup(boolean epoll, int threads) {
+        return epoll ? new EpollEventLoopGroup(threads) : new NioEventLoopGroup(threads);
+    }
+
+    private static Class<? extends ServerChannel> serverChannelType(boolean epoll) {
+        return epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+
+    /**
+     * Encode the packet string as UTF-8, followed by the packet terminator (i.e. the NUL char)
+     * The output buffer is allocated using the channel allocator (pooled by default)
+     *
+     * Pre-encoded packets (i.e. {@link EncodedPacket}) are sent as {@link ByteBuf}, and are ignored by this encoder.
+     */
     @ChannelHandler.Sharable
-    public static final class MessageEndEncoder extends MessageToMessageEncoder<Object> {
+    public static final class PacketEncoder extends MessageToByteEncoder<CharSequence> {
+        @Override
+        protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, CharSequence msg, boolean preferDirect) {
+            return ctx.alloc().ioBuffer(msg.length() + 1);
+        }
+
         @Override
-        protected void encode(ChannelHandlerContext ctx, Object msg, List<Object> out) {
-            out.add(msg + "\000");
+        protected void encode(ChannelHandlerContext ctx, CharSequence msg, ByteBuf out) {
+            ByteBufUtil.writeUtf8(out, msg);
+            out.writeByte(0);
         }
     }
 }
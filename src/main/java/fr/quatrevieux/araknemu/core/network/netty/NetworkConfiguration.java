@@ -0,0 +1,195 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import fr.quatrevieux.araknemu.core.config.PoolUtils;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Network configuration of a server
+ * All configuration items are prefixed by "network."
+ *
+ * This configuration is shared by the realm and the game servers
+ */
+public final class NetworkConfiguration {
+    private final PoolUtils pool;
+
+    public NetworkConfiguration(PoolUtils pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Use the native transport (i.e. epoll) when available
+     * If disabled, or if the native transport is not supported by the system, NIO is used
+     * Default value : true
+     */
+    public boolean nativeTransport() {
+        return pool.bool("network.nativeTransport", true);
+    }
+
+    /**
+     * Number of threads used for accepting new connections
+     * This value should be greater or equals to the number of listeners
+     * Default value : 1
+     */
+    public @Positive int bossThreads() {
+        return Math.max(pool.integer("network.bossThreads", 1), 1);
+    }
+
+    /**
+     * Number of threads used for handling IO of connected clients
+     * Default value : number of available processors
+     */
+    public @Positive int workerThreads() {
+        return Math.max(pool.integer("network.workerThreads", Runtime.getRuntime().availableProcessors()), 1);
+    }
+
+    /**
+     * Number of sockets listening the server port
+     * If the value is greater than 1, the SO_REUSEPORT option is used, allowing the kernel to spread incoming connections
+     * across the listeners. This option is only available with the native transport, and is ignored otherwise.
+     * Default value : 1
+     */
+    public @Positive int listeners() {
+        return Math.max(pool.integer("network.listeners", 1), 1);
+    }
+
+    /**
+     * Enable the TCP_NODELAY option (i.e. disable Nagle's algorithm) on client sockets
+     * Default value : true
+     */
+    public boolean tcpNoDelay() {
+        return pool.bool("network.tcpNoDelay", true);
+    }
+
+    /**
+     * The socket send buffer size (SO_SNDBUF), in bytes
+     * Use 0 for keep the system default value
+     * Default value : 0
+     */
+    public @NonNegative int sendBufferSize() {
+        return pool.nonNegativeInteger("network.sendBufferSize", 0);
+    }
+
+    /**
+     * The socket receive buffer size (SO_RCVBUF), in bytes
+     * Use 0 for keep the system default value
+     * Default value : 0
+     */
+    public @NonNegative int receiveBufferSize() {
+        return pool.nonNegativeInteger("network.receiveBufferSize", 0);
+    }
+
+    /**
+     * Number of worker threads used for handle received packets
+     * If the value is 0, packets are handled by the IO threads
+     * Otherwise, each session has its own mailbox executed in order by the worker pool,
+     * so blocking handlers (e.g. database queries) will not stall other sessions
+     * Default value : 0
+     */
+    public @NonNegative int dispatchThreads() {
+        return pool.nonNegativeInteger("network.dispatchThreads", 0);
+    }
+
+    /**
+     * Number of pending packets of a single session which suspend the read of its socket
+     * The read is resumed when the mailbox goes down to half of this value
+     * This value is only used when {@link NetworkConfiguration#dispatchThreads()} is not 0
+     * Default value : 100
+     */
+    public @Positive int mailboxSize() {
+        return Math.max(pool.integer("network.mailboxSize", 100), 1);
+    }
+
+    /**
+     * Create the session executor following the configuration
+     *
+     * @see NetworkConfiguration#dispatchThreads()
+     * @see NetworkConfiguration#mailboxSize()
+     */
+    public SessionExecutor sessionExecutor() {
+        final int threads = dispatchThreads();
+
+        return threads > 0
+            ? SessionExecutor.pooled(ExecutorFactory.create(threads), mailboxSize())
+            : SessionExecutor.direct()
+        ;
+    }
+
+    /**
+     * Enable write coalescing
+     * When enabled, packets are not flushed immediately, but buffered and flushed once
+     * at the end of the current network task, or after the flush delay.
+     * This reduces the number of syscalls when many packets are sent at once (e.g. fight actions)
+     * Default value : false
+     */
+    public boolean coalesceWrites() {
+        return pool.bool("network.coalesceWrites", false);
+    }
+
+    /**
+     * The maximum delay between a buffered write and the flush, when write coalescing is enabled
+     * A zero value means that packets are flushed at the end of the current network task
+     * The value should be a duration string like 0.005s (i.e. 5ms)
+     * Default value : 0
+     */
+    public Duration flushDelay() {
+        return pool.duration("network.flushDelay", Duration.ZERO);
+    }
+
+    /**
+     * Create the flush policy following the configuration
+     *
+     * @see NetworkConfiguration#coalesceWrites()
+     * @see NetworkConfiguration#flushDelay()
+     */
+    public FlushPolicy flushPolicy() {
+        return coalesceWrites() ? FlushPolicy.coalesce(flushDelay()) : FlushPolicy.immediate();
+    }
+
+    /**
+     * Cost of received packets for the rate limiter, indexed by packet code (i.e. the two first characters)
+     * The value is a list of "code:cost" pairs separated by a comma, like "BM:5,GA:2"
+     * Packets which are not listed cost 1
+     * Default value : empty
+     *
+     * @see fr.quatrevieux.araknemu.core.network.session.extension.RateLimiter
+     */
+    public Map<String, Integer> packetCosts() {
+        final Map<String, Integer> costs = new HashMap<>();
+
+        for (String pair : StringUtils.split(pool.string("network.packetCosts", ""), ",")) {
+            final String[] parts = StringUtils.split(pair, ":", 2);
+
+            if (parts.length == 2) {
+                costs.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+            }
+        }
+
+        return costs;
+    }
+}
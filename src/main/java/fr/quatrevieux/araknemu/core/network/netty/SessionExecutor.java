@@ -0,0 +1,228 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import io.netty.channel.Channel;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Define the thread on which received packets are handled by the sessions, and keep dispatch statistics
+ *
+ * Two modes are available:
+ * - direct: packets are handled by the channel event loop (i.e. the IO thread)
+ * - pooled: each session has its own mailbox, which is executed in order by a shared worker pool.
+ *   So a slow handler (e.g. a database query) will only delay the packets of its own session,
+ *   instead of all the channels of the event loop.
+ *
+ * On pooled mode, when the mailbox of a session reaches the high water mark, the read of the channel is suspended,
+ * and resumed once the mailbox size goes down to half of this value.
+ *
+ * The same instance should be shared by all channels of a server
+ */
+public final class SessionExecutor {
+    /**
+     * Maximum number of tasks executed by a mailbox before giving back the thread to the pool
+     */
+    private static final int BATCH_SIZE = 32;
+
+    private final @Nullable ExecutorService executor;
+    private final @Positive int highWaterMark;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder suspensions = new LongAdder();
+
+    private SessionExecutor(@Nullable ExecutorService executor, @Positive int highWaterMark) {
+        this.executor = executor;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * Does packets are handled by a worker pool ?
+     */
+    public boolean pooled() {
+        return executor != null;
+    }
+
+    /**
+     * Get the number of tasks waiting in all mailboxes
+     */
+    public @NonNegative int pending() {
+        return Math.max(pending.get(), 0);
+    }
+
+    /**
+     * Get the total number of handled tasks
+     */
+    public long processed() {
+        return processed.sum();
+    }
+
+    /**
+     * Get the number of times a channel read has been suspended due to a full mailbox
+     */
+    public long suspensions() {
+        return suspensions.sum();
+    }
+
+    /**
+     * Stop the worker pool
+     * Pending tasks will not be executed
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the mailbox of a channel
+     *
+     * @param channel The channel. Its read will be suspended when the mailbox is full
+     * @param exceptionHandler Handle exceptions thrown by the tasks
+     */
+    Mailbox mailbox(Channel channel, Consumer<Throwable> exceptionHandler) {
+        return new Mailbox(channel, exceptionHandler);
+    }
+
+    /**
+     * Handle packets on the channel event loop
+     */
+    public static SessionExecutor direct() {
+        return new SessionExecutor(null, 1);
+    }
+
+    /**
+     * Handle packets on the given worker pool, keeping packets order for each session
+     *
+     * @param executor The worker pool
+     * @param highWaterMark Number of pending tasks of a single session which suspend the channel read
+     */
+    public static SessionExecutor pooled(ExecutorService executor, @Positive int highWaterMark) {
+        return new SessionExecutor(executor, highWaterMark);
+    }
+
+    /**
+     * Serialized tasks queue of a single session
+     */
+    final class Mailbox {
+        private final Channel channel;
+        private final Consumer<Throwable> exceptionHandler;
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean suspended = new AtomicBoolean();
+
+        private Mailbox(Channel channel, Consumer<Throwable> exceptionHandler) {
+            this.channel = channel;
+            this.exceptionHandler = exceptionHandler;
+        }
+
+        /**
+         * Get the number of pending tasks
+         */
+        public @NonNegative int size() {
+            return Math.max(size.get(), 0);
+        }
+
+        /**
+         * Add a task to the mailbox
+         * On direct mode, the task is executed immediately
+         */
+        public void execute(Runnable task) {
+            if (executor == null) {
+                run(task);
+                return;
+            }
+
+            tasks.add(task);
+            pending.incrementAndGet();
+
+            if (size.incrementAndGet() >= highWaterMark && suspended.compareAndSet(false, true)) {
+                suspensions.increment();
+                channel.config().setAutoRead(false);
+            }
+
+            schedule();
+        }
+
+        private void schedule() {
+            if (executor == null || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The server is stopped : drop pending tasks
+                pending.addAndGet(-size.getAndSet(0));
+                tasks.clear();
+            }
+        }
+
+        private void drain() {
+            try {
+                for (int i = 0; i < BATCH_SIZE; ++i) {
+                    final Runnable task = tasks.poll();
+
+                    if (task == null) {
+                        break;
+                    }
+
+                    run(task);
+                    pending.decrementAndGet();
+
+                    if (size.decrementAndGet() <= highWaterMark / 2 && suspended.compareAndSet(true, false)) {
+                        channel.config().setAutoRead(true);
+                    }
+                }
+            } finally {
+                scheduled.set(false);
+            }
+
+            // Tasks added during the drain, or the batch size is reached
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                exceptionHandler.accept(e);
+            } finally {
+                processed.increment();
+            }
+        }
+    }
+}
@@ -35,49 +35,73 @@ import java.util.concurrent.ConcurrentMap;
 
 /**
  * Adapt Netty ChannelInboundHandler to SessionHandler
+ *
+ * All session events are forwarded to the session mailbox, so they can be handled outside the IO thread
+ *
+ * @see SessionExecutor
  */
 @ChannelHandler.Sharable
 public final class SessionHandlerAdapter<S extends Session> extends ChannelInboundHandlerAdapter {
     private final AttributeKey<S> sessionAttribute = AttributeKey.valueOf("session");
+    private final AttributeKey<SessionExecutor.Mailbox> mailboxAttribute = AttributeKey.valueOf("mailbox");
 
     private final SessionFactory<S> factory;
+    private final FlushPolicy flushPolicy;
+    private final SessionExecutor executor;
     private final ConcurrentMap<ChannelId, S> sessions = new ConcurrentHashMap<>();
 
-    public SessionHandlerAdapter(SessionFactory<S> factory) {
+    public SessionHandlerAdapter(SessionFactory<S> factory, FlushPolicy flushPolicy, SessionExecutor executor) {
         this.factory = factory;
+        this.flushPolicy = flushPolicy;
+        this.executor = executor;
+    }
+
+    public SessionHandlerAdapter(SessionFactory<S> factory, FlushPolicy flushPolicy) {
+        this(factory, flushPolicy, SessionExecutor.direct());
+    }
+
+    public SessionHandlerAdapter(SessionFactory<S> factory) {
+        this(factory, FlushPolicy.immediate());
     }
 
     @Override
     public void channelActive(ChannelHandlerContext ctx) {
-        final S session = factory.create(new ChannelAdapter(ctx));
+        final S session = factory.create(new ChannelAdapter(ctx, flushPolicy));
+        final SessionExecutor.Mailbox mailbox = executor.mailbox(ctx.channel(), session::exception);
 
-        ctx
-            .channel()
-            .attr(sessionAttribute)
-            .set(session)
-        ;
+        ctx.channel().attr(sessionAttribute).set(session);
+        ctx.channel().attr(mailboxAttribute).set(mailbox);
 
         sessions.put(ctx.channel().id(), session);
-        session.receive(new SessionCreated());
+        mailbox.execute(() -> session.receive(new SessionCreated()));
     }
 
     @Override
     public void channelInactive(ChannelHandlerContext ctx) {
-        try {
-            ctx.channel().attr(sessionAttribute).get().receive(new SessionClosed());
-        } finally {
-            sessions.remove(ctx.channel().id());
-        }
+        final S session = ctx.channel().attr(sessionAttribute).get();
+        final ChannelId id = ctx.channel().id();
+
+        ctx.channel().attr(mailboxAttribute).get().execute(() -> {
+            try {
+                session.receive(new SessionClosed());
+            } finally {
+                sessions.remove(id);
+            }
+        });
     }
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        ctx.channel().attr(sessionAttribute).get().receive(msg);
+        final S session = ctx.channel().attr(sessionAttribute).get();
+
+        ctx.channel().attr(mailboxAttribute).get().execute(() -> session.receive(msg));
     }
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
-        ctx.channel().attr(sessionAttribute).get().exception(cause);
+        final S session = ctx.channel().attr(sessionAttribute).get();
+
+        ctx.channel().attr(mailboxAttribute).get().execute(() -> session.exception(cause));
     }
 
     /**
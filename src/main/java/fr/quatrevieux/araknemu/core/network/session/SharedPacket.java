@@ -0,0 +1,129 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.session;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Packet sent to many sessions
+ *
+ * The packet is serialized only once, and the transport layer can attach its own encoded form (e.g. a pooled buffer),
+ * which is shared by all sessions. The encoded form is only created when the packet is sent to a second session,
+ * so broadcasting to zero or one recipient does not perform any encoding.
+ *
+ * Sessions which do not support shared packets will use {@link SharedPacket#toString()}
+ *
+ * @see SharedPacket#broadcast(Object, Consumer) For handle creation and release of the packet
+ */
+public final class SharedPacket {
+    private final String packet;
+    private int sent = 0;
+    private boolean released = false;
+    private @Nullable Encoded encoded;
+
+    private SharedPacket(String packet) {
+        this.packet = packet;
+    }
+
+    /**
+     * Get the encoded form of the packet, shared by all sessions
+     *
+     * Return null on the first call, because encoding is useless for a single session: the string form should be sent instead.
+     * Null is also returned once the packet is released.
+     * Only one transport is expected to use the packet, so the encoder must always return the same type.
+     *
+     * @param encoder Create the encoded form of the packet from the serialized packet
+     *
+     * @return The encoded packet, or null if the string form should be used
+     *
+     * @param <E> The encoded packet type
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <E extends Encoded> @Nullable E encoded(Function<String, E> encoder) {
+        if (released || ++sent == 1) {
+            return null;
+        }
+
+        if (encoded == null) {
+            encoded = encoder.apply(packet);
+        }
+
+        return (E) encoded;
+    }
+
+    /**
+     * Release the encoded form of the packet
+     * Sessions will use the string form if the packet is sent after
+     */
+    public synchronized void release() {
+        released = true;
+
+        if (encoded != null) {
+            encoded.release();
+            encoded = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return packet;
+    }
+
+    /**
+     * Create the shared packet and perform the broadcast action
+     * The packet is released after the action, even if an exception is thrown
+     * If the packet is already a shared packet, it is passed as is, and not released
+     *
+     * Usage:
+     * <code>
+     *     SharedPacket.broadcast(packet, shared -> sessions.forEach(session -> session.send(shared)));
+     * </code>
+     *
+     * @param packet The packet to broadcast
+     * @param action The broadcast action
+     */
+    public static void broadcast(Object packet, Consumer<SharedPacket> action) {
+        if (packet instanceof SharedPacket) {
+            action.accept((SharedPacket) packet);
+            return;
+        }
+
+        final SharedPacket shared = new SharedPacket(packet.toString());
+
+        try {
+            action.accept(shared);
+        } finally {
+            shared.release();
+        }
+    }
+
+    /**
+     * Encoded form of the packet, handled by the transport layer
+     */
+    public interface Encoded {
+        /**
+         * Release the encoded packet, once sent to all sessions
+         */
+        public void release();
+    }
+}
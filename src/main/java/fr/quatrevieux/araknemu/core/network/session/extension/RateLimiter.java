@@ -24,22 +24,35 @@ import fr.quatrevieux.araknemu.core.network.exception.RateLimitException;
 import fr.quatrevieux.araknemu.core.network.session.ConfigurableSession;
 import fr.quatrevieux.araknemu.core.network.session.Session;
 import fr.quatrevieux.araknemu.core.network.session.SessionConfigurator;
+import fr.quatrevieux.araknemu.util.TokenBucket;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import java.util.function.Consumer;
 
 /**
- * Limit the number of received packets per seconds
+ * Limit the number of received packets per seconds, using a token bucket
  *
- * When the limit is reached, the packet is ignored, and a {@link RateLimitException} is raised
+ * Each packet consumes tokens following its cost (1 by default), and tokens are continuously refilled,
+ * so a client cannot exceed the limit, even across seconds boundaries.
+ * When the bucket is empty, the packet is ignored, and a {@link RateLimitException} is raised
+ *
+ * @see TokenBucket
  */
 public final class RateLimiter implements ConfigurableSession.ReceivePacketMiddleware {
-    private final int maxPackets;
-
-    private long lastTime;
-    private int packetsCount;
+    private final TokenBucket.Bucket bucket;
+    private final Map<String, Integer> costs;
 
-    public RateLimiter(int maxPackets) {
-        this.maxPackets = maxPackets;
+    /**
+     * @param bucket The tokens state of the session
+     * @param costs The cost of packets, indexed by packet code (i.e. the two first characters of the packet)
+     */
+    public RateLimiter(TokenBucket.Bucket bucket, Map<String, Integer> costs) {
+        this.bucket = bucket;
+        this.costs = costs;
     }
 
     @Override
@@ -50,33 +63,52 @@ public final class RateLimiter implements ConfigurableSession.ReceivePacketMiddl
             return;
         }
 
-        final long currentTime = System.currentTimeMillis() / 1000L;
+        if (!bucket.tryAcquire(cost(packet))) {
+            throw new RateLimitException();
+        }
 
-        if (lastTime != currentTime) {
-            lastTime = currentTime;
-            packetsCount = 0;
+        next.accept(packet);
+    }
 
-            next.accept(packet);
-            return;
+    private @NonNegative int cost(Object packet) {
+        if (costs.isEmpty() || !(packet instanceof String)) {
+            return 1;
         }
 
-        if (++packetsCount >= maxPackets) {
-            throw new RateLimitException();
+        final String code = (String) packet;
+
+        if (code.length() < 2) {
+            return 1;
         }
 
-        next.accept(packet);
+        return Math.max(costs.getOrDefault(code.substring(0, 2), 1), 0);
     }
 
     public static final class Configurator<S extends Session> implements SessionConfigurator.Configurator<S> {
-        private final int maxPackets;
+        private final TokenBucket limiter;
+        private final Map<String, Integer> costs;
+
+        /**
+         * @param limiter The limiter parameters, shared by all sessions
+         * @param costs The cost of packets, indexed by packet code
+         */
+        public Configurator(TokenBucket limiter, Map<String, Integer> costs) {
+            this.limiter = limiter;
+            this.costs = costs;
+        }
 
-        public Configurator(int maxPackets) {
-            this.maxPackets = maxPackets;
+        /**
+         * Limit the number of packets per seconds, with a cost of 1 for all packets
+         *
+         * @param maxPackets Maximum number of packets per seconds
+         */
+        public Configurator(@Positive int maxPackets) {
+            this(new TokenBucket(maxPackets, Duration.ofSeconds(1)), Collections.emptyMap());
         }
 
         @Override
         public void configure(ConfigurableSession inner, S session) {
-            inner.addReceiveMiddleware(new RateLimiter(maxPackets));
+            inner.addReceiveMiddleware(new RateLimiter(limiter.bucket(), costs));
         }
     }
 }
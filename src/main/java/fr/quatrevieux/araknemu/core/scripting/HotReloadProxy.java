@@ -24,24 +24,43 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Handle proxy creation to enable hot reload of scripts
  *
+ * Modifications of the script file are detected by {@link ScriptWatcher}, which marks the script as modified.
+ * The script is then reloaded on the next call, so the normal call only costs a volatile read.
+ * If the file cannot be watched, the modification time is checked on each call.
+ * The watcher does not retain the proxy, so it stops watching the file once the proxy is garbage collected.
+ *
  * @param <T> The type of the script class
  */
 public final class HotReloadProxy<@NonNull T> implements InvocationHandler, HotReloadableScript<T> {
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final ScriptLoader loader;
     private final Logger logger;
     private final Class<T> type;
     private final Path file;
-    private @NonNull T inner;
+    private final Map<Method, MethodHandle> invokers;
+    private final AtomicBoolean modified = new AtomicBoolean(false);
+    // The watcher only keeps a weak reference to the callback, so it must be held by the proxy
+    private final Runnable onModification = () -> modified.set(true);
+    private final boolean watched;
+    private volatile @NonNull T inner;
     private FileTime lastModified;
 
     HotReloadProxy(ScriptLoader loader, Class<T> type, Logger logger, Path file, @NonNull T inner) throws IOException {
@@ -51,16 +70,27 @@ public final class HotReloadProxy<@NonNull T> implements InvocationHandler, HotR
         this.file = file;
         this.inner = inner;
         this.lastModified = Files.getLastModifiedTime(file);
+        this.invokers = createInvokers(type);
+        this.watched = watch(file);
     }
 
     @Override
     @SuppressWarnings("override.return")
-    public @Nullable Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    public @Nullable Object invoke(Object proxy, Method method, Object @Nullable [] args) throws Throwable {
+        final MethodHandle invoker = invokers.get(method);
+        final Object[] arguments = args != null ? args : NO_ARGUMENTS;
+
+        if (invoker != null) {
+            final Object target = load();
+
+            return invoker.invokeExact(target, arguments);
+        }
+
         if (method.getDeclaringClass().isAssignableFrom(HotReloadableScript.class)) {
-            return method.invoke(this, args);
+            return method.invoke(this, arguments);
         }
 
-        return method.invoke(load(), args);
+        return method.invoke(load(), arguments);
     }
 
     @Override
@@ -92,21 +122,32 @@ public final class HotReloadProxy<@NonNull T> implements InvocationHandler, HotR
         ));
     }
 
-    private @NonNull T load() {
+    private boolean watch(Path file) {
         try {
-            final FileTime newModified = Files.getLastModifiedTime(file);
+            ScriptWatcher.get().watch(file, onModification);
 
-            if (!newModified.equals(lastModified)) {
-                logger.debug("The script {} has been modified. Reload it.", file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Cannot watch the script " + file + ". Its modification time will be checked on each call.", e);
 
-                final T newInner = loader.load(file, type);
+            return false;
+        }
+    }
 
-                if (newInner != null) {
-                    inner = newInner;
-                    lastModified = newModified;
-                } else {
-                    logger.error("The new version of the script {} is not compatible with type {}. Keep last version.", file, type);
-                }
+    private @NonNull T load() {
+        if (!isModified()) {
+            return inner;
+        }
+
+        try {
+            logger.debug("The script {} has been modified. Reload it.", file);
+
+            final T newInner = loader.load(file, type);
+
+            if (newInner != null) {
+                inner = newInner;
+            } else {
+                logger.error("The new version of the script {} is not compatible with type {}. Keep last version.", file, type);
             }
         } catch (Throwable e) {
             logger.error("Failed to reload script " + file + ". Keep last version.", e);
@@ -114,4 +155,54 @@ public final class HotReloadProxy<@NonNull T> implements InvocationHandler, HotR
 
         return inner;
     }
+
+    /**
+     * Check if the script has been modified since the last load
+     * The modification flag is reset, so only one caller will reload the script
+     */
+    private boolean isModified() {
+        if (watched) {
+            return modified.get() && modified.compareAndSet(true, false);
+        }
+
+        try {
+            final FileTime newModified = Files.getLastModifiedTime(file);
+
+            if (newModified.equals(lastModified)) {
+                return false;
+            }
+
+            lastModified = newModified;
+
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to reload script " + file + ". Keep last version.", e);
+
+            return false;
+        }
+    }
+
+    /**
+     * Resolve method handles of the script type methods
+     * The handles are resolved on the interface, so they can be used on any version of the script
+     */
+    private static Map<Method, MethodHandle> createInvokers(Class<?> type) {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        final Map<Method, MethodHandle> invokers = new HashMap<>();
+
+        for (Method method : type.getMethods()) {
+            try {
+                invokers.put(
+                    method,
+                    lookup.unreflect(method)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(INVOKER_TYPE)
+                );
+            } catch (IllegalAccessException e) {
+                // Not accessible using method handles : fallback to reflection
+            }
+        }
+
+        return invokers;
+    }
 }
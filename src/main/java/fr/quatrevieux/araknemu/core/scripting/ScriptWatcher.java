@@ -0,0 +1,210 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.scripting;
+
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watch script files modifications, using a single {@link WatchService} thread
+ *
+ * Registered callbacks are called from the watcher thread, so they should be fast and thread safe
+ * (e.g. only mark the script as modified, and reload it on the next call)
+ *
+ * Callbacks are weakly referenced, so a script which is no longer used can be garbage collected.
+ * Collected callbacks are removed, and the directory is unregistered once it has no more callbacks.
+ */
+final class ScriptWatcher {
+    private static final long PURGE_INTERVAL = 60;
+    private static @MonotonicNonNull ScriptWatcher instance;
+
+    private final WatchService service;
+    private final Map<Path, Collection<WeakReference<Runnable>>> callbacks = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> keys = new ConcurrentHashMap<>();
+    private final ReferenceQueue<Runnable> collected = new ReferenceQueue<>();
+
+    private ScriptWatcher(WatchService service) {
+        this.service = service;
+    }
+
+    /**
+     * Watch modifications of the given file
+     * The callback is called each time the file is created, modified or deleted
+     *
+     * Only a weak reference to the callback is kept : the caller must keep a strong reference to it
+     * as long as the file should be watched
+     *
+     * @param file The file to watch
+     * @param callback Action to perform on modification
+     *
+     * @throws IOException When the parent directory of the file cannot be watched
+     */
+    public synchronized void watch(Path file, Runnable callback) throws IOException {
+        final Path absolutePath = file.toAbsolutePath().normalize();
+        final Path directory = absolutePath.getParent();
+
+        if (directory == null) {
+            throw new IOException("Cannot watch the file " + file + " : parent directory not found");
+        }
+
+        // Registering twice the same directory is allowed, and returns the same key
+        keys.put(directory, directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+        callbacks.computeIfAbsent(absolutePath, path -> new CopyOnWriteArrayList<>()).add(new WeakReference<>(callback, collected));
+    }
+
+    /**
+     * Get the currently watched directories
+     */
+    public Set<Path> directories() {
+        return Collections.unmodifiableSet(keys.keySet());
+    }
+
+    /**
+     * Get the shared watcher instance
+     * The watcher thread is started on the first call
+     *
+     * @throws IOException When the watch service cannot be created
+     */
+    public static synchronized ScriptWatcher get() throws IOException {
+        if (instance == null) {
+            final ScriptWatcher watcher = new ScriptWatcher(FileSystems.getDefault().newWatchService());
+            final Thread thread = new Thread(watcher::run);
+
+            thread.setName("ScriptWatcher");
+            thread.setDaemon(true);
+            thread.start();
+
+            instance = watcher;
+        }
+
+        return instance;
+    }
+
+    private void run() {
+        for (;;) {
+            final WatchKey key;
+
+            try {
+                key = service.poll(PURGE_INTERVAL, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (key != null) {
+                dispatch(key);
+            }
+
+            if (hasCollectedCallbacks()) {
+                purge();
+            }
+        }
+    }
+
+    private void dispatch(WatchKey key) {
+        final Path directory = (Path) key.watchable();
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // Some events are lost : consider that all files of the directory has been modified
+                callbacks.forEach((file, fileCallbacks) -> {
+                    if (directory.equals(file.getParent())) {
+                        call(fileCallbacks);
+                    }
+                });
+
+                continue;
+            }
+
+            final Path changedFile = (Path) event.context();
+
+            if (changedFile == null) {
+                continue;
+            }
+
+            final Collection<WeakReference<Runnable>> fileCallbacks = callbacks.get(directory.resolve(changedFile));
+
+            if (fileCallbacks != null) {
+                call(fileCallbacks);
+            }
+        }
+
+        key.reset();
+    }
+
+    /**
+     * Remove collected callbacks, and unregister directories without callbacks
+     */
+    private synchronized void purge() {
+        callbacks.values().forEach(fileCallbacks -> fileCallbacks.removeIf(callback -> callback.get() == null));
+        callbacks.values().removeIf(Collection::isEmpty);
+
+        keys.entrySet().removeIf(entry -> {
+            if (callbacks.keySet().stream().anyMatch(file -> entry.getKey().equals(file.getParent()))) {
+                return false;
+            }
+
+            entry.getValue().cancel();
+
+            return true;
+        });
+    }
+
+    /**
+     * Drain the queue of collected callbacks
+     *
+     * @return true if at least one callback has been collected
+     */
+    private boolean hasCollectedCallbacks() {
+        boolean found = false;
+
+        while (collected.poll() != null) {
+            found = true;
+        }
+
+        return found;
+    }
+
+    private static void call(Collection<WeakReference<Runnable>> callbacks) {
+        for (Reference<Runnable> reference : callbacks) {
+            final Runnable callback = reference.get();
+
+            if (callback != null) {
+                callback.run();
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.data.living.entity.player;
 import fr.arakne.utils.value.Colors;
 import fr.arakne.utils.value.constant.Gender;
 import fr.arakne.utils.value.constant.Race;
+import fr.quatrevieux.araknemu.data.constant.Characteristic;
 import fr.quatrevieux.araknemu.data.living.entity.WalletEntity;
 import fr.quatrevieux.araknemu.data.value.Position;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
@@ -29,6 +30,7 @@ import fr.quatrevieux.araknemu.game.world.creature.characteristics.DefaultCharac
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.MutableCharacteristics;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -56,6 +58,14 @@ public final class Player implements WalletEntity {
     private Position savedPosition;
     private @NonNegative long kamas;
 
+    /**
+     * Dirty state, used for save only modified players
+     * The characteristics and channels are mutable, so a snapshot is kept on save to detect changes
+     */
+    private volatile boolean dirty = true;
+    private @Nullable DefaultCharacteristics savedStats;
+    private @Nullable Set<ChannelType> savedChannels;
+
     public Player(int id, int accountId, int serverId, String name, Race race, Gender gender, Colors colors, @Positive int level, MutableCharacteristics stats, Position position, Set<ChannelType> channels, @NonNegative int boostPoints, @NonNegative int spellPoints, @NonNegative int life, @NonNegative long experience, Position savedPosition, @NonNegative long kamas) {
         this.id = id;
         this.accountId = accountId;
@@ -117,6 +127,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setLevel(@Positive int level) {
+        dirty |= this.level != level;
         this.level = level;
     }
 
@@ -129,6 +140,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setPosition(Position position) {
+        dirty |= !this.position.equals(position);
         this.position = position;
     }
 
@@ -137,6 +149,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setChannels(Set<ChannelType> channels) {
+        dirty |= !this.channels.equals(channels);
         this.channels = channels;
     }
 
@@ -145,6 +158,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setBoostPoints(@NonNegative int boostPoints) {
+        dirty |= this.boostPoints != boostPoints;
         this.boostPoints = boostPoints;
     }
 
@@ -153,6 +167,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setSpellPoints(@NonNegative int spellPoints) {
+        dirty |= this.spellPoints != spellPoints;
         this.spellPoints = spellPoints;
     }
 
@@ -161,6 +176,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setLife(@NonNegative int life) {
+        dirty |= this.life != life;
         this.life = life;
     }
 
@@ -169,6 +185,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setExperience(@NonNegative long experience) {
+        dirty |= this.experience != experience;
         this.experience = experience;
     }
 
@@ -177,6 +194,7 @@ public final class Player implements WalletEntity {
     }
 
     public void setSavedPosition(Position savedPosition) {
+        dirty |= !this.savedPosition.equals(savedPosition);
         this.savedPosition = savedPosition;
     }
 
@@ -187,9 +205,51 @@ public final class Player implements WalletEntity {
 
     @Override
     public void setKamas(@NonNegative long kamas) {
+        dirty |= this.kamas != kamas;
         this.kamas = kamas;
     }
 
+    /**
+     * Check if the player has been modified since the last save (or load)
+     */
+    public boolean dirty() {
+        final DefaultCharacteristics savedStats = this.savedStats;
+
+        return dirty
+            || savedStats == null
+            || !savedStats.equals(stats)
+            || !channels.equals(savedChannels)
+        ;
+    }
+
+    /**
+     * Mark the player as saved : keep a snapshot of the mutable values, and clear the dirty flag
+     * This method must be called by the repository before the player is saved
+     */
+    public void markSaved() {
+        final DefaultCharacteristics snapshot = new DefaultCharacteristics();
+
+        for (Characteristic characteristic : Characteristic.values()) {
+            final int value = stats.get(characteristic);
+
+            if (value != 0) {
+                snapshot.set(characteristic, value);
+            }
+        }
+
+        dirty = false;
+        savedStats = snapshot;
+        savedChannels = channels.isEmpty() ? EnumSet.noneOf(ChannelType.class) : EnumSet.copyOf(channels);
+    }
+
+    /**
+     * Force the dirty state of the player
+     * Should be called when the save failed
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
     /**
      * Create a new player with new race
      *
@@ -35,6 +35,7 @@ import fr.quatrevieux.araknemu.data.value.ServerCharacters;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.MutableCharacteristics;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
@@ -43,6 +44,10 @@ import java.util.Collection;
 import java.util.Set;
 
 final class SqlPlayerRepository implements PlayerRepository {
+    private static final String SAVE_QUERY = "UPDATE PLAYER SET " +
+        "PLAYER_LEVEL = ?, PLAYER_STATS = ?, MAP_ID = ?, CELL_ID = ?, CHANNELS = ?, BOOST_POINTS = ?, SPELL_POINTS = ?, LIFE_POINTS = ?, PLAYER_EXPERIENCE = ?, SAVED_MAP_ID = ?, SAVED_CELL_ID = ?, PLAYER_KAMAS = ? " +
+        "WHERE PLAYER_ID = ?";
+
     private final QueryExecutor executor;
     private final Transformer<MutableCharacteristics> characteristicsTransformer;
     private final Transformer<Set<ChannelType>> channelsTransformer;
@@ -264,38 +269,58 @@ final class SqlPlayerRepository implements PlayerRepository {
 
     @Override
     public void save(Player player) {
-        final int rows = utils.update(
-            "UPDATE PLAYER SET " +
-                "PLAYER_LEVEL = ?, PLAYER_STATS = ?, MAP_ID = ?, CELL_ID = ?, CHANNELS = ?, BOOST_POINTS = ?, SPELL_POINTS = ?, LIFE_POINTS = ?, PLAYER_EXPERIENCE = ?, SAVED_MAP_ID = ?, SAVED_CELL_ID = ?, PLAYER_KAMAS = ? " +
-                "WHERE PLAYER_ID = ?",
-            stmt -> {
-                stmt.setInt(1,    player.level());
-                stmt.setString(2, characteristicsTransformer.serialize(player.stats()));
-                stmt.setInt(3,    player.position().map());
-                stmt.setInt(4,    player.position().cell());
-                stmt.setString(5, channelsTransformer.serialize(player.channels()));
-                stmt.setInt(6,    player.boostPoints());
-                stmt.setInt(7,    player.spellPoints());
-                stmt.setInt(8,    player.life());
-                stmt.setLong(9,   player.experience());
-                stmt.setInt(10,   player.savedPosition().map());
-                stmt.setInt(11,   player.savedPosition().cell());
-                stmt.setLong(12,  player.kamas());
-                stmt.setInt(13,   player.id());
-            }
-        );
+        final int rows;
+
+        // Mark as saved before the query : a modification done during the save will not be lost
+        player.markSaved();
+
+        try {
+            rows = utils.update(SAVE_QUERY, stmt -> bindSave(stmt, player));
+        } catch (RuntimeException e) {
+            player.markDirty();
+            throw e;
+        }
 
         if (rows != 1) {
+            player.markDirty();
             throw new EntityNotFoundException();
         }
     }
 
+    @Override
+    public int saveAll(Collection<Player> players) {
+        players.forEach(Player::markSaved);
+
+        try {
+            return utils.saveAll(SAVE_QUERY, players, this::bindSave);
+        } catch (RuntimeException e) {
+            players.forEach(Player::markDirty);
+            throw e;
+        }
+    }
+
+    private void bindSave(PreparedStatement stmt, Player player) throws SQLException {
+        stmt.setInt(1,    player.level());
+        stmt.setString(2, characteristicsTransformer.serialize(player.stats()));
+        stmt.setInt(3,    player.position().map());
+        stmt.setInt(4,    player.position().cell());
+        stmt.setString(5, channelsTransformer.serialize(player.channels()));
+        stmt.setInt(6,    player.boostPoints());
+        stmt.setInt(7,    player.spellPoints());
+        stmt.setInt(8,    player.life());
+        stmt.setLong(9,   player.experience());
+        stmt.setInt(10,   player.savedPosition().map());
+        stmt.setInt(11,   player.savedPosition().cell());
+        stmt.setLong(12,  player.kamas());
+        stmt.setInt(13,   player.id());
+    }
+
     private class Loader implements RepositoryUtils.Loader<Player> {
         private final Gender[] genders = Gender.values();
 
         @Override
         public Player create(Record record) throws SQLException {
-            return new Player(
+            final Player player = new Player(
                 record.getInt("PLAYER_ID"),
                 record.getInt("ACCOUNT_ID"),
                 record.getInt("SERVER_ID"),
@@ -320,6 +345,10 @@ final class SqlPlayerRepository implements PlayerRepository {
                 ),
                 record.getNonNegativeLong("PLAYER_KAMAS")
             );
+
+            player.markSaved();
+
+            return player;
         }
 
         @Override
@@ -29,6 +29,7 @@ import fr.quatrevieux.araknemu.data.living.entity.player.PlayerSpell;
 import fr.quatrevieux.araknemu.data.living.repository.player.PlayerSpellRepository;
 import org.checkerframework.common.value.qual.IntRange;
 
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
@@ -37,6 +38,9 @@ import java.util.Collection;
  * SQL implementation for {@link PlayerSpell} repository
  */
 final class SqlPlayerSpellRepository implements PlayerSpellRepository {
+    private static final String REPLACE_QUERY = "REPLACE INTO PLAYER_SPELL (PLAYER_ID, SPELL_ID, CLASS_SPELL, SPELL_LEVEL, SPELL_POSITION) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_QUERY = "DELETE FROM PLAYER_SPELL WHERE PLAYER_ID = ? AND SPELL_ID = ?";
+
     private final QueryExecutor executor;
     private final RepositoryUtils<PlayerSpell> utils;
 
@@ -82,35 +86,30 @@ final class SqlPlayerSpellRepository implements PlayerSpellRepository {
 
     @Override
     public void delete(PlayerSpell item) {
-        final int count = utils.update(
-            "DELETE FROM PLAYER_SPELL WHERE PLAYER_ID = ? AND SPELL_ID = ?",
-            stmt -> {
-                stmt.setInt(1, item.playerId());
-                stmt.setInt(2, item.spellId());
-            }
-        );
+        final int count = utils.update(DELETE_QUERY, stmt -> bindDelete(stmt, item));
 
         if (count != 1) {
             throw new EntityNotFoundException();
         }
     }
 
+    @Override
+    public int deleteAll(Collection<PlayerSpell> spells) {
+        return utils.deleteAll(DELETE_QUERY, spells, this::bindDelete);
+    }
+
     @Override
     public PlayerSpell add(PlayerSpell entity) throws RepositoryException {
-        utils.update(
-            "REPLACE INTO PLAYER_SPELL (PLAYER_ID, SPELL_ID, CLASS_SPELL, SPELL_LEVEL, SPELL_POSITION) VALUES (?, ?, ?, ?, ?)",
-            stmt -> {
-                stmt.setInt(1,     entity.playerId());
-                stmt.setInt(2,     entity.spellId());
-                stmt.setBoolean(3, entity.classSpell());
-                stmt.setInt(4,     entity.level());
-                stmt.setInt(5,     entity.position());
-            }
-        );
+        utils.update(REPLACE_QUERY, stmt -> bindReplace(stmt, entity));
 
         return entity;
     }
 
+    @Override
+    public int addAll(Collection<PlayerSpell> spells) {
+        return utils.saveAll(REPLACE_QUERY, spells, this::bindReplace);
+    }
+
     @Override
     public PlayerSpell get(PlayerSpell entity) throws RepositoryException {
         return utils.findOne(
@@ -133,6 +132,19 @@ final class SqlPlayerSpellRepository implements PlayerSpellRepository {
         ) > 0;
     }
 
+    private void bindReplace(PreparedStatement stmt, PlayerSpell entity) throws SQLException {
+        stmt.setInt(1,     entity.playerId());
+        stmt.setInt(2,     entity.spellId());
+        stmt.setBoolean(3, entity.classSpell());
+        stmt.setInt(4,     entity.level());
+        stmt.setInt(5,     entity.position());
+    }
+
+    private void bindDelete(PreparedStatement stmt, PlayerSpell item) throws SQLException {
+        stmt.setInt(1, item.playerId());
+        stmt.setInt(2, item.spellId());
+    }
+
     private static class Loader implements RepositoryUtils.Loader<PlayerSpell> {
         @Override
         public PlayerSpell create(Record record) throws SQLException {
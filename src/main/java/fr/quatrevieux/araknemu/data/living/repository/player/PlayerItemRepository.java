@@ -21,6 +21,7 @@ package fr.quatrevieux.araknemu.data.living.repository.player;
 
 import fr.quatrevieux.araknemu.core.dbal.repository.EntityNotFoundException;
 import fr.quatrevieux.araknemu.core.dbal.repository.MutableRepository;
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
 import fr.quatrevieux.araknemu.data.living.entity.player.Player;
 import fr.quatrevieux.araknemu.data.living.entity.player.PlayerItem;
 
@@ -68,4 +69,39 @@ public interface PlayerItemRepository extends MutableRepository<PlayerItem> {
      * @throws EntityNotFoundException When cannot found entity to delete
      */
     public void delete(PlayerItem item);
+
+    /**
+     * Insert multiple items in one batch
+     *
+     * @param items Items to insert
+     *
+     * @return Number of inserted items
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int addAll(Collection<PlayerItem> items) throws RepositoryException;
+
+    /**
+     * Update multiple items in one batch
+     * Unlike {@link PlayerItemRepository#update(PlayerItem)}, a missing item will not raise an exception
+     *
+     * @param items Items to save
+     *
+     * @return Number of updated items
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int updateAll(Collection<PlayerItem> items) throws RepositoryException;
+
+    /**
+     * Delete multiple items in one batch
+     * Unlike {@link PlayerItemRepository#delete(PlayerItem)}, a missing item will not raise an exception
+     *
+     * @param items Items to delete
+     *
+     * @return Number of deleted items
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int deleteAll(Collection<PlayerItem> items) throws RepositoryException;
 }
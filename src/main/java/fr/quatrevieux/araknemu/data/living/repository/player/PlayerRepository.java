@@ -84,4 +84,16 @@ public interface PlayerRepository extends MutableRepository<Player> {
      * @throws fr.quatrevieux.araknemu.core.dbal.repository.EntityNotFoundException When the entity cannot be updated
      */
     public void save(Player player) throws RepositoryException;
+
+    /**
+     * Save multiple players in one batch
+     * Unlike {@link PlayerRepository#save(Player)}, a missing player will not raise an exception
+     *
+     * @param players Players to save
+     *
+     * @return Number of saved players
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int saveAll(Collection<Player> players) throws RepositoryException;
 }
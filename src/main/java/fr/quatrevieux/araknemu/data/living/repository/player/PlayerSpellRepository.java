@@ -20,6 +20,7 @@
 package fr.quatrevieux.araknemu.data.living.repository.player;
 
 import fr.quatrevieux.araknemu.core.dbal.repository.MutableRepository;
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
 import fr.quatrevieux.araknemu.data.living.entity.player.Player;
 import fr.quatrevieux.araknemu.data.living.entity.player.PlayerSpell;
 
@@ -35,4 +36,27 @@ public interface PlayerSpellRepository extends MutableRepository<PlayerSpell> {
      * @param player The player to load
      */
     public Collection<PlayerSpell> byPlayer(Player player);
+
+    /**
+     * Add or replace multiple spells in one batch
+     *
+     * @param spells Spells to save
+     *
+     * @return Number of saved spells
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int addAll(Collection<PlayerSpell> spells) throws RepositoryException;
+
+    /**
+     * Delete multiple spells in one batch
+     * Missing spells are ignored
+     *
+     * @param spells Spells to delete
+     *
+     * @return Number of deleted spells
+     *
+     * @throws RepositoryException When the batch fails
+     */
+    public int deleteAll(Collection<PlayerSpell> spells) throws RepositoryException;
 }
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Pending write operation on a single row
+ */
+enum Operation {
+    INSERT,
+    UPDATE,
+    DELETE,
+
+    /**
+     * Delete the row, and insert it again
+     */
+    REPLACE;
+
+    /**
+     * Merge the current operation with a new one on the same row
+     *
+     * @param next The new operation
+     *
+     * @return The resulting operation, or null if the two operations cancel each other (i.e. insert then delete)
+     */
+    public @Nullable Operation merge(Operation next) {
+        switch (this) {
+            case INSERT:
+                return next == DELETE ? null : INSERT;
+
+            case DELETE:
+                return next == INSERT ? REPLACE : DELETE;
+
+            case REPLACE:
+                return next == DELETE ? DELETE : REPLACE;
+
+            default:
+                return next == INSERT ? REPLACE : next;
+        }
+    }
+}
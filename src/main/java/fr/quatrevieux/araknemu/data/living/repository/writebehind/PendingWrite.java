@@ -0,0 +1,70 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+
+/**
+ * Coalesced write of a single row
+ *
+ * @param <E> The entity type
+ */
+final class PendingWrite<E> {
+    private final Writer<E> writer;
+    private final E entity;
+    private final Operation operation;
+
+    PendingWrite(Writer<E> writer, E entity, Operation operation) {
+        this.writer = writer;
+        this.entity = entity;
+        this.operation = operation;
+    }
+
+    /**
+     * Merge with a new write on the same row
+     * The entity of the new write is kept, because it's the most recent one
+     *
+     * @param next The new write
+     *
+     * @return The merged write, or null if there is nothing to write
+     * @param <N> The entity type of the new write
+     */
+    public <N> @Nullable PendingWrite<N> merge(PendingWrite<N> next) {
+        final Operation merged = operation.merge(next.operation);
+
+        if (merged == null) {
+            return null;
+        }
+
+        return new PendingWrite<>(next.writer, next.entity, merged);
+    }
+
+    /**
+     * Add the write to the batch of its writer
+     *
+     * @param batches Batches indexed by writer
+     */
+    @SuppressWarnings("unchecked")
+    public void addTo(Map<Writer<?>, WriteBatch<?>> batches) {
+        ((WriteBatch<E>) batches.computeIfAbsent(writer, WriteBatch::new)).add(entity, operation);
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Pending writes of a single writer, grouped by phase to be performed using bulk operations
+ *
+ * Phases are executed in this order : deletes, inserts, and updates
+ * So a {@link Operation#REPLACE} is performed as a delete followed by an insert.
+ *
+ * If a bulk operation fails, the failed rows are retried one by one, so only the invalid rows are lost.
+ * Rows already written by the bulk operation are found using {@link BatchUpdateException#getUpdateCounts()},
+ * so they are not written twice. If the update counts are not available, all rows are retried.
+ *
+ * @param <E> The entity type
+ */
+final class WriteBatch<E> {
+    private final Writer<E> writer;
+    private final List<E> deletes = new ArrayList<>();
+    private final List<E> inserts = new ArrayList<>();
+    private final List<E> updates = new ArrayList<>();
+
+    WriteBatch(Writer<E> writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Add a write to the batch
+     *
+     * @param entity The entity to write
+     * @param operation The write operation
+     */
+    public void add(E entity, Operation operation) {
+        switch (operation) {
+            case INSERT:
+                inserts.add(entity);
+                break;
+
+            case DELETE:
+                deletes.add(entity);
+                break;
+
+            case REPLACE:
+                deletes.add(entity);
+                inserts.add(entity);
+                break;
+
+            default:
+                updates.add(entity);
+        }
+    }
+
+    /**
+     * Perform all writes
+     *
+     * @param errorHandler Called for each failed row
+     *
+     * @return Number of written rows
+     */
+    public @NonNegative int execute(Consumer<RuntimeException> errorHandler) {
+        int written = 0;
+
+        written += phase(deletes, writer::deleteAll, writer::delete, errorHandler, false);
+        written += phase(inserts, writer::insertAll, writer::insert, errorHandler, false);
+        written += phase(updates, writer::updateAll, writer::update, errorHandler, true);
+
+        return written;
+    }
+
+    /**
+     * Execute a single phase
+     *
+     * @param entities Entities to write
+     * @param bulk The bulk write operation
+     * @param single The single row write operation, used as fallback
+     * @param errorHandler Called for each failed row
+     * @param retryMissing Retry row by row if the bulk operation does not write all rows. Should only be used for idempotent operations.
+     *
+     * @return Number of written rows
+     */
+    private @NonNegative int phase(List<E> entities, ToIntFunction<List<E>> bulk, Consumer<E> single, Consumer<RuntimeException> errorHandler, boolean retryMissing) {
+        if (entities.isEmpty()) {
+            return 0;
+        }
+
+        int @Nullable [] updateCounts = null;
+
+        try {
+            if (bulk.applyAsInt(entities) >= entities.size() || !retryMissing) {
+                return entities.size();
+            }
+        } catch (RuntimeException e) {
+            // The rows which are not written by the batch will be written one by one to find the invalid ones
+            updateCounts = updateCounts(e);
+        }
+
+        int written = 0;
+        int index = 0;
+
+        for (E entity : entities) {
+            if (executed(updateCounts, index++)) {
+                ++written;
+                continue;
+            }
+
+            try {
+                single.accept(entity);
+                ++written;
+            } catch (RuntimeException e) {
+                errorHandler.accept(e);
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Extract the update counts of the failed batch
+     *
+     * @param error The error thrown by the bulk operation
+     *
+     * @return The update counts, or null if not available
+     */
+    private static int @Nullable [] updateCounts(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof BatchUpdateException) {
+                return ((BatchUpdateException) cause).getUpdateCounts();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Check if the row has been successfully executed by the failed batch
+     *
+     * The update counts array may be shorter than the batch if the driver stops on the first error:
+     * in this case, the rows after the update counts are not executed.
+     *
+     * @param updateCounts Update counts of the batch. If null, no rows are considered as executed.
+     * @param index The row index
+     */
+    private static boolean executed(int @Nullable [] updateCounts, @NonNegative int index) {
+        return updateCounts != null && index < updateCounts.length && updateCounts[index] != Statement.EXECUTE_FAILED;
+    }
+}
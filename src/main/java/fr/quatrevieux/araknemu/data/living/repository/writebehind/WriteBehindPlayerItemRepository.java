@@ -0,0 +1,154 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
+import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.entity.player.PlayerItem;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Items repository which delay the writes
+ * Note: because writes are delayed, {@link fr.quatrevieux.araknemu.core.dbal.repository.EntityNotFoundException} is never thrown by update and delete
+ */
+final class WriteBehindPlayerItemRepository implements PlayerItemRepository {
+    private final PlayerItemRepository repository;
+    private final WriteBehindQueue queue;
+    private final Writer<PlayerItem> writer = new SqlWriter();
+
+    WriteBehindPlayerItemRepository(PlayerItemRepository repository, WriteBehindQueue queue) {
+        this.repository = repository;
+        this.queue = queue;
+    }
+
+    @Override
+    public void initialize() throws RepositoryException {
+        repository.initialize();
+    }
+
+    @Override
+    public void destroy() throws RepositoryException {
+        repository.destroy();
+    }
+
+    @Override
+    public PlayerItem add(PlayerItem entity) throws RepositoryException {
+        queue.push(entity.playerId(), writer, entity.entryId(), entity, Operation.INSERT);
+
+        return entity;
+    }
+
+    @Override
+    public void update(PlayerItem item) {
+        queue.push(item.playerId(), writer, item.entryId(), item, Operation.UPDATE);
+    }
+
+    @Override
+    public void delete(PlayerItem item) {
+        queue.push(item.playerId(), writer, item.entryId(), item, Operation.DELETE);
+    }
+
+    @Override
+    public int addAll(Collection<PlayerItem> items) throws RepositoryException {
+        items.forEach(this::add);
+
+        return items.size();
+    }
+
+    @Override
+    public int updateAll(Collection<PlayerItem> items) throws RepositoryException {
+        items.forEach(this::update);
+
+        return items.size();
+    }
+
+    @Override
+    public int deleteAll(Collection<PlayerItem> items) throws RepositoryException {
+        items.forEach(this::delete);
+
+        return items.size();
+    }
+
+    @Override
+    public PlayerItem get(PlayerItem entity) throws RepositoryException {
+        queue.flush(entity.playerId());
+
+        return repository.get(entity);
+    }
+
+    @Override
+    public boolean has(PlayerItem entity) throws RepositoryException {
+        queue.flush(entity.playerId());
+
+        return repository.has(entity);
+    }
+
+    @Override
+    public Collection<PlayerItem> byPlayer(Player player) {
+        queue.flush(player.id());
+
+        return repository.byPlayer(player);
+    }
+
+    /**
+     * Pending writes are not flushed here, because players of the account are not known
+     * Use {@link fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository#findByAccount(int, int)} of the write behind queue before calling this method
+     */
+    @Override
+    public Map<Integer, List<PlayerItem>> forCharacterList(int serverId, int accountId, int[] positions) {
+        return repository.forCharacterList(serverId, accountId, positions);
+    }
+
+    private final class SqlWriter implements Writer<PlayerItem> {
+        @Override
+        public void insert(PlayerItem entity) {
+            repository.add(entity);
+        }
+
+        @Override
+        public void update(PlayerItem entity) {
+            repository.update(entity);
+        }
+
+        @Override
+        public void delete(PlayerItem entity) {
+            repository.delete(entity);
+        }
+
+        @Override
+        public int insertAll(Collection<PlayerItem> entities) {
+            return repository.addAll(entities);
+        }
+
+        @Override
+        public int updateAll(Collection<PlayerItem> entities) {
+            return repository.updateAll(entities);
+        }
+
+        @Override
+        public int deleteAll(Collection<PlayerItem> entities) {
+            return repository.deleteAll(entities);
+        }
+    }
+}
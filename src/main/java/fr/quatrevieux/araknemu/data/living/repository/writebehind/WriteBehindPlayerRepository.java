@@ -0,0 +1,157 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
+import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
+import fr.quatrevieux.araknemu.data.value.ServerCharacters;
+
+import java.util.Collection;
+
+/**
+ * Player repository which delay the save of the player
+ * A save will flush all pending writes of the player
+ *
+ * Loading the players of an account will also flush their pending writes,
+ * so the item repository can be queried for the account afterward (ex: {@link fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository#forCharacterList(int, int, int[])})
+ */
+final class WriteBehindPlayerRepository implements PlayerRepository {
+    private final PlayerRepository repository;
+    private final WriteBehindQueue queue;
+    private final Writer<Player> writer = new SqlWriter();
+
+    WriteBehindPlayerRepository(PlayerRepository repository, WriteBehindQueue queue) {
+        this.repository = repository;
+        this.queue = queue;
+    }
+
+    @Override
+    public void initialize() throws RepositoryException {
+        repository.initialize();
+    }
+
+    @Override
+    public void destroy() throws RepositoryException {
+        repository.destroy();
+    }
+
+    @Override
+    public Player add(Player entity) throws RepositoryException {
+        return repository.add(entity);
+    }
+
+    @Override
+    public void delete(Player entity) throws RepositoryException {
+        queue.flush(entity.id());
+        repository.delete(entity);
+    }
+
+    @Override
+    public Player get(Player entity) throws RepositoryException {
+        queue.flush(entity.id());
+
+        return repository.get(entity);
+    }
+
+    @Override
+    public boolean has(Player entity) throws RepositoryException {
+        return repository.has(entity);
+    }
+
+    @Override
+    public Collection<Player> findByAccount(int accountId, int serverId) {
+        final Collection<Player> players = repository.findByAccount(accountId, serverId);
+        boolean flushed = false;
+
+        for (Player player : players) {
+            if (queue.flush(player.id())) {
+                flushed = true;
+            }
+        }
+
+        // Players loaded before the flush are outdated : reload them
+        return flushed ? repository.findByAccount(accountId, serverId) : players;
+    }
+
+    @Override
+    public boolean nameExists(int serverId, String name) {
+        return repository.nameExists(serverId, name);
+    }
+
+    @Override
+    public int accountCharactersCount(Player player) {
+        return repository.accountCharactersCount(player);
+    }
+
+    @Override
+    public Collection<ServerCharacters> accountCharactersCount(int accountId) {
+        return repository.accountCharactersCount(accountId);
+    }
+
+    @Override
+    public Collection<ServerCharacters> serverCharactersCountByAccountPseudo(String accountPseudo) {
+        return repository.serverCharactersCountByAccountPseudo(accountPseudo);
+    }
+
+    @Override
+    public Player getForGame(Player player) {
+        queue.flush(player.id());
+
+        return repository.getForGame(player);
+    }
+
+    @Override
+    public void save(Player player) throws RepositoryException {
+        queue.push(player.id(), writer, player.id(), player, Operation.UPDATE);
+        queue.commit(player.id());
+    }
+
+    @Override
+    public int saveAll(Collection<Player> players) throws RepositoryException {
+        for (Player player : players) {
+            queue.flush(player.id());
+        }
+
+        return repository.saveAll(players);
+    }
+
+    private final class SqlWriter implements Writer<Player> {
+        @Override
+        public void insert(Player entity) {
+            repository.add(entity);
+        }
+
+        @Override
+        public void update(Player entity) {
+            repository.save(entity);
+        }
+
+        @Override
+        public void delete(Player entity) {
+            repository.delete(entity);
+        }
+
+        @Override
+        public int updateAll(Collection<Player> entities) {
+            return repository.saveAll(entities);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
+import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.entity.player.PlayerSpell;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerSpellRepository;
+
+import java.util.Collection;
+
+/**
+ * Spells repository which delay the writes
+ * Note: {@link PlayerSpellRepository#add(Object)} is an "insert or replace" operation, so it's also used for updates
+ */
+final class WriteBehindPlayerSpellRepository implements PlayerSpellRepository {
+    private final PlayerSpellRepository repository;
+    private final WriteBehindQueue queue;
+    private final Writer<PlayerSpell> writer = new SqlWriter();
+
+    WriteBehindPlayerSpellRepository(PlayerSpellRepository repository, WriteBehindQueue queue) {
+        this.repository = repository;
+        this.queue = queue;
+    }
+
+    @Override
+    public void initialize() throws RepositoryException {
+        repository.initialize();
+    }
+
+    @Override
+    public void destroy() throws RepositoryException {
+        repository.destroy();
+    }
+
+    @Override
+    public PlayerSpell add(PlayerSpell entity) throws RepositoryException {
+        queue.push(entity.playerId(), writer, entity.spellId(), entity, Operation.INSERT);
+
+        return entity;
+    }
+
+    @Override
+    public void delete(PlayerSpell entity) throws RepositoryException {
+        queue.push(entity.playerId(), writer, entity.spellId(), entity, Operation.DELETE);
+    }
+
+    @Override
+    public int addAll(Collection<PlayerSpell> spells) throws RepositoryException {
+        spells.forEach(this::add);
+
+        return spells.size();
+    }
+
+    @Override
+    public int deleteAll(Collection<PlayerSpell> spells) throws RepositoryException {
+        spells.forEach(this::delete);
+
+        return spells.size();
+    }
+
+    @Override
+    public PlayerSpell get(PlayerSpell entity) throws RepositoryException {
+        queue.flush(entity.playerId());
+
+        return repository.get(entity);
+    }
+
+    @Override
+    public boolean has(PlayerSpell entity) throws RepositoryException {
+        queue.flush(entity.playerId());
+
+        return repository.has(entity);
+    }
+
+    @Override
+    public Collection<PlayerSpell> byPlayer(Player player) {
+        queue.flush(player.id());
+
+        return repository.byPlayer(player);
+    }
+
+    private final class SqlWriter implements Writer<PlayerSpell> {
+        @Override
+        public void insert(PlayerSpell entity) {
+            repository.add(entity);
+        }
+
+        @Override
+        public void update(PlayerSpell entity) {
+            repository.add(entity);
+        }
+
+        @Override
+        public void delete(PlayerSpell entity) {
+            repository.delete(entity);
+        }
+
+        @Override
+        public int insertAll(Collection<PlayerSpell> entities) {
+            return repository.addAll(entities);
+        }
+
+        @Override
+        public int updateAll(Collection<PlayerSpell> entities) {
+            return repository.addAll(entities);
+        }
+
+        @Override
+        public int deleteAll(Collection<PlayerSpell> entities) {
+            return repository.deleteAll(entities);
+        }
+    }
+}
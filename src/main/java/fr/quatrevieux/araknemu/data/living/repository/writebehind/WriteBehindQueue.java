@@ -0,0 +1,324 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerSpellRepository;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind unit of work for player data
+ *
+ * Writes performed on the repositories returned by {@link WriteBehindQueue#players()}, {@link WriteBehindQueue#items()}
+ * and {@link WriteBehindQueue#spells()} are not executed immediately, but collected per player, and flushed
+ * on the persistence executor after the configured delay.
+ * Multiple writes on the same row are coalesced : for example, moving the same item 20 times will result in a single update.
+ * On flush, the writes are grouped by repository and performed using JDBC batches.
+ *
+ * Saving the player (i.e. {@link PlayerRepository#save(fr.quatrevieux.araknemu.data.living.entity.player.Player)})
+ * will flush all pending writes of the player as soon as possible.
+ * Before reading player data from the repositories, pending writes of the player are flushed on the current thread.
+ *
+ * Once the queue is shutdown, all writes are performed synchronously.
+ */
+public final class WriteBehindQueue {
+    private final ScheduledExecutorService executor;
+    private final Duration delay;
+    private final Logger logger;
+
+    private final WriteBehindPlayerRepository players;
+    private final WriteBehindPlayerItemRepository items;
+    private final WriteBehindPlayerSpellRepository spells;
+
+    private final ConcurrentMap<Integer, UnitOfWork> works = new ConcurrentHashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean stopped = false;
+
+    /**
+     * @param players The real player repository
+     * @param items The real items repository
+     * @param spells The real spells repository
+     * @param executor The persistence executor. Should be a single thread executor.
+     * @param delay Delay between the first write of a player and the flush
+     * @param logger Logger used for write errors
+     */
+    @SuppressWarnings({"argument", "assignment"})
+    public WriteBehindQueue(PlayerRepository players, PlayerItemRepository items, PlayerSpellRepository spells, ScheduledExecutorService executor, Duration delay, Logger logger) {
+        this.executor = executor;
+        this.delay = delay;
+        this.logger = logger;
+
+        this.players = new WriteBehindPlayerRepository(players, this);
+        this.items = new WriteBehindPlayerItemRepository(items, this);
+        this.spells = new WriteBehindPlayerSpellRepository(spells, this);
+    }
+
+    /**
+     * Get the write-behind player repository
+     */
+    public PlayerRepository players() {
+        return players;
+    }
+
+    /**
+     * Get the write-behind items repository
+     */
+    public PlayerItemRepository items() {
+        return items;
+    }
+
+    /**
+     * Get the write-behind spells repository
+     */
+    public PlayerSpellRepository spells() {
+        return spells;
+    }
+
+    /**
+     * Flush all pending writes of the player on the current thread
+     * If writes of the player are currently flushed by the persistence executor, this method will wait for it
+     *
+     * @param playerId The player id
+     *
+     * @return true if the player had pending writes
+     */
+    public boolean flush(int playerId) {
+        final UnitOfWork work = works.get(playerId);
+
+        if (work == null) {
+            return false;
+        }
+
+        work.flush();
+
+        return true;
+    }
+
+    /**
+     * Flush all pending writes of the player using the persistence executor, without waiting for the delay
+     *
+     * @param playerId The player id
+     */
+    public void commit(int playerId) {
+        final UnitOfWork work = works.get(playerId);
+
+        if (work != null) {
+            execute(work, Duration.ZERO);
+        }
+    }
+
+    /**
+     * Flush all pending writes on the current thread
+     */
+    public void flushAll() {
+        works.values().forEach(UnitOfWork::flush);
+    }
+
+    /**
+     * Flush all pending writes, and stop the persistence executor
+     * After this call, all writes will be performed synchronously
+     */
+    public void shutdown() {
+        stopped = true;
+        executor.shutdown();
+        flushAll();
+    }
+
+    /**
+     * Get the number of pending writes
+     */
+    public @NonNegative int pending() {
+        return Math.max(pending.get(), 0);
+    }
+
+    /**
+     * Get the number of rows written since startup
+     * Note: a replaced row is counted twice (delete and insert)
+     */
+    public long written() {
+        return written.sum();
+    }
+
+    /**
+     * Get the number of writes which are merged with a previous pending one
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Get the number of failed writes
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * Push a new write for the given row
+     *
+     * @param playerId The owner of the row
+     * @param writer The entity writer
+     * @param rowId The row id. Must be unique for the player and the writer.
+     * @param entity The entity to write
+     * @param operation The write operation
+     *
+     * @param <E> The entity type
+     */
+    <E> void push(int playerId, Writer<E> writer, int rowId, E entity, Operation operation) {
+        final Object key = new AbstractMap.SimpleImmutableEntry<>(writer, rowId);
+        final PendingWrite<E> write = new PendingWrite<>(writer, entity, operation);
+
+        // The unit of work can be detached from the queue between the get and the push, so retry with a new one
+        for (;;) {
+            if (works.computeIfAbsent(playerId, UnitOfWork::new).push(key, write)) {
+                return;
+            }
+        }
+    }
+
+    private void execute(UnitOfWork work, Duration delay) {
+        if (stopped) {
+            work.flush();
+            return;
+        }
+
+        try {
+            if (delay.isZero()) {
+                executor.execute(work::flush);
+            } else {
+                executor.schedule(work::flush, delay.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        } catch (RejectedExecutionException e) {
+            work.flush();
+        }
+    }
+
+    /**
+     * Pending writes of a single player
+     */
+    private final class UnitOfWork {
+        private final int playerId;
+        private final Object flushLock = new Object();
+
+        private Map<Object, PendingWrite<?>> writes = new LinkedHashMap<>();
+        private boolean scheduled = false;
+        private boolean detached = false;
+
+        private UnitOfWork(int playerId) {
+            this.playerId = playerId;
+        }
+
+        /**
+         * Add a write, and schedule the flush if needed
+         *
+         * @return false if the unit of work is detached from the queue, and cannot be used anymore
+         */
+        public boolean push(Object key, PendingWrite<?> write) {
+            final boolean schedule;
+
+            synchronized (this) {
+                if (detached) {
+                    return false;
+                }
+
+                final PendingWrite<?> previous = writes.remove(key);
+
+                if (previous == null) {
+                    pending.incrementAndGet();
+                    writes.put(key, write);
+                } else {
+                    coalesced.increment();
+
+                    final @Nullable PendingWrite<?> merged = previous.merge(write);
+
+                    if (merged != null) {
+                        writes.put(key, merged);
+                    } else {
+                        pending.decrementAndGet();
+                    }
+                }
+
+                schedule = !scheduled;
+                scheduled = true;
+            }
+
+            if (schedule) {
+                execute(this, delay);
+            }
+
+            return true;
+        }
+
+        /**
+         * Write all pending writes
+         */
+        public void flush() {
+            synchronized (flushLock) {
+                final Map<Object, PendingWrite<?>> toWrite;
+
+                synchronized (this) {
+                    toWrite = writes;
+                    writes = new LinkedHashMap<>();
+                    scheduled = false;
+                }
+
+                pending.addAndGet(-toWrite.size());
+
+                final Map<Writer<?>, WriteBatch<?>> batches = new LinkedHashMap<>();
+
+                for (PendingWrite<?> write : toWrite.values()) {
+                    write.addTo(batches);
+                }
+
+                for (WriteBatch<?> batch : batches.values()) {
+                    written.add(batch.execute(e -> {
+                        errors.increment();
+                        logger.error("Cannot persist data of player " + playerId, e);
+                    }));
+                }
+
+                synchronized (this) {
+                    if (writes.isEmpty() && !scheduled) {
+                        detached = true;
+                        works.remove(playerId, this);
+                    }
+                }
+            }
+        }
+    }
+}
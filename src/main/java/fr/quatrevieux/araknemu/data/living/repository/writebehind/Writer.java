@@ -0,0 +1,111 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
+
+import java.sql.BatchUpdateException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Perform the actual write of an entity into the database
+ *
+ * @param <E> The entity type
+ */
+interface Writer<E> {
+    /**
+     * Insert the entity
+     */
+    public void insert(E entity);
+
+    /**
+     * Update the entity
+     */
+    public void update(E entity);
+
+    /**
+     * Delete the entity
+     */
+    public void delete(E entity);
+
+    /**
+     * Insert multiple entities
+     * By default, each entity is inserted one by one
+     *
+     * @return Number of inserted rows
+     *
+     * @throws RepositoryException If a row cannot be written. The cause should be a {@link BatchUpdateException} for retrying only the failed rows.
+     */
+    public default int insertAll(Collection<E> entities) {
+        return each(entities, this::insert);
+    }
+
+    /**
+     * Update multiple entities
+     * By default, each entity is updated one by one
+     *
+     * @return Number of updated rows. Can be lower than the number of entities if some rows are missing.
+     */
+    public default int updateAll(Collection<E> entities) {
+        return each(entities, this::update);
+    }
+
+    /**
+     * Delete multiple entities
+     * By default, each entity is deleted one by one
+     *
+     * @return Number of deleted rows
+     */
+    public default int deleteAll(Collection<E> entities) {
+        return each(entities, this::delete);
+    }
+
+    /**
+     * Write entities one by one
+     * On error, a {@link BatchUpdateException} containing the rows written before the failed one is thrown,
+     * so the rows already written are not retried
+     *
+     * @param entities Entities to write
+     * @param action The single row write operation
+     *
+     * @return Number of written rows
+     *
+     * @param <T> The entity type
+     */
+    @SuppressWarnings("array.access.unsafe.high") // index is lower than the collection size
+    public static <T> int each(Collection<T> entities, Consumer<T> action) {
+        final int[] updateCounts = new int[entities.size()];
+        int index = 0;
+
+        for (T entity : entities) {
+            try {
+                action.accept(entity);
+            } catch (RuntimeException e) {
+                throw new RepositoryException(new BatchUpdateException(Arrays.copyOf(updateCounts, index), e));
+            }
+
+            updateCounts[index++] = 1;
+        }
+
+        return entities.size();
+    }
+}
@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.game;
 import fr.quatrevieux.araknemu.core.config.ConfigurationModule;
 import fr.quatrevieux.araknemu.core.config.Pool;
 import fr.quatrevieux.araknemu.core.config.PoolUtils;
+import fr.quatrevieux.araknemu.core.network.netty.NetworkConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
@@ -94,10 +95,13 @@ public final class GameConfiguration {
 
     /**
      * Maximum number of received packets per seconds per clients
+     * Tokens are continuously refilled, so a client can send at most this number of packets in a burst
      * When the limit is reached, the client session is closed
+     *
+     * @see fr.quatrevieux.araknemu.core.network.session.extension.RateLimiter
      */
-    public int packetRateLimit() {
-        return pool.integer("packetRateLimit", 100);
+    public @Positive int packetRateLimit() {
+        return pool.positiveInteger("packetRateLimit", 100);
     }
 
     /**
@@ -139,6 +143,34 @@ public final class GameConfiguration {
         return pool.bool("autosave.enabled", true);
     }
 
+    /**
+     * Maximum number of players saved in a single batch query by the autosave
+     * Only modified players are saved
+     * Default: 100
+     */
+    public @Positive int autosaveBatchSize() {
+        return pool.positiveInteger("autosave.batchSize", 100);
+    }
+
+    /**
+     * Number of batches executed in parallel during the autosave
+     * Each batch use its own database connection
+     * Default: 2
+     */
+    public @Positive int autosaveParallelism() {
+        return pool.positiveInteger("autosave.parallelism", 2);
+    }
+
+    /**
+     * The delay between the first change of a player data (like an item move) and the write into the database
+     * Changes are collected by player, and multiple changes on the same item are merged into a single write.
+     * Saving the player (on logout or autosave) will flush its changes without waiting this delay.
+     * Default: 1 second (1s)
+     */
+    public Duration persistenceDelay() {
+        return pool.duration("persistence.delay", Duration.ofSeconds(1));
+    }
+
     /**
      * Does preload is enabled for the given service
      * By default this value is true
@@ -199,6 +231,13 @@ public final class GameConfiguration {
         return new FightConfiguration();
     }
 
+    /**
+     * Get the network configuration
+     */
+    public NetworkConfiguration network() {
+        return new NetworkConfiguration(pool);
+    }
+
     public final class PlayerConfiguration {
         /**
          * The player name regex
@@ -401,8 +440,18 @@ public final class GameConfiguration {
          * This value should be greater than 2. A good value may be around 1 thread per 100 fights
          * By default, 4
          */
-        public int threadsCount() {
-            return pool.integer("fight.threadsCount", 4);
+        public @Positive int threadsCount() {
+            return pool.positiveInteger("fight.threadsCount", 4);
+        }
+
+        /**
+         * The tick duration of the fight timer
+         * This is the precision of the delayed fight actions, like the turn timeout or the AI delay
+         * The value should be a duration string like 0.01s (for 10 milliseconds)
+         * Default value : 0.01s
+         */
+        public Duration timerTick() {
+            return pool.duration("fight.timerTick", Duration.ofMillis(10));
         }
 
         /**
@@ -453,6 +502,15 @@ public final class GameConfiguration {
             return pool.nonNegativeInteger("fight.initialErosion", 10);
         }
 
+        /**
+         * Maximum memory, in megabytes, used by the cache of maps static data (i.e. line of sight tables)
+         * The least recently used maps are removed from the cache when this limit is reached.
+         * Default value : 64
+         */
+        public @NonNegative int mapCacheSize() {
+            return pool.nonNegativeInteger("fight.mapCacheSize", 64);
+        }
+
         /**
          * Does scripts are enabled for AI ?
          * Default value : true
@@ -482,5 +540,24 @@ public final class GameConfiguration {
         public boolean scriptsHotReload() {
             return pool.bool("fight.ai.scripts.hot-reload", false);
         }
+
+        /**
+         * Number of threads used to perform AI simulations (i.e. spells effects computation)
+         * The threads are shared by all fights. Use 1 to perform simulations on the fight thread.
+         * Default value : 2
+         */
+        public @Positive int aiSimulationParallelism() {
+            return pool.positiveInteger("fight.ai.simulation.parallelism", 2);
+        }
+
+        /**
+         * Maximum duration of the simulation phase of an AI action
+         * Once elapsed, the AI will select the best action among the already simulated ones.
+         * The value should be a duration string like 0.5s. Use 0s to disable the limit.
+         * Default value : 0.5s
+         */
+        public Duration aiSimulationBudget() {
+            return pool.duration("fight.ai.simulation.budget", Duration.ofMillis(500));
+        }
     }
 }
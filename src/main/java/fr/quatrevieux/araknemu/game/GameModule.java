@@ -28,9 +28,12 @@ import fr.quatrevieux.araknemu.core.di.ContainerConfigurator;
 import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.core.di.ContainerModule;
 import fr.quatrevieux.araknemu.core.event.DefaultListenerAggregate;
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
 import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
 import fr.quatrevieux.araknemu.core.network.Server;
+import fr.quatrevieux.araknemu.core.network.netty.FlushPolicy;
 import fr.quatrevieux.araknemu.core.network.netty.NettyServer;
+import fr.quatrevieux.araknemu.core.network.netty.SessionExecutor;
 import fr.quatrevieux.araknemu.core.network.parser.AggregatePacketParser;
 import fr.quatrevieux.araknemu.core.network.parser.AggregateParserLoader;
 import fr.quatrevieux.araknemu.core.network.parser.DefaultDispatcher;
@@ -52,6 +55,7 @@ import fr.quatrevieux.araknemu.data.living.repository.account.ConnectionLogRepos
 import fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository;
 import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
 import fr.quatrevieux.araknemu.data.living.repository.player.PlayerSpellRepository;
+import fr.quatrevieux.araknemu.data.living.repository.writebehind.WriteBehindQueue;
 import fr.quatrevieux.araknemu.data.world.repository.SpellTemplateRepository;
 import fr.quatrevieux.araknemu.data.world.repository.character.PlayerExperienceRepository;
 import fr.quatrevieux.araknemu.data.world.repository.character.PlayerRaceRepository;
@@ -81,6 +85,7 @@ import fr.quatrevieux.araknemu.game.account.generator.NameCheckerGenerator;
 import fr.quatrevieux.araknemu.game.account.generator.NameGenerator;
 import fr.quatrevieux.araknemu.game.account.generator.SimpleNameGenerator;
 import fr.quatrevieux.araknemu.game.activity.ActivityService;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.chat.ChatService;
 import fr.quatrevieux.araknemu.game.chat.channel.Channel;
@@ -146,6 +151,7 @@ import fr.quatrevieux.araknemu.game.fight.ai.factory.type.Fixed;
 import fr.quatrevieux.araknemu.game.fight.ai.factory.type.Runaway;
 import fr.quatrevieux.araknemu.game.fight.ai.factory.type.Support;
 import fr.quatrevieux.araknemu.game.fight.ai.factory.type.Tactical;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationExecutor;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.effect.AddCharacteristicOnDamageSimulator;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.effect.AddMaxSummonedCreatureSimulator;
@@ -196,6 +202,7 @@ import fr.quatrevieux.araknemu.game.fight.ending.reward.drop.pvm.provider.PvmXpP
 import fr.quatrevieux.araknemu.game.fight.fighter.DefaultFighterFactory;
 import fr.quatrevieux.araknemu.game.fight.fighter.FighterFactory;
 import fr.quatrevieux.araknemu.game.fight.fighter.PlayableFighter;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometryCache;
 import fr.quatrevieux.araknemu.game.fight.module.AiModule;
 import fr.quatrevieux.araknemu.game.fight.module.CarryingModule;
 import fr.quatrevieux.araknemu.game.fight.module.CommonEffectsModule;
@@ -260,10 +267,13 @@ import fr.quatrevieux.araknemu.network.game.GamePacketConfigurator;
 import fr.quatrevieux.araknemu.network.game.GameSession;
 import fr.quatrevieux.araknemu.network.game.in.GameParserLoader;
 import fr.quatrevieux.araknemu.network.in.CommonParserLoader;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.net.MalformedURLException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -324,6 +334,7 @@ public final class GameModule implements ContainerModule {
                     container.get(ExplorationMapService.class),
                     container.get(MapTriggerService.class),
                     container.get(ChatService.class),
+                    container.get(ChannelSubscribers.class),
                     container.get(InventoryService.class),
                     container.get(SpellBookService.class),
                     container.get(PlayerExperienceService.class),
@@ -352,15 +363,36 @@ public final class GameModule implements ContainerModule {
             container -> new NettyServer(
                 container.get(SessionFactory.class),
                 container.get(GameConfiguration.class).port(),
-                container.get(GameConfiguration.class).inactivityTime()
+                container.get(GameConfiguration.class).inactivityTime(),
+                container.get(FlushPolicy.class),
+                container.get(GameConfiguration.class).network(),
+                container.get(SessionExecutor.class)
             )
         );
 
+        configurator.persist(
+            FlushPolicy.class,
+            container -> container.get(GameConfiguration.class).network().flushPolicy()
+        );
+
+        configurator.persist(
+            SessionExecutor.class,
+            container -> container.get(GameConfiguration.class).network().sessionExecutor()
+        );
+
+        configurator.persist(
+            TokenBucket.class,
+            container -> new TokenBucket(container.get(GameConfiguration.class).packetRateLimit(), Duration.ofSeconds(1))
+        );
+
         configurator.factory(
             SessionFactory.class,
             container -> new SessionConfigurator<>(GameSession::new)
                 .add(new BanIpCheck<>(container.get(BanIpService.class)))
-                .add(new RateLimiter.Configurator<>(container.get(GameConfiguration.class).packetRateLimit()))
+                .add(new RateLimiter.Configurator<>(
+                    container.get(TokenBucket.class),
+                    container.get(GameConfiguration.class).network().packetCosts()
+                ))
                 .add(new SessionLogger.Configurator<>(container.get(Logger.class)))
                 .add(new GameExceptionConfigurator(container.get(Logger.class)))
                 .add(new GamePacketConfigurator(
@@ -399,7 +431,7 @@ public final class GameModule implements ContainerModule {
         configurator.factory(
             PlayerConstraints.class,
             container -> new PlayerConstraints(
-                container.get(PlayerRepository.class),
+                container.get(WriteBehindQueue.class).players(),
                 container.get(GameConfiguration.class).player()
             )
         );
@@ -432,18 +464,18 @@ public final class GameModule implements ContainerModule {
         configurator.persist(
             CharactersService.class,
             container -> new CharactersService(
-                container.get(PlayerRepository.class),
+                container.get(WriteBehindQueue.class).players(),
                 container.get(PlayerConstraints.class),
                 container.get(PlayerRaceRepository.class),
                 container.get(fr.quatrevieux.araknemu.core.event.Dispatcher.class),
-                container.get(PlayerItemRepository.class)
+                container.get(WriteBehindQueue.class).items()
             )
         );
 
         configurator.persist(
             PlayerService.class,
             container -> new PlayerService(
-                container.get(PlayerRepository.class),
+                container.get(WriteBehindQueue.class).players(),
                 container.get(GameConfiguration.class),
                 container.get(fr.quatrevieux.araknemu.core.event.Dispatcher.class),
                 container.get(InventoryService.class),
@@ -522,25 +554,27 @@ public final class GameModule implements ContainerModule {
             )
         );
 
+        configurator.persist(ChannelSubscribers.class, container -> new ChannelSubscribers());
+
         configurator.persist(
             ChatService.class,
             container -> new ChatService(
                 container.get(GameConfiguration.class).chat(),
                 new Channel[] {
                     new MapChannel(),
-                    new GlobalChannel(ChannelType.INCARNAM, container.get(PlayerService.class)),
+                    new GlobalChannel(ChannelType.INCARNAM, container.get(ChannelSubscribers.class)),
                     new FloodGuardChannel(
-                        new GlobalChannel(ChannelType.TRADE, container.get(PlayerService.class)),
+                        new GlobalChannel(ChannelType.TRADE, container.get(ChannelSubscribers.class)),
                         container.get(GameConfiguration.class).chat()
                     ),
                     new FloodGuardChannel(
-                        new GlobalChannel(ChannelType.RECRUITMENT, container.get(PlayerService.class)),
+                        new GlobalChannel(ChannelType.RECRUITMENT, container.get(ChannelSubscribers.class)),
                         container.get(GameConfiguration.class).chat()
                     ),
                     new GlobalChannel(
                         ChannelType.ADMIN,
                         player -> player.account().isMaster(),
-                        container.get(PlayerService.class)
+                        container.get(ChannelSubscribers.class)
                     ),
                     new NullChannel(ChannelType.MEETIC),
                     new PrivateChannel(container.get(PlayerService.class)),
@@ -568,14 +602,19 @@ public final class GameModule implements ContainerModule {
         configurator.persist(
             InventoryService.class,
             container -> new InventoryService(
-                container.get(PlayerItemRepository.class),
+                container.get(WriteBehindQueue.class).items(),
                 container.get(ItemService.class)
             )
         );
 
+        configurator.persist(
+            DispatchProfiler.class,
+            container -> new DispatchProfiler()
+        );
+
         configurator.persist(
             ListenerAggregate.class,
-            container -> new DefaultListenerAggregate(container.get(Logger.class))
+            container -> new DefaultListenerAggregate(container.get(Logger.class), false, container.get(DispatchProfiler.class))
         );
 
         configurator.factory(
@@ -591,7 +630,7 @@ public final class GameModule implements ContainerModule {
                         container.get(GameConfiguration.class).player()
                     )
                 ),
-                container.get(PlayerRepository.class),
+                container.get(WriteBehindQueue.class).players(),
                 container.get(GameConfiguration.class)
             )
         );
@@ -633,7 +672,7 @@ public final class GameModule implements ContainerModule {
         configurator.persist(
             SpellBookService.class,
             container -> new SpellBookService(
-                container.get(PlayerSpellRepository.class),
+                container.get(WriteBehindQueue.class).spells(),
                 container.get(SpellService.class),
                 container.get(PlayerRaceService.class)
             )
@@ -681,7 +720,8 @@ public final class GameModule implements ContainerModule {
                 statesFlow,
                 container.get(Logger.class), // @todo fight logger
                 executor,
-                container.get(ActionsFactory.Factory.class)
+                container.get(ActionsFactory.Factory.class),
+                container.get(DispatchProfiler.class)
             )
         );
 
@@ -712,10 +752,16 @@ public final class GameModule implements ContainerModule {
                     fight -> new FighterInitializationModule(container.get(GameConfiguration.class).fight())
                 ),
                 container.get(FightService.FightFactory.class),
+                container.get(MapGeometryCache.class),
                 container.get(GameConfiguration.class).fight()
             )
         );
 
+        configurator.persist(
+            MapGeometryCache.class,
+            container -> new MapGeometryCache(container.get(GameConfiguration.class).fight().mapCacheSize() * 1024L * 1024L)
+        );
+
         configurator.persist(
             NpcService.class,
             container -> new NpcService(
@@ -938,7 +984,11 @@ public final class GameModule implements ContainerModule {
 
         // @todo Move to "FightModule"
         configurator.persist(Simulator.class, container -> {
-            final Simulator simulator = new Simulator(container.get(CriticalityStrategy.class));
+            final GameConfiguration.FightConfiguration configuration = container.get(GameConfiguration.class).fight();
+            final Simulator simulator = new Simulator(
+                container.get(CriticalityStrategy.class),
+                SimulationExecutor.create(configuration.aiSimulationParallelism(), configuration.aiSimulationBudget())
+            );
 
             simulator.register(91, new StealLifeSimulator(Element.WATER));
             simulator.register(92, new StealLifeSimulator(Element.EARTH));
@@ -1136,7 +1186,18 @@ public final class GameModule implements ContainerModule {
         configurator.persist(SavingService.class, container -> new SavingService(
             container.get(PlayerService.class),
             container.get(GameConfiguration.class),
-            container.get(fr.quatrevieux.araknemu.core.event.Dispatcher.class)
+            container.get(fr.quatrevieux.araknemu.core.event.Dispatcher.class),
+            container.get(WriteBehindQueue.class),
+            container.get(Logger.class)
+        ));
+
+        configurator.persist(WriteBehindQueue.class, container -> new WriteBehindQueue(
+            container.get(PlayerRepository.class),
+            container.get(PlayerItemRepository.class),
+            container.get(PlayerSpellRepository.class),
+            ExecutorFactory.createSingleThread(),
+            container.get(GameConfiguration.class).persistenceDelay(),
+            container.get(Logger.class)
         ));
     }
 }
@@ -149,6 +149,7 @@ public final class GameService implements Service, EventsSubscriber {
             new Listener<GameSaved>() {
                 @Override
                 public void on(GameSaved event) {
+                    logger.info("Game saved : {} players saved in {}ms", event.count(), event.duration().toMillis());
                     updateState(GameHost.State.ONLINE, true);
                 }
 
@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.game;
 import fr.quatrevieux.araknemu.core.event.Dispatcher;
 import fr.quatrevieux.araknemu.core.event.EventsSubscriber;
 import fr.quatrevieux.araknemu.core.event.Listener;
+import fr.quatrevieux.araknemu.data.living.repository.writebehind.WriteBehindQueue;
 import fr.quatrevieux.araknemu.game.event.GameSaved;
 import fr.quatrevieux.araknemu.game.event.GameStopped;
 import fr.quatrevieux.araknemu.game.event.SavingGame;
@@ -29,8 +30,15 @@ import fr.quatrevieux.araknemu.game.player.GamePlayer;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.util.ExecutorFactory;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.util.NullnessUtil;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -42,14 +50,20 @@ public final class SavingService implements EventsSubscriber, PreloadableService
     private final PlayerService playerService;
     private final GameConfiguration configuration;
     private final Dispatcher dispatcher;
+    private final WriteBehindQueue writeBehindQueue;
+    private final Logger logger;
 
     private final AtomicBoolean inProgress = new AtomicBoolean(false);
     private final ScheduledExecutorService executor = ExecutorFactory.createSingleThread();
+    private final ExecutorService batchExecutor;
 
-    public SavingService(PlayerService playerService, GameConfiguration configuration, Dispatcher dispatcher) {
+    public SavingService(PlayerService playerService, GameConfiguration configuration, Dispatcher dispatcher, WriteBehindQueue writeBehindQueue, Logger logger) {
         this.playerService = playerService;
         this.configuration = configuration;
         this.dispatcher = dispatcher;
+        this.writeBehindQueue = writeBehindQueue;
+        this.logger = logger;
+        this.batchExecutor = ExecutorFactory.create(configuration.autosaveParallelism());
     }
 
     @Override
@@ -73,6 +87,10 @@ public final class SavingService implements EventsSubscriber, PreloadableService
                 @Override
                 public void on(GameStopped event) {
                     executor.shutdownNow();
+                    batchExecutor.shutdown();
+
+                    // Write all pending changes. Next changes (i.e. disconnected players) will be written synchronously
+                    writeBehindQueue.shutdown();
                 }
 
                 @Override
@@ -123,16 +141,70 @@ public final class SavingService implements EventsSubscriber, PreloadableService
 
     /**
      * Run the save process
+     * Only modified players are saved, using batches executed in parallel
+     *
      * Note: this method will not check the "inProgress" property : it must be checked before
      */
     private void runSave() {
         dispatcher.dispatch(new SavingGame());
 
+        final long start = System.nanoTime();
+        int count = 0;
+
         try {
-            playerService.online().forEach(GamePlayer::save);
+            writeBehindQueue.flushAll();
+            count = saveModifiedPlayers();
         } finally {
             inProgress.set(false);
-            dispatcher.dispatch(new GameSaved());
+            dispatcher.dispatch(new GameSaved(Duration.ofNanos(System.nanoTime() - start), count));
+        }
+    }
+
+    /**
+     * Split modified players into batches, and wait for all batches to be saved
+     *
+     * @return Number of saved players
+     */
+    private @NonNegative int saveModifiedPlayers() {
+        final int batchSize = configuration.autosaveBatchSize();
+        final List<Future<Integer>> results = new ArrayList<>();
+
+        List<GamePlayer> batch = new ArrayList<>(batchSize);
+
+        for (GamePlayer player : playerService.online()) {
+            if (!player.modified()) {
+                continue;
+            }
+
+            batch.add(player);
+
+            if (batch.size() >= batchSize) {
+                results.add(submitBatch(batch));
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            results.add(submitBatch(batch));
+        }
+
+        int count = 0;
+
+        for (Future<Integer> result : results) {
+            try {
+                count += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                logger.error("Cannot save players", NullnessUtil.castNonNull(e.getCause()));
+            }
         }
+
+        return Math.max(count, 0);
+    }
+
+    private Future<Integer> submitBatch(List<GamePlayer> players) {
+        return batchExecutor.submit(() -> playerService.saveAll(players));
     }
 }
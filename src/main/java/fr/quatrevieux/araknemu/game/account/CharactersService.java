@@ -35,6 +35,7 @@ import fr.quatrevieux.araknemu.game.account.exception.CharacterCreationException
 import fr.quatrevieux.araknemu.game.world.creature.accessory.AccessoryType;
 import fr.quatrevieux.araknemu.game.world.creature.accessory.EmptyAccessories;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -99,13 +100,15 @@ public final class CharactersService {
      * @param account The account
      */
     public List<AccountCharacter> list(GameAccount account) {
+        // Players must be loaded before items : loading them ensure that their pending writes are flushed
+        final Collection<Player> players = repository.findByAccount(account.id(), account.serverId());
         final Map<Integer, List<PlayerItem>> items = itemRepository.forCharacterList(
             account.serverId(),
             account.id(),
             AccessoryType.slots()
         );
 
-        return repository.findByAccount(account.id(), account.serverId())
+        return players
             .stream()
             .map(player -> {
                 final List<PlayerItem> accessories = items.get(player.id());
@@ -26,6 +26,9 @@ import fr.quatrevieux.araknemu.core.di.Container;
 import fr.quatrevieux.araknemu.core.di.ContainerConfigurator;
 import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.core.di.ContainerModule;
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
+import fr.quatrevieux.araknemu.core.network.netty.FlushPolicy;
+import fr.quatrevieux.araknemu.core.network.netty.SessionExecutor;
 import fr.quatrevieux.araknemu.core.scripting.ScriptLoader;
 import fr.quatrevieux.araknemu.data.living.repository.account.AccountRepository;
 import fr.quatrevieux.araknemu.data.world.repository.environment.MapTemplateRepository;
@@ -45,6 +48,7 @@ import fr.quatrevieux.araknemu.game.admin.context.ContextResolver;
 import fr.quatrevieux.araknemu.game.admin.context.SelfContextResolver;
 import fr.quatrevieux.araknemu.game.admin.debug.DebugContext;
 import fr.quatrevieux.araknemu.game.admin.debug.DebugContextResolver;
+import fr.quatrevieux.araknemu.game.admin.debug.EventProfiler;
 import fr.quatrevieux.araknemu.game.admin.debug.FightPos;
 import fr.quatrevieux.araknemu.game.admin.debug.LineOfSight;
 import fr.quatrevieux.araknemu.game.admin.exception.ExceptionHandler;
@@ -75,15 +79,18 @@ import fr.quatrevieux.araknemu.game.admin.server.Save;
 import fr.quatrevieux.araknemu.game.admin.server.ServerContext;
 import fr.quatrevieux.araknemu.game.admin.server.ServerContextResolver;
 import fr.quatrevieux.araknemu.game.admin.server.Shutdown;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
 import fr.quatrevieux.araknemu.game.exploration.map.ExplorationMapService;
 import fr.quatrevieux.araknemu.game.exploration.map.GeolocationService;
 import fr.quatrevieux.araknemu.game.fight.FightService;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.item.ItemService;
 import fr.quatrevieux.araknemu.game.monster.environment.MonsterEnvironmentService;
 import fr.quatrevieux.araknemu.game.monster.group.MonsterGroupFactory;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.game.player.experience.PlayerExperienceService;
 import fr.quatrevieux.araknemu.game.spell.SpellService;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -226,6 +233,7 @@ public final class AdminModule implements ContainerModule {
                     public void configure(DebugContext context) {
                         add(new FightPos());
                         add(new LineOfSight(container.get(MapTemplateRepository.class)));
+                        add(new EventProfiler(container.get(DispatchProfiler.class)));
                     }
                 }),
                 ctx -> container,
@@ -250,7 +258,12 @@ public final class AdminModule implements ContainerModule {
                             container.get(Araknemu.class),
                             container.get(PlayerService.class),
                             container.get(GameService.class),
-                            container.get(FightService.class)
+                            container.get(FightService.class),
+                            container.get(FlushPolicy.class),
+                            container.get(SessionExecutor.class),
+                            container.get(Simulator.class),
+                            container.get(ChannelSubscribers.class),
+                            container.get(TokenBucket.class)
                         ));
                         add(new Message(container.get(PlayerService.class)));
                         add(new Save(container.get(SavingService.class)));
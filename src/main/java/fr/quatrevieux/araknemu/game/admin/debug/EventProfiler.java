@@ -0,0 +1,120 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.admin.debug;
+
+import fr.quatrevieux.araknemu.common.account.Permission;
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
+import fr.quatrevieux.araknemu.game.admin.AbstractCommand;
+import fr.quatrevieux.araknemu.game.admin.AdminPerformer;
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.kohsuke.args4j.Argument;
+
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Enable the events dispatch profiler, and display the collected metrics
+ */
+public final class EventProfiler extends AbstractCommand<EventProfiler.Arguments> {
+    /**
+     * Maximum number of displayed events
+     */
+    public static final int LIMIT = 20;
+
+    private final DispatchProfiler profiler;
+
+    public EventProfiler(DispatchProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void build(Builder builder) {
+        builder
+            .help(
+                formatter -> formatter
+                    .description("Profile the events dispatch. Without argument, display the most dispatched events.")
+                    .synopsis("eventprofiler [enable|disable|reset]")
+                    .example("eventprofiler enable", "Start collecting metrics")
+                    .example("eventprofiler", "Display the collected metrics")
+                    .example("eventprofiler disable", "Stop collecting metrics")
+                    .example("eventprofiler reset", "Clear the collected metrics")
+            )
+            .requires(Permission.DEBUG)
+        ;
+    }
+
+    @Override
+    public String name() {
+        return "eventprofiler";
+    }
+
+    @Override
+    public void execute(AdminPerformer performer, Arguments arguments) {
+        if (arguments.action == Arguments.Action.ENABLE) {
+            profiler.enable();
+            performer.success("Event profiler enabled");
+            return;
+        }
+
+        if (arguments.action == Arguments.Action.DISABLE) {
+            profiler.disable();
+            performer.success("Event profiler disabled");
+            return;
+        }
+
+        if (arguments.action == Arguments.Action.RESET) {
+            profiler.reset();
+            performer.success("Event profiler metrics cleared");
+            return;
+        }
+
+        performer.info("Event profiler : {}", profiler.enabled() ? "enabled" : "disabled");
+
+        profiler.metrics().entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<Class<?>, LatencyHistogram> entry) -> entry.getValue().count()).reversed())
+            .limit(LIMIT)
+            .forEach(entry -> performer.info(
+                "{} : {} dispatches, {}",
+                entry.getKey().getSimpleName(),
+                entry.getValue().count(),
+                entry.getValue()
+            ))
+        ;
+    }
+
+    @Override
+    public Arguments createArguments() {
+        return new Arguments();
+    }
+
+    public static final class Arguments {
+        @Argument
+        private @Nullable Action action;
+
+        public void setAction(@Nullable Action action) {
+            this.action = action;
+        }
+
+        public enum Action {
+            ENABLE, DISABLE, RESET
+        }
+    }
+}
@@ -21,15 +21,21 @@ package fr.quatrevieux.araknemu.game.admin.server;
 
 import com.sun.management.OperatingSystemMXBean;
 import fr.quatrevieux.araknemu.Araknemu;
+import fr.quatrevieux.araknemu.core.network.netty.FlushPolicy;
+import fr.quatrevieux.araknemu.core.network.netty.SessionExecutor;
 import fr.quatrevieux.araknemu.game.GameService;
 import fr.quatrevieux.araknemu.game.admin.AbstractCommand;
 import fr.quatrevieux.araknemu.game.admin.AdminPerformer;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
 import fr.quatrevieux.araknemu.game.fight.FightService;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 
 /**
  * Display information about the server
@@ -39,12 +45,22 @@ public final class Info extends AbstractCommand<Void> {
     private final PlayerService playerService;
     private final GameService gameService;
     private final FightService fightService;
+    private final FlushPolicy flushPolicy;
+    private final SessionExecutor sessionExecutor;
+    private final Simulator simulator;
+    private final ChannelSubscribers channelSubscribers;
+    private final TokenBucket packetRateLimiter;
 
-    public Info(Araknemu app, PlayerService playerService, GameService gameService, FightService fightService) {
+    public Info(Araknemu app, PlayerService playerService, GameService gameService, FightService fightService, FlushPolicy flushPolicy, SessionExecutor sessionExecutor, Simulator simulator, ChannelSubscribers channelSubscribers, TokenBucket packetRateLimiter) {
         this.app = app;
         this.playerService = playerService;
         this.gameService = gameService;
         this.fightService = fightService;
+        this.flushPolicy = flushPolicy;
+        this.sessionExecutor = sessionExecutor;
+        this.simulator = simulator;
+        this.channelSubscribers = channelSubscribers;
+        this.packetRateLimiter = packetRateLimiter;
     }
 
     @Override
@@ -76,6 +92,30 @@ public final class Info extends AbstractCommand<Void> {
             fightService.fights().size(),
             fightService.fights().stream().mapToLong(fight -> fight.fighters().all().size()).sum()
         );
+        fightService.fights().stream()
+            .max(Comparator.comparing(fight -> fight.taskLatency().percentile(0.99)))
+            .ifPresent(fight -> performer.info("Slowest fight : #{} with tasks latency {}", fight.id(), fight.taskLatency()))
+        ;
+        simulator.executor().metrics().forEach((generator, latency) -> performer.info("AI {} : {} actions, {}", generator, latency.count(), latency));
+        performer.info("Network : {} packets sent with {} flushes", flushPolicy.packets(), flushPolicy.flushes());
+        performer.info(
+            "Packets : {} handled, {} pending, {} read suspensions",
+            sessionExecutor.processed(),
+            sessionExecutor.pending(),
+            sessionExecutor.suspensions()
+        );
+        performer.info("Rate limit : {} packets accepted, {} dropped", packetRateLimiter.accepted(), packetRateLimiter.dropped());
+        performer.info("Chat : {} packets sent by global channels", channelSubscribers.sent());
+        app.database().metrics().forEach((name, pool) -> performer.info(
+            "Database {} : {} active, {} idle, {} waiting (max {}), {} timeouts, acquire {}",
+            name,
+            pool.active(),
+            pool.idle(),
+            pool.waiting(),
+            pool.maxSize(),
+            pool.timeouts(),
+            pool.acquireLatency()
+        ));
         performer.info(
             "RAM usage : {} / {}",
             formatBytes(Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()),
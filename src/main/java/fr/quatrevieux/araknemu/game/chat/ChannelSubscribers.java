@@ -0,0 +1,191 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.chat;
+
+import fr.quatrevieux.araknemu.core.event.EventsSubscriber;
+import fr.quatrevieux.araknemu.core.event.Listener;
+import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
+import fr.quatrevieux.araknemu.game.listener.player.chat.RegisterChannelSubscriptions;
+import fr.quatrevieux.araknemu.game.listener.player.chat.UnregisterChannelSubscriber;
+import fr.quatrevieux.araknemu.game.listener.player.chat.UnregisterChannelSubscriptions;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
+import fr.quatrevieux.araknemu.game.player.event.PlayerLoaded;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Registry of online players subscribed to each chat channel
+ *
+ * Subscribers are stored into copy-on-write arrays indexed by channel type,
+ * which are maintained when the player is loaded, when its subscriptions change, and on disconnection.
+ * So a broadcast only iterates over the subscribers, without scanning all online players.
+ */
+public final class ChannelSubscribers implements EventsSubscriber {
+    private static final GamePlayer[] EMPTY = new GamePlayer[0];
+
+    private final AtomicReferenceArray<GamePlayer[]> subscribers = new AtomicReferenceArray<>(ChannelType.values().length);
+    private final LongAdder sent = new LongAdder();
+
+    public ChannelSubscribers() {
+        for (int i = 0; i < subscribers.length(); ++i) {
+            subscribers.set(i, EMPTY);
+        }
+    }
+
+    @Override
+    public Listener[] listeners() {
+        return new Listener[] {
+            new Listener<PlayerLoaded>() {
+                @Override
+                public void on(PlayerLoaded event) {
+                    final GamePlayer player = event.player();
+                    final ListenerAggregate dispatcher = player.dispatcher();
+
+                    subscribe(player, player.subscriptions());
+
+                    dispatcher.add(new RegisterChannelSubscriptions(player, ChannelSubscribers.this));
+                    dispatcher.add(new UnregisterChannelSubscriptions(player, ChannelSubscribers.this));
+                    dispatcher.add(new UnregisterChannelSubscriber(player, ChannelSubscribers.this));
+                }
+
+                @Override
+                public Class<PlayerLoaded> event() {
+                    return PlayerLoaded.class;
+                }
+            },
+        };
+    }
+
+    /**
+     * Get the players subscribed to the given channel
+     * The returned array must not be modified
+     *
+     * @param channel The channel type
+     */
+    public GamePlayer[] get(ChannelType channel) {
+        return subscribers.get(channel.ordinal());
+    }
+
+    /**
+     * Send a packet to all subscribers of the channel which match the filter
+     * The packet is encoded only once, and the sender will always receive the packet if it match the filter, even if it is not subscribed
+     *
+     * @param channel The channel type
+     * @param sender The player who send the packet
+     * @param filter Filter to apply on receivers
+     * @param packet The packet to send
+     */
+    public void send(ChannelType channel, GamePlayer sender, Predicate<GamePlayer> filter, Object packet) {
+        final GamePlayer[] players = get(channel);
+
+        SharedPacket.broadcast(packet, shared -> sent.add(send(players, sender, filter, shared)));
+    }
+
+    /**
+     * Get the total number of packets sent by broadcasts
+     * Can be used to compute the number of packets per second
+     */
+    public long sent() {
+        return sent.sum();
+    }
+
+    /**
+     * Add the player to the subscribers of the given channels
+     * Channels already subscribed are ignored
+     *
+     * @param player The subscriber
+     * @param channels Channels to subscribe
+     */
+    public synchronized void subscribe(GamePlayer player, Collection<ChannelType> channels) {
+        for (ChannelType channel : channels) {
+            final GamePlayer[] current = get(channel);
+
+            if (indexOf(current, player) != -1) {
+                continue;
+            }
+
+            final GamePlayer[] newSubscribers = new GamePlayer[current.length + 1];
+
+            System.arraycopy(current, 0, newSubscribers, 0, current.length);
+
+            newSubscribers[current.length] = player;
+            subscribers.set(channel.ordinal(), newSubscribers);
+        }
+    }
+
+    /**
+     * Remove the player from the subscribers of the given channels
+     * Channels not subscribed are ignored
+     *
+     * @param player The subscriber
+     * @param channels Channels to unsubscribe
+     */
+    @SuppressWarnings({"array.length.negative", "argument"}) // index is a valid index of current, so the array is not empty and the copy ranges are valid
+    public synchronized void unsubscribe(GamePlayer player, Collection<ChannelType> channels) {
+        for (ChannelType channel : channels) {
+            final GamePlayer[] current = get(channel);
+            final int index = indexOf(current, player);
+
+            if (index == -1) {
+                continue;
+            }
+
+            final GamePlayer[] newSubscribers = new GamePlayer[current.length - 1];
+
+            System.arraycopy(current, 0, newSubscribers, 0, index);
+            System.arraycopy(current, index + 1, newSubscribers, index, current.length - index - 1);
+            subscribers.set(channel.ordinal(), newSubscribers);
+        }
+    }
+
+    private int send(GamePlayer[] players, GamePlayer sender, Predicate<GamePlayer> filter, SharedPacket packet) {
+        int count = 0;
+        boolean senderReceived = false;
+
+        for (GamePlayer player : players) {
+            if (filter.test(player)) {
+                player.send(packet);
+                senderReceived |= player == sender;
+                ++count;
+            }
+        }
+
+        if (!senderReceived && filter.test(sender)) {
+            sender.send(packet);
+            ++count;
+        }
+
+        return count;
+    }
+
+    private static int indexOf(GamePlayer[] players, GamePlayer player) {
+        for (int i = 0; i < players.length; ++i) {
+            if (players[i] == player) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
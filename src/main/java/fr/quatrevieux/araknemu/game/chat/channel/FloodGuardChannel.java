@@ -23,24 +23,30 @@ import fr.quatrevieux.araknemu.game.GameConfiguration;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.chat.ChatException;
 import fr.quatrevieux.araknemu.game.player.GamePlayer;
+import fr.quatrevieux.araknemu.network.game.SessionAttachmentKey;
 import fr.quatrevieux.araknemu.network.game.in.chat.Message;
 import fr.quatrevieux.araknemu.network.game.out.info.Information;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Decorate channel for adding flood guard
+ *
+ * The flood timer is a token bucket of one message, stored on the sender session
+ * So the state is released with the session, and do not grow with the number of players
  */
 public final class FloodGuardChannel implements Channel {
     private final Channel channel;
     private final GameConfiguration.ChatConfiguration configuration;
 
-    private final ConcurrentMap<Integer, Long> lastSentTime = new ConcurrentHashMap<>();
+    private final SessionAttachmentKey<TokenBucket.Bucket> floodKey;
 
     public FloodGuardChannel(Channel channel, GameConfiguration.ChatConfiguration configuration) {
         this.channel = channel;
         this.configuration = configuration;
+        this.floodKey = new TokenBucket(1, Duration.ofSeconds(Math.max(configuration.floodTime(), 0)))::bucket;
     }
 
     @Override
@@ -55,39 +61,49 @@ public final class FloodGuardChannel implements Channel {
 
     @Override
     public void send(GamePlayer from, Message message) throws ChatException {
-        if (!checkFlood(from)) {
+        final Optional<TokenBucket.Bucket> bucket = floodBucket(from);
+
+        if (bucket.isPresent() && !checkFlood(from, bucket.get())) {
             return;
         }
 
         channel.send(from, message);
-        lastSentTime.put(from.id(), System.currentTimeMillis());
+
+        // The flood timer starts only once the message is successfully sent
+        bucket.ifPresent(b -> b.tryAcquire(1));
     }
 
     /**
-     * Check for flood timer
+     * Get the flood timer of the sender
      *
      * @param sender The message sender
      *
-     * @return true if can sent the message
+     * @return The bucket, or empty if the flood guard is disabled or the sender is not connected
      */
-    private boolean checkFlood(GamePlayer sender) {
-        if (configuration.floodTime() < 0) {
-            return true;
+    private Optional<TokenBucket.Bucket> floodBucket(GamePlayer sender) {
+        if (configuration.floodTime() <= 0) {
+            return Optional.empty();
         }
 
-        final Long last = lastSentTime.get(sender.id());
-
-        if (last == null) {
-            return true;
-        }
+        return sender.account().session().map(session -> session.get(floodKey));
+    }
 
-        final int remainingTime = (int) ((last + configuration.floodTime() * 1000 - System.currentTimeMillis()) / 1000);
+    /**
+     * Check for flood timer
+     *
+     * @param sender The message sender
+     * @param bucket The flood timer of the sender
+     *
+     * @return true if can sent the message
+     */
+    private boolean checkFlood(GamePlayer sender, TokenBucket.Bucket bucket) {
+        final Duration delay = bucket.delay(1);
 
-        if (remainingTime <= 0) {
+        if (delay.isZero()) {
             return true;
         }
 
-        sender.send(Information.chatFlood(remainingTime));
+        sender.send(Information.chatFlood((int) Math.max(delay.getSeconds(), 1)));
         return false;
     }
 }
@@ -19,31 +19,35 @@
 
 package fr.quatrevieux.araknemu.game.chat.channel;
 
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.chat.ChatException;
-import fr.quatrevieux.araknemu.game.chat.event.BroadcastedMessage;
 import fr.quatrevieux.araknemu.game.player.GamePlayer;
-import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.network.game.in.chat.Message;
+import fr.quatrevieux.araknemu.network.game.out.chat.MessageSent;
 
 import java.util.function.Predicate;
 
 /**
- * Channels which send to all online players
+ * Channels which send to all online players subscribed to the channel
+ *
+ * The message is serialized only once, and sent directly to the subscribers sessions
+ *
+ * @see ChannelSubscribers
  */
 public final class GlobalChannel implements Channel {
     private final ChannelType channel;
     private final Predicate<GamePlayer> filter;
-    private final PlayerService service;
+    private final ChannelSubscribers subscribers;
 
-    public GlobalChannel(ChannelType channel, Predicate<GamePlayer> filter, PlayerService service) {
+    public GlobalChannel(ChannelType channel, Predicate<GamePlayer> filter, ChannelSubscribers subscribers) {
         this.channel = channel;
         this.filter = filter;
-        this.service = service;
+        this.subscribers = subscribers;
     }
 
-    public GlobalChannel(ChannelType channel, PlayerService service) {
-        this(channel, player -> true, service);
+    public GlobalChannel(ChannelType channel, ChannelSubscribers subscribers) {
+        this(channel, player -> true, subscribers);
     }
 
     @Override
@@ -58,16 +62,11 @@ public final class GlobalChannel implements Channel {
 
     @Override
     public void send(GamePlayer from, Message message) throws ChatException {
-        final BroadcastedMessage event = new BroadcastedMessage(
-            type(),
+        subscribers.send(
+            channel,
             from,
-            message.message(),
-            message.items()
+            filter,
+            new MessageSent(from, channel, message.message(), message.items())
         );
-
-        service
-            .filter(filter)
-            .forEach(player -> player.dispatch(event))
-        ;
     }
 }
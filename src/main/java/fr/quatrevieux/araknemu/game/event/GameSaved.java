@@ -19,8 +19,34 @@
 
 package fr.quatrevieux.araknemu.game.event;
 
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.time.Duration;
+
 /**
  * The game server saved is complete
  */
 public final class GameSaved {
+    private final Duration duration;
+    private final @NonNegative int count;
+
+    public GameSaved(Duration duration, @NonNegative int count) {
+        this.duration = duration;
+        this.count = count;
+    }
+
+    /**
+     * The save duration
+     */
+    public Duration duration() {
+        return duration;
+    }
+
+    /**
+     * Number of saved players
+     * Players without modifications are not saved, so this value may be lower than the online players count
+     */
+    public @NonNegative int count() {
+        return count;
+    }
 }
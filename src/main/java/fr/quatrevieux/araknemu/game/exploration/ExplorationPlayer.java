@@ -168,6 +168,7 @@ public final class ExplorationPlayer implements ExplorationCreature, Explorer, P
         this.cell = cell;
         this.orientation = orientation;
 
+        map.updatePosition(this);
         map.dispatch(new PlayerMoveFinished(this, cell));
     }
 
@@ -235,6 +236,7 @@ public final class ExplorationPlayer implements ExplorationCreature, Explorer, P
         player.setPosition(player.position().newCell(cell));
         this.cell = map.get(cell);
 
+        map.updatePosition(this);
         map.dispatch(new CellChanged(this, cell));
     }
 
@@ -135,6 +135,7 @@ public final class Restrictions {
         }
 
         if (hasChanged && map != null) {
+            map.refreshSprite(player);
             map.dispatch(new RestrictionsChanged(player, this));
         }
     }
@@ -19,6 +19,7 @@
 
 package fr.quatrevieux.araknemu.game.exploration.creature.operation;
 
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import fr.quatrevieux.araknemu.game.exploration.ExplorationPlayer;
 import fr.quatrevieux.araknemu.game.exploration.creature.Operation;
 
@@ -26,10 +27,11 @@ import fr.quatrevieux.araknemu.game.exploration.creature.Operation;
  * Send the packet to creatures which supports sending packet
  */
 public final class SendPacket implements Operation<Void> {
-    private final String packet;
+    private final Object packet;
 
     public SendPacket(Object packet) {
-        this.packet = packet.toString();
+        // Keep shared packets as is, for sharing the encoded form
+        this.packet = packet instanceof SharedPacket ? packet : packet.toString();
     }
 
     @Override
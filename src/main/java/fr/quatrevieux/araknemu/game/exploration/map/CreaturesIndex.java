@@ -0,0 +1,123 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.exploration.map;
+
+import fr.quatrevieux.araknemu.game.exploration.creature.ExplorationCreature;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Index creatures of a map by their cell
+ *
+ * Modifications are synchronized, but reading is lock free,
+ * and the returned collections can be iterated while creatures are moving.
+ */
+final class CreaturesIndex {
+    /**
+     * Cell value for creatures added on the map, but without cell
+     */
+    private static final int NO_CELL = -1;
+
+    private final Map<Integer, Integer> cellByCreature = new HashMap<>();
+    private final ConcurrentMap<Integer, List<ExplorationCreature>> creaturesByCell = new ConcurrentHashMap<>();
+
+    /**
+     * Index a new creature on its current cell
+     * If the creature has no cell yet, it will be indexed on the next call of {@link CreaturesIndex#update(ExplorationCreature)}
+     */
+    public synchronized void add(ExplorationCreature creature) {
+        try {
+            index(creature, creature.cell().id());
+        } catch (IllegalStateException e) {
+            // The creature is not yet on a cell
+            cellByCreature.put(creature.id(), NO_CELL);
+        }
+    }
+
+    /**
+     * Remove the creature from the index
+     */
+    public synchronized void remove(ExplorationCreature creature) {
+        final Integer cell = cellByCreature.remove(creature.id());
+
+        if (cell != null && cell != NO_CELL) {
+            unindex(creature, cell);
+        }
+    }
+
+    /**
+     * Update the indexed cell of the creature
+     * Do nothing if the creature is not on the map (i.e. not added or already removed)
+     */
+    public synchronized void update(ExplorationCreature creature) {
+        final Integer lastCell = cellByCreature.get(creature.id());
+
+        if (lastCell == null) {
+            return;
+        }
+
+        final int cell = creature.cell().id();
+
+        if (cell == lastCell) {
+            return;
+        }
+
+        if (lastCell != NO_CELL) {
+            unindex(creature, lastCell);
+        }
+
+        index(creature, cell);
+    }
+
+    /**
+     * Get all creatures indexed on the given cell
+     */
+    public Collection<ExplorationCreature> on(int cell) {
+        final List<ExplorationCreature> creatures = creaturesByCell.get(cell);
+
+        return creatures != null ? Collections.unmodifiableList(creatures) : Collections.emptyList();
+    }
+
+    private void index(ExplorationCreature creature, int cell) {
+        cellByCreature.put(creature.id(), cell);
+        creaturesByCell.computeIfAbsent(cell, key -> new CopyOnWriteArrayList<>()).add(creature);
+    }
+
+    private void unindex(ExplorationCreature creature, int cell) {
+        final List<ExplorationCreature> creatures = creaturesByCell.get(cell);
+
+        if (creatures == null) {
+            return;
+        }
+
+        creatures.remove(creature);
+
+        if (creatures.isEmpty()) {
+            creaturesByCell.remove(cell);
+        }
+    }
+}
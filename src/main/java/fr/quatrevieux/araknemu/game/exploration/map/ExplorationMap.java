@@ -29,7 +29,6 @@ import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
 import fr.quatrevieux.araknemu.game.exploration.area.ExplorationSubArea;
 import fr.quatrevieux.araknemu.game.exploration.creature.ExplorationCreature;
 import fr.quatrevieux.araknemu.game.exploration.creature.Operation;
-import fr.quatrevieux.araknemu.game.exploration.creature.operation.SendPacket;
 import fr.quatrevieux.araknemu.game.exploration.map.cell.BasicCell;
 import fr.quatrevieux.araknemu.game.exploration.map.cell.CellLoader;
 import fr.quatrevieux.araknemu.game.exploration.map.cell.ExplorationMapCell;
@@ -63,6 +62,9 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
 
     private final Map<@NonNegative Integer, ExplorationMapCell> cells;
     private final ConcurrentMap<Integer, ExplorationCreature> creatures = new ConcurrentHashMap<>();
+    private final CreaturesIndex creaturesByCell = new CreaturesIndex();
+    private final SpritesSnapshot spritesSnapshot = new SpritesSnapshot();
+    private final MapRecipients recipients = new MapRecipients();
 
     private final ListenerAggregate dispatcher = new DefaultListenerAggregate();
 
@@ -155,6 +157,9 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
             throw new IllegalArgumentException("The creature is already added");
         }
 
+        creaturesByCell.add(creature);
+        recipients.add(creature);
+        spritesSnapshot.invalidate(creature);
         dispatch(new NewSpriteOnMap(creature.sprite()));
     }
 
@@ -169,6 +174,9 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
             return false;
         }
 
+        creaturesByCell.remove(creature);
+        recipients.remove(creature);
+        spritesSnapshot.invalidate(creature);
         dispatch(new SpriteRemoveFromMap(creature.sprite()));
 
         return true;
@@ -184,6 +192,26 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
         ;
     }
 
+    /**
+     * Get the sprites packet of all creatures on the map
+     * The packet is cached, and only changed sprites are rendered again
+     *
+     * @see fr.quatrevieux.araknemu.network.game.out.game.AddSprites
+     */
+    public String spritesPacket() {
+        return spritesSnapshot.packet(creatures.values());
+    }
+
+    /**
+     * Indicate that the appearance of the creature has changed, so its sprite must be rendered again
+     * Note: cell and orientation changes are automatically detected
+     *
+     * @param creature The changed creature
+     */
+    public void refreshSprite(ExplorationCreature creature) {
+        spritesSnapshot.invalidate(creature);
+    }
+
     /**
      * Get all creatures on map
      */
@@ -191,6 +219,26 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
         return creatures.values();
     }
 
+    /**
+     * Get all creatures located on the given cell
+     * This method do not perform any scan of the creatures, so it can be used on hot paths
+     *
+     * @param cell The cell id
+     */
+    public Collection<ExplorationCreature> creaturesOn(@NonNegative int cell) {
+        return creaturesByCell.on(cell);
+    }
+
+    /**
+     * Update the cell of the creature on the map index
+     * Must be called by the creature after its cell has changed, and before the move event is dispatched
+     *
+     * @param creature The moved creature
+     */
+    public void updatePosition(ExplorationCreature creature) {
+        creaturesByCell.update(creature);
+    }
+
     /**
      * Get a creature by its id
      *
@@ -224,9 +272,10 @@ public final class ExplorationMap implements DofusMap<ExplorationMapCell>, Dispa
 
     /**
      * Send a packet to the map
+     * The packet is encoded only once, and only sent to players (creatures without session are not visited)
      */
     public void send(Object packet) {
-        apply(new SendPacket(packet));
+        recipients.send(packet);
     }
 
     /**
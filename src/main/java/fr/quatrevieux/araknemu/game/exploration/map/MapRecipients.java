@@ -0,0 +1,110 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.exploration.map;
+
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
+import fr.quatrevieux.araknemu.game.exploration.ExplorationPlayer;
+import fr.quatrevieux.araknemu.game.exploration.creature.ExplorationCreature;
+import fr.quatrevieux.araknemu.game.exploration.creature.Operation;
+
+
+/**
+ * Players of a map which can receive packets
+ *
+ * Recipients are stored into a copy-on-write array : modifications are synchronized,
+ * but broadcast is lock free and only iterates over real sessions (i.e. NPCs and monsters are ignored)
+ */
+final class MapRecipients {
+    private static final ExplorationPlayer[] EMPTY = new ExplorationPlayer[0];
+
+    private static final Operation<ExplorationPlayer> TO_PLAYER = new Operation<ExplorationPlayer>() {
+        @Override
+        public ExplorationPlayer onExplorationPlayer(ExplorationPlayer player) {
+            return player;
+        }
+    };
+
+    private volatile ExplorationPlayer[] players = EMPTY;
+
+    /**
+     * Add the creature to recipients if it's a player
+     */
+    public synchronized void add(ExplorationCreature creature) {
+        final ExplorationPlayer player = creature.apply(TO_PLAYER);
+
+        if (player == null) {
+            return;
+        }
+
+        final ExplorationPlayer[] current = players;
+        final ExplorationPlayer[] newPlayers = new ExplorationPlayer[current.length + 1];
+
+        System.arraycopy(current, 0, newPlayers, 0, current.length);
+
+        newPlayers[current.length] = player;
+        players = newPlayers;
+    }
+
+    /**
+     * Remove the creature from recipients
+     * Do nothing if the creature is not a recipient
+     */
+    @SuppressWarnings("array.length.negative") // The array contains the removed player, so it's not empty
+    public synchronized void remove(ExplorationCreature creature) {
+        final ExplorationPlayer[] current = players;
+
+        for (int i = 0; i < current.length; ++i) {
+            if (current[i] == creature) {
+                final ExplorationPlayer[] newPlayers = new ExplorationPlayer[current.length - 1];
+
+                System.arraycopy(current, 0, newPlayers, 0, i);
+                System.arraycopy(current, i + 1, newPlayers, i, current.length - i - 1);
+                players = newPlayers;
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Get the current number of recipients
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * Send the packet to all recipients
+     * The packet is encoded only once, and not encoded at all if there is no recipients
+     */
+    public void send(Object packet) {
+        final ExplorationPlayer[] current = players;
+
+        if (current.length == 0) {
+            return;
+        }
+
+        SharedPacket.broadcast(packet, shared -> {
+            for (ExplorationPlayer player : current) {
+                player.send(shared);
+            }
+        });
+    }
+}
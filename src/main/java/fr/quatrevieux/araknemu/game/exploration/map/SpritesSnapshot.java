@@ -0,0 +1,123 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.exploration.map;
+
+import fr.arakne.utils.maps.constant.Direction;
+import fr.quatrevieux.araknemu.game.exploration.creature.ExplorationCreature;
+import fr.quatrevieux.araknemu.game.world.creature.Sprite;
+import fr.quatrevieux.araknemu.network.game.out.game.AddSprites;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache the sprites packet of an exploration map
+ *
+ * Each sprite string is kept, and rendered again only when the creature cell or orientation has changed,
+ * or if {@link SpritesSnapshot#invalidate(ExplorationCreature)} is called (i.e. on appearance change).
+ * The full packet is kept until a sprite is added, removed or changed, so it's reused as is by all players entering the map.
+ *
+ * Note: this class is thread safe
+ */
+final class SpritesSnapshot {
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private @Nullable String packet;
+
+    /**
+     * Remove the cached sprite of the creature
+     * Must be called when the creature is added or removed, or when its appearance changes
+     */
+    public synchronized void invalidate(ExplorationCreature creature) {
+        entries.remove(creature.id());
+        packet = null;
+    }
+
+    /**
+     * Get the "GM" packet of all creatures of the map
+     *
+     * @param creatures All creatures of the map
+     */
+    public synchronized String packet(Collection<ExplorationCreature> creatures) {
+        final String lastPacket = packet;
+
+        if (lastPacket != null && isValid(creatures)) {
+            return lastPacket;
+        }
+
+        final List<String> sprites = new ArrayList<>(creatures.size());
+
+        for (ExplorationCreature creature : creatures) {
+            sprites.add(entry(creature).value);
+        }
+
+        return packet = AddSprites.rendered(sprites).toString();
+    }
+
+    private boolean isValid(Collection<ExplorationCreature> creatures) {
+        if (creatures.size() != entries.size()) {
+            return false;
+        }
+
+        for (ExplorationCreature creature : creatures) {
+            final Entry entry = entries.get(creature.id());
+
+            if (entry == null || !entry.matches(creature.sprite())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Entry entry(ExplorationCreature creature) {
+        final Sprite sprite = creature.sprite();
+        final Entry entry = entries.get(creature.id());
+
+        if (entry != null && entry.matches(sprite)) {
+            return entry;
+        }
+
+        final Entry newEntry = new Entry(sprite);
+
+        entries.put(creature.id(), newEntry);
+
+        return newEntry;
+    }
+
+    private static final class Entry {
+        private final int cell;
+        private final Direction orientation;
+        private final String value;
+
+        private Entry(Sprite sprite) {
+            this.cell = sprite.cell();
+            this.orientation = sprite.orientation();
+            this.value = sprite.toString();
+        }
+
+        private boolean matches(Sprite sprite) {
+            return cell == sprite.cell() && orientation == sprite.orientation();
+        }
+    }
+}
@@ -22,7 +22,6 @@ package fr.quatrevieux.araknemu.game.exploration.map.cell;
 import fr.arakne.utils.maps.AbstractCellDataAdapter;
 import fr.arakne.utils.maps.serializer.CellData;
 import fr.quatrevieux.araknemu.game.exploration.map.ExplorationMap;
-import fr.quatrevieux.araknemu.game.world.creature.Creature;
 import org.checkerframework.checker.index.qual.NonNegative;
 
 /**
@@ -40,12 +39,6 @@ public final class BasicCell extends AbstractCellDataAdapter<ExplorationMap, Exp
             return false;
         }
 
-        for (Creature<ExplorationMapCell> creature : map().creatures()) {
-            if (equals(creature.cell())) {
-                return false;
-            }
-        }
-
-        return true;
+        return map().creaturesOn(id()).isEmpty();
     }
 }
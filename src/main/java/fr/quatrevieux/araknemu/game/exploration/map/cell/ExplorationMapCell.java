@@ -54,9 +54,9 @@ public interface ExplorationMapCell extends MapCell<ExplorationMapCell> {
             return null;
         }
 
-        for (ExplorationCreature creature : map().creatures()) {
+        for (ExplorationCreature creature : map().creaturesOn(id())) {
             try {
-                // Cell do not match : skip
+                // Creature has moved during the iteration : skip
                 if (!equals(creature.cell())) {
                     continue;
                 }
@@ -20,8 +20,10 @@
 package fr.quatrevieux.araknemu.game.fight;
 
 import fr.quatrevieux.araknemu.core.event.DefaultListenerAggregate;
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
 import fr.quatrevieux.araknemu.core.event.Dispatcher;
 import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import fr.quatrevieux.araknemu.game.fight.castable.effect.EffectsHandler;
 import fr.quatrevieux.araknemu.game.fight.event.FightCancelled;
 import fr.quatrevieux.araknemu.game.fight.event.FightLeaved;
@@ -40,6 +42,7 @@ import fr.quatrevieux.araknemu.game.fight.turn.action.factory.ActionsFactory;
 import fr.quatrevieux.araknemu.game.fight.turn.order.FighterOrderStrategy;
 import fr.quatrevieux.araknemu.game.fight.type.FightType;
 import fr.quatrevieux.araknemu.game.world.util.Sender;
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
 import org.apache.commons.lang3.time.StopWatch;
 import org.apache.logging.log4j.Logger;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -52,18 +55,26 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /**
  * Handle fight
  */
 public final class Fight implements Dispatcher, Sender {
+    /**
+     * Maximum number of tasks executed in a row before giving back the thread to the executor
+     */
+    private static final int MAX_TASKS_PER_DRAIN = 32;
+
     private final int id;
     private final FightType type;
     private final FightMap map;
@@ -78,7 +89,9 @@ public final class Fight implements Dispatcher, Sender {
     private final ActionsFactory actions;
     private final FighterList fighters;
 
-    private final Lock executorLock = new ReentrantLock();
+    private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final LatencyHistogram taskLatency = new LatencyHistogram();
     private final EffectsHandler effects;
     private @MonotonicNonNull FightTurnList turnList;
 
@@ -86,8 +99,15 @@ public final class Fight implements Dispatcher, Sender {
     private volatile boolean alive = true;
     private final AtomicBoolean active = new AtomicBoolean(false);
 
-    @SuppressWarnings({"assignment", "argument"})
     public Fight(int id, FightType type, FightMap map, List<FightTeam.Factory> teams, StatesFlow statesFlow, Logger logger, ScheduledExecutorService executor, ActionsFactory.Factory actions) {
+        this(id, type, map, teams, statesFlow, logger, executor, actions, null);
+    }
+
+    /**
+     * @param profiler The profiler of the fight events. If null, events are not profiled
+     */
+    @SuppressWarnings({"assignment", "argument"})
+    public Fight(int id, FightType type, FightMap map, List<FightTeam.Factory> teams, StatesFlow statesFlow, Logger logger, ScheduledExecutorService executor, ActionsFactory.Factory actions, @Nullable DispatchProfiler profiler) {
         this.id = id;
         this.type = type;
         this.map = map;
@@ -95,7 +115,7 @@ public final class Fight implements Dispatcher, Sender {
         this.statesFlow = statesFlow;
         this.logger = logger;
         this.executor = executor;
-        this.dispatcher = new DefaultListenerAggregate(logger);
+        this.dispatcher = new DefaultListenerAggregate(logger, false, profiler);
         this.spectators = new Spectators(this);
         this.fighters = new FighterList(this);
         this.actions = actions.createForFight(this);
@@ -216,13 +236,13 @@ public final class Fight implements Dispatcher, Sender {
 
     @Override
     public void send(Object packet) {
-        final String sPacket = packet.toString();
-
-        for (FightTeam team : teams) {
-            team.send(sPacket);
-        }
+        SharedPacket.broadcast(packet, shared -> {
+            for (FightTeam team : teams) {
+                team.send(shared);
+            }
 
-        spectators.send(sPacket);
+            spectators.send(shared);
+        });
     }
 
     @Override
@@ -248,6 +268,9 @@ public final class Fight implements Dispatcher, Sender {
     /**
      * Schedule an action to perform in fight with delay
      *
+     * The returned future can be cancelled until the action is executed,
+     * even if the delay is expired and the action is waiting in the fight mailbox
+     *
      * @param action Action to execute
      * @param delay The delay
      */
@@ -256,7 +279,15 @@ public final class Fight implements Dispatcher, Sender {
             throw new IllegalStateException("The fight is not alive");
         }
 
-        return executor.schedule(new Task(action), delay.toMillis(), TimeUnit.MILLISECONDS);
+        final ScheduledTask task = new ScheduledTask(action);
+
+        // The timer only push the action to the mailbox, so the task latency is computed from the expiration
+        task.start(executor.schedule(() -> {
+            tasks.add(new Task(task));
+            drain();
+        }, delay.toMillis(), TimeUnit.MILLISECONDS));
+
+        return task;
     }
 
     /**
@@ -269,7 +300,24 @@ public final class Fight implements Dispatcher, Sender {
             throw new IllegalStateException("The fight is not alive");
         }
 
-        executor.execute(new Task(action));
+        tasks.add(new Task(action));
+
+        if (!running.get()) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                tasks.clear();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Get the latency of the fight tasks, i.e. the time between the submission of a task and its execution
+     * For scheduled tasks, the latency is computed from the end of the delay
+     */
+    public LatencyHistogram taskLatency() {
+        return taskLatency;
     }
 
     /**
@@ -397,10 +445,98 @@ public final class Fight implements Dispatcher, Sender {
     }
 
     /**
-     * Wrap action to submit to executor to ensure that tasks are run sequentially (i.e. no task are run in parallel)
+     * Execute pending tasks of the fight
+     * Only one thread can run the tasks at the same time : if the fight is already running on another thread,
+     * this method will return immediately, and the pending tasks will be executed by the running thread.
+     * So the tasks of a fight are executed sequentially without blocking the executor threads.
+     */
+    private void drain() {
+        while (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+            try {
+                for (int i = 0; i < MAX_TASKS_PER_DRAIN; ++i) {
+                    final Task task = tasks.poll();
+
+                    if (task == null) {
+                        break;
+                    }
+
+                    task.run();
+                }
+            } finally {
+                running.set(false);
+            }
+
+            // Give back the thread to the executor to let other fights run
+            if (!tasks.isEmpty()) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // The executor is stopped : the pending tasks will be executed by the current thread
+                    continue;
+                }
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Action scheduled using {@link Fight#schedule(Runnable, Duration)}
+     * Cancelling this future will cancel the timer, or the execution if the action is already pushed to the mailbox
+     */
+    private final class ScheduledTask extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+        private volatile @MonotonicNonNull ScheduledFuture<?> timer;
+
+        public ScheduledTask(Runnable action) {
+            super(action, null);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            final ScheduledFuture<?> timer = this.timer;
+
+            return timer != null ? timer.getDelay(unit) : 0;
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final ScheduledFuture<?> timer = this.timer;
+
+            if (timer != null) {
+                timer.cancel(false);
+            }
+
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        protected void setException(Throwable error) {
+            logger.error("Error on fight executor : " + error.getMessage(), error);
+            super.setException(error);
+        }
+
+        private void start(ScheduledFuture<?> timer) {
+            this.timer = timer;
+
+            // The task is cancelled before the timer is set
+            if (isCancelled()) {
+                timer.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Wrap action of the fight mailbox
+     * Handle errors, and compute the task latency
      */
     private final class Task implements Runnable {
         private final Runnable action;
+        private final long submittedAt = System.nanoTime();
 
         public Task(Runnable action) {
             this.action = action;
@@ -408,9 +544,9 @@ public final class Fight implements Dispatcher, Sender {
 
         @Override
         public void run() {
-            try {
-                executorLock.lock();
+            taskLatency.record(System.nanoTime() - submittedAt);
 
+            try {
                 if (!alive) {
                     logger.warn("Cannot run task " + action.getClass().toString() + " on dead fight");
                     return;
@@ -419,8 +555,6 @@ public final class Fight implements Dispatcher, Sender {
                 action.run();
             } catch (Throwable e) {
                 logger.error("Error on fight executor : " + e.getMessage(), e);
-            } finally {
-                executorLock.unlock();
             }
         }
     }
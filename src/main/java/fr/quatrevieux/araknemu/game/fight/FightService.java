@@ -30,6 +30,7 @@ import fr.quatrevieux.araknemu.game.fight.builder.FightBuilder;
 import fr.quatrevieux.araknemu.game.fight.builder.FightBuilderFactory;
 import fr.quatrevieux.araknemu.game.fight.event.FightCreated;
 import fr.quatrevieux.araknemu.game.fight.map.FightMap;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometryCache;
 import fr.quatrevieux.araknemu.game.fight.module.FightModule;
 import fr.quatrevieux.araknemu.game.fight.state.StatesFlow;
 import fr.quatrevieux.araknemu.game.fight.team.FightTeam;
@@ -57,6 +58,7 @@ public final class FightService implements EventsSubscriber {
     private final Dispatcher dispatcher;
     private final Map<Class, FightBuilderFactory> builderFactories;
     private final FightFactory factory;
+    private final MapGeometryCache geometries;
     private final Collection<FightModule.Factory> moduleFactories;
     private final GameConfiguration.FightConfiguration configuration;
     private final ScheduledExecutorService executor;
@@ -64,12 +66,13 @@ public final class FightService implements EventsSubscriber {
     private final Map<Integer, Map<Integer, Fight>> fightsByMapId = new ConcurrentHashMap<>();
     private final AtomicInteger lastFightId = new AtomicInteger();
 
-    public FightService(Dispatcher dispatcher, Collection<? extends FightBuilderFactory> factories, Collection<FightModule.Factory> moduleFactories, FightFactory factory, GameConfiguration.FightConfiguration configuration) {
+    public FightService(Dispatcher dispatcher, Collection<? extends FightBuilderFactory> factories, Collection<FightModule.Factory> moduleFactories, FightFactory factory, MapGeometryCache geometries, GameConfiguration.FightConfiguration configuration) {
         this.dispatcher = dispatcher;
         this.moduleFactories = moduleFactories;
         this.configuration = configuration;
         this.factory = factory;
-        this.executor = ExecutorFactory.create(configuration.threadsCount());
+        this.geometries = geometries;
+        this.executor = ExecutorFactory.createWithWheelTimer(configuration.threadsCount(), configuration.timerTick());
 
         this.builderFactories = factories.stream().collect(
             Collectors.toMap(
@@ -126,11 +129,12 @@ public final class FightService implements EventsSubscriber {
 
     /**
      * Create fight map
+     * The static data of the map are shared with other fights on the same map
      *
      * @param map The base map
      */
     public FightMap map(ExplorationMap map) {
-        return new FightMap(map.template());
+        return new FightMap(geometries.get(map.template()));
     }
 
     /**
@@ -100,6 +100,17 @@ public interface AI {
      */
     public <T> @Nullable T get(MemoryKey<T> key);
 
+    /**
+     * Check if a value is stored in the memory
+     * Unlike {@link AI#get(MemoryKey)}, the default value is not created
+     * This call will forward to {@link fr.quatrevieux.araknemu.game.fight.ai.memory.AiMemory#has(MemoryKey)}
+     *
+     * @param key The key of the value. Should be a static instance of {@link MemoryKey}
+     *
+     * @return true if the value is present
+     */
+    public boolean has(MemoryKey<?> key);
+
     /**
      * Set a value in the memory
      * This call will forward to {@link fr.quatrevieux.araknemu.game.fight.ai.memory.AiMemory#set(MemoryKey, Object)}
@@ -175,6 +175,11 @@ public final class FighterAI implements Runnable, AI {
         return memory.get(key);
     }
 
+    @Override
+    public boolean has(MemoryKey<?> key) {
+        return memory.has(key);
+    }
+
     @Override
     public <T> void set(MemoryKey<T> key, @NonNull T value) {
         memory.set(key, value);
@@ -25,6 +25,7 @@ import fr.quatrevieux.araknemu.game.fight.ai.action.util.CastSpell;
 import fr.quatrevieux.araknemu.game.fight.ai.action.util.Formula;
 import fr.quatrevieux.araknemu.game.fight.ai.action.util.Movement;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.CastSimulation;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationExecutor;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.fight.ai.util.AIHelper;
 import fr.quatrevieux.araknemu.game.fight.fighter.ActiveFighter;
@@ -49,16 +50,20 @@ import java.util.stream.Collectors;
  * For select the cell, the generator will iterate over all reachable cells
  * with the current amount of MPs,
  * and check all spells on all available cells.
+ * All simulations share the same deadline, so when the time budget is exhausted,
+ * only the cells already simulated are considered.
  */
 public final class MoveToCast implements ActionGenerator {
     private final Simulator simulator;
     private final CastSpell.SimulationSelector selector;
     private final TargetSelectionStrategy strategy;
+    private final String name;
 
     public MoveToCast(Simulator simulator, CastSpell.SimulationSelector selector, TargetSelectionStrategy strategy) {
         this.simulator = simulator;
         this.selector = selector;
         this.strategy = strategy;
+        this.name = CastSpell.generatorName(selector, "MoveTo");
     }
 
     @Override
@@ -76,20 +81,26 @@ public final class MoveToCast implements ActionGenerator {
             return Optional.empty();
         }
 
-        final GenerationScope scope = new GenerationScope(ai.fighter(), actions, ai.helper());
+        final long start = System.nanoTime();
 
-        // Can cast, but there is at least 1 enemy : do not perform move because of potential tackle
-        if (helper.enemies().adjacent().findFirst().isPresent() && scope.canCastFromCell(fighter.cell())) {
-            return Optional.empty();
-        }
+        try {
+            final GenerationScope scope = new GenerationScope(ai.fighter(), actions, ai.helper(), simulator.executor().deadline());
 
-        final Movement movement = new Movement(
-            coordinates -> strategy.score(scope, coordinates),
-            scoredCell -> scope.canCastFromCell(scoredCell.coordinates().cell())
-        );
-        movement.initialize(ai);
+            // Can cast, but there is at least 1 enemy : do not perform move because of potential tackle
+            if (helper.enemies().adjacent().findFirst().isPresent() && scope.canCastFromCell(fighter.cell())) {
+                return Optional.empty();
+            }
 
-        return movement.generate(ai, actions);
+            final Movement movement = new Movement(
+                coordinates -> strategy.score(scope, coordinates),
+                scoredCell -> scope.canCastFromCell(scoredCell.coordinates().cell())
+            );
+            movement.initialize(ai);
+
+            return movement.generate(ai, actions);
+        } finally {
+            simulator.executor().record(name, System.nanoTime() - start);
+        }
     }
 
     /**
@@ -99,12 +110,14 @@ public final class MoveToCast implements ActionGenerator {
         private final ActiveFighter fighter;
         private final AiActionFactory<?> actions;
         private final AIHelper helper;
+        private final SimulationExecutor.Deadline deadline;
         private final Map<BattlefieldCell, Collection<CastSimulation>> possibleActionsCache = new HashMap<>();
 
-        public GenerationScope(ActiveFighter fighter, AiActionFactory<?> actions, AIHelper helper) {
+        public GenerationScope(ActiveFighter fighter, AiActionFactory<?> actions, AIHelper helper, SimulationExecutor.Deadline deadline) {
             this.fighter = fighter;
             this.actions = actions;
             this.helper = helper;
+            this.deadline = deadline;
         }
 
         /**
@@ -152,7 +165,7 @@ public final class MoveToCast implements ActionGenerator {
             }
 
             possibleCasts = helper.withPosition(cell).spells().caster(actions.castSpellValidator())
-                .simulate(simulator)
+                .simulate(simulator, deadline)
                 .filter(selector::valid) // Keep only effective effects
                 .collect(Collectors.toList())
             ;
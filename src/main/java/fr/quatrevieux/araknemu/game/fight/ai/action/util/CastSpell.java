@@ -42,10 +42,12 @@ public final class CastSpell implements ActionGenerator {
 
     private final Simulator simulator;
     private final SimulationSelector selector;
+    private final String name;
 
     public CastSpell(Simulator simulator, SimulationSelector selector) {
         this.simulator = simulator;
         this.selector = selector;
+        this.name = generatorName(selector, "");
     }
 
     @Override
@@ -60,16 +62,35 @@ public final class CastSpell implements ActionGenerator {
             return Optional.empty();
         }
 
-        return helper.spells().caster(actions.castSpellValidator())
-            .simulate(simulator)
-            .filter(selector::valid)
-            .reduce((s1, s2) -> selector.compare(s2, s1) ? s2 : s1)
-            .map(simulation -> {
-                ai.set(LAST_CAST, new LastCast(simulation.spell(), simulation.target()));
+        final long start = System.nanoTime();
+
+        try {
+            return helper.spells().caster(actions.castSpellValidator())
+                .simulate(simulator)
+                .filter(selector::valid)
+                .reduce((s1, s2) -> selector.compare(s2, s1) ? s2 : s1)
+                .map(simulation -> {
+                    ai.set(LAST_CAST, new LastCast(simulation.spell(), simulation.target()));
+
+                    return actions.cast(simulation.spell(), simulation.target());
+                })
+            ;
+        } finally {
+            simulator.executor().record(name, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Get the name of the generator which use the given selector, used for timing metrics
+     * The name is the simple class name of the selector, like "Attack"
+     *
+     * @param selector The simulation selector
+     * @param prefix Prefix to add to the name
+     */
+    public static String generatorName(SimulationSelector selector, String prefix) {
+        final String name = selector.getClass().getSimpleName();
 
-                return actions.cast(simulation.spell(), simulation.target());
-            })
-        ;
+        return prefix + (name.isEmpty() ? selector.getClass().getName() : name);
     }
 
     public interface SimulationSelector {
@@ -20,19 +20,16 @@
 package fr.quatrevieux.araknemu.game.fight.ai.action.util;
 
 import fr.arakne.utils.maps.CoordinateCell;
-import fr.arakne.utils.maps.path.Decoder;
 import fr.arakne.utils.maps.path.Path;
-import fr.arakne.utils.maps.path.PathException;
-import fr.arakne.utils.maps.path.Pathfinder;
 import fr.quatrevieux.araknemu.game.fight.ai.AI;
 import fr.quatrevieux.araknemu.game.fight.ai.action.ActionGenerator;
 import fr.quatrevieux.araknemu.game.fight.ai.action.AiActionFactory;
+import fr.quatrevieux.araknemu.game.fight.ai.util.ReachableCells;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
 import fr.quatrevieux.araknemu.game.fight.turn.action.Action;
-import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
-import org.checkerframework.checker.nullness.util.NullnessUtil;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
@@ -41,19 +38,16 @@ import java.util.function.ToDoubleFunction;
 /**
  * Try to select the best move action
  *
- * - Select reachable (i.e. walkable cells in MP range) cells. Note : pathfinding is not performed, so it's not warranty that cells are really reachable
- * - Sort cell by the score (ascending, lower score cells selected first)
+ * - Compute reachable cells (i.e. cells accessible using the current number of MPs) using {@link fr.quatrevieux.araknemu.game.fight.ai.util.CellsHelper#reachable()}
+ * - Sort cell by the score (ascending, lower score cells selected first), and then by the number of required MPs
  * - Iterates selected cells
  * - Filter cells (using filter predicate)
- * - Try to find the path
- * - If a path is found, and can be performed by the current number of MPs, return the move action
+ * - Return the move action to the first valid cell, using the path computed by the reachable cells map
  */
 public final class Movement implements ActionGenerator {
     private final ToDoubleFunction<CoordinateCell<BattlefieldCell>> scoreFunction;
     private final Predicate<ScoredCell> filter;
 
-    private @MonotonicNonNull Pathfinder<BattlefieldCell> pathfinder;
-
     /**
      * Creates the Movement action generator
      *
@@ -67,42 +61,31 @@ public final class Movement implements ActionGenerator {
 
     @Override
     public void initialize(AI ai) {
-        this.pathfinder = new Decoder<>(ai.map()).pathfinder();
+        // No-op
     }
 
     @Override
     public <A extends Action> Optional<A> generate(AI ai, AiActionFactory<A> actions) {
-        final Pathfinder<BattlefieldCell> pathfinder = NullnessUtil.castNonNull(this.pathfinder);
-        final int movementPoints = ai.turn().points().movementPoints();
-        final List<ScoredCell> selectedCells = selectCells(ai, movementPoints);
+        final ReachableCells reachableCells = ai.helper().cells().reachable();
+        final List<ScoredCell> selectedCells = selectCells(reachableCells);
 
         final CoordinateCell<BattlefieldCell> currentCell = ai.fighter().cell().coordinate();
         final ScoredCell currentCellScore = new ScoredCell(currentCell, scoreFunction.applyAsDouble(currentCell));
         final boolean currentCellIsValid = filter.test(currentCellScore);
 
-        selectedCells.sort(ScoredCell::compareTo);
+        // On equal score, the cell which requires the fewest MPs is selected
+        selectedCells.sort(Comparator.<ScoredCell>naturalOrder().thenComparingInt(cell -> reachableCells.distance(cell.coordinates.cell())));
 
         for (ScoredCell cell : selectedCells) {
             if ((currentCellIsValid && currentCellScore.score() >= cell.score()) || !filter.test(cell)) {
                 continue;
             }
 
-            final Path<BattlefieldCell> path;
+            final Optional<Path<BattlefieldCell>> path = reachableCells.pathTo(cell.coordinates.cell());
 
-            try {
-                path = pathfinder.findPath(ai.fighter().cell(), cell.coordinates.cell());
-            } catch (PathException e) {
-                // No valid path can be found
-                continue;
+            if (path.isPresent()) {
+                return Optional.of(actions.move(path.get()));
             }
-
-            // The path contains, as first step, the current cell.
-            // So this steps must not be considered in MPs
-            if (path.size() - 1 > movementPoints) {
-                continue;
-            }
-
-            return Optional.of(actions.move(path));
         }
 
         return Optional.empty();
@@ -111,21 +94,12 @@ public final class Movement implements ActionGenerator {
     /**
      * Select all reachable cells for movement
      */
-    private List<ScoredCell> selectCells(AI ai, int movementPoints) {
-        final CoordinateCell<BattlefieldCell> currentCell = ai.fighter().cell().coordinate();
+    private List<ScoredCell> selectCells(ReachableCells reachableCells) {
         final List<ScoredCell> selectedCells = new ArrayList<>();
 
-        for (BattlefieldCell cell : ai.map()) {
-            if (!cell.walkable()) {
-                continue;
-            }
-
+        for (BattlefieldCell cell : reachableCells.cells()) {
             final CoordinateCell<BattlefieldCell> coordinates = cell.coordinate();
 
-            if (coordinates.distance(currentCell) > movementPoints) {
-                continue;
-            }
-
             selectedCells.add(new ScoredCell(coordinates, scoreFunction.applyAsDouble(coordinates)));
         }
 
@@ -61,6 +61,18 @@ public final class AiMemory {
         return defaultValue;
     }
 
+    /**
+     * Check if the key is present in the memory
+     * The default value is not created by this method
+     *
+     * @param key The memory key. Should be a static instance of {@link MemoryKey}
+     *
+     * @return true if a value is stored for the given key
+     */
+    public boolean has(MemoryKey<?> key) {
+        return memory.containsKey(key);
+    }
+
     /**
      * Set a value in the memory
      *
@@ -21,6 +21,8 @@ package fr.quatrevieux.araknemu.game.fight.ai.memory;
 
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.function.Supplier;
+
 /**
  * Memory key used to keep the value only for the current turn
  * The value will be reset at the end and the start of the turn
@@ -28,6 +30,27 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * @param <T> the type of the value
  */
 public final class TurnMemoryKey<T> implements MemoryKey<T> {
+    private final @Nullable Supplier<T> defaultValue;
+
+    /**
+     * Create a key without default value
+     */
+    public TurnMemoryKey() {
+        this.defaultValue = null;
+    }
+
+    /**
+     * @param defaultValue Factory of the initial value, called each time the key is not present in the memory
+     */
+    public TurnMemoryKey(Supplier<T> defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public @Nullable T defaultValue() {
+        return defaultValue != null ? defaultValue.get() : null;
+    }
+
     @Override
     public @Nullable T refresh(T value) {
         return null;
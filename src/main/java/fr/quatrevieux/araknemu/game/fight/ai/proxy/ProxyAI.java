@@ -30,6 +30,7 @@ import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.WeakHashMap;
@@ -47,7 +48,8 @@ public final class ProxyAI implements AI {
     private ProxyActiveFighter fighter;
     private ProxyTurn turn;
 
-    private final Map<FighterData, FighterData> fighters = new WeakHashMap<>();
+    // Synchronized because proxy fighters may be resolved by parallel simulations
+    private final Map<FighterData, FighterData> fighters = Collections.synchronizedMap(new WeakHashMap<>());
 
     public ProxyAI(AI ai) {
         this.ai = ai;
@@ -68,6 +70,11 @@ public final class ProxyAI implements AI {
         return ai.get(key);
     }
 
+    @Override
+    public boolean has(MemoryKey<?> key) {
+        return ai.has(key);
+    }
+
     @Override
     public <T> void set(MemoryKey<T> key, @NonNull T value) {
         throw new UnsupportedOperationException("This AI is immutable");
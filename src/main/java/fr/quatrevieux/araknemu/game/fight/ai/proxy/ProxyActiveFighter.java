@@ -175,4 +175,9 @@ public final class ProxyActiveFighter implements ActiveFighter {
     public boolean invoked() {
         return fighter.invoked();
     }
+
+    @Override
+    public boolean playable() {
+        return fighter.playable();
+    }
 }
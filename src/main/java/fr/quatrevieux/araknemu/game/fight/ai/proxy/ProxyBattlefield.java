@@ -24,44 +24,43 @@ import fr.arakne.utils.value.Dimensions;
 import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import fr.quatrevieux.araknemu.game.fight.map.util.LineOfSightTable;
 import org.checkerframework.checker.index.qual.IndexFor;
 import org.checkerframework.checker.index.qual.LengthOf;
 import org.checkerframework.checker.index.qual.NonNegative;
-import org.checkerframework.checker.index.qual.SameLen;
-import org.checkerframework.checker.nullness.qual.EnsuresNonNull;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Proxy class for redefine fighters and objects positions
  *
- * Note: this class is immutable
+ * Modifications are stored on a sparse overlay, chained to the overlay of the parent map,
+ * so creating a modified map only costs the modified cells, and not a copy of the whole map.
+ * Proxy cells are created on demand, and kept for the map lifetime.
+ * So {@link ProxyBattlefield#walkableIgnoreFighterCells()} should be preferred to iterating the whole map.
+ *
+ * Note: this class is immutable, and can be read from multiple threads (e.g. parallel AI simulations)
  */
 public final class ProxyBattlefield implements BattlefieldMap {
     private final BattlefieldMap map;
-    private final ProxyCell @Nullable @SameLen("this") [] cells;
+    private final @Nullable Overlay overlay;
+    private volatile @MonotonicNonNull AtomicReferenceArray<@Nullable ProxyCell> cells;
 
     public ProxyBattlefield(BattlefieldMap map) {
         this.map = map;
-        this.cells = null;
+        this.overlay = null;
     }
 
-    @EnsuresNonNull("cells")
-    @SuppressWarnings({"assignment", "array.access.unsafe.high"}) // other and this have same length
     private ProxyBattlefield(ProxyBattlefield other) {
         this.map = other.map;
-        this.cells = new ProxyCell[other.map.size()];
-
-        for (int i = 0; i < map.size(); ++i) {
-            this.cells[i] = other.cells == null
-                ? new ProxyCell(map.get(i))
-                : new ProxyCell(other.cells[i])
-            ;
-        }
+        this.overlay = new Overlay(other.overlay);
     }
 
     @Override
@@ -73,11 +72,11 @@ public final class ProxyBattlefield implements BattlefieldMap {
     @Override
     @SuppressWarnings({"argument"}) // map and this have same length
     public BattlefieldCell get(@IndexFor("this") int id) {
-        if (cells == null) {
+        if (overlay == null) {
             return map.get(id);
         }
 
-        return cells[id];
+        return cell(id, overlay);
     }
 
     @Override
@@ -86,12 +85,37 @@ public final class ProxyBattlefield implements BattlefieldMap {
     }
 
     @Override
+    public LineOfSightTable lineOfSight() {
+        return map.lineOfSight();
+    }
+
+    @Override
+    @SuppressWarnings("argument") // range of ids is valid
     public Iterator<BattlefieldCell> iterator() {
-        if (cells == null) {
+        if (overlay == null) {
             return map.iterator();
         }
 
-        return Arrays.<BattlefieldCell>asList(cells).iterator();
+        final Overlay overlay = this.overlay;
+
+        return IntStream.range(0, map.size()).<BattlefieldCell>mapToObj(id -> cell(id, overlay)).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The walkable state ignoring fighters is not modified by the proxy,
+     * so the filter is applied on the original map, and proxy cells are only created for the matching cells
+     */
+    @Override
+    public Stream<BattlefieldCell> walkableIgnoreFighterCells() {
+        if (overlay == null) {
+            return map.walkableIgnoreFighterCells();
+        }
+
+        final Overlay overlay = this.overlay;
+
+        return map.walkableIgnoreFighterCells().map(cell -> cell(cell.id(), overlay));
     }
 
     /**
@@ -116,6 +140,39 @@ public final class ProxyBattlefield implements BattlefieldMap {
         return modifier.map;
     }
 
+    /**
+     * Get or create the proxy cell instance
+     *
+     * @param id The cell id
+     * @param overlay The overlay of the current map
+     */
+    @SuppressWarnings({"argument", "return"}) // map and this have same length ; cell is set when CAS fails
+    private ProxyCell cell(@NonNegative int id, Overlay overlay) {
+        AtomicReferenceArray<@Nullable ProxyCell> cells = this.cells;
+
+        if (cells == null) {
+            synchronized (this) {
+                cells = this.cells;
+
+                if (cells == null) {
+                    this.cells = cells = new AtomicReferenceArray<>(map.size());
+                }
+            }
+        }
+
+        final ProxyCell cell = cells.get(id);
+
+        if (cell != null) {
+            return cell;
+        }
+
+        final ProxyCell newCell = new ProxyCell(map.get(id));
+        overlay.load(id, newCell);
+
+        // Another thread has created the cell : keep its instance, so a cell is always the same object
+        return cells.compareAndSet(id, null, newCell) ? newCell : cells.get(id);
+    }
+
     private final class ProxyCell implements BattlefieldCell {
         private final BattlefieldCell cell;
         private boolean free = false;
@@ -126,12 +183,6 @@ public final class ProxyBattlefield implements BattlefieldMap {
             this.cell = cell;
         }
 
-        private ProxyCell(ProxyCell other) {
-            this.cell = other.cell;
-            this.free = other.free;
-            this.fighter = other.fighter;
-        }
-
         @Override
         public BattlefieldMap map() {
             return ProxyBattlefield.this;
@@ -196,10 +247,81 @@ public final class ProxyBattlefield implements BattlefieldMap {
         }
     }
 
+    /**
+     * Sparse storage of the modified cells
+     * Cells which are not modified by this overlay are resolved on the parent one
+     */
+    private static final class Overlay {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private final @Nullable Overlay parent;
+        private int[] cellIds = new int[INITIAL_CAPACITY];
+        private boolean[] free = new boolean[INITIAL_CAPACITY];
+        private @Nullable FighterData[] fighters = new FighterData[INITIAL_CAPACITY];
+        private @NonNegative int size = 0;
+
+        private Overlay(@Nullable Overlay parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * Load the cell state from the overlay chain
+         * If the cell is not modified, the cell is not changed
+         *
+         * @param cellId The cell id
+         * @param cell The cell to fill
+         */
+        @SuppressWarnings("array.access.unsafe.high") // index is returned by indexOf(), and all arrays have the same length
+        private void load(@NonNegative int cellId, ProxyCell cell) {
+            for (Overlay current = this; current != null; current = current.parent) {
+                final int index = current.indexOf(cellId);
+
+                if (index >= 0) {
+                    cell.free = current.free[index];
+                    cell.fighter = current.fighters[index];
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Store the cell state on the current overlay
+         */
+        @SuppressWarnings("array.access.unsafe.high") // index is always lower than size
+        private void store(@NonNegative int cellId, ProxyCell cell) {
+            int index = indexOf(cellId);
+
+            if (index < 0) {
+                if (size == cellIds.length) {
+                    cellIds = Arrays.copyOf(cellIds, size * 2);
+                    free = Arrays.copyOf(free, size * 2);
+                    fighters = Arrays.copyOf(fighters, size * 2);
+                }
+
+                index = size++;
+                cellIds[index] = cellId;
+            }
+
+            free[index] = cell.free;
+            fighters[index] = cell.fighter;
+        }
+
+        @SuppressWarnings("array.access.unsafe.high.range") // size is always lower or equal to the arrays length
+        private int indexOf(@NonNegative int cellId) {
+            for (int i = 0; i < size; ++i) {
+                if (cellIds[i] == cellId) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+    }
+
     /**
      * Builder class for modifying a proxy map
      */
-    @SuppressWarnings({"accessing.nullable", "array.access.unsafe.high"}) // map.cells is never null, but no way to tell this to checker
+    @SuppressWarnings("argument") // map.overlay is never null, but no way to tell this to checker
     public static class Modifier {
         private final ProxyBattlefield map;
 
@@ -216,7 +338,10 @@ public final class ProxyBattlefield implements BattlefieldMap {
          * @return this instance
          */
         public Modifier free(@NonNegative int cellId) {
-            map.cells[cellId].free = true;
+            final ProxyCell cell = map.cell(cellId, map.overlay);
+
+            cell.free = true;
+            map.overlay.store(cellId, cell);
 
             return this;
         }
@@ -227,7 +352,7 @@ public final class ProxyBattlefield implements BattlefieldMap {
          * @param cellId The cell to get
          */
         public BattlefieldCell get(@NonNegative int cellId) {
-            return map.cells[cellId];
+            return map.cell(cellId, map.overlay);
         }
 
         /**
@@ -239,8 +364,11 @@ public final class ProxyBattlefield implements BattlefieldMap {
          * @return this instance
          */
         public Modifier setFighter(@NonNegative int cellId, FighterData fighter) {
-            map.cells[cellId].free = false;
-            map.cells[cellId].fighter = fighter;
+            final ProxyCell cell = map.cell(cellId, map.overlay);
+
+            cell.free = false;
+            cell.fighter = fighter;
+            map.overlay.store(cellId, cell);
 
             return this;
         }
@@ -140,4 +140,9 @@ public final class ProxyPassiveFighter implements FighterData {
     public boolean invoked() {
         return fighter.invoked();
     }
+
+    @Override
+    public boolean playable() {
+        return fighter.playable();
+    }
 }
@@ -441,6 +441,45 @@ public final class CastSimulation {
         mainAllyKill += simulation.mainAllyKill * percent / 100d;
     }
 
+    /**
+     * Create an exact copy of the current simulation, bound to other instances of the caster and the target cell
+     * Use this method to reuse a simulation computed on another battlefield view (like a proxy) which is in the same state
+     *
+     * @param caster The new caster instance
+     * @param target The new target cell instance
+     *
+     * @return The new simulation instance
+     */
+    public CastSimulation copy(FighterData caster, BattlefieldCell target) {
+        final CastSimulation simulation = new CastSimulation(spell, caster, target);
+
+        simulation.mainEnemy = mainEnemy;
+        simulation.mainAlly = mainAlly;
+
+        simulation.enemiesLife = enemiesLife;
+        simulation.alliesLife = alliesLife;
+        simulation.selfLife = selfLife;
+        simulation.mainEnemyLife = mainEnemyLife;
+        simulation.mainAllyLife = mainAllyLife;
+
+        simulation.enemiesBoost = enemiesBoost;
+        simulation.alliesBoost = alliesBoost;
+        simulation.selfBoost = selfBoost;
+        simulation.mainEnemyBoost = mainEnemyBoost;
+        simulation.mainAllyBoost = mainAllyBoost;
+        simulation.invocation = invocation;
+
+        simulation.killedAllies = killedAllies;
+        simulation.killedEnemies = killedEnemies;
+        simulation.mainEnemyKill = mainEnemyKill;
+        simulation.mainAllyKill = mainAllyKill;
+        simulation.suicide = suicide;
+
+        simulation.actionPointsModifier = actionPointsModifier;
+
+        return simulation;
+    }
+
     /**
      * Compute the chance to rise max value of an effect
      *
@@ -0,0 +1,172 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.simulation;
+
+import fr.quatrevieux.araknemu.game.fight.ai.memory.MemoryKey;
+import fr.quatrevieux.araknemu.game.fight.ai.memory.TurnMemoryKey;
+import fr.quatrevieux.araknemu.game.fight.ai.util.ReachableCells;
+import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import fr.quatrevieux.araknemu.game.spell.Spell;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keep the cast simulations, and the reachable cells, computed during the current turn of the AI
+ *
+ * The same simulation is often requested multiple times during a turn (e.g. by each action generator,
+ * or by move generators which simulate the casts from the current cell), so the result is reused
+ * while the battlefield is not modified.
+ *
+ * The cache must be invalidated each time the fight state changes (fighter moved, life changed, buff added...)
+ * by calling {@link SimulationCache#invalidate()}. This is done by {@link fr.quatrevieux.araknemu.game.fight.module.AiModule}.
+ *
+ * Note: this class is not thread safe, and must only be accessed from the fight thread
+ */
+public final class SimulationCache {
+    /**
+     * Memory key of the cache. The cache is cleared on each turn.
+     */
+    public static final MemoryKey<SimulationCache> KEY = new TurnMemoryKey<>(SimulationCache::new);
+
+    private final Map<Key, CastSimulation> simulations = new HashMap<>();
+    private @Nullable ReachableCells reachableCells;
+
+    /**
+     * Get a simulation from the cache
+     * The returned simulation is a copy bound to the given caster and target, so it can be safely modified
+     *
+     * @param simulator The simulator used to compute the simulation
+     * @param spell The spell to cast
+     * @param caster The caster, on the simulated position
+     * @param target The target cell
+     *
+     * @return The simulation, or null if not computed since the last invalidation
+     */
+    public @Nullable CastSimulation get(Simulator simulator, Spell spell, FighterData caster, BattlefieldCell target) {
+        final CastSimulation simulation = simulations.get(new Key(simulator, spell, caster.cell().id(), target.id()));
+
+        if (simulation == null) {
+            return null;
+        }
+
+        return simulation.copy(caster, target);
+    }
+
+    /**
+     * Store a computed simulation
+     * A copy of the simulation is stored, so the given instance can be safely modified later
+     *
+     * @param simulator The simulator used to compute the simulation
+     * @param simulation The simulation result
+     */
+    public void put(Simulator simulator, CastSimulation simulation) {
+        simulations.put(
+            new Key(simulator, simulation.spell(), simulation.caster().cell().id(), simulation.target().id()),
+            simulation.copy(simulation.caster(), simulation.target())
+        );
+    }
+
+    /**
+     * Get the reachable cells computed since the last invalidation
+     *
+     * @param map The current map
+     * @param start Start cell of the move
+     * @param movementPoints Available movement points
+     *
+     * @return The reachable cells, or null if not computed for the given parameters
+     *
+     * @see ReachableCells#computedFor(BattlefieldMap, BattlefieldCell, int)
+     */
+    public @Nullable ReachableCells reachableCells(BattlefieldMap map, BattlefieldCell start, int movementPoints) {
+        final ReachableCells reachableCells = this.reachableCells;
+
+        return reachableCells != null && reachableCells.computedFor(map, start, movementPoints) ? reachableCells : null;
+    }
+
+    /**
+     * Store the computed reachable cells
+     * Only the last computed map is kept
+     */
+    public void reachableCells(ReachableCells reachableCells) {
+        this.reachableCells = reachableCells;
+    }
+
+    /**
+     * Remove all stored simulations and reachable cells
+     * Must be called when the fight state changes
+     */
+    public void invalidate() {
+        simulations.clear();
+        reachableCells = null;
+    }
+
+    /**
+     * Number of stored simulations
+     */
+    public int size() {
+        return simulations.size();
+    }
+
+    private static final class Key {
+        private final Simulator simulator;
+        private final int spellId;
+        private final int spellLevel;
+        private final int casterCell;
+        private final int targetCell;
+
+        private Key(Simulator simulator, Spell spell, int casterCell, int targetCell) {
+            this.simulator = simulator;
+            this.spellId = spell.id();
+            this.spellLevel = spell.level();
+            this.casterCell = casterCell;
+            this.targetCell = targetCell;
+        }
+
+        @Override
+        public boolean equals(@Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            final Key key = (Key) o;
+
+            return simulator == key.simulator
+                && spellId == key.spellId
+                && spellLevel == key.spellLevel
+                && casterCell == key.casterCell
+                && targetCell == key.targetCell
+            ;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(simulator), spellId, spellLevel, casterCell, targetCell);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.simulation;
+
+import fr.quatrevieux.araknemu.util.LatencyHistogram;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Execute the simulations of an AI action
+ *
+ * Simulations only read the fight state, and the fight thread waits for their results,
+ * so they can be dispatched on a fork join pool shared by all fights.
+ * A time budget can be set to bound the simulation phase of an action generator :
+ * once the deadline is reached, remaining simulations are skipped and only computed results are returned.
+ *
+ * The execution time of action generators is also recorded here, and can be retrieved using {@link SimulationExecutor#metrics()}.
+ */
+public final class SimulationExecutor {
+    /**
+     * Minimal number of simulations to dispatch on the pool
+     * Lower counts are simulated on the current thread
+     */
+    public static final int PARALLEL_THRESHOLD = 16;
+
+    /**
+     * Number of simulations performed by a single task of the pool
+     */
+    private static final int TASK_SIZE = 8;
+
+    private final @Nullable ForkJoinPool pool;
+    private final Duration budget;
+    private final Map<String, LatencyHistogram> metrics = new ConcurrentSkipListMap<>();
+
+    /**
+     * Create a sequential executor, without time budget
+     */
+    public SimulationExecutor() {
+        this(null, Duration.ZERO);
+    }
+
+    /**
+     * @param pool The pool to use. If null, simulations are performed on the current thread
+     * @param budget Maximum duration of the simulation phase of an action generator. Use {@link Duration#ZERO} to disable.
+     */
+    public SimulationExecutor(@Nullable ForkJoinPool pool, Duration budget) {
+        this.pool = pool;
+        this.budget = budget;
+    }
+
+    /**
+     * Start a new simulation phase
+     * The returned deadline should be shared by all simulations performed to generate an action
+     */
+    public Deadline deadline() {
+        if (budget.isZero() || budget.isNegative()) {
+            return Deadline.NONE;
+        }
+
+        return new Deadline(System.nanoTime() + budget.toNanos(), true);
+    }
+
+    /**
+     * Perform the simulations
+     *
+     * @param count Number of simulations
+     * @param simulation Perform the simulation at the given index. Must not modify the fight.
+     * @param deadline The deadline of the simulation phase
+     *
+     * @return Results ordered by index. If the deadline is reached, some results are missing.
+     */
+    public List<CastSimulation> execute(@NonNegative int count, IntFunction<CastSimulation> simulation, Deadline deadline) {
+        final @Nullable CastSimulation[] results = executeIndexed(count, simulation, deadline);
+        final List<CastSimulation> simulations = new ArrayList<>(count);
+
+        for (CastSimulation result : results) {
+            if (result != null) {
+                simulations.add(result);
+            }
+        }
+
+        return simulations;
+    }
+
+    /**
+     * Perform the simulations, and keep each result at its index
+     *
+     * @param count Number of simulations
+     * @param simulation Perform the simulation at the given index. Must not modify the fight.
+     * @param deadline The deadline of the simulation phase
+     *
+     * @return Array of results, of size count. If the deadline is reached, some values are null.
+     */
+    public @Nullable CastSimulation[] executeIndexed(@NonNegative int count, IntFunction<CastSimulation> simulation, Deadline deadline) {
+        final @Nullable CastSimulation[] results = new CastSimulation[count];
+
+        if (pool == null || count < PARALLEL_THRESHOLD) {
+            run(results, simulation, deadline, 0, count);
+        } else {
+            pool.invoke(new SimulationTask(results, simulation, deadline, 0, count));
+        }
+
+        return results;
+    }
+
+    /**
+     * Record the execution time of an action generator
+     *
+     * @param generator The generator name
+     * @param nanos Execution time in nanoseconds
+     */
+    public void record(String generator, long nanos) {
+        metrics.computeIfAbsent(generator, name -> new LatencyHistogram()).record(nanos);
+    }
+
+    /**
+     * Get the execution time of action generators, indexed by the generator name
+     */
+    public Map<String, LatencyHistogram> metrics() {
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Create the executor
+     *
+     * @param parallelism Number of threads used to perform simulations. If lower than 2, simulations are performed on the fight thread.
+     * @param budget Maximum duration of the simulation phase of an action generator. Use {@link Duration#ZERO} to disable.
+     */
+    @SuppressWarnings("argument") // ForkJoinPool accepts a null uncaught exception handler
+    public static SimulationExecutor create(int parallelism, Duration budget) {
+        if (parallelism < 2) {
+            return new SimulationExecutor(null, budget);
+        }
+
+        return new SimulationExecutor(
+            new ForkJoinPool(
+                parallelism,
+                pool -> {
+                    final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+
+                    thread.setName("AI simulation " + thread.getPoolIndex());
+
+                    return thread;
+                },
+                null,
+                false
+            ),
+            budget
+        );
+    }
+
+    @SuppressWarnings("array.access.unsafe.high") // from and to are bounded by results length
+    private static void run(@Nullable CastSimulation[] results, IntFunction<CastSimulation> simulation, Deadline deadline, @NonNegative int from, @NonNegative int to) {
+        for (int i = from; i < to && !deadline.reached(); ++i) {
+            results[i] = simulation.apply(i);
+        }
+    }
+
+    /**
+     * Deadline of a simulation phase
+     */
+    public static final class Deadline {
+        /**
+         * Deadline which is never reached
+         */
+        public static final Deadline NONE = new Deadline(0, false);
+
+        private final long time;
+        private final boolean bounded;
+
+        private Deadline(long time, boolean bounded) {
+            this.time = time;
+            this.bounded = bounded;
+        }
+
+        /**
+         * Check if the deadline is reached, so the simulation phase should be stopped
+         */
+        public boolean reached() {
+            return bounded && System.nanoTime() - time >= 0;
+        }
+    }
+
+    /**
+     * Split the simulations into tasks of {@link SimulationExecutor#TASK_SIZE} simulations
+     */
+    private static final class SimulationTask extends RecursiveAction {
+        private final @Nullable CastSimulation[] results;
+        private final IntFunction<CastSimulation> simulation;
+        private final Deadline deadline;
+        private final @NonNegative int from;
+        private final @NonNegative int to;
+
+        private SimulationTask(@Nullable CastSimulation[] results, IntFunction<CastSimulation> simulation, Deadline deadline, @NonNegative int from, @NonNegative int to) {
+            this.results = results;
+            this.simulation = simulation;
+            this.deadline = deadline;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_SIZE) {
+                run(results, simulation, deadline, from, to);
+                return;
+            }
+
+            final int middle = (from + to) >>> 1;
+
+            invokeAll(
+                new SimulationTask(results, simulation, deadline, from, middle),
+                new SimulationTask(results, simulation, deadline, middle, to)
+            );
+        }
+    }
+}
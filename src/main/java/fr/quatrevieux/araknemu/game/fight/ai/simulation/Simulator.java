@@ -35,13 +35,29 @@ import java.util.Map;
 
 /**
  * Perform simulation on fight
+ *
+ * Note: simulations may be performed in parallel using {@link SimulationExecutor},
+ *       so registered effect simulators must be thread safe
  */
 public final class Simulator {
     private final Map<Integer, EffectSimulator> simulators = new HashMap<>();
     private final CriticalityStrategy criticalityStrategy;
+    private final SimulationExecutor executor;
 
     public Simulator(CriticalityStrategy criticalityStrategy) {
+        this(criticalityStrategy, new SimulationExecutor());
+    }
+
+    public Simulator(CriticalityStrategy criticalityStrategy, SimulationExecutor executor) {
         this.criticalityStrategy = criticalityStrategy;
+        this.executor = executor;
+    }
+
+    /**
+     * Get the executor used to perform multiple simulations
+     */
+    public SimulationExecutor executor() {
+        return executor;
     }
 
     /**
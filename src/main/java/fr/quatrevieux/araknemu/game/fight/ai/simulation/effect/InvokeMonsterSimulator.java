@@ -33,8 +33,8 @@ import fr.quatrevieux.araknemu.game.monster.MonsterService;
 import fr.quatrevieux.araknemu.game.spell.Spell;
 import fr.quatrevieux.araknemu.util.Asserter;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Simulate monster invocation effect
@@ -59,7 +59,7 @@ import java.util.Map;
  * @see CastSimulation#selfLife() When the invocation is healer. Theoritical heal effect will be set here
  */
 public final class InvokeMonsterSimulator implements EffectSimulator {
-    private final Map<Monster, SpellScore> spellScoreCache = new HashMap<>();
+    private final Map<Monster, SpellScore> spellScoreCache = new ConcurrentHashMap<>();
 
     private final MonsterService monsterService;
     private final Simulator simulator;
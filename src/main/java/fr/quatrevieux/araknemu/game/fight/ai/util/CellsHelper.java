@@ -25,13 +25,19 @@ import fr.arakne.utils.maps.path.Path;
 import fr.arakne.utils.maps.path.PathStep;
 import fr.arakne.utils.maps.path.Pathfinder;
 import fr.quatrevieux.araknemu.game.fight.ai.AI;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
+import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import fr.quatrevieux.araknemu.game.fight.team.Team;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
 
 /**
  * Utility class for perform operation on map cells
@@ -54,7 +60,7 @@ public final class CellsHelper {
      * @return Stream of all targetable cells
      */
     public Stream<BattlefieldCell> stream() {
-        return StreamSupport.stream(ai.map().spliterator(), false).filter(BattlefieldCell::walkableIgnoreFighter);
+        return ai.map().walkableIgnoreFighterCells();
     }
 
     /**
@@ -122,6 +128,33 @@ public final class CellsHelper {
         ;
     }
 
+    /**
+     * Get all cells reachable by the current fighter, using its movement points
+     * Cells adjacent to visible and playable enemies are considered as end of the move (like {@link fr.quatrevieux.araknemu.game.fight.turn.action.move.validators.StopOnEnemyValidator})
+     *
+     * The map is computed once per fight state, and kept into the {@link SimulationCache},
+     * so all movement actions of the AI share the same map until the next fight action
+     *
+     * @return The reachable cells map
+     */
+    public ReachableCells reachable() {
+        final BattlefieldMap map = ai.map();
+        final BattlefieldCell start = ai.fighter().cell();
+        final int movementPoints = ai.turn().points().movementPoints();
+        final SimulationCache cache = ai.get(SimulationCache.KEY);
+        ReachableCells reachableCells = cache != null ? cache.reachableCells(map, start, movementPoints) : null;
+
+        if (reachableCells == null) {
+            reachableCells = new ReachableCells(decoder(), map, start, movementPoints, stopZone(map));
+
+            if (cache != null) {
+                cache.reachableCells(reachableCells);
+            }
+        }
+
+        return reachableCells;
+    }
+
     /**
      * Create a new instance of the pathfinder
      */
@@ -129,6 +162,40 @@ public final class CellsHelper {
         return decoder().pathfinder();
     }
 
+    /**
+     * Compute cells on which the move will stop, i.e. cells adjacent to an enemy
+     * Hidden enemies are ignored, because the AI must not know their position
+     *
+     * @return The stop zone indexed by cell id, or null if there is no enemy
+     */
+    @SuppressWarnings("array.access.unsafe.high") // cell ids are always valid on map
+    private boolean @Nullable [] stopZone(BattlefieldMap map) {
+        final Decoder<BattlefieldCell> decoder = decoder();
+        final Team<?> team = ai.fighter().team();
+        final List<? extends FighterData> enemies = ai.fighters()
+            .filter(fighter -> !fighter.team().equals(team) && !fighter.hidden() && fighter.playable())
+            .collect(Collectors.toList())
+        ;
+
+        if (enemies.isEmpty()) {
+            return null;
+        }
+
+        final boolean[] stopZone = new boolean[map.size()];
+
+        for (FighterData enemy : enemies) {
+            for (Direction direction : Direction.restrictedDirections()) {
+                final Optional<BattlefieldCell> cell = decoder.nextCellByDirection(enemy.cell(), direction);
+
+                if (cell.isPresent()) {
+                    stopZone[cell.get().id()] = true;
+                }
+            }
+        }
+
+        return stopZone;
+    }
+
     private Decoder<BattlefieldCell> decoder() {
         if (decoder == null) {
             decoder = new Decoder<>(ai.map());
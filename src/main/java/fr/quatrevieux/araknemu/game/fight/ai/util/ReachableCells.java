@@ -0,0 +1,212 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.util;
+
+import fr.arakne.utils.maps.constant.Direction;
+import fr.arakne.utils.maps.path.Decoder;
+import fr.arakne.utils.maps.path.Path;
+import fr.arakne.utils.maps.path.PathStep;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import org.checkerframework.checker.index.qual.GTENegativeOne;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Map of all cells reachable by a fighter using its movement points
+ *
+ * The map is computed once, using a breadth-first search from the fighter cell bounded by the movement points,
+ * so checking if a cell is reachable, and building the path to this cell does not require any pathfinding.
+ *
+ * Cells adjacent to an enemy are reachable, but the move will stop on them,
+ * so they are not used as intermediate step (tackle zone).
+ * Note: the tackle at the start of the move is not taken in account, because it's not deterministic.
+ *
+ * @see CellsHelper#reachable()
+ */
+public final class ReachableCells {
+    private final Decoder<BattlefieldCell> decoder;
+    private final BattlefieldMap map;
+    private final BattlefieldCell start;
+    private final int movementPoints;
+
+    /**
+     * Number of steps to reach the cell, or -1 if the cell cannot be reached
+     */
+    private final @GTENegativeOne int[] distances;
+
+    /**
+     * The previous cell id of the path, for each reached cells
+     */
+    private final @NonNegative int[] previous;
+
+    /**
+     * The last direction used to reach the cell
+     */
+    private final @Nullable Direction[] directions;
+
+    /**
+     * Number of reached cells, including the start cell
+     */
+    private final @NonNegative int reachedCount;
+
+    /**
+     * @param decoder The decoder of the map
+     * @param map The map
+     * @param start Start cell of the move. Should be the current fighter cell.
+     * @param movementPoints Available movement points
+     * @param stopZone Cells on which the move will stop (i.e. cells adjacent to enemies), indexed by cell id. Can be null if there is no such cell.
+     */
+    @SuppressWarnings({"array.access.unsafe.high", "argument"}) // cell ids are always valid on map
+    public ReachableCells(Decoder<BattlefieldCell> decoder, BattlefieldMap map, BattlefieldCell start, int movementPoints, boolean @Nullable [] stopZone) {
+        final int size = map.size();
+
+        this.decoder = decoder;
+        this.map = map;
+        this.start = start;
+        this.movementPoints = movementPoints;
+        this.distances = new int[size];
+        this.previous = new int[size];
+        this.directions = new Direction[size];
+
+        Arrays.fill(distances, -1);
+        distances[start.id()] = 0;
+
+        final Direction[] restrictedDirections = Direction.restrictedDirections();
+        final @NonNegative int[] reached = new int[size];
+        int count = 1;
+
+        reached[0] = start.id();
+
+        // The reached array is used as BFS queue
+        for (int head = 0; head < count; ++head) {
+            final @NonNegative int cellId = reached[head];
+            final int distance = distances[cellId];
+
+            if (distance >= movementPoints || (head > 0 && stopZone != null && stopZone[cellId])) {
+                continue;
+            }
+
+            final BattlefieldCell cell = map.get(cellId);
+
+            for (Direction direction : restrictedDirections) {
+                final BattlefieldCell next = decoder.nextCellByDirection(cell, direction).orElse(null);
+
+                if (next == null || distances[next.id()] != -1 || !next.walkable()) {
+                    continue;
+                }
+
+                final int nextId = next.id();
+
+                distances[nextId] = distance + 1;
+                previous[nextId] = cellId;
+                directions[nextId] = direction;
+                reached[count++] = nextId;
+            }
+        }
+
+        this.reachedCount = count;
+    }
+
+    /**
+     * Check if the map has been computed for the given parameters, and can be reused
+     * The map instance is compared by identity, so a map computed on a proxy battlefield is never reused on another one
+     *
+     * @param map The current map
+     * @param start Start cell of the move
+     * @param movementPoints Available movement points
+     */
+    public boolean computedFor(BattlefieldMap map, BattlefieldCell start, int movementPoints) {
+        return this.map == map && this.start.id() == start.id() && this.movementPoints == movementPoints;
+    }
+
+    /**
+     * Check if the given cell can be reached
+     * The start cell is always considered as reachable
+     */
+    @SuppressWarnings("array.access.unsafe.high") // cell ids are always valid on map
+    public boolean reachable(BattlefieldCell cell) {
+        return distances[cell.id()] != -1;
+    }
+
+    /**
+     * Get the number of movement points required to reach the given cell
+     *
+     * @return The distance, or -1 if the cell cannot be reached
+     */
+    @SuppressWarnings("array.access.unsafe.high") // cell ids are always valid on map
+    public int distance(BattlefieldCell cell) {
+        return distances[cell.id()];
+    }
+
+    /**
+     * Get all reachable cells, excluding the start cell
+     * Cells are ordered by id, like the map iterator
+     */
+    @SuppressWarnings("argument") // distances has same size as map
+    public List<BattlefieldCell> cells() {
+        final List<BattlefieldCell> cells = new ArrayList<>(reachedCount - 1);
+
+        for (int cellId = 0; cellId < distances.length; ++cellId) {
+            // Start cell has a distance of 0, and unreachable cells -1
+            if (distances[cellId] > 0) {
+                cells.add(map.get(cellId));
+            }
+        }
+
+        return cells;
+    }
+
+    /**
+     * Build the path to the given cell
+     * The path contains the start cell as first step, like paths generated by the pathfinder
+     *
+     * @param target The target cell
+     *
+     * @return The path, or an empty optional if the cell cannot be reached
+     */
+    @SuppressWarnings({"array.access.unsafe.high", "argument", "assignment"}) // cell ids are always valid on map, and direction is set for all reached cells
+    public Optional<Path<BattlefieldCell>> pathTo(BattlefieldCell target) {
+        final int distance = distances[target.id()];
+
+        if (distance == -1) {
+            return Optional.empty();
+        }
+
+        final PathStep<BattlefieldCell>[] steps = new PathStep[distance + 1];
+        int cellId = target.id();
+
+        for (int i = distance; i > 0; --i) {
+            final Direction direction = directions[cellId];
+
+            steps[i] = new PathStep<>(map.get(cellId), direction);
+            cellId = previous[cellId];
+        }
+
+        steps[0] = new PathStep<>(start, Direction.EAST);
+
+        return Optional.of(new Path<>(decoder, new ArrayList<>(Arrays.asList(steps))));
+    }
+}
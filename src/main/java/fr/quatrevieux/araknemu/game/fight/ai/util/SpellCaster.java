@@ -21,13 +21,20 @@ package fr.quatrevieux.araknemu.game.fight.ai.util;
 
 import fr.quatrevieux.araknemu.game.fight.ai.AI;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.CastSimulation;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationExecutor;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.fight.castable.validator.CastConstraintValidator;
 import fr.quatrevieux.araknemu.game.fight.fighter.ActiveFighter;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
 import fr.quatrevieux.araknemu.game.fight.turn.Turn;
 import fr.quatrevieux.araknemu.game.spell.Spell;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.checker.nullness.util.NullnessUtil;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.stream.Stream;
 
 /**
@@ -75,13 +82,67 @@ public final class SpellCaster {
      * @param simulator The simulator to use
      *
      * @return Stream of performed simulations
+     *
+     * @see SpellCaster#simulate(Simulator, SimulationExecutor.Deadline) To share the deadline between multiple calls
      */
     public Stream<CastSimulation> simulate(Simulator simulator) {
+        return simulate(simulator, simulator.executor().deadline());
+    }
+
+    /**
+     * Perform simulation of all spells through all available cells of the map
+     *
+     * Casts are validated on the current thread, and then simulated using the simulator executor.
+     * So simulations may be performed in parallel, and stopped when the deadline is reached.
+     * Simulations already computed since the last change of the fight are taken from the {@link SimulationCache}.
+     *
+     * @param simulator The simulator to use
+     * @param deadline The deadline of the simulation phase
+     *
+     * @return Stream of performed simulations, ordered by spell and target cell
+     *
+     * @see SimulationExecutor#execute(int, java.util.function.IntFunction, SimulationExecutor.Deadline)
+     */
+    public Stream<CastSimulation> simulate(Simulator simulator, SimulationExecutor.Deadline deadline) {
         final ActiveFighter fighter = ai.fighter();
+        final SimulationCache cache = ai.get(SimulationCache.KEY);
+        final List<@Nullable CastSimulation> results = new ArrayList<>();
+        final List<Spell> spells = new ArrayList<>();
+        final List<BattlefieldCell> targets = new ArrayList<>();
+        final List<Integer> indexes = new ArrayList<>();
 
-        return helper.spells().available().flatMap(spell -> helper.cells().stream()
+        helper.spells().available().forEach(spell -> helper.cells().stream()
             .filter(target -> validate(spell, target)) // Validate spell (LoS, cooldown, target type...)
-            .map(target -> simulator.simulate(spell, ai, fighter, target)) // Simulate cast
+            .forEach(target -> {
+                final CastSimulation simulation = cache != null ? cache.get(simulator, spell, fighter, target) : null;
+
+                // Simulation not yet computed on the current fight state
+                if (simulation == null) {
+                    spells.add(spell);
+                    targets.add(target);
+                    indexes.add(results.size());
+                }
+
+                results.add(simulation);
+            })
         );
+
+        final @Nullable CastSimulation[] simulations = simulator.executor()
+            .executeIndexed(spells.size(), i -> simulator.simulate(spells.get(i), ai, fighter, targets.get(i)), deadline)
+        ;
+
+        for (int i = 0; i < simulations.length; ++i) {
+            final CastSimulation simulation = simulations[i];
+
+            if (simulation != null) {
+                results.set(indexes.get(i), simulation);
+
+                if (cache != null) {
+                    cache.put(simulator, simulation);
+                }
+            }
+        }
+
+        return results.stream().filter(Objects::nonNull).map(NullnessUtil::castNonNull);
     }
 }
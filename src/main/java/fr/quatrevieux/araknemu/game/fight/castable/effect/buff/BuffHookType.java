@@ -0,0 +1,126 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.castable.effect.buff;
+
+import java.lang.reflect.Method;
+
+/**
+ * Hooks dispatched by {@link BuffList} to all buffs of a fighter
+ *
+ * Each type lists the {@link BuffHook} methods which may be called when the hook is dispatched,
+ * including the ones called by the default implementation (e.g. {@link BuffHook#onDirectDamage(Buff, fr.quatrevieux.araknemu.game.fight.fighter.Fighter, fr.quatrevieux.araknemu.game.fight.castable.effect.handler.damage.Damage)}
+ * forwards to {@link BuffHook#onDamage(Buff, fr.quatrevieux.araknemu.game.fight.castable.effect.handler.damage.Damage)}).
+ *
+ * A hook implementation is interested by a type if it overrides at least one of those methods.
+ * So buffs which keep the default (empty) implementation are not called.
+ */
+enum BuffHookType {
+    START_TURN("onStartTurn"),
+    END_TURN("onEndTurn"),
+    CAST("onCast"),
+    CAST_TARGET("onCastTarget"),
+    DIRECT_DAMAGE("onDirectDamage", "onDamage"),
+    INDIRECT_DAMAGE("onIndirectDamage", "onDamage"),
+    BUFF_DAMAGE("onBuffDamage", "onIndirectDamage", "onDamage"),
+    DIRECT_DAMAGE_APPLIED("onDirectDamageApplied"),
+    HEAL_APPLIED("onHealApplied", "onLifeAltered"),
+    DAMAGE_APPLIED("onDamageApplied", "onLifeAltered"),
+    ELEMENT_DAMAGE_APPLIED("onElementDamageApplied"),
+    REFLECTED_DAMAGE("onReflectedDamage"),
+    CAST_DAMAGE("onCastDamage"),
+    EFFECT_VALUE_CAST("onEffectValueCast"),
+    EFFECT_VALUE_TARGET("onEffectValueTarget"),
+    CHARACTERISTIC_ALTERED("onCharacteristicAltered"),
+    ;
+
+    private static final BuffHookType[] VALUES = values();
+
+    /**
+     * Cache of the implemented hooks mask, by hook class
+     */
+    private static final ClassValue<Integer> MASKS = new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            int mask = 0;
+
+            for (Method method : type.getMethods()) {
+                if (method.getDeclaringClass() == BuffHook.class) {
+                    continue;
+                }
+
+                for (BuffHookType hookType : VALUES) {
+                    if (hookType.handles(method.getName())) {
+                        mask |= hookType.bit();
+                    }
+                }
+            }
+
+            return mask;
+        }
+    };
+
+    private final String[] methods;
+
+    BuffHookType(String... methods) {
+        this.methods = methods;
+    }
+
+    /**
+     * The bit of the hook type in the mask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Check if the given mask contains the current hook type
+     */
+    public boolean in(int mask) {
+        return (mask & bit()) != 0;
+    }
+
+    /**
+     * Get the mask of the hook types overridden by the hook implementation
+     *
+     * @param hook The hook to check
+     *
+     * @return Mask of types. Use {@link BuffHookType#in(int)} to check the presence of a type.
+     */
+    public static int mask(BuffHook hook) {
+        return MASKS.get(hook.getClass());
+    }
+
+    /**
+     * Get all types
+     */
+    public static BuffHookType[] all() {
+        return VALUES;
+    }
+
+    private boolean handles(String methodName) {
+        for (String method : methods) {
+            if (method.equals(methodName)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -44,8 +44,22 @@ public final class BuffList implements Iterable<Buff>, Buffs {
     private final Fighter fighter;
     private final SafeLinkedList<Buff> buffs = new SafeLinkedList<>();
 
+    /**
+     * Buffs indexed by hook type
+     * Only buffs which override the hook are stored, to avoid calling empty default implementations
+     *
+     * @see BuffHookType#mask(BuffHook)
+     */
+    private final SafeLinkedList<Buff>[] buffsByHook;
+
+    @SuppressWarnings("unchecked")
     public BuffList(Fighter fighter) {
         this.fighter = fighter;
+        this.buffsByHook = new SafeLinkedList[BuffHookType.all().length];
+
+        for (int i = 0; i < buffsByHook.length; ++i) {
+            buffsByHook[i] = new SafeLinkedList<>();
+        }
     }
 
     @Override
@@ -65,6 +79,7 @@ public final class BuffList implements Iterable<Buff>, Buffs {
         final boolean isPlayingFighter = fighter.isPlaying();
 
         buffs.add(buff);
+        index(buff);
         buff.hook().onBuffStarted(buff);
 
         if (buff.remainingTurns() == 0 && !isPlayingFighter) {
@@ -83,7 +98,7 @@ public final class BuffList implements Iterable<Buff>, Buffs {
     public boolean onStartTurn() {
         boolean result = true;
 
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.START_TURN)) {
             result &= buff.hook().onStartTurn(buff);
         }
 
@@ -92,21 +107,21 @@ public final class BuffList implements Iterable<Buff>, Buffs {
 
     @Override
     public void onEndTurn(Turn turn) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.END_TURN)) {
             buff.hook().onEndTurn(buff, turn);
         }
     }
 
     @Override
     public void onCast(FightCastScope cast) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.CAST)) {
             buff.hook().onCast(buff, cast);
         }
     }
 
     @Override
     public boolean onCastTarget(FightCastScope cast) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.CAST_TARGET)) {
             if (!buff.hook().onCastTarget(buff, cast)) {
                 return false;
             }
@@ -117,84 +132,84 @@ public final class BuffList implements Iterable<Buff>, Buffs {
 
     @Override
     public void onDirectDamage(Fighter caster, Damage value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.DIRECT_DAMAGE)) {
             buff.hook().onDirectDamage(buff, caster, value);
         }
     }
 
     @Override
     public void onIndirectDamage(Fighter caster, Damage value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.INDIRECT_DAMAGE)) {
             buff.hook().onIndirectDamage(buff, caster, value);
         }
     }
 
     @Override
     public void onBuffDamage(Buff poison, Damage value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.BUFF_DAMAGE)) {
             buff.hook().onBuffDamage(buff, poison, value);
         }
     }
 
     @Override
     public void onDirectDamageApplied(Fighter caster, @Positive int value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.DIRECT_DAMAGE_APPLIED)) {
             buff.hook().onDirectDamageApplied(buff, caster, value);
         }
     }
 
     @Override
     public void onHealApplied(@NonNegative int value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.HEAL_APPLIED)) {
             buff.hook().onHealApplied(buff, value);
         }
     }
 
     @Override
     public void onDamageApplied(@NonNegative int value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.DAMAGE_APPLIED)) {
             buff.hook().onDamageApplied(buff, value);
         }
     }
 
     @Override
     public void onElementDamageApplied(Element element, @NonNegative int actualDamage) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.ELEMENT_DAMAGE_APPLIED)) {
             buff.hook().onElementDamageApplied(buff, element, actualDamage);
         }
     }
 
     @Override
     public void onReflectedDamage(ReflectedDamage damage) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.REFLECTED_DAMAGE)) {
             buff.hook().onReflectedDamage(buff, damage);
         }
     }
 
     @Override
     public void onCastDamage(Damage damage, Fighter target) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.CAST_DAMAGE)) {
             buff.hook().onCastDamage(buff, damage, target);
         }
     }
 
     @Override
     public void onEffectValueCast(EffectValue value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.EFFECT_VALUE_CAST)) {
             buff.hook().onEffectValueCast(buff, value);
         }
     }
 
     @Override
     public void onEffectValueTarget(EffectValue value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.EFFECT_VALUE_TARGET)) {
             buff.hook().onEffectValueTarget(buff, value);
         }
     }
 
     @Override
     public void onCharacteristicAltered(Characteristic characteristic, int value) {
-        for (Buff buff : buffs) {
+        for (Buff buff : buffs(BuffHookType.CHARACTERISTIC_ALTERED)) {
             buff.hook().onCharacteristicAltered(buff, characteristic, value);
         }
     }
@@ -233,6 +248,7 @@ public final class BuffList implements Iterable<Buff>, Buffs {
 
             if (predicate.test(buff)) {
                 iterator.remove();
+                unindex(buff);
                 buff.hook().onBuffTerminated(buff);
                 hasChanged = true;
             }
@@ -240,4 +256,38 @@ public final class BuffList implements Iterable<Buff>, Buffs {
 
         return hasChanged;
     }
+
+    /**
+     * Get buffs which handle the given hook type
+     */
+    @SuppressWarnings("array.access.unsafe.high") // buffsByHook has one list per BuffHookType value
+    private SafeLinkedList<Buff> buffs(BuffHookType type) {
+        return buffsByHook[type.ordinal()];
+    }
+
+    /**
+     * Add the buff to the lists of all its handled hook types
+     */
+    private void index(Buff buff) {
+        final int mask = BuffHookType.mask(buff.hook());
+
+        for (BuffHookType type : BuffHookType.all()) {
+            if (type.in(mask)) {
+                buffs(type).add(buff);
+            }
+        }
+    }
+
+    /**
+     * Remove the buff from the lists of all its handled hook types
+     */
+    private void unindex(Buff buff) {
+        final int mask = BuffHookType.mask(buff.hook());
+
+        for (BuffHookType type : BuffHookType.all()) {
+            if (type.in(mask)) {
+                buffs(type).remove(buff);
+            }
+        }
+    }
 }
@@ -24,16 +24,27 @@ import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterCharacteristicCha
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.Characteristics;
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.DefaultCharacteristics;
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.MutableCharacteristics;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Base type for handle fighter characteristics
  * This class implements buffs boost and dispatches events
  */
 public abstract class AbstractFighterCharacteristics implements FighterCharacteristics {
+    private static final Characteristic[] CHARACTERISTICS = Characteristic.values();
+
     private final Fighter fighter;
     private final Characteristics base;
     private final MutableCharacteristics buffs = new DefaultCharacteristics();
 
+    /**
+     * Total values (base + buffs), indexed by the characteristic ordinal
+     * The cache is cleared on each buff change, and only used while the fight is active :
+     * the player base characteristics may change during placement (i.e. stuff change) without notifying the fighter,
+     * but cannot change once the fight is started
+     */
+    private int @Nullable [] totals = null;
+
     public AbstractFighterCharacteristics(Fighter fighter, Characteristics base) {
         this.fighter = fighter;
         this.base = base;
@@ -42,6 +53,7 @@ public abstract class AbstractFighterCharacteristics implements FighterCharacter
     @Override
     public final void alter(Characteristic characteristic, int value) {
         buffs.add(characteristic, value);
+        totals = null;
         fighter.dispatch(new FighterCharacteristicChanged(characteristic, value));
     }
 
@@ -51,8 +63,21 @@ public abstract class AbstractFighterCharacteristics implements FighterCharacter
     }
 
     @Override
+    @SuppressWarnings("array.access.unsafe.high") // totals has one entry per characteristic
     public final int get(Characteristic characteristic) {
-        return base.get(characteristic) + buffs.get(characteristic);
+        if (!fighter.isOnFight() || !fighter.fight().active()) {
+            totals = null;
+
+            return base.get(characteristic) + buffs.get(characteristic);
+        }
+
+        int[] totals = this.totals;
+
+        if (totals == null) {
+            this.totals = totals = computeTotals();
+        }
+
+        return totals[characteristic.ordinal()];
     }
 
     /**
@@ -61,4 +86,15 @@ public abstract class AbstractFighterCharacteristics implements FighterCharacter
     protected final Characteristics buffs() {
         return buffs;
     }
+
+    @SuppressWarnings("array.access.unsafe.high") // totals has one entry per characteristic
+    private int[] computeTotals() {
+        final int[] totals = new int[CHARACTERISTICS.length];
+
+        for (Characteristic characteristic : CHARACTERISTICS) {
+            totals[characteristic.ordinal()] = base.get(characteristic) + buffs.get(characteristic);
+        }
+
+        return totals;
+    }
 }
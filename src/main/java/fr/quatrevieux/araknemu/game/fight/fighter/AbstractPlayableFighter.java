@@ -64,4 +64,9 @@ public abstract class AbstractPlayableFighter extends AbstractFighter implements
     public boolean isPlaying() {
         return turn != null && turn.active();
     }
+
+    @Override
+    public final boolean playable() {
+        return true;
+    }
 }
@@ -98,4 +98,12 @@ public interface FighterData extends Creature<BattlefieldCell> {
      *       in this case, the fighter has not been invoked initially but has been summoned by another fighter (e.g. spiritual leash)
      */
     public boolean invoked();
+
+    /**
+     * Can the fighter play its turn ?
+     * Fighters which cannot play (e.g. static invocations) do not stop the move of enemies
+     *
+     * @see fr.quatrevieux.araknemu.game.fight.fighter.PlayableFighter
+     */
+    public boolean playable();
 }
@@ -125,6 +125,11 @@ public final class StaticInvocationFighter extends AbstractFighter {
         return true;
     }
 
+    @Override
+    public boolean playable() {
+        return false;
+    }
+
     /**
      * Get the invoked monster
      */
@@ -19,16 +19,18 @@
 
 package fr.quatrevieux.araknemu.game.fight.fighter.operation;
 
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import fr.quatrevieux.araknemu.game.fight.fighter.player.PlayerFighter;
 
 /**
  * Try to send a packet to a fighter
  */
 public final class SendPacket implements FighterOperation {
-    private final String packet;
+    private final Object packet;
 
     public SendPacket(Object packet) {
-        this.packet = packet.toString();
+        // Keep shared packets as is, for sharing the encoded form
+        this.packet = packet instanceof SharedPacket ? packet : packet.toString();
     }
 
     @Override
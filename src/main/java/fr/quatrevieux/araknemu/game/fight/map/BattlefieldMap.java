@@ -20,9 +20,32 @@
 package fr.quatrevieux.araknemu.game.fight.map;
 
 import fr.arakne.utils.maps.DofusMap;
+import fr.quatrevieux.araknemu.game.fight.map.util.LineOfSightTable;
+
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base type for dofus fight map
  */
 public interface BattlefieldMap extends DofusMap<BattlefieldCell>, Iterable<BattlefieldCell> {
+    /**
+     * Get the precomputed line of sight of the map
+     * Use {@code map.lineOfSight().isFree(source, target)} instead of {@code source.sight().isFree(target)}
+     *
+     * @see LineOfSightTable
+     */
+    public LineOfSightTable lineOfSight();
+
+    /**
+     * Get all cells which are walkable, without considering fighters
+     * Prefer this method to filtering the whole map, because an implementation can skip other cells without loading them
+     *
+     * @return Stream of cells, ordered by id
+     *
+     * @see BattlefieldCell#walkableIgnoreFighter()
+     */
+    public default Stream<BattlefieldCell> walkableIgnoreFighterCells() {
+        return StreamSupport.stream(spliterator(), false).filter(BattlefieldCell::walkableIgnoreFighter);
+    }
 }
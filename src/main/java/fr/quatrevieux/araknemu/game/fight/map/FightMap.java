@@ -21,35 +21,59 @@ package fr.quatrevieux.araknemu.game.fight.map;
 
 import fr.arakne.utils.maps.DofusMap;
 import fr.arakne.utils.maps.path.Decoder;
-import fr.arakne.utils.maps.serializer.CellData;
 import fr.arakne.utils.value.Dimensions;
 import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import fr.quatrevieux.araknemu.game.fight.map.util.LineOfSightTable;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometry;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometryCache;
 import org.checkerframework.checker.index.qual.IndexFor;
 import org.checkerframework.checker.index.qual.LengthOf;
 import org.checkerframework.checker.index.qual.NonNegative;
-import org.checkerframework.checker.index.qual.SameLen;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.dataflow.qual.Pure;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Map for the fight
+ *
+ * Static data of the map are shared between fights using {@link MapGeometry},
+ * so this class only holds the state of the current fight
+ *
+ * Cells are created on first access : a fight usually only uses a small part of the map
  */
 public final class FightMap implements BattlefieldMap {
     private final MapTemplate template;
-    private final FightCell @SameLen("this") [] cells;
-    private final Decoder<FightCell> decoder;
+    private final MapGeometry geometry;
+    private final AtomicReferenceArray<@Nullable FightCell> cells;
+    private @MonotonicNonNull Decoder<FightCell> decoder;
     private final BattlefieldObjects objects = new BattlefieldObjects();
 
-    @SuppressWarnings({"argument", "method.invocation"}) // Do not resolve SameLen from template.cells()
+    /**
+     * Create the fight map using a geometry which is not shared with other fights
+     *
+     * @param template The map template
+     *
+     * @see MapGeometryCache#get(MapTemplate) To share the geometry between fights
+     */
     public FightMap(MapTemplate template) {
-        this.template = template;
-        this.cells = makeCells(this, template.cells());
-        this.decoder = createDecoder();
+        this(new MapGeometry(template));
+    }
+
+    /**
+     * @param geometry The static data of the map
+     */
+    public FightMap(MapGeometry geometry) {
+        this.template = geometry.template();
+        this.geometry = geometry;
+        this.cells = new AtomicReferenceArray<>(template.cells().length);
     }
 
     /**
@@ -65,8 +89,24 @@ public final class FightMap implements BattlefieldMap {
      * @param cellId The cell id
      */
     @Override
+    @SuppressWarnings("return") // cell is set when CAS fails
     public FightCell get(@NonNegative @IndexFor("this") int cellId) {
-        return cells[cellId];
+        final FightCell cell = cells.get(cellId);
+
+        if (cell != null) {
+            return cell;
+        }
+
+        final FightCell newCell;
+
+        if (geometry.walkable(cellId)) {
+            newCell = new WalkableFightCell(this, cellId);
+        } else {
+            newCell = new UnwalkableFightCell(this, cellId);
+        }
+
+        // Another thread has created the cell : keep its instance, so a cell is always the same object
+        return cells.compareAndSet(cellId, null, newCell) ? newCell : cells.get(cellId);
     }
 
     /**
@@ -83,7 +123,7 @@ public final class FightMap implements BattlefieldMap {
         final List<FightCell> startCells = new ArrayList<>(places.length);
 
         for (int cellId : places[team]) {
-            startCells.add(cells[cellId]);
+            startCells.add(get(cellId));
         }
 
         return startCells;
@@ -97,28 +137,57 @@ public final class FightMap implements BattlefieldMap {
 
     @Pure
     @Override
+    @SuppressWarnings("return") // cells is created with the map size
     public @LengthOf("this") int size() {
-        return cells.length;
+        return cells.length();
     }
 
     @Override
+    @SuppressWarnings("methodref.param") // id is in range [0, size[
     public Iterator<BattlefieldCell> iterator() {
-        return Arrays.<BattlefieldCell>stream(cells).iterator();
+        return IntStream.range(0, size()).<BattlefieldCell>mapToObj(this::get).iterator();
+    }
+
+    @Override
+    @SuppressWarnings("methodref.param") // id is in range [0, size[
+    public Stream<BattlefieldCell> walkableIgnoreFighterCells() {
+        return IntStream.range(0, size()).filter(geometry::walkable).mapToObj(this::get);
+    }
+
+    @Override
+    public LineOfSightTable lineOfSight() {
+        return geometry.lineOfSight();
+    }
+
+    /**
+     * Get the static geometry of the map
+     * The returned object is shared by all fights on the same map
+     */
+    public MapGeometry geometry() {
+        return geometry;
     }
 
     /**
      * Get related cell decoder
      */
     public Decoder<FightCell> decoder() {
+        // Created on first use. Decoder has no state, so a concurrent creation is harmless
+        if (decoder == null) {
+            decoder = createDecoder();
+        }
+
         return decoder;
     }
 
     /**
      * Clear map data
+     * Only the already created cells are checked, because others cannot hold a fighter
      */
     public void destroy() {
-        for (FightCell cell : cells) {
-            if (cell.hasFighter()) {
+        for (int i = 0; i < cells.length(); ++i) {
+            final FightCell cell = cells.get(i);
+
+            if (cell != null && cell.hasFighter()) {
                 cell.removeFighter();
             }
         }
@@ -146,22 +215,6 @@ public final class FightMap implements BattlefieldMap {
         });
     }
 
-    private static FightCell @SameLen("#1") [] makeCells(FightMap map, CellData @SameLen("#1") [] template) {
-        final FightCell[] cells = new FightCell[template.length];
-
-        for (int i = 0; i < template.length; ++i) {
-            final CellData cell = template[i];
-
-            if (!cell.active() || !cell.movement().walkable()) {
-                cells[i] = new UnwalkableFightCell(map, template[i], i);
-            } else {
-                cells[i] = new WalkableFightCell(map, template[i], i);
-            }
-        }
-
-        return cells;
-    }
-
     /**
      * @return All objects on the map
      */
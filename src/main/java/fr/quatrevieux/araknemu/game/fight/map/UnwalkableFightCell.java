@@ -20,10 +20,10 @@
 package fr.quatrevieux.araknemu.game.fight.map;
 
 import fr.arakne.utils.maps.CoordinateCell;
-import fr.arakne.utils.maps.serializer.CellData;
 import fr.quatrevieux.araknemu.game.fight.exception.FightMapException;
 import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
 import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -31,16 +31,14 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  */
 public final class UnwalkableFightCell implements FightCell {
     private final FightMap map;
-    private final CellData template;
     private final @NonNegative int id;
-    private final CoordinateCell<BattlefieldCell> coordinate;
+    private final boolean obstacle;
+    private @MonotonicNonNull CoordinateCell<BattlefieldCell> coordinate;
 
-    @SuppressWarnings({"assignment", "argument"})
-    public UnwalkableFightCell(FightMap map, CellData template, @NonNegative int id) {
+    public UnwalkableFightCell(FightMap map, @NonNegative int id) {
         this.map = map;
-        this.template = template;
         this.id = id;
-        this.coordinate = new CoordinateCell<>(this);
+        this.obstacle = map.geometry().sightBlocking(id);
     }
 
     @Override
@@ -65,11 +63,16 @@ public final class UnwalkableFightCell implements FightCell {
 
     @Override
     public boolean sightBlocking() {
-        return !template.lineOfSight();
+        return obstacle;
     }
 
     @Override
     public CoordinateCell<BattlefieldCell> coordinate() {
+        // Created on first use. CoordinateCell is immutable, so a concurrent creation is harmless
+        if (coordinate == null) {
+            coordinate = new CoordinateCell<>(this);
+        }
+
         return coordinate;
     }
 
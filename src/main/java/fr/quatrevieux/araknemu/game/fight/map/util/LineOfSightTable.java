@@ -0,0 +1,196 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed line of sight of a map template
+ *
+ * The table stores, for each source cell, the targets which are blocked by an obstacle
+ * (i.e. an unwalkable cell which blocks the sight), and the walkable cells crossed by the line.
+ * Because only walkable cells can hold a fighter, checking the line of sight is reduced
+ * to check those cells on the current map, instead of recompute the line.
+ *
+ * Rows are computed on the first access of the source cell,
+ * and tables are shared between all fights of the map template using {@link MapGeometryCache}.
+ *
+ * Note: this class is thread safe
+ */
+public final class LineOfSightTable {
+    private final AtomicReferenceArray<@Nullable Row> rows;
+    private final AtomicLong memory = new AtomicLong();
+
+    /**
+     * @param template The map template
+     */
+    public LineOfSightTable(MapTemplate template) {
+        this.rows = new AtomicReferenceArray<>(template.cells().length);
+    }
+
+    /**
+     * Check if the line of sight between the two cells is free
+     * The result is same as {@code source.sight().isFree(target)}
+     *
+     * @param source The source cell. The fighters are resolved from the map of this cell
+     * @param target The target cell
+     */
+    public boolean isFree(BattlefieldCell source, BattlefieldCell target) {
+        final int targetId = target.id();
+
+        if (source.id() == targetId) {
+            return true;
+        }
+
+        return row(source).isFree(source.map(), targetId);
+    }
+
+    /**
+     * Get the estimated memory used by the computed rows, in bytes
+     */
+    public @NonNegative long memory() {
+        return Math.max(memory.get(), 0);
+    }
+
+    @SuppressWarnings("argument") // source is a cell of the table map
+    private Row row(BattlefieldCell source) {
+        final int sourceId = source.id();
+        final Row row = rows.get(sourceId);
+
+        if (row != null) {
+            return row;
+        }
+
+        // Row is immutable, so computing it twice on concurrent access is not an issue
+        final Row newRow = Row.compute(source);
+
+        if (rows.compareAndSet(sourceId, null, newRow)) {
+            memory.addAndGet(newRow.memory());
+        }
+
+        return newRow;
+    }
+
+    /**
+     * Line of sight data of a source cell
+     */
+    private static final class Row {
+        /**
+         * Targets blocked by an obstacle
+         */
+        private final BitSet blocked;
+
+        /**
+         * Walkable cells crossed by the line of the target are {@code cells[offsets[target]]} to {@code cells[offsets[target + 1]] - 1}
+         */
+        private final int[] offsets;
+        private final short[] cells;
+
+        private Row(BitSet blocked, int[] offsets, short[] cells) {
+            this.blocked = blocked;
+            this.offsets = offsets;
+            this.cells = cells;
+        }
+
+        @SuppressWarnings({"argument", "array.access.unsafe.low", "array.access.unsafe.high"}) // target and cells are valid ids of the map, and offsets are positions in cells
+        public boolean isFree(BattlefieldMap map, @NonNegative int target) {
+            if (blocked.get(target)) {
+                return false;
+            }
+
+            final int end = offsets[target + 1];
+
+            for (int i = offsets[target]; i < end; ++i) {
+                if (map.get(cells[i]).sightBlocking()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Get the estimated memory used by the row, in bytes
+         */
+        public long memory() {
+            return blocked.size() / Byte.SIZE + (long) offsets.length * Integer.BYTES + (long) cells.length * Short.BYTES;
+        }
+
+        @SuppressWarnings({"argument", "array.access.unsafe.high"}) // ids of the map are valid, and cells is grown before being full
+        public static Row compute(BattlefieldCell source) {
+            final BattlefieldMap map = source.map();
+            final int size = map.size();
+            final BitSet blocked = new BitSet(size);
+            final int[] offsets = new int[size + 1];
+            short[] cells = new short[size];
+            int length = 0;
+
+            for (int targetId = 0; targetId < size; ++targetId) {
+                offsets[targetId] = length;
+
+                if (targetId == source.id()) {
+                    continue;
+                }
+
+                final BattlefieldCell target = map.get(targetId);
+                final int start = length;
+
+                for (Iterator<BattlefieldCell> it = source.sight().to(target); it.hasNext();) {
+                    final BattlefieldCell cell = it.next();
+
+                    if (cell.id() == targetId) {
+                        continue;
+                    }
+
+                    // Only walkable cells can hold a fighter, so sight blocking of other cells never changes
+                    if (!cell.walkableIgnoreFighter()) {
+                        if (cell.sightBlocking()) {
+                            blocked.set(targetId);
+                            length = start;
+                            break;
+                        }
+
+                        continue;
+                    }
+
+                    if (length == cells.length) {
+                        cells = Arrays.copyOf(cells, cells.length * 2);
+                    }
+
+                    cells[length++] = (short) cell.id();
+                }
+            }
+
+            offsets[size] = length;
+
+            return new Row(blocked, offsets, Arrays.copyOf(cells, length));
+        }
+    }
+}
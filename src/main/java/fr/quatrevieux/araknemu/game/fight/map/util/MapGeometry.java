@@ -0,0 +1,100 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.arakne.utils.maps.serializer.CellData;
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.util.BitSet;
+
+/**
+ * Static geometry of a map template, shared between all fights of the map using {@link MapGeometryCache}
+ *
+ * Contains the data which never change during a fight, like walkable cells or obstacles,
+ * so each fight only keeps its own mutable data (i.e. fighters and objects on cells).
+ *
+ * Note: this class is immutable and thread safe
+ */
+public final class MapGeometry {
+    private final MapTemplate template;
+    private final BitSet walkable;
+    private final BitSet sightBlocking;
+    private final LineOfSightTable lineOfSight;
+
+    /**
+     * @param template The map template
+     */
+    public MapGeometry(MapTemplate template) {
+        final CellData[] cells = template.cells();
+
+        this.template = template;
+        this.walkable = new BitSet(cells.length);
+        this.sightBlocking = new BitSet(cells.length);
+        this.lineOfSight = new LineOfSightTable(template);
+
+        for (int i = 0; i < cells.length; ++i) {
+            final CellData cell = cells[i];
+
+            walkable.set(i, cell.active() && cell.movement().walkable());
+            sightBlocking.set(i, !cell.lineOfSight());
+        }
+    }
+
+    /**
+     * The map template
+     */
+    public MapTemplate template() {
+        return template;
+    }
+
+    /**
+     * Check if the cell can hold a fighter
+     *
+     * @param cellId The cell id
+     */
+    public boolean walkable(@NonNegative int cellId) {
+        return walkable.get(cellId);
+    }
+
+    /**
+     * Check if the cell is an obstacle which blocks the line of sight, ignoring fighters
+     *
+     * @param cellId The cell id
+     */
+    public boolean sightBlocking(@NonNegative int cellId) {
+        return sightBlocking.get(cellId);
+    }
+
+    /**
+     * Get the precomputed line of sight of the map
+     */
+    public LineOfSightTable lineOfSight() {
+        return lineOfSight;
+    }
+
+    /**
+     * Get the estimated memory used by the geometry, in bytes
+     * This value grows while the line of sight rows are computed
+     */
+    public @NonNegative long memory() {
+        return (walkable.size() + sightBlocking.size()) / Byte.SIZE + lineOfSight.memory();
+    }
+}
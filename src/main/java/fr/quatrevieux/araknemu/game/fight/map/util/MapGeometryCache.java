@@ -0,0 +1,114 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of map geometries, for share the static data of a map between all its fights
+ *
+ * The cache is bounded by the estimated memory of the geometries, which mainly consists of the line of sight tables.
+ * Because the line of sight rows are computed lazily, the limit is checked each time a geometry is requested,
+ * and the least recently used geometries are removed until the limit is respected.
+ * The requested geometry is never removed, even if it exceeds the limit alone.
+ *
+ * Note: this class is thread safe
+ */
+public final class MapGeometryCache {
+    private final @NonNegative long maxMemory;
+    private final Map<Integer, MapGeometry> geometries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxMemory Maximum estimated memory of the cached geometries, in bytes. Use 0 to keep only the last requested geometry.
+     */
+    public MapGeometryCache(@NonNegative long maxMemory) {
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Get the geometry of the given map
+     * The geometry is created if not already in cache, or if the cached one has been built for another template instance
+     *
+     * @param template The map template
+     */
+    public synchronized MapGeometry get(MapTemplate template) {
+        MapGeometry geometry = geometries.get(template.id());
+
+        if (geometry == null || geometry.template() != template) {
+            geometry = new MapGeometry(template);
+            geometries.put(template.id(), geometry);
+        }
+
+        evict(geometry);
+
+        return geometry;
+    }
+
+    /**
+     * Get the number of cached geometries
+     */
+    public synchronized @NonNegative int size() {
+        return geometries.size();
+    }
+
+    /**
+     * Get the estimated memory used by the cached geometries, in bytes
+     */
+    public synchronized @NonNegative long memory() {
+        long memory = 0;
+
+        for (MapGeometry geometry : geometries.values()) {
+            memory += geometry.memory();
+        }
+
+        return memory;
+    }
+
+    /**
+     * Remove all cached geometries
+     */
+    public synchronized void clear() {
+        geometries.clear();
+    }
+
+    /**
+     * Remove the least recently used geometries until the memory limit is respected
+     *
+     * @param current The requested geometry, which must be kept
+     */
+    private void evict(MapGeometry current) {
+        long memory = memory();
+        final Iterator<MapGeometry> iterator = geometries.values().iterator();
+
+        while (memory > maxMemory && iterator.hasNext()) {
+            final MapGeometry geometry = iterator.next();
+
+            if (geometry != current) {
+                memory -= geometry.memory();
+                iterator.remove();
+            }
+        }
+    }
+}
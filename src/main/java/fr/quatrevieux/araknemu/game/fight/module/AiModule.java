@@ -23,12 +23,23 @@ import fr.quatrevieux.araknemu.core.event.Listener;
 import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.ai.FighterAI;
 import fr.quatrevieux.araknemu.game.fight.ai.factory.AiFactory;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
 import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
 import fr.quatrevieux.araknemu.game.fight.fighter.PlayableFighter;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterDie;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterHidden;
 import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterInitialized;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterLifeChanged;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterMaxLifeChanged;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterMoved;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterStateChanged;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterVisible;
 import fr.quatrevieux.araknemu.game.fight.turn.FightTurn;
+import fr.quatrevieux.araknemu.game.fight.turn.action.event.FightActionTerminated;
+import fr.quatrevieux.araknemu.game.fight.turn.event.TurnListChanged;
 import fr.quatrevieux.araknemu.game.fight.turn.event.TurnStarted;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Fight module for enable AI
@@ -38,6 +49,8 @@ public final class AiModule implements FightModule {
     private final Fight fight;
     private final Logger logger;
 
+    private @Nullable FightTurn currentTurn = null;
+
     public AiModule(AiFactory<PlayableFighter> factory, Fight fight, Logger logger) {
         this.factory = factory;
         this.fight = fight;
@@ -73,6 +86,105 @@ public final class AiModule implements FightModule {
                     return TurnStarted.class;
                 }
             },
+            new Listener<FighterMoved>() {
+                @Override
+                public void on(FighterMoved event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterMoved> event() {
+                    return FighterMoved.class;
+                }
+            },
+            new Listener<FighterLifeChanged>() {
+                @Override
+                public void on(FighterLifeChanged event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterLifeChanged> event() {
+                    return FighterLifeChanged.class;
+                }
+            },
+            new Listener<FighterMaxLifeChanged>() {
+                @Override
+                public void on(FighterMaxLifeChanged event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterMaxLifeChanged> event() {
+                    return FighterMaxLifeChanged.class;
+                }
+            },
+            new Listener<FighterDie>() {
+                @Override
+                public void on(FighterDie event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterDie> event() {
+                    return FighterDie.class;
+                }
+            },
+            new Listener<FighterStateChanged>() {
+                @Override
+                public void on(FighterStateChanged event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterStateChanged> event() {
+                    return FighterStateChanged.class;
+                }
+            },
+            new Listener<FighterHidden>() {
+                @Override
+                public void on(FighterHidden event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterHidden> event() {
+                    return FighterHidden.class;
+                }
+            },
+            new Listener<FighterVisible>() {
+                @Override
+                public void on(FighterVisible event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FighterVisible> event() {
+                    return FighterVisible.class;
+                }
+            },
+            new Listener<TurnListChanged>() {
+                @Override
+                public void on(TurnListChanged event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<TurnListChanged> event() {
+                    return TurnListChanged.class;
+                }
+            },
+            new Listener<FightActionTerminated>() {
+                @Override
+                public void on(FightActionTerminated event) {
+                    invalidateSimulations();
+                }
+
+                @Override
+                public Class<FightActionTerminated> event() {
+                    return FightActionTerminated.class;
+                }
+            },
         };
     }
 
@@ -90,6 +202,8 @@ public final class AiModule implements FightModule {
      * Starts the AI on turn start
      */
     private void start(FightTurn turn) {
+        currentTurn = turn;
+
         final FighterAI ai = turn.fighter().attachment(FighterAI.class);
 
         if (ai == null) {
@@ -106,4 +220,30 @@ public final class AiModule implements FightModule {
             fight.execute(turn::stop);
         }
     }
+
+    /**
+     * Clear the simulation cache of the AI of the current turn
+     * The cache is not created if the AI has not used it yet
+     * Called when the fight state changes. Buffs are covered by the action terminated event, because they are added by actions.
+     */
+    private void invalidateSimulations() {
+        final FightTurn turn = currentTurn;
+
+        if (turn == null) {
+            return;
+        }
+
+        final FighterAI ai = turn.fighter().attachment(FighterAI.class);
+
+        // Do not use get() directly, because it creates the cache
+        if (ai == null || !ai.has(SimulationCache.KEY)) {
+            return;
+        }
+
+        final SimulationCache cache = ai.get(SimulationCache.KEY);
+
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
 }
@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.game.fight.spectator;
 import fr.quatrevieux.araknemu.core.event.Dispatcher;
 import fr.quatrevieux.araknemu.core.event.EventsSubscriber;
 import fr.quatrevieux.araknemu.core.event.Listener;
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.event.FightCancelled;
 import fr.quatrevieux.araknemu.game.fight.event.FightStopped;
@@ -56,7 +57,7 @@ public final class Spectators implements Sender, EventsSubscriber, Dispatcher {
 
     @Override
     public void send(Object packet) {
-        spectators.forEach(spectator -> spectator.send(packet));
+        SharedPacket.broadcast(packet, shared -> spectators.forEach(spectator -> spectator.send(shared)));
     }
 
     @Override
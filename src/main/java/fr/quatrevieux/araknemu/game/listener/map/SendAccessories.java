@@ -45,6 +45,7 @@ public final class SendAccessories implements Listener<EquipmentChanged> {
         final ExplorationMap map = player.map();
 
         if (map != null) {
+            map.refreshSprite(player);
             map.send(new SpriteAccessories(player.id(), player.inventory().accessories()));
         }
     }
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.listener.player.chat;
+
+import fr.quatrevieux.araknemu.core.event.Listener;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
+import fr.quatrevieux.araknemu.game.chat.ChannelType;
+import fr.quatrevieux.araknemu.game.handler.event.Disconnected;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
+
+import java.util.EnumSet;
+
+/**
+ * Remove the player from all channels subscribers on disconnection
+ */
+public final class UnregisterChannelSubscriber implements Listener<Disconnected> {
+    private final GamePlayer player;
+    private final ChannelSubscribers subscribers;
+
+    public UnregisterChannelSubscriber(GamePlayer player, ChannelSubscribers subscribers) {
+        this.player = player;
+        this.subscribers = subscribers;
+    }
+
+    @Override
+    public void on(Disconnected event) {
+        subscribers.unsubscribe(player, EnumSet.allOf(ChannelType.class));
+    }
+
+    @Override
+    public Class<Disconnected> event() {
+        return Disconnected.class;
+    }
+}
@@ -127,6 +127,7 @@ public final class MonsterGroup implements ExplorationCreature {
      */
     public void move(Path<ExplorationMapCell> path) {
         cell = path.target();
+        cell.map().updatePosition(this);
         cell.map().dispatch(new CreatureMoving(this, path));
     }
 
@@ -286,6 +286,16 @@ public final class GamePlayer implements PlayerSessionScope {
         service.save(this);
     }
 
+    /**
+     * Check if the player has been modified since the last save
+     * The current life regeneration is applied before the check, like {@link GamePlayer#save()}
+     */
+    public boolean modified() {
+        properties().life().setLifeWithCurrentRegeneration();
+
+        return entity.dirty();
+    }
+
     @Pure
     public PlayerInventory inventory() {
         return inventory;
@@ -23,6 +23,7 @@ import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
 import fr.quatrevieux.araknemu.core.event.Dispatcher;
 import fr.quatrevieux.araknemu.core.event.EventsSubscriber;
 import fr.quatrevieux.araknemu.core.event.Listener;
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
 import fr.quatrevieux.araknemu.data.living.entity.player.Player;
 import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
 import fr.quatrevieux.araknemu.game.GameConfiguration;
@@ -47,6 +48,7 @@ import fr.quatrevieux.araknemu.game.player.spell.SpellBookService;
 import fr.quatrevieux.araknemu.game.world.util.Sender;
 import fr.quatrevieux.araknemu.network.game.GameSession;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.NoSuchElementException;
 import java.util.concurrent.ConcurrentHashMap;
@@ -161,7 +163,7 @@ public final class PlayerService implements EventsSubscriber, Sender {
      */
     @Override
     public void send(Object packet) {
-        onlinePlayers.forEach((id, player) -> player.send(packet));
+        SharedPacket.broadcast(packet, shared -> onlinePlayers.forEach((id, player) -> player.send(shared)));
     }
 
     /**
@@ -197,6 +199,24 @@ public final class PlayerService implements EventsSubscriber, Sender {
         repository.save(player.entity());
     }
 
+    /**
+     * Save multiple players in a single batch
+     * Note: the life regeneration is not applied, {@link GamePlayer#modified()} should be called before
+     *
+     * @param players Players to save
+     *
+     * @return Number of saved players
+     */
+    public int saveAll(Collection<GamePlayer> players) {
+        final Collection<Player> entities = new ArrayList<>(players.size());
+
+        for (GamePlayer player : players) {
+            entities.add(player.entity());
+        }
+
+        return repository.saveAll(entities);
+    }
+
     @Override
     public Listener[] listeners() {
         return new Listener[] {
@@ -24,7 +24,9 @@ import fr.quatrevieux.araknemu.data.constant.Characteristic;
 import fr.quatrevieux.araknemu.data.living.entity.player.Player;
 import fr.quatrevieux.araknemu.game.player.characteristic.event.CharacteristicsChanged;
 import fr.quatrevieux.araknemu.game.player.race.GamePlayerRace;
+import fr.quatrevieux.araknemu.game.world.creature.characteristics.Characteristics;
 import fr.quatrevieux.araknemu.game.world.creature.characteristics.MutableCharacteristics;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Characteristics wrapper for player base stats
@@ -34,6 +36,13 @@ public final class BaseCharacteristics implements MutableCharacteristics {
     private final GamePlayerRace race;
     private final Player player;
 
+    /**
+     * Race stats of the last used level
+     * The lookup on race stats is done only when the player level changes
+     * The level and the stats are kept in a single immutable holder, so a reader cannot see the stats of another level
+     */
+    private volatile @Nullable RaceStats raceStats = null;
+
     public BaseCharacteristics(Dispatcher dispatcher, GamePlayerRace race, Player player) {
         this.dispatcher = dispatcher;
         this.race = race;
@@ -42,7 +51,7 @@ public final class BaseCharacteristics implements MutableCharacteristics {
 
     @Override
     public int get(Characteristic characteristic) {
-        return race.baseStats(player.level()).get(characteristic) + player.stats().get(characteristic);
+        return raceStats().get(characteristic) + player.stats().get(characteristic);
     }
 
     @Override
@@ -58,4 +67,32 @@ public final class BaseCharacteristics implements MutableCharacteristics {
 
         dispatcher.dispatch(new CharacteristicsChanged());
     }
+
+    private Characteristics raceStats() {
+        final RaceStats raceStats = this.raceStats;
+        final int level = player.level();
+
+        if (raceStats != null && raceStats.level == level) {
+            return raceStats.stats;
+        }
+
+        final RaceStats newRaceStats = new RaceStats(level, race.baseStats(level));
+
+        this.raceStats = newRaceStats;
+
+        return newRaceStats.stats;
+    }
+
+    /**
+     * Race stats associated with the level they were computed for
+     */
+    private static final class RaceStats {
+        private final int level;
+        private final Characteristics stats;
+
+        public RaceStats(int level, Characteristics stats) {
+            this.level = level;
+            this.stats = stats;
+        }
+    }
 }
@@ -22,28 +22,31 @@ package fr.quatrevieux.araknemu.game.world.creature.characteristics;
 import fr.quatrevieux.araknemu.data.constant.Characteristic;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.util.EnumMap;
-import java.util.Map;
-
 /**
  * Simple implementation for characteristics map
+ * Values are stored into an int array indexed by the characteristic ordinal
  */
 public final class DefaultCharacteristics implements MutableCharacteristics {
-    private final Map<Characteristic, Integer> map = new EnumMap<>(Characteristic.class);
+    private static final Characteristic[] CHARACTERISTICS = Characteristic.values();
+
+    private final int[] values = new int[CHARACTERISTICS.length];
 
     @Override
+    @SuppressWarnings("array.access.unsafe.high") // values has one entry per characteristic
     public int get(Characteristic characteristic) {
-        return map.getOrDefault(characteristic, 0);
+        return values[characteristic.ordinal()];
     }
 
     @Override
+    @SuppressWarnings("array.access.unsafe.high") // values has one entry per characteristic
     public void set(Characteristic characteristic, int value) {
-        map.put(characteristic, value);
+        values[characteristic.ordinal()] = value;
     }
 
     @Override
+    @SuppressWarnings("array.access.unsafe.high") // values has one entry per characteristic
     public void add(Characteristic characteristic, int value) {
-        map.put(characteristic, map.getOrDefault(characteristic, 0) + value);
+        values[characteristic.ordinal()] += value;
     }
 
     @Override
@@ -65,7 +68,7 @@ public final class DefaultCharacteristics implements MutableCharacteristics {
      * Two characteristics map are equals if and only if all characteristic values are equals
      */
     public boolean equals(Characteristics other) {
-        for (Characteristic characteristic : Characteristic.values()) {
+        for (Characteristic characteristic : CHARACTERISTICS) {
             if (get(characteristic) != other.get(characteristic)) {
                 return false;
             }
@@ -78,7 +81,7 @@ public final class DefaultCharacteristics implements MutableCharacteristics {
     public int hashCode() {
         int h = 0;
 
-        for (Characteristic characteristic : Characteristic.values()) {
+        for (Characteristic characteristic : CHARACTERISTICS) {
             final int value = get(characteristic);
 
             if (value != 0) {
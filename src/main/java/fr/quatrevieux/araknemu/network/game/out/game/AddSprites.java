@@ -22,6 +22,7 @@ package fr.quatrevieux.araknemu.network.game.out.game;
 import fr.quatrevieux.araknemu.game.world.creature.Sprite;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Add sprites to the current map
@@ -29,22 +30,35 @@ import java.util.Collection;
  * https://github.com/Emudofus/Dofus/blob/1.29/dofus/aks/Game.as#L434
  */
 public final class AddSprites {
-    private Collection<? extends Sprite> sprites;
+    private final Collection<?> sprites;
 
     public AddSprites(Collection<? extends Sprite> sprites) {
         this.sprites = sprites;
     }
 
+    private AddSprites(List<String> sprites) {
+        this.sprites = sprites;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder(64 * sprites.size());
 
         sb.append("GM");
 
-        for (Sprite sprite : sprites) {
+        for (Object sprite : sprites) {
             sb.append("|+").append(sprite);
         }
 
         return sb.toString();
     }
+
+    /**
+     * Create the packet from already rendered sprites
+     *
+     * @param sprites The sprites, rendered using {@link Sprite#toString()}
+     */
+    public static AddSprites rendered(List<String> sprites) {
+        return new AddSprites(sprites);
+    }
 }
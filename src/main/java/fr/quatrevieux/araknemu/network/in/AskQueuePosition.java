@@ -26,8 +26,6 @@ import org.checkerframework.common.value.qual.MinLen;
 
 /**
  * Ask the position on the login queue
- *
- * @todo Implements queue position
  */
 public final class AskQueuePosition implements Packet {
     public static final class Parser implements SinglePacketParser<AskQueuePosition> {
@@ -24,6 +24,7 @@ import fr.quatrevieux.araknemu.core.network.session.Session;
 import fr.quatrevieux.araknemu.network.AccountSession;
 import fr.quatrevieux.araknemu.realm.ConnectionKey;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationAccount;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNull;
 import org.checkerframework.checker.nullness.qual.EnsuresNonNullIf;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -36,6 +37,7 @@ public final class RealmSession extends AbstractDelegatedSession implements Acco
     private final ConnectionKey key;
 
     private @Nullable AuthenticationAccount account;
+    private volatile AuthenticationQueue.@Nullable Ticket queueTicket;
 
     public RealmSession(Session session) {
         super(session);
@@ -50,6 +52,21 @@ public final class RealmSession extends AbstractDelegatedSession implements Acco
         return key;
     }
 
+    /**
+     * Get the authentication queue ticket
+     * This value is null if the authentication is not yet requested
+     */
+    public AuthenticationQueue.@Nullable Ticket queueTicket() {
+        return queueTicket;
+    }
+
+    /**
+     * Define the authentication queue ticket
+     */
+    public void setQueueTicket(AuthenticationQueue.Ticket queueTicket) {
+        this.queueTicket = queueTicket;
+    }
+
     @Override
     @EnsuresNonNull({"account()", "this.account"})
     @SuppressWarnings("contracts.postcondition")
@@ -23,8 +23,10 @@ import de.mkammerer.argon2.Argon2Factory;
 import fr.quatrevieux.araknemu.core.config.ConfigurationModule;
 import fr.quatrevieux.araknemu.core.config.Pool;
 import fr.quatrevieux.araknemu.core.config.PoolUtils;
+import fr.quatrevieux.araknemu.core.network.netty.NetworkConfiguration;
 import fr.quatrevieux.araknemu.realm.authentication.password.Argon2Hash;
 import org.apache.commons.lang3.StringUtils;
+import org.checkerframework.checker.index.qual.Positive;
 
 import java.time.Duration;
 
@@ -74,10 +76,13 @@ public final class RealmConfiguration {
 
     /**
      * Maximum number of received packets per seconds per clients
+     * Tokens are continuously refilled, so a client can send at most this number of packets in a burst
      * When the limit is reached, the client session is closed
+     *
+     * @see fr.quatrevieux.araknemu.core.network.session.extension.RateLimiter
      */
-    public int packetRateLimit() {
-        return pool.integer("packetRateLimit", 100);
+    public @Positive int packetRateLimit() {
+        return pool.positiveInteger("packetRateLimit", 100);
     }
 
     /**
@@ -104,6 +109,30 @@ public final class RealmConfiguration {
         return algorithms;
     }
 
+    /**
+     * Number of worker threads used for check the account credentials
+     * Default: number of available processors
+     */
+    public int authenticationThreads() {
+        return pool.integer("authentication.threads", Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Maximum number of pending authentication requests
+     * When the limit is reached, new requests are rejected with a "server full" error
+     * Default: 5000
+     */
+    public int authenticationQueueSize() {
+        return pool.integer("authentication.queueSize", 5000);
+    }
+
+    /**
+     * Get the network configuration
+     */
+    public NetworkConfiguration network() {
+        return new NetworkConfiguration(pool);
+    }
+
     /**
      * The the argon2 configuration
      */
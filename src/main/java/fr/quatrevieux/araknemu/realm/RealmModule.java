@@ -52,6 +52,7 @@ import fr.quatrevieux.araknemu.network.realm.RealmSessionConfigurator;
 import fr.quatrevieux.araknemu.network.realm.in.Credentials;
 import fr.quatrevieux.araknemu.network.realm.in.DofusVersion;
 import fr.quatrevieux.araknemu.network.realm.in.RealmParserLoader;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationService;
 import fr.quatrevieux.araknemu.realm.authentication.password.Argon2Hash;
 import fr.quatrevieux.araknemu.realm.authentication.password.PasswordManager;
@@ -67,9 +68,12 @@ import fr.quatrevieux.araknemu.realm.handler.account.ConnectGame;
 import fr.quatrevieux.araknemu.realm.handler.account.ListServers;
 import fr.quatrevieux.araknemu.realm.handler.account.SearchFriend;
 import fr.quatrevieux.araknemu.realm.host.HostService;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 /**
@@ -119,15 +123,25 @@ public final class RealmModule implements ContainerModule {
             container -> new NettyServer(
                 container.get(SessionFactory.class),
                 container.get(RealmConfiguration.class).port(),
-                container.get(RealmConfiguration.class).inactivityTime()
+                container.get(RealmConfiguration.class).inactivityTime(),
+                container.get(RealmConfiguration.class).network().flushPolicy(),
+                container.get(RealmConfiguration.class).network()
             )
         );
 
+        configurator.persist(
+            TokenBucket.class,
+            container -> new TokenBucket(container.get(RealmConfiguration.class).packetRateLimit(), Duration.ofSeconds(1))
+        );
+
         configurator.factory(
             SessionFactory.class,
             container -> new SessionConfigurator<>(RealmSession::new)
                 .add(new BanIpCheck<>(container.get(BanIpService.class)))
-                .add(new RateLimiter.Configurator<>(container.get(RealmConfiguration.class).packetRateLimit()))
+                .add(new RateLimiter.Configurator<>(
+                    container.get(TokenBucket.class),
+                    container.get(RealmConfiguration.class).network().packetCosts()
+                ))
                 .add(new SessionLogger.Configurator<>(container.get(Logger.class)))
                 .add(new RealmSessionConfigurator(
                     container.get(Dispatcher.class),
@@ -181,7 +195,16 @@ public final class RealmModule implements ContainerModule {
                 container.get(AccountRepository.class),
                 container.get(HostService.class),
                 container.get(PasswordManager.class),
-                container.get(BanishmentService.class)
+                container.get(BanishmentService.class),
+                container.get(AuthenticationQueue.class)
+            )
+        );
+
+        configurator.persist(
+            AuthenticationQueue.class,
+            container -> new AuthenticationQueue(
+                ExecutorFactory.create(container.get(RealmConfiguration.class).authenticationThreads()),
+                container.get(RealmConfiguration.class).authenticationQueueSize()
             )
         );
 
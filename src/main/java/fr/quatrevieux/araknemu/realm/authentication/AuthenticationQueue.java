@@ -0,0 +1,246 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.realm.authentication;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded queue for authentication requests
+ *
+ * Tasks are executed by a dedicated worker pool, so the password hash check is never performed
+ * on network threads, and concurrent logins are not serialized behind a single lock.
+ *
+ * Two lanes are available: the priority lane, which is always processed first, and the normal lane.
+ * A position is given to each queued task, which can be sent to the client.
+ */
+public final class AuthenticationQueue {
+    private final ExecutorService executor;
+    private final int capacity;
+
+    // All following fields are guarded by "this"
+    private final Deque<Ticket> priorityLane = new ArrayDeque<>();
+    private final Deque<Ticket> normalLane = new ArrayDeque<>();
+    private long priorityTickets = 0;
+    private long priorityServed = 0;
+    private long normalTickets = 0;
+    private long normalServed = 0;
+
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    /**
+     * @param executor The worker pool. Its size should match the number of available cores.
+     * @param capacity The maximum number of pending tasks
+     */
+    public AuthenticationQueue(ExecutorService executor, int capacity) {
+        this.executor = executor;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Push a new task to the queue
+     *
+     * @param task The task to execute
+     * @param priority true to use the priority lane
+     *
+     * @return The queue ticket, or null if the queue is full or stopped
+     */
+    public @Nullable Ticket push(Runnable task, boolean priority) {
+        final Ticket ticket;
+
+        synchronized (this) {
+            if (executor.isShutdown() || priorityLane.size() + normalLane.size() >= capacity) {
+                rejected.incrementAndGet();
+                return null;
+            }
+
+            if (priority) {
+                ticket = new Ticket(task, true, ++priorityTickets);
+                priorityLane.add(ticket);
+            } else {
+                ticket = new Ticket(task, false, ++normalTickets);
+                normalLane.add(ticket);
+            }
+        }
+
+        try {
+            executor.execute(this::processNext);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                (priority ? priorityLane : normalLane).remove(ticket);
+            }
+
+            rejected.incrementAndGet();
+            return null;
+        }
+
+        return ticket;
+    }
+
+    /**
+     * Get the number of pending tasks
+     */
+    public synchronized int size() {
+        return priorityLane.size() + normalLane.size();
+    }
+
+    /**
+     * Get the maximum number of pending tasks
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the total number of processed tasks
+     */
+    public long processed() {
+        return processed.get();
+    }
+
+    /**
+     * Get the total number of rejected tasks, because the queue was full
+     */
+    public long rejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Get the average time spent by a task in the queue, before its execution
+     */
+    public Duration averageWaitTime() {
+        final long count = processed.get();
+
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+
+        return Duration.ofNanos(totalWaitTime.get() / count);
+    }
+
+    /**
+     * Get the maximum time spent by a task in the queue, before its execution
+     */
+    public Duration maxWaitTime() {
+        return Duration.ofNanos(maxWaitTime.get());
+    }
+
+    /**
+     * Stop the worker pool
+     * Pending tasks are discarded
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+
+        synchronized (this) {
+            priorityLane.clear();
+            normalLane.clear();
+        }
+    }
+
+    /**
+     * Execute the next task, following lanes priority
+     * This method is called by workers, once per pushed task
+     */
+    private void processNext() {
+        final Ticket ticket;
+
+        synchronized (this) {
+            final Ticket priorityTicket = priorityLane.poll();
+
+            if (priorityTicket != null) {
+                ticket = priorityTicket;
+                ++priorityServed;
+            } else {
+                final Ticket normalTicket = normalLane.poll();
+
+                if (normalTicket == null) {
+                    return;
+                }
+
+                ticket = normalTicket;
+                ++normalServed;
+            }
+
+            ticket.done = true;
+        }
+
+        final long waitTime = System.nanoTime() - ticket.createdAt;
+
+        totalWaitTime.addAndGet(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+        processed.incrementAndGet();
+
+        ticket.task.run();
+    }
+
+    /**
+     * Handle a queued task
+     */
+    public final class Ticket {
+        private final Runnable task;
+        private final boolean priority;
+        private final long number;
+        private final long createdAt = System.nanoTime();
+        private boolean done = false;
+
+        private Ticket(Runnable task, boolean priority, long number) {
+            this.task = task;
+            this.priority = priority;
+            this.number = number;
+        }
+
+        /**
+         * Get the current position of the task on the queue, starting at 1
+         * Tasks of the priority lane are always placed before the normal lane ones
+         *
+         * @return The position, or 0 if the task is already processed
+         */
+        public int position() {
+            synchronized (AuthenticationQueue.this) {
+                if (done) {
+                    return 0;
+                }
+
+                if (priority) {
+                    return (int) (number - priorityServed);
+                }
+
+                return priorityLane.size() + (int) (number - normalServed);
+            }
+        }
+
+        /**
+         * Does the task is in the priority lane ?
+         */
+        public boolean priority() {
+            return priority;
+        }
+    }
+}
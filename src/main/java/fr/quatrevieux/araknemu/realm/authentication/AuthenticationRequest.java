@@ -33,6 +33,19 @@ public interface AuthenticationRequest {
      */
     public String password();
 
+    /**
+     * Called when the request is pushed to the authentication queue
+     * Note: this method may be called after the request is processed
+     *
+     * @param ticket The queue ticket, used for get the current position on the queue
+     */
+    public void queued(AuthenticationQueue.Ticket ticket);
+
+    /**
+     * Called when the authentication queue is full
+     */
+    public void queueFull();
+
     /**
      * Called on authenticate success
      */
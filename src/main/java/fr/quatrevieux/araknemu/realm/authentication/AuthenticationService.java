@@ -26,6 +26,7 @@ import fr.quatrevieux.araknemu.core.event.Listener;
 import fr.quatrevieux.araknemu.data.living.entity.account.Account;
 import fr.quatrevieux.araknemu.data.living.repository.account.AccountRepository;
 import fr.quatrevieux.araknemu.realm.authentication.password.PasswordManager;
+import fr.quatrevieux.araknemu.realm.event.AuthStopped;
 import fr.quatrevieux.araknemu.realm.host.HostService;
 import fr.quatrevieux.araknemu.realm.listener.SendUpdatedHostList;
 
@@ -44,6 +45,7 @@ public final class AuthenticationService implements EventsSubscriber {
     private final HostService hosts;
     private final PasswordManager passwordManager;
     private final BanishmentService<AuthenticationAccount> banishmentService;
+    private final AuthenticationQueue queue;
 
     /**
      * Set of accounts which wait for authentication process
@@ -57,20 +59,23 @@ public final class AuthenticationService implements EventsSubscriber {
      */
     private final ConcurrentMap<Integer, AuthenticationAccount> authenticated = new ConcurrentHashMap<>();
 
-    public AuthenticationService(AccountRepository repository, HostService hosts, PasswordManager passwordManager, BanishmentService<AuthenticationAccount> banishmentService) {
+    public AuthenticationService(AccountRepository repository, HostService hosts, PasswordManager passwordManager, BanishmentService<AuthenticationAccount> banishmentService, AuthenticationQueue queue) {
         this.repository = repository;
         this.hosts = hosts;
         this.passwordManager = passwordManager;
         this.banishmentService = banishmentService;
+        this.queue = queue;
     }
 
     /**
      * Perform authenticate request
      *
-     * This method is synchronized to ensure that two account are not requested login
-     * in the same time
+     * The account is loaded on the current thread, and the password check is pushed to the authentication queue.
+     * Accounts with admin access use the priority lane.
+     *
+     * @see AuthenticationQueue
      */
-    public synchronized void authenticate(AuthenticationRequest request) {
+    public void authenticate(AuthenticationRequest request) {
         final AuthenticationAccount account;
 
         try {
@@ -85,32 +90,21 @@ public final class AuthenticationService implements EventsSubscriber {
             return;
         }
 
-        if (!account.password().check(request.password())) {
-            request.invalidCredentials();
-            return;
-        }
+        final AuthenticationQueue.Ticket ticket = queue.push(() -> checkCredentials(request, account), account.isMaster());
 
-        passwordManager.rehash(account.password(), request.password(), account::updatePassword);
-
-        if (
-            isAuthenticated(account)
-            || pending.contains(account)
-        ) {
-            request.alreadyConnected();
+        if (ticket == null) {
+            request.queueFull();
             return;
         }
 
-        pending.add(account);
-
-        hosts.checkLogin(account, response -> {
-            if (response) {
-                request.isPlaying();
-            } else {
-                request.success(account);
-            }
+        request.queued(ticket);
+    }
 
-            pending.remove(account);
-        });
+    /**
+     * Get the authentication queue
+     */
+    public AuthenticationQueue queue() {
+        return queue;
     }
 
     /**
@@ -133,6 +127,17 @@ public final class AuthenticationService implements EventsSubscriber {
     public Listener[] listeners() {
         return new Listener[] {
             new SendUpdatedHostList(this),
+            new Listener<AuthStopped>() {
+                @Override
+                public void on(AuthStopped event) {
+                    queue.shutdown();
+                }
+
+                @Override
+                public Class<AuthStopped> event() {
+                    return AuthStopped.class;
+                }
+            },
         };
     }
 
@@ -154,6 +159,44 @@ public final class AuthenticationService implements EventsSubscriber {
         repository.savePassword(account);
     }
 
+    /**
+     * Check the password and perform login on the game server
+     * This method is executed by the authentication queue workers
+     *
+     * The check of already connected account is synchronized to ensure that two account
+     * are not requested login in the same time
+     */
+    private void checkCredentials(AuthenticationRequest request, AuthenticationAccount account) {
+        if (!account.password().check(request.password())) {
+            request.invalidCredentials();
+            return;
+        }
+
+        passwordManager.rehash(account.password(), request.password(), account::updatePassword);
+
+        synchronized (pending) {
+            if (
+                isAuthenticated(account)
+                || pending.contains(account)
+            ) {
+                request.alreadyConnected();
+                return;
+            }
+
+            pending.add(account);
+        }
+
+        hosts.checkLogin(account, response -> {
+            if (response) {
+                request.isPlaying();
+            } else {
+                request.success(account);
+            }
+
+            pending.remove(account);
+        });
+    }
+
     private AuthenticationAccount getAccount(String username) {
         final Account account = repository.findByUsername(username);
 
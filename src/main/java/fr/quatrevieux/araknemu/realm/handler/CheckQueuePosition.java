@@ -23,17 +23,20 @@ import fr.quatrevieux.araknemu.core.network.parser.PacketHandler;
 import fr.quatrevieux.araknemu.network.in.AskQueuePosition;
 import fr.quatrevieux.araknemu.network.out.QueuePosition;
 import fr.quatrevieux.araknemu.network.realm.RealmSession;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
 
 /**
  * Check the queue position (Af packet)
- * @todo to implements
  *
- * Empty class to not fail for not found handler
+ * The position is given by the authentication queue ticket of the session.
+ * If the authentication is not yet requested, or already processed, the position 1 is sent.
  */
 public final class CheckQueuePosition implements PacketHandler<RealmSession, AskQueuePosition> {
     @Override
     public void handle(RealmSession session, AskQueuePosition packet) {
-        session.send(new QueuePosition(1));
+        final AuthenticationQueue.Ticket ticket = session.queueTicket();
+
+        session.send(new QueuePosition(ticket == null ? 1 : Math.max(ticket.position(), 1)));
     }
 
     @Override
@@ -30,6 +30,7 @@ import fr.quatrevieux.araknemu.network.realm.out.LoginError;
 import fr.quatrevieux.araknemu.network.realm.out.Pseudo;
 import fr.quatrevieux.araknemu.network.realm.out.Question;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationAccount;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationRequest;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationService;
 import fr.quatrevieux.araknemu.realm.host.HostService;
@@ -77,6 +78,17 @@ public final class Authenticate implements PacketHandler<RealmSession, Credentia
             return session.key().decode(credentials.password());
         }
 
+        @Override
+        public void queued(AuthenticationQueue.Ticket ticket) {
+            session.setQueueTicket(ticket);
+        }
+
+        @Override
+        public void queueFull() {
+            session.send(new LoginError(LoginError.SERVER_FULL));
+            session.close();
+        }
+
         @Override
         @SuppressWarnings("contracts.precondition") // checker cannot infer non null from generics...
         public void success(AuthenticationAccount account) {
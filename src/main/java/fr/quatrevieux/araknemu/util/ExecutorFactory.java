@@ -19,8 +19,12 @@
 
 package fr.quatrevieux.araknemu.util;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.checkerframework.checker.index.qual.Positive;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.AbstractExecutorService;
@@ -75,6 +79,28 @@ public final class ExecutorFactory {
         return Executors.newScheduledThreadPool(corePoolSize);
     }
 
+    /**
+     * Create an executor service with the requested amount of threads in the pool,
+     * and which use a hashed wheel timer for delayed tasks
+     * This executor should be used when a lot of short delayed tasks are scheduled and cancelled
+     * If testing mode is enabled, a TestingExecutor is returned
+     *
+     * @param poolSize Number of worker threads
+     * @param tick Duration of a timer tick. This is the precision of the delayed tasks.
+     *
+     * @see HashedWheelTimer
+     */
+    public static ScheduledExecutorService createWithWheelTimer(@Positive int poolSize, Duration tick) {
+        if (testing) {
+            return createTestingExecutor();
+        }
+
+        return new WheelTimerExecutorService(
+            Executors.newFixedThreadPool(poolSize),
+            new HashedWheelTimer(new DefaultThreadFactory("timer", true), Math.max(tick.toMillis(), 1), TimeUnit.MILLISECONDS)
+        );
+    }
+
     /**
      * Enable testing mode
      *
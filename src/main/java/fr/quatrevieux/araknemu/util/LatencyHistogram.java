@@ -0,0 +1,163 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations, with fixed buckets
+ * The recording is lock-free, so it can be used on hot paths
+ *
+ * Percentiles are approximated to the upper bound of the matching bucket
+ */
+public final class LatencyHistogram {
+    /**
+     * Upper bounds of buckets, in nanoseconds
+     * A last bucket is used for values greater than the last bound
+     */
+    private static final long[] BOUNDS = new long[] {
+        10_000L,            // 10µs
+        100_000L,           // 100µs
+        500_000L,           // 500µs
+        1_000_000L,         // 1ms
+        5_000_000L,         // 5ms
+        10_000_000L,        // 10ms
+        50_000_000L,        // 50ms
+        100_000_000L,       // 100ms
+        500_000_000L,       // 500ms
+        1_000_000_000L,     // 1s
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; ++i) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a new value
+     *
+     * @param nanos The duration in nanoseconds. Negative values are considered as 0.
+     */
+    @SuppressWarnings({"array.access.unsafe.low", "array.access.unsafe.high"}) // buckets has one more element than BOUNDS, so bucket() is always a valid index
+    public void record(long nanos) {
+        final long value = Math.max(nanos, 0);
+
+        buckets[bucket(value)].increment();
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Get the number of recorded values
+     */
+    public @NonNegative long count() {
+        return Math.max(count.sum(), 0);
+    }
+
+    /**
+     * Get the average recorded duration
+     */
+    public Duration average() {
+        final long count = count();
+
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(total.sum() / count);
+    }
+
+    /**
+     * Get the maximum recorded duration
+     */
+    public Duration max() {
+        return Duration.ofNanos(max.get());
+    }
+
+    /**
+     * Get the approximated duration of the given percentile
+     * The returned value is the upper bound of the bucket containing the percentile, bounded by the max value
+     *
+     * @param percentile The percentile, between 0 and 100
+     */
+    @SuppressWarnings("array.access.unsafe.high") // buckets and BOUNDS size are checked
+    public Duration percentile(double percentile) {
+        final long count = count();
+
+        if (count == 0) {
+            return Duration.ZERO;
+        }
+
+        final long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100);
+        final long max = this.max.get();
+        long seen = 0;
+
+        for (int i = 0; i < BOUNDS.length; ++i) {
+            seen += buckets[i].sum();
+
+            if (seen >= rank) {
+                return Duration.ofNanos(Math.min(BOUNDS[i], max));
+            }
+        }
+
+        return Duration.ofNanos(max);
+    }
+
+    /**
+     * Clear all recorded values
+     * Note: this method is not atomic, values recorded during the reset may be partially lost
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+
+        count.reset();
+        total.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + format(percentile(50)) + ", p99=" + format(percentile(99)) + ", max=" + format(max());
+    }
+
+    private static String format(Duration duration) {
+        return String.format(Locale.ROOT, "%.2fms", duration.toNanos() / 1_000_000.0);
+    }
+
+    private static int bucket(long value) {
+        for (int i = 0; i < BOUNDS.length; ++i) {
+            if (value <= BOUNDS[i]) {
+                return i;
+            }
+        }
+
+        return BOUNDS.length;
+    }
+}
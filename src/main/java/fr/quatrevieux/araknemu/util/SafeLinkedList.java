@@ -23,12 +23,13 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
  * Simple implementation of linked list with safe add and remove operations
  *
  * - Adding an element while iterating will be added to the end, and taken in account by the iterator (i.e. will iterator on it)
- * - Removing an element can only be performed during iteration, and will not break other iterators
+ * - Removing an element can be performed during iteration, or using {@link SafeLinkedList#remove(Object)}, and will not break other iterators
  *
  * This code is allowed :
  * <pre>{@code
@@ -76,6 +77,27 @@ public final class SafeLinkedList<E> implements Iterable<E> {
         first = last = newNode;
     }
 
+    /**
+     * Remove the first occurrence of the element
+     * Like {@link Iterator#remove()}, this method can be called during iteration
+     *
+     * @param element Element to remove
+     *
+     * @return true if the element has been found and removed
+     */
+    public boolean remove(E element) {
+        final Iterator<E> iterator = iterator();
+
+        while (iterator.hasNext()) {
+            if (Objects.equals(iterator.next(), element)) {
+                iterator.remove();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     public Iterator<E> iterator() {
         return new ListIter();
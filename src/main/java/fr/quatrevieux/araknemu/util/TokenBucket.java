@@ -0,0 +1,166 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.index.qual.Positive;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter
+ *
+ * This object only holds the limiter parameters and the counters, and can be shared between many clients.
+ * The state of each client is stored into a {@link Bucket}, created using {@link TokenBucket#bucket()}.
+ *
+ * The bucket state is a single timestamp (the time when the bucket will be full again),
+ * updated using a CAS, so acquiring tokens is lock-free and do not need any cleanup.
+ * Time is measured using a monotonic clock (i.e. {@link System#nanoTime()}), so it's not affected by system clock changes.
+ */
+public final class TokenBucket {
+    private final @Positive int capacity;
+    private final long interval;
+    private final LongSupplier clock;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param capacity The maximum number of tokens of a bucket. This is the maximum burst size.
+     * @param period The time required to refill all the tokens of an empty bucket
+     * @param clock The monotonic clock, in nanoseconds
+     */
+    public TokenBucket(@Positive int capacity, Duration period, LongSupplier clock) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+
+        this.capacity = capacity;
+        this.interval = Math.max(period.toNanos() / capacity, 1);
+        this.clock = clock;
+    }
+
+    /**
+     * Create the token bucket using {@link System#nanoTime()} as clock
+     *
+     * @param capacity The maximum number of tokens of a bucket. This is the maximum burst size.
+     * @param period The time required to refill all the tokens of an empty bucket
+     */
+    public TokenBucket(@Positive int capacity, Duration period) {
+        this(capacity, period, System::nanoTime);
+    }
+
+    /**
+     * Create a new bucket, initially full
+     */
+    public Bucket bucket() {
+        return new Bucket(clock.getAsLong());
+    }
+
+    /**
+     * Get the maximum number of tokens of a bucket
+     */
+    public @Positive int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of successful acquisitions on all buckets
+     */
+    public @NonNegative long accepted() {
+        return Math.max(accepted.sum(), 0);
+    }
+
+    /**
+     * Get the number of rejected acquisitions on all buckets
+     */
+    public @NonNegative long dropped() {
+        return Math.max(dropped.sum(), 0);
+    }
+
+    /**
+     * Tokens state of a single client
+     */
+    public final class Bucket {
+        /**
+         * The time, in nanoseconds, when the bucket will be full
+         * If this value is in the past, the bucket is full
+         */
+        private final AtomicLong fullTime;
+
+        private Bucket(long now) {
+            this.fullTime = new AtomicLong(now);
+        }
+
+        /**
+         * Try to consume tokens from the bucket
+         * If there is not enough tokens, nothing is consumed
+         *
+         * @param cost Number of tokens to consume. If greater than the capacity, the acquisition will always fail.
+         *
+         * @return true if the tokens are consumed, or false if the rate limit is reached
+         */
+        public boolean tryAcquire(@NonNegative int cost) {
+            final long required = nanos(cost);
+
+            for (;;) {
+                final long now = clock.getAsLong();
+                final long current = fullTime.get();
+                final long next = (current - now < 0 ? now : current) + required;
+
+                if (next - now > capacity * interval) {
+                    dropped.increment();
+                    return false;
+                }
+
+                if (fullTime.compareAndSet(current, next)) {
+                    accepted.increment();
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Get the time to wait before the given number of tokens are available
+         *
+         * @param cost Number of tokens to consume
+         *
+         * @return The wait time, or {@link Duration#ZERO} if the tokens can be acquired now
+         */
+        public Duration delay(@NonNegative int cost) {
+            final long now = clock.getAsLong();
+            final long current = fullTime.get();
+            final long next = (current - now < 0 ? now : current) + nanos(cost);
+
+            return Duration.ofNanos(Math.max(next - now - capacity * interval, 0));
+        }
+
+        /**
+         * Convert a number of tokens to refill time
+         * The number is bounded to avoid overflow
+         */
+        private long nanos(int tokens) {
+            return Math.min(tokens, capacity + 1) * interval;
+        }
+    }
+}
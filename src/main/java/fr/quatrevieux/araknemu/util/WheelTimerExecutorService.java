@@ -0,0 +1,227 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduled executor which use a hashed wheel timer for delayed tasks
+ *
+ * Unlike {@link java.util.concurrent.ScheduledThreadPoolExecutor}, the delayed tasks are stored into a wheel of buckets
+ * instead of a priority queue, so scheduling and cancelling a task is done in constant time.
+ * This is useful for a lot of short timers which are often cancelled (e.g. fight turn timeout).
+ * The counterpart is a lower precision : the tasks are executed at the next tick of the timer after the delay.
+ *
+ * The timer thread only submits the expired tasks to the worker executor, so a slow task will not delay other timers.
+ *
+ * Periodic tasks are re-armed on the timer after each successful execution.
+ */
+final class WheelTimerExecutorService extends AbstractExecutorService implements ScheduledExecutorService {
+    private final ExecutorService executor;
+    private final HashedWheelTimer timer;
+
+    /**
+     * @param executor The worker executor
+     * @param timer The timer used to trigger delayed tasks
+     */
+    WheelTimerExecutorService(ExecutorService executor, HashedWheelTimer timer) {
+        this.executor = executor;
+        this.timer = timer;
+    }
+
+    @Override
+    public ScheduledFuture<@Nullable ?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(Executors.callable(command), delay, unit);
+    }
+
+    @Override
+    @SuppressWarnings({"override.return", "override.param"})
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return start(new TimerFuture<>(callable, unit.toNanos(delay), 0));
+    }
+
+    @Override
+    public ScheduledFuture<@Nullable ?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+
+        return start(new TimerFuture<@Nullable Object>(Executors.callable(command), unit.toNanos(initialDelay), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<@Nullable ?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("The delay must be positive");
+        }
+
+        return start(new TimerFuture<@Nullable Object>(Executors.callable(command), unit.toNanos(initialDelay), -unit.toNanos(delay)));
+    }
+
+    /**
+     * Arm the timer of the task
+     */
+    private <V> TimerFuture<V> start(TimerFuture<V> future) {
+        future.start(timer.newTimeout(future, future.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS));
+
+        return future;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        timer.stop();
+        executor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        final List<Runnable> pending = new ArrayList<>();
+
+        for (Timeout timeout : timer.stop()) {
+            if (timeout.task() instanceof Runnable) {
+                pending.add((Runnable) timeout.task());
+            }
+        }
+
+        pending.addAll(executor.shutdownNow());
+
+        return pending;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return executor.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Delayed task
+     * When the timeout expires, the task is submitted to the worker executor
+     *
+     * For periodic tasks, the next timeout is created once the execution is done, so executions never overlap
+     */
+    private final class TimerFuture<V> extends FutureTask<V> implements ScheduledFuture<V>, TimerTask {
+        /**
+         * Period in nanoseconds, following the {@link java.util.concurrent.ScheduledThreadPoolExecutor} convention :
+         * 0 for a one-shot task, a positive value for a fixed rate, and a negative value for a fixed delay
+         */
+        private final long period;
+        private volatile long deadline;
+        private volatile @MonotonicNonNull Timeout timeout;
+
+        private TimerFuture(Callable<V> callable, long delay, long period) {
+            super(callable);
+
+            this.deadline = System.nanoTime() + delay;
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            if (period == 0) {
+                super.run();
+                return;
+            }
+
+            if (!runAndReset()) {
+                return;
+            }
+
+            deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+
+            try {
+                WheelTimerExecutorService.this.start(this);
+            } catch (IllegalStateException e) {
+                // The timer is stopped
+                cancel(false);
+            }
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                cancel(false);
+            }
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            final Timeout timeout = this.timeout;
+
+            if (timeout != null) {
+                timeout.cancel();
+            }
+
+            return super.cancel(mayInterruptIfRunning);
+        }
+
+        private void start(Timeout timeout) {
+            this.timeout = timeout;
+
+            // The task is cancelled before the timeout is set
+            if (isCancelled()) {
+                timeout.cancel();
+            }
+        }
+    }
+}
@@ -35,6 +35,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLRecoverableException;
 import java.sql.Statement;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -52,7 +53,7 @@ class AutoReconnectConnectionPoolTest {
         );
 
         logger = Mockito.mock(Logger.class);
-        pool = new AutoReconnectConnectionPool(new SimpleConnectionPool(driver, 1, logger), logger);
+        pool = new AutoReconnectConnectionPool(new BoundedConnectionPool(driver, 1, 1, Duration.ofSeconds(1), Duration.ZERO, Duration.ofMinutes(1), logger), logger);
         pool.initialize();
     }
 
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.dbal;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+class BoundedConnectionPoolTest {
+    private Driver driver;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        driver = Mockito.mock(Driver.class);
+        Mockito.when(driver.newConnection()).then(invocation -> {
+            Connection connection = Mockito.mock(Connection.class);
+            Mockito.when(connection.isValid(anyInt())).thenReturn(true);
+
+            return connection;
+        });
+    }
+
+    @Test
+    void initialize() throws SQLException {
+        BoundedConnectionPool pool = new BoundedConnectionPool(driver, 16, 4, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO, LogManager.getLogger());
+        pool.initialize();
+
+        assertEquals(4, pool.total());
+        assertEquals(4, pool.size());
+        assertEquals(4, pool.idle());
+        assertEquals(0, pool.active());
+        assertEquals(16, pool.maxSize());
+        Mockito.verify(driver, Mockito.times(4)).newConnection();
+    }
+
+    @Test
+    void initializeShouldNotExceedMaxSize() throws SQLException {
+        BoundedConnectionPool pool = new BoundedConnectionPool(driver, 2, 4, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO, LogManager.getLogger());
+        pool.initialize();
+
+        assertEquals(2, pool.total());
+        Mockito.verify(driver, Mockito.times(2)).newConnection();
+    }
+
+    @Test
+    void initializeWithoutMinIdle() throws SQLException {
+        BoundedConnectionPool pool = new BoundedConnectionPool(driver, 2, 0, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO, LogManager.getLogger());
+        pool.initialize();
+
+        assertEquals(0, pool.total());
+        Mockito.verify(driver, Mockito.never()).newConnection();
+    }
+
+    @Test
+    void acquireAndRelease() throws SQLException {
+        BoundedConnectionPool pool = createPool(2, Duration.ofSeconds(1), Duration.ZERO);
+
+        Connection connection = pool.acquire();
+
+        assertEquals(1, pool.total());
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.active());
+        assertEquals(0, pool.idle());
+
+        pool.release(connection);
+
+        assertEquals(1, pool.total());
+        assertEquals(0, pool.active());
+        assertEquals(1, pool.idle());
+
+        assertSame(connection, pool.acquire());
+        assertEquals(2, pool.acquireLatency().count());
+        Mockito.verify(driver, Mockito.times(1)).newConnection();
+    }
+
+    @Test
+    void acquireShouldCreateConnectionsUntilMaxSize() throws SQLException {
+        BoundedConnectionPool pool = createPool(2, Duration.ofMillis(10), Duration.ZERO);
+
+        Connection connection1 = pool.acquire();
+        Connection connection2 = pool.acquire();
+
+        assertNotSame(connection1, connection2);
+        assertEquals(2, pool.active());
+
+        assertThrows(SQLTimeoutException.class, pool::acquire);
+        assertEquals(1, pool.timeouts());
+        assertEquals(2, pool.total());
+        assertEquals(0, pool.waiting());
+        Mockito.verify(driver, Mockito.times(2)).newConnection();
+    }
+
+    @Test
+    void acquireShouldWaitForReleasedConnection() throws Exception {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(5), Duration.ZERO);
+
+        Connection connection = pool.acquire();
+        CompletableFuture<Connection> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return pool.acquire();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        for (int i = 0; i < 500 && pool.waiting() == 0; ++i) {
+            Thread.sleep(1);
+        }
+
+        assertEquals(1, pool.waiting());
+        assertFalse(future.isDone());
+
+        pool.release(connection);
+
+        assertSame(connection, future.get(5, TimeUnit.SECONDS));
+        assertEquals(0, pool.waiting());
+        assertEquals(1, pool.active());
+    }
+
+    @Test
+    void acquireShouldReplaceInvalidConnection() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(1), Duration.ZERO);
+
+        Connection connection = pool.acquire();
+        pool.release(connection);
+
+        Mockito.when(connection.isValid(anyInt())).thenReturn(false);
+
+        Connection newConnection = pool.acquire();
+
+        assertNotSame(connection, newConnection);
+        Mockito.verify(connection).close();
+        assertEquals(1, pool.total());
+        assertEquals(1, pool.active());
+    }
+
+    @Test
+    void acquireShouldNotValidateConnectionBeforeValidationInterval() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(1), Duration.ofMinutes(1));
+
+        Connection connection = pool.acquire();
+        pool.release(connection);
+
+        Mockito.when(connection.isValid(anyInt())).thenReturn(false);
+
+        assertSame(connection, pool.acquire());
+        Mockito.verify(connection, Mockito.never()).isValid(anyInt());
+    }
+
+    @Test
+    void acquireWithCreationError() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofMillis(10), Duration.ZERO);
+
+        Mockito.when(driver.newConnection()).thenThrow(new SQLException("my error"));
+
+        assertEquals("my error", assertThrows(SQLException.class, pool::acquire).getMessage());
+        assertEquals(0, pool.total());
+    }
+
+    @Test
+    void releaseClosedConnection() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(1), Duration.ZERO);
+
+        Connection connection = pool.acquire();
+        Mockito.when(connection.isClosed()).thenReturn(true);
+
+        pool.release(connection);
+
+        assertEquals(0, pool.total());
+        assertEquals(0, pool.idle());
+        assertNotSame(connection, pool.acquire());
+    }
+
+    @Test
+    void releaseUnknownConnectionShouldCloseIt() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(1), Duration.ZERO);
+        Connection connection = Mockito.mock(Connection.class);
+
+        pool.release(connection);
+
+        Mockito.verify(connection).close();
+        assertEquals(0, pool.total());
+        assertEquals(0, pool.idle());
+    }
+
+    @Test
+    void evictIdle() throws Exception {
+        BoundedConnectionPool pool = new BoundedConnectionPool(driver, 4, 1, Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ZERO, LogManager.getLogger());
+
+        Connection connection1 = pool.acquire();
+        Connection connection2 = pool.acquire();
+        Connection connection3 = pool.acquire();
+
+        pool.release(connection1);
+        pool.release(connection2);
+
+        assertEquals(0, pool.evictIdle());
+
+        Thread.sleep(20);
+
+        assertEquals(1, pool.evictIdle());
+        assertEquals(2, pool.total());
+        assertEquals(1, pool.idle());
+        assertEquals(1, pool.active());
+        Mockito.verify(connection1).close();
+
+        pool.release(connection3);
+        Thread.sleep(20);
+
+        assertEquals(1, pool.evictIdle());
+        assertEquals(1, pool.total());
+        assertEquals(0, pool.evictIdle());
+    }
+
+    @Test
+    void close() throws SQLException {
+        BoundedConnectionPool pool = createPool(2, Duration.ofSeconds(1), Duration.ZERO);
+
+        Connection idle = pool.acquire();
+        Connection active = pool.acquire();
+        pool.release(idle);
+
+        pool.close();
+
+        Mockito.verify(idle).close();
+        assertEquals(1, pool.total());
+        assertThrows(SQLException.class, pool::acquire);
+
+        pool.release(active);
+
+        Mockito.verify(active).close();
+        assertEquals(0, pool.total());
+    }
+
+    @Test
+    void execute() throws SQLException {
+        BoundedConnectionPool pool = createPool(1, Duration.ofSeconds(1), Duration.ZERO);
+
+        assertEquals(1, (int) pool.execute(connection -> pool.active()));
+        assertEquals(0, pool.active());
+        assertEquals(1, pool.idle());
+    }
+
+    private BoundedConnectionPool createPool(int size, Duration acquireTimeout, Duration validationInterval) {
+        return new BoundedConnectionPool(driver, size, 1, acquireTimeout, Duration.ZERO, validationInterval, LogManager.getLogger());
+    }
+}
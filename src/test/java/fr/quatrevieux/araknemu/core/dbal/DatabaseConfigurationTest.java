@@ -27,6 +27,7 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -91,5 +92,9 @@ class DatabaseConfigurationTest {
 
         assertTrue(config.autoReconnect());
         assertEquals(3600, config.refreshPoolInterval());
+        assertEquals(1, config.minIdle());
+        assertEquals(Duration.ofSeconds(30), config.acquireTimeout());
+        assertEquals(Duration.ofMinutes(10), config.idleTimeout());
+        assertEquals(Duration.ofSeconds(5), config.validationInterval());
     }
 }
\ No newline at end of file
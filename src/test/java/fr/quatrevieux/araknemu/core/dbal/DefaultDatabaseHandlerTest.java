@@ -38,6 +38,7 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DefaultDatabaseHandlerTest extends TestCase {
     private DefaultDatabaseHandler handler;
@@ -118,6 +119,20 @@ class DefaultDatabaseHandlerTest extends TestCase {
         handler.stop(); // Ensure that refresh task is stopped
     }
 
+    @Test
+    void metrics() throws SQLException {
+        assertTrue(handler.metrics().isEmpty());
+
+        handler.get("realm");
+        handler.get("no_pool");
+
+        assertEquals(1, handler.metrics().size());
+        assertEquals(4, handler.metrics().get("realm").maxSize());
+
+        handler.stop();
+        assertTrue(handler.metrics().isEmpty());
+    }
+
     @Test
     void stop() throws SQLException {
         ConnectionPool pool = handler.get("realm");
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -50,7 +51,7 @@ class RefreshConnectionPoolTest {
         );
 
         logger = Mockito.mock(Logger.class);
-        pool = new RefreshConnectionPool(new SimpleConnectionPool(driver, 2, logger), 0, logger);
+        pool = new RefreshConnectionPool(new BoundedConnectionPool(driver, 2, 2, Duration.ofSeconds(1), Duration.ZERO, Duration.ZERO, logger), 0, logger);
         pool.initialize();
     }
 
@@ -32,11 +32,16 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class ConnectionPoolExecutorTest {
@@ -96,18 +101,101 @@ class ConnectionPoolExecutorTest {
         utils.query("drop table test_table");
     }
 
+    @Test
+    void prepareShouldReuseStatement() throws SQLException {
+        utils.query("create table test_table (`value` text)");
+
+        PreparedStatement first = utils.prepare("insert into test_table values(?)", stmt -> {
+            stmt.setString(1, "FOO");
+            stmt.executeUpdate();
+
+            return stmt;
+        });
+
+        PreparedStatement second = utils.prepare("insert into test_table values(?)", stmt -> {
+            stmt.setString(1, "BAR");
+            stmt.executeUpdate();
+
+            return stmt;
+        });
+
+        assertSame(first, second);
+        assertEquals(1, utils.cachedConnections());
+        assertEquals(2, (int) utils.prepare("select count(*) from test_table", stmt -> {
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+
+            return rs.getInt(1);
+        }));
+
+        utils.query("drop table test_table");
+    }
+
+    @Test
+    void prepareWithoutCache() throws SQLException {
+        utils = new ConnectionPoolExecutor(utils, 0);
+        utils.query("create table test_table (`value` text)");
+
+        PreparedStatement stmt = utils.prepare("insert into test_table values(?)", s -> {
+            s.setString(1, "FOO");
+            s.executeUpdate();
+
+            return s;
+        });
+
+        assertTrue(stmt.isClosed());
+        assertEquals(0, utils.cachedConnections());
+
+        utils.query("drop table test_table");
+    }
+
+    @Test
+    void prepareWithGeneratedKeysShouldNotBeCached() throws SQLException {
+        utils.query("create table test_table (`id` integer primary key autoincrement, `value` text)");
+
+        PreparedStatement stmt = utils.prepare("insert into test_table (`value`) values(?)", s -> {
+            s.setString(1, "FOO");
+            s.executeUpdate();
+
+            return s;
+        }, true);
+
+        assertTrue(stmt.isClosed());
+
+        utils.query("drop table test_table");
+    }
+
+    @Test
+    void batch() throws SQLException {
+        utils.query("create table test_table (`value` text)");
+
+        int[] result = utils.batch("insert into test_table values(?)", Arrays.asList("FOO", "BAR", "BAZ"), (stmt, value) -> stmt.setString(1, value));
+
+        assertArrayEquals(new int[] {1, 1, 1}, result);
+        assertEquals(3, (int) utils.prepare("select count(*) from test_table", stmt -> {
+            ResultSet rs = stmt.executeQuery();
+            rs.next();
+
+            return rs.getInt(1);
+        }));
+
+        assertArrayEquals(new int[0], utils.batch("insert into test_table values(?)", Collections.<String>emptyList(), (stmt, value) -> stmt.setString(1, value)));
+
+        utils.query("drop table test_table");
+    }
+
     @Test
     void size() throws SQLException {
-        assertEquals(4, utils.size());
+        assertEquals(1, utils.size());
 
         utils.acquire();
 
-        assertEquals(3, utils.size());
+        assertEquals(0, utils.size());
     }
 
     @Test
     void close() throws Exception {
-        assertEquals(4, utils.size());
+        assertEquals(1, utils.size());
 
         Connection connection = utils.acquire();
         utils.release(connection);
@@ -24,6 +24,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 
 class LoggedQueryExecutorTest {
     @Test
@@ -53,4 +55,20 @@ class LoggedQueryExecutorTest {
         Mockito.verify(logger).debug("Prepare query {}", "my query");
         Mockito.verify(executor).prepare("my query", task, false);
     }
+
+    @Test
+    void batch() throws SQLException {
+        Logger logger = Mockito.mock(Logger.class);
+        QueryExecutor executor = Mockito.mock(QueryExecutor.class);
+
+        LoggedQueryExecutor loggedQueryExecutor = new LoggedQueryExecutor(executor, logger);
+
+        QueryExecutor.BatchBinder<String> binder = (stmt, value) -> {};
+        List<String> values = Arrays.asList("foo", "bar");
+
+        loggedQueryExecutor.batch("my query", values, binder);
+
+        Mockito.verify(logger).debug("Execute batch of {} queries {}", 2, "my query");
+        Mockito.verify(executor).batch("my query", values, binder);
+    }
 }
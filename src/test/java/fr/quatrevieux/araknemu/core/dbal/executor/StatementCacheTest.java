@@ -0,0 +1,140 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.dbal.executor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StatementCacheTest {
+    private Connection connection;
+    private StatementCache cache;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+        cache = new StatementCache(connection, 2);
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("create table test_table (`value` text)");
+            stmt.executeUpdate("insert into test_table values ('foo')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    void acquireShouldReuseReleasedStatement() throws SQLException {
+        PreparedStatement stmt = cache.acquire("select * from test_table");
+        cache.release("select * from test_table", stmt);
+
+        assertSame(stmt, cache.acquire("select * from test_table"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void acquireAlreadyUsedStatementShouldPrepareNewOne() throws SQLException {
+        PreparedStatement stmt = cache.acquire("select * from test_table");
+        PreparedStatement nested = cache.acquire("select * from test_table");
+
+        assertNotSame(stmt, nested);
+
+        cache.release("select * from test_table", nested);
+        cache.release("select * from test_table", stmt);
+
+        assertTrue(nested.isClosed());
+        assertFalse(stmt.isClosed());
+        assertSame(stmt, cache.acquire("select * from test_table"));
+    }
+
+    @Test
+    void releaseShouldCloseResultSetAndClearParameters() throws SQLException {
+        PreparedStatement stmt = cache.acquire("select * from test_table where `value` = ?");
+        stmt.setString(1, "foo");
+
+        ResultSet rs = stmt.executeQuery();
+        assertTrue(rs.next());
+
+        cache.release("select * from test_table where `value` = ?", stmt);
+
+        assertTrue(rs.isClosed());
+
+        // The result set must be closed to release the table lock
+        try (Statement drop = connection.createStatement()) {
+            drop.executeUpdate("drop table test_table");
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedStatementShouldBeEvicted() throws SQLException {
+        PreparedStatement first = cache.acquire("select 1");
+        cache.release("select 1", first);
+        PreparedStatement second = cache.acquire("select 2");
+        cache.release("select 2", second);
+
+        cache.release("select 1", cache.acquire("select 1"));
+
+        PreparedStatement third = cache.acquire("select 3");
+        cache.release("select 3", third);
+
+        assertEquals(2, cache.size());
+        assertTrue(second.isClosed());
+        assertFalse(first.isClosed());
+        assertSame(first, cache.acquire("select 1"));
+    }
+
+    @Test
+    void statementInUseShouldNotBeEvicted() throws SQLException {
+        PreparedStatement first = cache.acquire("select 1");
+
+        cache.release("select 2", cache.acquire("select 2"));
+        cache.release("select 3", cache.acquire("select 3"));
+
+        assertFalse(first.isClosed());
+
+        cache.release("select 1", first);
+        assertFalse(first.isClosed());
+    }
+
+    @Test
+    void closed() throws SQLException {
+        assertFalse(cache.closed());
+
+        connection.close();
+
+        assertTrue(cache.closed());
+    }
+}
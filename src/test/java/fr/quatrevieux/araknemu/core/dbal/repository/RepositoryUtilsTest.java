@@ -34,6 +34,8 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -184,4 +186,52 @@ class RepositoryUtilsTest {
 
         assertEquals(4, p.id);
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveAll() throws RepositoryException {
+        Person john = utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 1));
+        Person alan = utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 2));
+        Person notFound = new Person();
+        notFound.id = 15;
+
+        john.age = 24;
+        alan.age = 46;
+
+        assertEquals(2, utils.saveAll(
+            "UPDATE PERSON SET AGE = ? WHERE ID = ?",
+            Arrays.asList(john, alan, notFound),
+            (stmt, person) -> {
+                stmt.setInt(1, person.age);
+                stmt.setInt(2, person.id);
+            }
+        ));
+
+        assertEquals(24, utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 1)).age);
+        assertEquals(46, utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 2)).age);
+        assertEquals(0, utils.saveAll("UPDATE PERSON SET AGE = ? WHERE ID = ?", Collections.emptyList(), (stmt, person) -> {}));
+    }
+
+    @Test
+    void saveAllBadQuery() {
+        assertThrows(
+            RepositoryException.class,
+            () -> utils.saveAll("bad sql", Collections.singletonList(new Person()), (stmt, person) -> {})
+        );
+    }
+
+    @Test
+    void deleteAll() throws RepositoryException {
+        Person john = utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 1));
+        Person alan = utils.findOne("SELECT * FROM PERSON WHERE ID = ?", rs -> rs.setInt(1, 2));
+        Person notFound = new Person();
+        notFound.id = 15;
+
+        assertEquals(2, utils.deleteAll(
+            "DELETE FROM PERSON WHERE ID = ?",
+            Arrays.asList(john, alan, notFound),
+            (stmt, person) -> stmt.setInt(1, person.id)
+        ));
+
+        assertEquals(1, utils.findAll("SELECT * FROM PERSON").size());
+    }
+}
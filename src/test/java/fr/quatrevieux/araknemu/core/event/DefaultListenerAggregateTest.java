@@ -27,8 +27,13 @@ import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -378,4 +383,112 @@ class DefaultListenerAggregateTest {
         dispatcher.dispatch(new E(0));
         assertIterableEquals(Arrays.asList("L2-0", "L2-1"), listeners);
     }
+
+    @Test
+    void dispatchHierarchical() {
+        dispatcher = new DefaultListenerAggregate(Mockito.mock(Logger.class), true);
+
+        class Parent implements Runnable {
+            @Override
+            public void run() {}
+        }
+        class Child extends Parent {}
+
+        final Collection<String> listeners = new ArrayList<>();
+
+        dispatcher.add(new Listener<Runnable>() {
+            @Override
+            public void on(Runnable event) { listeners.add("runnable"); }
+
+            @Override
+            public Class<Runnable> event() { return Runnable.class; }
+        });
+        dispatcher.add(new Listener<Parent>() {
+            @Override
+            public void on(Parent event) { listeners.add("parent"); }
+
+            @Override
+            public Class<Parent> event() { return Parent.class; }
+        });
+        dispatcher.add(new Listener<Child>() {
+            @Override
+            public void on(Child event) { listeners.add("child"); }
+
+            @Override
+            public Class<Child> event() { return Child.class; }
+        });
+
+        dispatcher.dispatch(new Child());
+        assertIterableEquals(Arrays.asList("child", "parent", "runnable"), listeners);
+
+        listeners.clear();
+        dispatcher.dispatch(new Parent());
+        assertIterableEquals(Arrays.asList("parent", "runnable"), listeners);
+    }
+
+    @Test
+    void dispatchNotHierarchicalShouldIgnoreParentListeners() {
+        class Child extends A {}
+
+        ListenerA listenerA = new ListenerA();
+        dispatcher.add(listenerA);
+
+        dispatcher.dispatch(new Child());
+        assertNull(listenerA.a);
+    }
+
+    @Test
+    void dispatchHierarchicalConcurrently() throws InterruptedException {
+        dispatcher = new DefaultListenerAggregate(Mockito.mock(Logger.class), true);
+
+        class Parent {}
+        class Child1 extends Parent {}
+        class Child2 extends Parent {}
+        class Child3 extends Child1 {}
+
+        final AtomicInteger count = new AtomicInteger();
+
+        dispatcher.add(new Listener<Parent>() {
+            @Override
+            public void on(Parent event) { count.incrementAndGet(); }
+
+            @Override
+            public Class<Parent> event() { return Parent.class; }
+        });
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int i = 0; i < 100; ++i) {
+            executor.execute(() -> dispatcher.dispatch(new Child1()));
+            executor.execute(() -> dispatcher.dispatch(new Child2()));
+            executor.execute(() -> dispatcher.dispatch(new Child3()));
+            executor.execute(() -> dispatcher.dispatch(new Parent()));
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(400, count.get());
+    }
+
+    @Test
+    void dispatchWithProfiler() {
+        DispatchProfiler profiler = new DispatchProfiler();
+        dispatcher = new DefaultListenerAggregate(Mockito.mock(Logger.class), false, profiler);
+        dispatcher.add(new ListenerA());
+
+        dispatcher.dispatch(new A());
+        assertTrue(profiler.metrics().isEmpty());
+
+        profiler.enable();
+        dispatcher.dispatch(new A());
+        dispatcher.dispatch(new A());
+        dispatcher.dispatch(new B());
+
+        assertEquals(2, profiler.metrics().get(A.class).count());
+        assertEquals(1, profiler.metrics().get(B.class).count());
+
+        profiler.disable();
+        dispatcher.dispatch(new A());
+        assertEquals(2, profiler.metrics().get(A.class).count());
+    }
 }
@@ -0,0 +1,211 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import fr.quatrevieux.araknemu.core.network.session.SharedPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.CharsetUtil;
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class ChannelAdapterTest {
+    private EventExecutor executor;
+    private ChannelHandlerContext context;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        executor = new DefaultEventExecutor();
+        context = Mockito.mock(ChannelHandlerContext.class);
+        Mockito.when(context.executor()).thenReturn(executor);
+
+        // Block the event loop, so written packets are not processed before the end of the test method
+        final CountDownLatch running = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            running.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void writeImmediate() {
+        FlushPolicy policy = FlushPolicy.immediate();
+        ChannelAdapter adapter = new ChannelAdapter(context, policy);
+
+        adapter.write("foo");
+        adapter.write(new StringBuilder("bar"));
+
+        verify(context).writeAndFlush("foo");
+        verify(context).writeAndFlush("bar");
+        assertEquals(2, policy.packets());
+        assertEquals(2, policy.flushes());
+    }
+
+    @Test
+    void writeSharedPacketShouldWriteARetainedDuplicate() {
+        ChannelAdapter adapter = new ChannelAdapter(context, FlushPolicy.immediate());
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+
+        SharedPacket.broadcast("foo", packet -> {
+            adapter.write(packet);
+            adapter.write(packet);
+        });
+
+        verify(context, times(2)).writeAndFlush(captor.capture());
+
+        // Single recipient : the packet is not encoded
+        assertEquals("foo", captor.getAllValues().get(0));
+
+        ByteBuf buffer = (ByteBuf) captor.getAllValues().get(1);
+
+        assertEquals(1, buffer.refCnt());
+        assertEquals("foo\0", buffer.toString(CharsetUtil.UTF_8));
+        buffer.release();
+    }
+
+    @Test
+    void writeSharedPacketAfterReleaseShouldWriteString() {
+        ChannelAdapter adapter = new ChannelAdapter(context, FlushPolicy.immediate());
+        AtomicReference<SharedPacket> shared = new AtomicReference<>();
+
+        SharedPacket.broadcast("foo", shared::set);
+        adapter.write(shared.get());
+        adapter.write(shared.get());
+
+        verify(context, times(2)).writeAndFlush("foo");
+    }
+
+    @Test
+    void writeCoalesceShouldFlushOnceOnNextLoopIteration() throws Exception {
+        FlushPolicy policy = FlushPolicy.coalesce(Duration.ZERO);
+        ChannelAdapter adapter = new ChannelAdapter(context, policy);
+
+        adapter.write("foo");
+        adapter.write("bar");
+        adapter.write(new StringBuilder("baz"));
+
+        verify(context, never()).write(Mockito.any());
+        assertEquals(3, policy.packets());
+        assertEquals(0, policy.flushes());
+
+        release.countDown();
+        executor.submit(() -> {}).get();
+
+        InOrder inOrder = Mockito.inOrder(context);
+
+        inOrder.verify(context).write("foo");
+        inOrder.verify(context).write("bar");
+        inOrder.verify(context).write("baz");
+        inOrder.verify(context).flush();
+        assertEquals(1, policy.flushes());
+
+        adapter.write("other");
+        executor.submit(() -> {}).get();
+        executor.submit(() -> {}).get();
+
+        verify(context).write("other");
+        verify(context, times(2)).flush();
+        assertEquals(4, policy.packets());
+        assertEquals(2, policy.flushes());
+    }
+
+    @Test
+    void writeCoalesceWithDelay() throws Exception {
+        FlushPolicy policy = FlushPolicy.coalesce(Duration.ofMillis(10));
+        ChannelAdapter adapter = new ChannelAdapter(context, policy);
+
+        adapter.write("foo");
+        adapter.write("bar");
+
+        release.countDown();
+        executor.submit(() -> {}).get();
+
+        verify(context).write("foo");
+        verify(context).write("bar");
+
+        executor.schedule(() -> {}, 50, TimeUnit.MILLISECONDS).get();
+
+        verify(context).flush();
+        assertEquals(2, policy.packets());
+        assertEquals(1, policy.flushes());
+    }
+
+    @Test
+    void closeShouldFlushPendingPackets() throws Exception {
+        FlushPolicy policy = FlushPolicy.coalesce(Duration.ofMinutes(1));
+        ChannelAdapter adapter = new ChannelAdapter(context, policy);
+
+        adapter.write("foo");
+        adapter.close();
+
+        release.countDown();
+        executor.submit(() -> {}).get();
+
+        InOrder inOrder = Mockito.inOrder(context);
+
+        inOrder.verify(context).write("foo");
+        inOrder.verify(context).flush();
+        inOrder.verify(context).close();
+        assertEquals(1, policy.flushes());
+    }
+
+    @Test
+    void closeImmediate() {
+        ChannelAdapter adapter = new ChannelAdapter(context);
+
+        adapter.close();
+
+        verify(context).close();
+        verify(context, never()).flush();
+    }
+}
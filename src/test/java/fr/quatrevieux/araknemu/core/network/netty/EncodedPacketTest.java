@@ -0,0 +1,100 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.CharsetUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EncodedPacketTest {
+    @Test
+    void encode() {
+        EncodedPacket packet = EncodedPacket.encode(new StringBuilder("Hello élève"));
+
+        assertEquals("Hello élève", packet.toString());
+
+        ByteBuf buffer = packet.retainedDuplicate();
+
+        assertEquals("Hello élève\0", buffer.toString(CharsetUtil.UTF_8));
+        assertEquals(Unpooled.wrappedBuffer("Hello élève\0".getBytes(CharsetUtil.UTF_8)), buffer);
+
+        buffer.release();
+        packet.release();
+    }
+
+    @Test
+    void retainedDuplicateShouldHaveIndependentReaderIndex() {
+        EncodedPacket packet = EncodedPacket.encode("foo");
+
+        ByteBuf b1 = packet.retainedDuplicate();
+        ByteBuf b2 = packet.retainedDuplicate();
+
+        b1.readByte();
+
+        assertEquals(3, b1.readableBytes());
+        assertEquals(4, b2.readableBytes());
+
+        b1.release();
+        b2.release();
+        packet.release();
+
+        assertThrows(Exception.class, packet::retainedDuplicate);
+    }
+
+    @Test
+    void encodeAlreadyEncodedShouldRetain() {
+        EncodedPacket packet = EncodedPacket.encode("foo");
+
+        assertSame(packet, EncodedPacket.encode(packet));
+
+        packet.release();
+        ByteBuf buffer = packet.retainedDuplicate();
+        assertEquals("foo\0", buffer.toString(CharsetUtil.UTF_8));
+        buffer.release();
+
+        packet.release();
+        assertThrows(Exception.class, packet::retainedDuplicate);
+    }
+
+    @Test
+    void packetEncoder() {
+        EmbeddedChannel channel = new EmbeddedChannel(new NettyServer.PacketEncoder());
+        EncodedPacket packet = EncodedPacket.encode("bar");
+
+        channel.writeOutbound("foo");
+        channel.writeOutbound(packet.retainedDuplicate());
+        packet.release();
+
+        ByteBuf foo = channel.readOutbound();
+        ByteBuf bar = channel.readOutbound();
+
+        assertEquals("foo\0", foo.toString(CharsetUtil.UTF_8));
+        assertEquals("bar\0", bar.toString(CharsetUtil.UTF_8));
+
+        foo.release();
+        bar.release();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import fr.quatrevieux.araknemu.core.config.PoolUtils;
+import fr.quatrevieux.araknemu.core.config.IniDriver;
+import fr.quatrevieux.araknemu.core.network.session.ConfigurableSession;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import org.ini4j.Ini;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class NettyServerTest {
+    private NettyServer<ConfigurableSession> server;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    @Test
+    void startWithNio() throws Exception {
+        final Map<String, String> config = new HashMap<>();
+        config.put("network.nativeTransport", "false");
+        config.put("network.workerThreads", "2");
+        config.put("network.sendBufferSize", "8192");
+
+        final int port = freePort();
+        server = createServer(port, config);
+
+        assertNull(server.transport());
+        server.start();
+        assertEquals(NioEventLoopGroup.class, server.transport());
+
+        assertConnected(port, 1);
+    }
+
+    @Test
+    void startWithEpollAndMultipleListeners() throws Exception {
+        assumeTrue(Epoll.isAvailable());
+
+        final Map<String, String> config = new HashMap<>();
+        config.put("network.bossThreads", "2");
+        config.put("network.listeners", "2");
+
+        final int port = freePort();
+        server = createServer(port, config);
+        server.start();
+
+        assertEquals(EpollEventLoopGroup.class, server.transport());
+        assertConnected(port, 3);
+    }
+
+    @Test
+    void startWithDispatchThreads() throws Exception {
+        final Map<String, String> config = new HashMap<>();
+        config.put("network.dispatchThreads", "2");
+
+        final int port = freePort();
+        server = createServer(port, config);
+        server.start();
+
+        assertTrue(server.sessionExecutor().pooled());
+        assertConnected(port, 2);
+    }
+
+    @Test
+    void stopNotStarted() throws Exception {
+        server = createServer(freePort(), new HashMap<>());
+        server.stop();
+        server = null;
+    }
+
+    private NettyServer<ConfigurableSession> createServer(int port, Map<String, String> config) {
+        final Ini ini = new Ini();
+        ini.add("server");
+        config.forEach((key, value) -> ini.get("server").put(key, value));
+
+        final NetworkConfiguration configuration = new NetworkConfiguration(new PoolUtils(new IniDriver(ini).pool("server")));
+
+        return new NettyServer<>(ConfigurableSession::new, port, Duration.ofMinutes(1), FlushPolicy.immediate(), configuration);
+    }
+
+    private void assertConnected(int port, int count) throws Exception {
+        final Socket[] sockets = new Socket[count];
+
+        try {
+            for (int i = 0; i < count; ++i) {
+                sockets[i] = new Socket("127.0.0.1", port);
+            }
+
+            for (int i = 0; i < 100 && server.sessions().size() < count; ++i) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(count, server.sessions().size());
+        } finally {
+            for (Socket socket : sockets) {
+                if (socket != null) {
+                    socket.close();
+                }
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.netty;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionExecutorTest {
+    @Test
+    void direct() {
+        SessionExecutor executor = SessionExecutor.direct();
+        SessionExecutor.Mailbox mailbox = executor.mailbox(new EmbeddedChannel(), e -> {});
+        Thread current = Thread.currentThread();
+        AtomicReference<Thread> thread = new AtomicReference<>();
+
+        assertFalse(executor.pooled());
+
+        mailbox.execute(() -> thread.set(Thread.currentThread()));
+
+        assertSame(current, thread.get());
+        assertEquals(1, executor.processed());
+        assertEquals(0, executor.pending());
+        assertEquals(0, mailbox.size());
+    }
+
+    @Test
+    void pooledShouldKeepOrder() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        SessionExecutor executor = SessionExecutor.pooled(pool, 1000);
+        List<Integer> first = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> second = Collections.synchronizedList(new ArrayList<>());
+        SessionExecutor.Mailbox firstMailbox = executor.mailbox(new EmbeddedChannel(), e -> {});
+        SessionExecutor.Mailbox secondMailbox = executor.mailbox(new EmbeddedChannel(), e -> {});
+        CountDownLatch latch = new CountDownLatch(1000);
+
+        assertTrue(executor.pooled());
+
+        for (int i = 0; i < 500; ++i) {
+            final int value = i;
+
+            firstMailbox.execute(() -> { first.add(value); latch.countDown(); });
+            secondMailbox.execute(() -> { second.add(value); latch.countDown(); });
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 500; ++i) {
+            assertEquals(i, first.get(i));
+            assertEquals(i, second.get(i));
+        }
+
+        Thread.sleep(10);
+        assertEquals(1000, executor.processed());
+        assertEquals(0, executor.pending());
+
+        executor.shutdown();
+        assertTrue(pool.isShutdown());
+    }
+
+    @Test
+    void pooledShouldNotBlockOtherSessions() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        SessionExecutor executor = SessionExecutor.pooled(pool, 100);
+        SessionExecutor.Mailbox slow = executor.mailbox(new EmbeddedChannel(), e -> {});
+        SessionExecutor.Mailbox fast = executor.mailbox(new EmbeddedChannel(), e -> {});
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        slow.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        fast.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        blocker.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void pooledShouldSuspendReadWhenMailboxIsFull() throws InterruptedException {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        SessionExecutor executor = SessionExecutor.pooled(pool, 4);
+        EmbeddedChannel channel = new EmbeddedChannel();
+        SessionExecutor.Mailbox mailbox = executor.mailbox(channel, e -> {});
+        CountDownLatch blocker = new CountDownLatch(1);
+
+        mailbox.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        mailbox.execute(() -> {});
+        mailbox.execute(() -> {});
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(3, mailbox.size());
+        assertEquals(3, executor.pending());
+
+        mailbox.execute(() -> {});
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(1, executor.suspensions());
+
+        blocker.countDown();
+
+        for (int i = 0; i < 100 && executor.processed() < 4; ++i) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(4, executor.processed());
+        assertEquals(0, mailbox.size());
+        assertTrue(channel.config().isAutoRead());
+
+        executor.shutdown();
+    }
+
+    @Test
+    void exceptionShouldBeForwardedToHandler() {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        SessionExecutor.Mailbox mailbox = SessionExecutor.direct().mailbox(new EmbeddedChannel(), error::set);
+        RuntimeException exception = new RuntimeException();
+
+        mailbox.execute(() -> { throw exception; });
+
+        assertSame(exception, error.get());
+    }
+
+    @Test
+    void executeAfterShutdownShouldDropTasks() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        SessionExecutor executor = SessionExecutor.pooled(pool, 10);
+        SessionExecutor.Mailbox mailbox = executor.mailbox(new EmbeddedChannel(), e -> {});
+
+        executor.shutdown();
+        mailbox.execute(() -> {});
+
+        assertEquals(0, mailbox.size());
+        assertEquals(0, executor.pending());
+        assertEquals(0, executor.processed());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.core.network.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SharedPacketTest {
+    @Test
+    void broadcastShouldSerializeThePacketOnce() {
+        List<SharedPacket> packets = new ArrayList<>();
+        StringBuilder packet = new StringBuilder("foo");
+
+        SharedPacket.broadcast(packet, shared -> {
+            packets.add(shared);
+            packet.append("bar");
+        });
+
+        assertEquals(1, packets.size());
+        assertEquals("foo", packets.get(0).toString());
+    }
+
+    @Test
+    void encodedShouldSkipFirstSend() {
+        List<String> encoded = new ArrayList<>();
+
+        SharedPacket.broadcast("foo", shared -> {
+            assertNull(shared.encoded(packet -> new Encoded(packet, encoded)));
+            assertTrue(encoded.isEmpty());
+
+            Encoded first = shared.encoded(packet -> new Encoded(packet, encoded));
+            assertEquals("foo", first.packet);
+            assertSame(first, shared.encoded(packet -> new Encoded(packet, encoded)));
+            assertEquals(1, encoded.size());
+        });
+    }
+
+    @Test
+    void broadcastShouldReleaseTheEncodedPacket() {
+        List<Encoded> encoded = new ArrayList<>();
+
+        SharedPacket.broadcast("foo", shared -> {
+            shared.encoded(packet -> new Encoded(packet, null));
+            encoded.add(shared.encoded(packet -> new Encoded(packet, null)));
+        });
+
+        assertTrue(encoded.get(0).released);
+    }
+
+    @Test
+    void broadcastShouldReleaseThePacketOnError() {
+        List<SharedPacket> packets = new ArrayList<>();
+        List<Encoded> encoded = new ArrayList<>();
+
+        assertThrows(IllegalStateException.class, () -> SharedPacket.broadcast("foo", shared -> {
+            packets.add(shared);
+            shared.encoded(packet -> new Encoded(packet, null));
+            encoded.add(shared.encoded(packet -> new Encoded(packet, null)));
+            throw new IllegalStateException();
+        }));
+
+        assertTrue(encoded.get(0).released);
+        assertNull(packets.get(0).encoded(packet -> new Encoded(packet, null)));
+        assertEquals("foo", packets.get(0).toString());
+    }
+
+    @Test
+    void broadcastAlreadySharedShouldNotRelease() {
+        List<Encoded> encoded = new ArrayList<>();
+
+        SharedPacket.broadcast("foo", shared -> {
+            shared.encoded(packet -> new Encoded(packet, null));
+
+            SharedPacket.broadcast(shared, inner -> {
+                assertSame(shared, inner);
+                encoded.add(inner.encoded(packet -> new Encoded(packet, null)));
+            });
+
+            assertFalse(encoded.get(0).released);
+        });
+
+        assertTrue(encoded.get(0).released);
+    }
+
+    private static class Encoded implements SharedPacket.Encoded {
+        private final String packet;
+        private boolean released = false;
+
+        private Encoded(String packet, List<String> encoded) {
+            this.packet = packet;
+
+            if (encoded != null) {
+                encoded.add(packet);
+            }
+        }
+
+        @Override
+        public void release() {
+            released = true;
+        }
+    }
+}
@@ -25,8 +25,13 @@ import fr.quatrevieux.araknemu.core.network.session.AbstractDelegatedSession;
 import fr.quatrevieux.araknemu.core.network.session.Session;
 import fr.quatrevieux.araknemu.core.network.session.SessionConfigurator;
 import fr.quatrevieux.araknemu.core.network.util.DummyChannel;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -123,4 +128,51 @@ class RateLimiterTest {
         assertEquals(5, receivedPackets.get());
         assertEquals(0, rateLimitExceptions.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    void withPacketCosts() {
+        AtomicInteger receivedPackets = new AtomicInteger();
+        AtomicInteger rateLimitExceptions = new AtomicInteger();
+        SessionConfigurator<TestSession> configurator = new SessionConfigurator<>(TestSession::new);
+
+        Map<String, Integer> costs = new HashMap<>();
+        costs.put("BM", 3);
+
+        configurator.add(new RateLimiter.Configurator<>(new TokenBucket(5, Duration.ofSeconds(1)), costs));
+        configurator.add((inner, session) -> inner.addReceiveMiddleware((packet, next) -> receivedPackets.incrementAndGet()));
+        configurator.add((inner, session) -> inner.addExceptionHandler(RateLimitException.class, e -> { rateLimitExceptions.incrementAndGet(); return false; }));
+
+        TestSession session = configurator.create(new DummyChannel());
+
+        session.receive("BM*|hello|");
+        session.receive("BM*|hello|");
+        session.receive("GA001");
+        session.receive("A");
+
+        assertEquals(3, receivedPackets.get());
+        assertEquals(1, rateLimitExceptions.get());
+    }
+
+    @Test
+    void sessionsShouldHaveTheirOwnBucketAndShareCounters() {
+        AtomicInteger receivedPackets = new AtomicInteger();
+        SessionConfigurator<TestSession> configurator = new SessionConfigurator<>(TestSession::new);
+        TokenBucket limiter = new TokenBucket(3, Duration.ofSeconds(1));
+
+        configurator.add(new RateLimiter.Configurator<>(limiter, Collections.emptyMap()));
+        configurator.add((inner, session) -> inner.addReceiveMiddleware((packet, next) -> receivedPackets.incrementAndGet()));
+        configurator.add((inner, session) -> inner.addExceptionHandler(RateLimitException.class, e -> false));
+
+        TestSession first = configurator.create(new DummyChannel());
+        TestSession second = configurator.create(new DummyChannel());
+
+        for (int i = 0; i < 5; ++i) {
+            first.receive("packet");
+            second.receive("packet");
+        }
+
+        assertEquals(6, receivedPackets.get());
+        assertEquals(6, limiter.accepted());
+        assertEquals(4, limiter.dropped());
+    }
+}
@@ -38,6 +38,7 @@ import java.util.Collection;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -171,6 +172,20 @@ class ScriptLoaderTest {
         Mockito.verify(logger).error(Mockito.eq("Failed to reload script /tmp/Simple.groovy. Keep last version."), Mockito.any(GroovyRuntimeException.class));
     }
 
+    @Test
+    void loadHotReloadableNotModifiedShouldNotReload() throws Exception {
+        Files.copy(Paths.get("src/test/scripts/root/hot-reload/Simple.groovy"), Paths.get("/tmp/Simple.groovy"), StandardCopyOption.REPLACE_EXISTING);
+        Thread.sleep(110);
+
+        ScriptInterface script = loader.loadHotReloadable(Paths.get("/tmp/Simple.groovy"), ScriptInterface.class);
+        Object inner = ((HotReloadableScript) script).getInternalInstance();
+
+        assertEquals(42, script.get());
+        assertEquals(42, script.get());
+        assertSame(inner, ((HotReloadableScript) script).getInternalInstance());
+        Mockito.verify(logger, Mockito.never()).debug("The script {} has been modified. Reload it.", Paths.get("/tmp/Simple.groovy"));
+    }
+
     @Test
     void loadDirectoryHotReloadable() throws Exception {
         if (!Files.isDirectory(Paths.get("/tmp/hot-reload"))) {
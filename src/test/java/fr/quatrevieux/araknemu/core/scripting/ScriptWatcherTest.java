@@ -0,0 +1,139 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+package fr.quatrevieux.araknemu.core.scripting;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScriptWatcherTest {
+    private Path directory;
+    private Runnable callback;
+    private Runnable otherCallback;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        directory = Paths.get("/tmp/script-watcher");
+
+        if (!Files.isDirectory(directory)) {
+            Files.createDirectory(directory);
+        }
+    }
+
+    @Test
+    void get() throws Exception {
+        assertSame(ScriptWatcher.get(), ScriptWatcher.get());
+    }
+
+    @Test
+    void watch() throws Exception {
+        Path file = directory.resolve("Watched.groovy");
+        Path other = directory.resolve("Other.groovy");
+        Files.write(file, "foo".getBytes());
+
+        AtomicInteger calls = new AtomicInteger();
+        AtomicInteger otherCalls = new AtomicInteger();
+        ScriptWatcher.get().watch(other, otherCallback = otherCalls::incrementAndGet);
+
+        // Wait for the events of the previous writes before watching the file
+        Files.write(other, "foo".getBytes());
+        waitUntil(() -> otherCalls.get() > 0);
+        ScriptWatcher.get().watch(file, callback = calls::incrementAndGet);
+
+        otherCalls.set(0);
+        Files.write(other, "bar".getBytes());
+        waitUntil(() -> otherCalls.get() > 0);
+        assertEquals(0, calls.get());
+
+        Files.write(file, "bar".getBytes());
+        waitUntil(() -> calls.get() > 0);
+
+        calls.set(0);
+        Files.delete(file);
+        waitUntil(() -> calls.get() > 0);
+    }
+
+    @Test
+    void watchWithRelativePath() throws Exception {
+        Path file = directory.resolve("Relative.groovy");
+        Files.write(file, "foo".getBytes());
+
+        AtomicInteger calls = new AtomicInteger();
+        ScriptWatcher.get().watch(Paths.get("/tmp/script-watcher/../script-watcher/Relative.groovy"), callback = calls::incrementAndGet);
+
+        Files.write(file, "bar".getBytes());
+        waitUntil(() -> calls.get() > 0);
+    }
+
+    @Test
+    void watchDirectoryNotFound() {
+        assertThrows(Exception.class, () -> ScriptWatcher.get().watch(Paths.get("/tmp/not-found/Script.groovy"), () -> {}));
+    }
+
+    @Test
+    void collectedCallbackShouldUnregisterDirectory() throws Exception {
+        Path collectedDirectory = Paths.get("/tmp/script-watcher-collected");
+
+        if (!Files.isDirectory(collectedDirectory)) {
+            Files.createDirectory(collectedDirectory);
+        }
+
+        Path file = collectedDirectory.resolve("Collected.groovy");
+        Files.write(file, "foo".getBytes());
+
+        ScriptWatcher.get().watch(file, new AtomicInteger()::incrementAndGet);
+        assertTrue(ScriptWatcher.get().directories().contains(collectedDirectory));
+
+        final long timeout = System.currentTimeMillis() + 5000;
+
+        while (ScriptWatcher.get().directories().contains(collectedDirectory)) {
+            assertTrue(System.currentTimeMillis() < timeout, "The directory should be unregistered");
+
+            System.gc();
+            // Wake up the watcher thread
+            Files.write(file, "bar".getBytes());
+            Thread.sleep(10);
+        }
+
+        assertFalse(ScriptWatcher.get().directories().contains(collectedDirectory));
+    }
+
+    /**
+     * Wait for the watcher thread, up to 5 seconds
+     */
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        final long timeout = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < timeout, "Timeout while waiting for the watcher");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2022 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.entity.player;
+
+import fr.arakne.utils.value.Colors;
+import fr.arakne.utils.value.constant.Gender;
+import fr.arakne.utils.value.constant.Race;
+import fr.quatrevieux.araknemu.data.constant.Characteristic;
+import fr.quatrevieux.araknemu.data.value.Position;
+import fr.quatrevieux.araknemu.game.chat.ChannelType;
+import fr.quatrevieux.araknemu.game.world.creature.characteristics.DefaultCharacteristics;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerTest {
+    @Test
+    void newPlayerIsDirty() {
+        assertTrue(createPlayer().dirty());
+    }
+
+    @Test
+    void markSavedAndMarkDirty() {
+        Player player = createPlayer();
+
+        player.markSaved();
+        assertFalse(player.dirty());
+
+        player.markDirty();
+        assertTrue(player.dirty());
+    }
+
+    @Test
+    void setterWithSameValueShouldNotMarkDirty() {
+        Player player = createPlayer();
+        player.markSaved();
+
+        player.setLevel(12);
+        player.setPosition(new Position(10300, 123));
+        player.setBoostPoints(5);
+        player.setSpellPoints(3);
+        player.setLife(100);
+        player.setExperience(1000);
+        player.setSavedPosition(new Position(10540, 210));
+        player.setKamas(500);
+        player.setChannels(EnumSet.of(ChannelType.INFO));
+
+        assertFalse(player.dirty());
+    }
+
+    @Test
+    void setterShouldMarkDirty() {
+        Player player = createPlayer();
+
+        player.markSaved();
+        player.setLevel(13);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setPosition(new Position(10300, 124));
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setBoostPoints(10);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setSpellPoints(4);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setLife(50);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setExperience(1500);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setSavedPosition(new Position(10540, 211));
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.setKamas(450);
+        assertTrue(player.dirty());
+    }
+
+    @Test
+    void mutableValuesChangeShouldMarkDirty() {
+        Player player = createPlayer();
+
+        player.markSaved();
+        player.stats().set(Characteristic.STRENGTH, 50);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        assertFalse(player.dirty());
+        player.stats().set(Characteristic.STRENGTH, 0);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.channels().add(ChannelType.TRADE);
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        player.channels().clear();
+        assertTrue(player.dirty());
+
+        player.markSaved();
+        assertFalse(player.dirty());
+    }
+
+    private Player createPlayer() {
+        return new Player(5, 1, 2, "Bob", Race.FECA, Gender.MALE, new Colors(-1, -1, -1), 12, new DefaultCharacteristics(), new Position(10300, 123), EnumSet.of(ChannelType.INFO), 5, 3, 100, 1000, new Position(10540, 210), 500);
+    }
+}
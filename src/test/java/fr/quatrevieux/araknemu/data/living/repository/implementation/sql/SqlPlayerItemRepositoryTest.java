@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -268,4 +269,41 @@ class SqlPlayerItemRepositoryTest extends GameBaseCase {
         assertEquals(5, result.get(2).get(0).entryId());
         assertEquals(6, result.get(2).get(1).entryId());
     }
+
+    @Test
+    void addAll() {
+        assertEquals(2, repository.addAll(Arrays.asList(
+            new PlayerItem(1, 3, 39, new ArrayList<>(), 5, -1),
+            new PlayerItem(1, 4, 40, new ArrayList<>(), 1, 1)
+        )));
+
+        assertEquals(39, repository.get(new PlayerItem(1, 3, 0, null, 0, 0)).itemTemplateId());
+        assertEquals(40, repository.get(new PlayerItem(1, 4, 0, null, 0, 0)).itemTemplateId());
+        assertEquals(0, repository.addAll(Collections.emptyList()));
+    }
+
+    @Test
+    void updateAll() {
+        PlayerItem first = repository.add(new PlayerItem(1, 3, 39, new ArrayList<>(), 5, -1));
+        PlayerItem second = repository.add(new PlayerItem(1, 4, 40, new ArrayList<>(), 1, -1));
+
+        first.setQuantity(2);
+        second.setPosition(1);
+
+        assertEquals(2, repository.updateAll(Arrays.asList(first, second, new PlayerItem(1, 15, 39, new ArrayList<>(), 1, -1))));
+
+        assertEquals(2, repository.get(first).quantity());
+        assertEquals(1, repository.get(second).position());
+    }
+
+    @Test
+    void deleteAll() {
+        PlayerItem first = repository.add(new PlayerItem(1, 3, 39, new ArrayList<>(), 5, -1));
+        PlayerItem second = repository.add(new PlayerItem(1, 4, 40, new ArrayList<>(), 1, -1));
+
+        assertEquals(2, repository.deleteAll(Arrays.asList(first, second, new PlayerItem(1, 15, 39, new ArrayList<>(), 1, -1))));
+
+        assertFalse(repository.has(first));
+        assertFalse(repository.has(second));
+    }
 }
@@ -45,8 +45,10 @@ import org.junit.jupiter.api.Test;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
 import java.util.HashMap;
@@ -315,6 +317,44 @@ class SqlPlayerRepositoryTest extends DatabaseTestCase {
         assertEquals(741, savedPlayer.experience());
         assertEquals(4589, savedPlayer.kamas());
         assertEquals(new Position(4568, 123), savedPlayer.savedPosition());
+        assertFalse(player.dirty());
+        assertFalse(savedPlayer.dirty());
+    }
+
+    @Test
+    void saveAll() {
+        Player p1 = repository.add(Player.forCreation(1, 1, "bob", Race.CRA, Gender.FEMALE, new Colors(-1, -1, -1)));
+        Player p2 = repository.add(Player.forCreation(1, 1, "alice", Race.FECA, Gender.FEMALE, new Colors(-1, -1, -1)));
+
+        p1.setPosition(new Position(1234, 56));
+        p1.stats().set(Characteristic.ACTION_POINT, 12);
+        p2.setKamas(4589);
+        p2.setLife(36);
+
+        assertEquals(2, repository.saveAll(Arrays.asList(p1, p2)));
+        assertFalse(p1.dirty());
+        assertFalse(p2.dirty());
+
+        assertEquals(new Position(1234, 56), repository.get(p1).position());
+        assertEquals(12, repository.get(p1).stats().get(Characteristic.ACTION_POINT));
+        assertEquals(4589, repository.get(p2).kamas());
+        assertEquals(36, repository.get(p2).life());
+    }
+
+    @Test
+    void saveAllEmpty() {
+        assertEquals(0, repository.saveAll(Collections.emptyList()));
+    }
+
+    @Test
+    void saveAllWithMissingPlayer() {
+        Player p1 = repository.add(Player.forCreation(1, 1, "bob", Race.CRA, Gender.FEMALE, new Colors(-1, -1, -1)));
+        Player p2 = Player.forCreation(5, 2, "alice", Race.FECA, Gender.FEMALE, new Colors(-1, -1, -1));
+
+        p1.setKamas(4589);
+
+        assertEquals(1, repository.saveAll(Arrays.asList(p1, p2)));
+        assertEquals(4589, repository.get(p1).kamas());
     }
 
     @Test
@@ -27,7 +27,9 @@ import fr.quatrevieux.araknemu.game.GameBaseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -128,4 +130,33 @@ class SqlPlayerSpellRepositoryTest extends GameBaseCase {
 
         assertCount(2, items);
     }
+
+    @Test
+    void addAll() {
+        repository.add(new PlayerSpell(1, 3, true, 1, 3));
+
+        assertEquals(2, repository.addAll(Arrays.asList(
+            new PlayerSpell(1, 3, true, 5, 4),
+            new PlayerSpell(1, 9, true, 1, 63)
+        )));
+
+        assertEquals(5, repository.get(new PlayerSpell(1, 3, true)).level());
+        assertEquals(4, repository.get(new PlayerSpell(1, 3, true)).position());
+        assertTrue(repository.has(new PlayerSpell(1, 9, true)));
+        assertEquals(0, repository.addAll(Collections.emptyList()));
+    }
+
+    @Test
+    void deleteAll() {
+        repository.add(new PlayerSpell(1, 3, true, 1, 3));
+        repository.add(new PlayerSpell(1, 9, true, 1, 63));
+
+        assertEquals(2, repository.deleteAll(Arrays.asList(
+            new PlayerSpell(1, 3, true),
+            new PlayerSpell(1, 9, true),
+            new PlayerSpell(1, 15, true)
+        )));
+
+        assertCount(0, repository.byPlayer(new Player(1)));
+    }
 }
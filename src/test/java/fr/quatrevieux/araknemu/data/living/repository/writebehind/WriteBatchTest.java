@@ -0,0 +1,193 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.core.dbal.repository.RepositoryException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WriteBatchTest {
+    @Test
+    void executeSuccess() {
+        StubWriter writer = new StubWriter();
+        WriteBatch<String> batch = new WriteBatch<>(writer);
+        List<RuntimeException> errors = new ArrayList<>();
+
+        batch.add("a", Operation.INSERT);
+        batch.add("b", Operation.UPDATE);
+        batch.add("c", Operation.DELETE);
+
+        assertEquals(3, batch.execute(errors::add));
+        assertEquals(Arrays.asList("deleteAll [c]", "insertAll [a]", "updateAll [b]"), writer.calls);
+        assertEquals(0, errors.size());
+    }
+
+    @Test
+    void partialFailureShouldOnlyRetryFailedRows() {
+        StubWriter writer = new StubWriter();
+        WriteBatch<String> batch = new WriteBatch<>(writer);
+        List<RuntimeException> errors = new ArrayList<>();
+
+        writer.invalid = "b";
+        writer.batchError = new int[] {1, Statement.EXECUTE_FAILED, 1, Statement.SUCCESS_NO_INFO};
+
+        batch.add("a", Operation.INSERT);
+        batch.add("b", Operation.INSERT);
+        batch.add("c", Operation.INSERT);
+        batch.add("d", Operation.INSERT);
+
+        assertEquals(3, batch.execute(errors::add));
+        assertEquals(Arrays.asList("insertAll [a, b, c, d]", "insert b"), writer.calls);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void failureStoppedOnFirstErrorShouldRetryNotExecutedRows() {
+        StubWriter writer = new StubWriter();
+        WriteBatch<String> batch = new WriteBatch<>(writer);
+        List<RuntimeException> errors = new ArrayList<>();
+
+        writer.invalid = "b";
+        writer.batchError = new int[] {1};
+
+        batch.add("a", Operation.INSERT);
+        batch.add("b", Operation.INSERT);
+        batch.add("c", Operation.INSERT);
+
+        assertEquals(2, batch.execute(errors::add));
+        assertEquals(Arrays.asList("insertAll [a, b, c]", "insert b", "insert c"), writer.calls);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void failureWithoutUpdateCountsShouldRetryAllRows() {
+        StubWriter writer = new StubWriter();
+        WriteBatch<String> batch = new WriteBatch<>(writer);
+        List<RuntimeException> errors = new ArrayList<>();
+
+        writer.invalid = "b";
+        writer.batchError = null;
+
+        batch.add("a", Operation.DELETE);
+        batch.add("b", Operation.DELETE);
+
+        assertEquals(1, batch.execute(errors::add));
+        assertEquals(Arrays.asList("deleteAll [a, b]", "delete a", "delete b"), writer.calls);
+        assertEquals(1, errors.size());
+    }
+
+    @Test
+    void defaultBulkOperationShouldNotRetryWrittenRows() {
+        List<String> calls = new ArrayList<>();
+        Writer<String> writer = new Writer<String>() {
+            @Override
+            public void insert(String entity) {
+                calls.add("insert " + entity);
+
+                if (entity.equals("b") && calls.size() < 3) {
+                    throw new RepositoryException("invalid");
+                }
+            }
+
+            @Override
+            public void update(String entity) {}
+
+            @Override
+            public void delete(String entity) {}
+        };
+
+        WriteBatch<String> batch = new WriteBatch<>(writer);
+        List<RuntimeException> errors = new ArrayList<>();
+
+        batch.add("a", Operation.INSERT);
+        batch.add("b", Operation.INSERT);
+        batch.add("c", Operation.INSERT);
+
+        // "b" fails in the bulk operation, but succeed on retry
+        assertEquals(3, batch.execute(errors::add));
+        assertEquals(Arrays.asList("insert a", "insert b", "insert b", "insert c"), calls);
+        assertEquals(0, errors.size());
+    }
+
+    private static class StubWriter implements Writer<String> {
+        private final List<String> calls = new ArrayList<>();
+        private String invalid;
+        private int[] batchError;
+
+        @Override
+        public void insert(String entity) {
+            single("insert", entity);
+        }
+
+        @Override
+        public void update(String entity) {
+            single("update", entity);
+        }
+
+        @Override
+        public void delete(String entity) {
+            single("delete", entity);
+        }
+
+        @Override
+        public int insertAll(Collection<String> entities) {
+            return bulk("insertAll", entities);
+        }
+
+        @Override
+        public int updateAll(Collection<String> entities) {
+            return bulk("updateAll", entities);
+        }
+
+        @Override
+        public int deleteAll(Collection<String> entities) {
+            return bulk("deleteAll", entities);
+        }
+
+        private void single(String operation, String entity) {
+            calls.add(operation + " " + entity);
+
+            if (entity.equals(invalid)) {
+                throw new RepositoryException("invalid");
+            }
+        }
+
+        private int bulk(String operation, Collection<String> entities) {
+            calls.add(operation + " " + entities);
+
+            if (invalid != null && entities.contains(invalid)) {
+                throw batchError != null
+                    ? new RepositoryException(new BatchUpdateException(batchError, null))
+                    : new RepositoryException("invalid")
+                ;
+            }
+
+            return entities.size();
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.data.living.repository.writebehind;
+
+import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.entity.player.PlayerItem;
+import fr.quatrevieux.araknemu.data.living.entity.player.PlayerSpell;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerItemRepository;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerRepository;
+import fr.quatrevieux.araknemu.data.living.repository.player.PlayerSpellRepository;
+import fr.quatrevieux.araknemu.data.value.Position;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteBehindQueueTest extends GameBaseCase {
+    private WriteBehindQueue queue;
+    private PlayerItemRepository itemRepository;
+    private PlayerSpellRepository spellRepository;
+    private Logger logger;
+    private Player player;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        dataSet
+            .use(Player.class)
+            .use(PlayerItem.class)
+            .use(PlayerSpell.class)
+        ;
+
+        itemRepository = container.get(PlayerItemRepository.class);
+        spellRepository = container.get(PlayerSpellRepository.class);
+        player = dataSet.pushPlayer(dataSet.createPlayer(5));
+
+        queue = new WriteBehindQueue(
+            container.get(PlayerRepository.class),
+            itemRepository,
+            spellRepository,
+            ExecutorFactory.createSingleThread(),
+            Duration.ofHours(1),
+            logger = Mockito.mock(Logger.class)
+        );
+    }
+
+    @Test
+    void writesShouldBeDelayed() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+
+        queue.items().add(item);
+
+        assertFalse(itemRepository.has(item));
+        assertEquals(1, queue.pending());
+
+        queue.flush(player.id());
+
+        assertTrue(itemRepository.has(item));
+        assertEquals(0, queue.pending());
+        assertEquals(1, queue.written());
+    }
+
+    @Test
+    void writesOnSameRowShouldBeCoalesced() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        itemRepository.add(item);
+
+        for (int i = 0; i < 20; ++i) {
+            item.setQuantity(i + 1);
+            queue.items().update(item);
+        }
+
+        assertEquals(1, queue.pending());
+        assertEquals(19, queue.coalesced());
+
+        queue.flush(player.id());
+
+        assertEquals(20, itemRepository.get(item).quantity());
+        assertEquals(1, queue.written());
+    }
+
+    @Test
+    void insertThenDeleteShouldCancelWrites() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+
+        queue.items().add(item);
+        queue.items().update(item);
+        queue.items().delete(item);
+
+        assertEquals(0, queue.pending());
+
+        queue.flush(player.id());
+
+        assertFalse(itemRepository.has(item));
+        assertEquals(0, queue.written());
+    }
+
+    @Test
+    void deleteThenInsertShouldReplace() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        itemRepository.add(item);
+
+        PlayerItem newItem = new PlayerItem(player.id(), 1, 40, new ArrayList<>(), 3, 1);
+
+        queue.items().delete(item);
+        queue.items().add(newItem);
+        queue.flush(player.id());
+
+        assertEquals(40, itemRepository.get(item).itemTemplateId());
+        assertEquals(3, itemRepository.get(item).quantity());
+        assertEquals(0, queue.errors());
+    }
+
+    @Test
+    void readShouldFlushPendingWrites() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        PlayerSpell spell = new PlayerSpell(player.id(), 3, true);
+
+        queue.items().add(item);
+        queue.spells().add(spell);
+
+        assertEquals(1, queue.items().byPlayer(player).size());
+        assertEquals(1, queue.spells().byPlayer(player).size());
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void savePlayerShouldCommitAllPendingWrites() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        PlayerSpell spell = new PlayerSpell(player.id(), 3, true);
+
+        queue.items().add(item);
+        queue.spells().add(spell);
+
+        player.setPosition(new Position(123, 45));
+        queue.players().save(player);
+
+        assertEquals(0, queue.pending());
+        assertEquals(3, queue.written());
+        assertTrue(itemRepository.has(item));
+        assertTrue(spellRepository.has(spell));
+        assertEquals(new Position(123, 45), dataSet.refresh(new Player(player.id())).position());
+    }
+
+    @Test
+    void getForGameShouldFlushPlayer() {
+        player.setPosition(new Position(123, 45));
+        queue.items().add(new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1));
+
+        Player loaded = queue.players().getForGame(Player.forGame(player.id(), player.accountId(), player.serverId()));
+
+        assertEquals(player.id(), loaded.id());
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void shutdownShouldFlushAndWriteSynchronously() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        PlayerItem other = new PlayerItem(player.id(), 2, 39, new ArrayList<>(), 1, -1);
+
+        queue.items().add(item);
+        queue.shutdown();
+
+        assertTrue(itemRepository.has(item));
+
+        queue.items().add(other);
+
+        assertTrue(itemRepository.has(other));
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void writeErrorShouldBeLogged() {
+        PlayerItem item = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+
+        queue.items().update(item);
+        queue.flush(player.id());
+
+        assertEquals(1, queue.errors());
+        assertEquals(0, queue.written());
+        Mockito.verify(logger).error(Mockito.eq("Cannot persist data of player " + player.id()), Mockito.any(Throwable.class));
+    }
+
+    @Test
+    void flushShouldBatchWrites() {
+        PlayerItem existing = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        PlayerItem removed = new PlayerItem(player.id(), 2, 39, new ArrayList<>(), 1, -1);
+        itemRepository.add(existing);
+        itemRepository.add(removed);
+
+        existing.setQuantity(5);
+        queue.items().update(existing);
+        queue.items().delete(removed);
+        queue.items().addAll(Arrays.asList(
+            new PlayerItem(player.id(), 3, 40, new ArrayList<>(), 1, -1),
+            new PlayerItem(player.id(), 4, 41, new ArrayList<>(), 1, -1)
+        ));
+        queue.spells().addAll(Arrays.asList(new PlayerSpell(player.id(), 3, true), new PlayerSpell(player.id(), 6, true)));
+
+        assertEquals(6, queue.pending());
+
+        queue.flush(player.id());
+
+        assertEquals(6, queue.written());
+        assertEquals(0, queue.errors());
+        assertEquals(5, itemRepository.get(existing).quantity());
+        assertFalse(itemRepository.has(removed));
+        assertEquals(3, itemRepository.byPlayer(player).size());
+        assertEquals(2, spellRepository.byPlayer(player).size());
+    }
+
+    @Test
+    void batchErrorShouldOnlyLoseInvalidRows() {
+        PlayerItem duplicate = new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1);
+        itemRepository.add(duplicate);
+
+        queue.items().add(new PlayerItem(player.id(), 1, 40, new ArrayList<>(), 1, -1));
+        queue.items().add(new PlayerItem(player.id(), 2, 40, new ArrayList<>(), 1, -1));
+        queue.items().add(new PlayerItem(player.id(), 3, 40, new ArrayList<>(), 1, -1));
+        queue.flush(player.id());
+
+        assertEquals(1, queue.errors());
+        assertEquals(3, itemRepository.byPlayer(player).size());
+        assertEquals(39, itemRepository.get(duplicate).itemTemplateId());
+        Mockito.verify(logger).error(Mockito.eq("Cannot persist data of player " + player.id()), Mockito.any(Throwable.class));
+    }
+
+    @Test
+    void repositoriesShouldDelegateRead() {
+        assertEquals(player.id(), queue.players().get(player).id());
+        assertTrue(queue.players().has(player));
+        assertEquals(1, queue.players().findByAccount(player.accountId(), player.serverId()).size());
+    }
+
+    @Test
+    void flushShouldReturnTrueOnlyIfThereArePendingWrites() {
+        assertFalse(queue.flush(player.id()));
+
+        queue.items().add(new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, -1));
+
+        assertTrue(queue.flush(player.id()));
+        assertFalse(queue.flush(player.id()));
+    }
+
+    @Test
+    void findByAccountShouldFlushPendingWritesOfAccountPlayers() {
+        player.setLevel(50);
+        queue.players().save(player);
+        queue.items().add(new PlayerItem(player.id(), 1, 39, new ArrayList<>(), 1, 6));
+
+        assertEquals(50, queue.players().findByAccount(player.accountId(), player.serverId()).iterator().next().level());
+        assertEquals(0, queue.pending());
+        assertEquals(1, queue.items().forCharacterList(player.serverId(), player.accountId(), new int[] {6}).get(player.id()).size());
+    }
+}
@@ -99,12 +99,73 @@ class GameConfigurationTest extends GameBaseCase {
         assertEquals(1, configuration.economy().bankCostPerEntry());
     }
 
+    @Test
+    void network() {
+        assertFalse(configuration.network().coalesceWrites());
+        setConfigValue("network.coalesceWrites", "true");
+        assertTrue(configuration.network().coalesceWrites());
+
+        assertEquals(Duration.ZERO, configuration.network().flushDelay());
+        setConfigValue("network.flushDelay", "0.005s");
+        assertEquals(Duration.ofMillis(5), configuration.network().flushDelay());
+
+        assertTrue(configuration.network().nativeTransport());
+        setConfigValue("network.nativeTransport", "false");
+        assertFalse(configuration.network().nativeTransport());
+
+        assertTrue(configuration.network().packetCosts().isEmpty());
+        setConfigValue("network.packetCosts", "BM:5, GA : 2,invalid");
+        assertEquals(2, configuration.network().packetCosts().size());
+        assertEquals(5, configuration.network().packetCosts().get("BM"));
+        assertEquals(2, configuration.network().packetCosts().get("GA"));
+
+        assertEquals(1, configuration.network().bossThreads());
+        setConfigValue("network.bossThreads", "2");
+        assertEquals(2, configuration.network().bossThreads());
+        setConfigValue("network.bossThreads", "0");
+        assertEquals(1, configuration.network().bossThreads());
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), configuration.network().workerThreads());
+        setConfigValue("network.workerThreads", "3");
+        assertEquals(3, configuration.network().workerThreads());
+
+        assertEquals(1, configuration.network().listeners());
+        setConfigValue("network.listeners", "4");
+        assertEquals(4, configuration.network().listeners());
+
+        assertTrue(configuration.network().tcpNoDelay());
+        setConfigValue("network.tcpNoDelay", "false");
+        assertFalse(configuration.network().tcpNoDelay());
+
+        assertEquals(0, configuration.network().sendBufferSize());
+        setConfigValue("network.sendBufferSize", "65536");
+        assertEquals(65536, configuration.network().sendBufferSize());
+
+        assertEquals(0, configuration.network().receiveBufferSize());
+        setConfigValue("network.receiveBufferSize", "32768");
+        assertEquals(32768, configuration.network().receiveBufferSize());
+
+        assertEquals(0, configuration.network().dispatchThreads());
+        assertFalse(configuration.network().sessionExecutor().pooled());
+        setConfigValue("network.dispatchThreads", "4");
+        assertEquals(4, configuration.network().dispatchThreads());
+        assertTrue(configuration.network().sessionExecutor().pooled());
+
+        assertEquals(100, configuration.network().mailboxSize());
+        setConfigValue("network.mailboxSize", "50");
+        assertEquals(50, configuration.network().mailboxSize());
+    }
+
     @Test
     void fight() {
         assertEquals(4, configuration.fight().threadsCount());
         setConfigValue("fight.threadsCount", "8");
         assertEquals(8, configuration.fight().threadsCount());
 
+        assertEquals(Duration.ofMillis(10), configuration.fight().timerTick());
+        setConfigValue("fight.timerTick", "0.05s");
+        assertEquals(Duration.ofMillis(50), configuration.fight().timerTick());
+
         assertEquals(Duration.ofSeconds(30), configuration.fight().turnDuration());
         setConfigValue("fight.turnDuration", "1m30s");
         assertEquals(Duration.ofSeconds(90), configuration.fight().turnDuration());
@@ -116,21 +177,45 @@ class GameConfigurationTest extends GameBaseCase {
         assertEquals(1.0, configuration.fight().xpRate());
         assertEquals(1.0, configuration.fight().dropRate());
         assertEquals(10, configuration.fight().initialErosion());
+        assertEquals(64, configuration.fight().mapCacheSize());
+        setConfigValue("fight.mapCacheSize", "128");
+        assertEquals(128, configuration.fight().mapCacheSize());
         assertTrue(configuration.fight().scriptsEnabled());
         assertFalse(configuration.fight().scriptsHotReload());
         assertEquals(Paths.get("scripts/ai"), configuration.fight().scriptsPath());
+
+        assertEquals(2, configuration.fight().aiSimulationParallelism());
+        setConfigValue("fight.ai.simulation.parallelism", "4");
+        assertEquals(4, configuration.fight().aiSimulationParallelism());
+
+        assertEquals(Duration.ZERO, configuration.fight().aiSimulationBudget());
+        setConfigValue("fight.ai.simulation.budget", "0.2s");
+        assertEquals(Duration.ofMillis(200), configuration.fight().aiSimulationBudget());
+    }
+
+    @Test
+    void persistenceDelay() {
+        assertEquals(Duration.ZERO, configuration.persistenceDelay());
+        setConfigValue("persistence.delay", "5s");
+        assertEquals(Duration.ofSeconds(5), configuration.persistenceDelay());
     }
 
     @Test
     void autosave() {
         assertTrue(configuration.autosaveEnabled());
         assertEquals(Duration.ofHours(4), configuration.autosaveInterval());
+        assertEquals(100, configuration.autosaveBatchSize());
+        assertEquals(2, configuration.autosaveParallelism());
 
         setConfigValue("autosave.enabled", "no");
         setConfigValue("autosave.interval", "30s");
+        setConfigValue("autosave.batchSize", "50");
+        setConfigValue("autosave.parallelism", "4");
 
         assertFalse(configuration.autosaveEnabled());
         assertEquals(Duration.ofSeconds(30), configuration.autosaveInterval());
+        assertEquals(50, configuration.autosaveBatchSize());
+        assertEquals(4, configuration.autosaveParallelism());
     }
 
     @Test
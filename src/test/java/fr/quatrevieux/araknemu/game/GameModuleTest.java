@@ -26,6 +26,7 @@ import fr.quatrevieux.araknemu.core.di.Container;
 import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.core.di.ItemPoolContainer;
 import fr.quatrevieux.araknemu.core.event.DefaultListenerAggregate;
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
 import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
 import fr.quatrevieux.araknemu.core.network.Server;
 import fr.quatrevieux.araknemu.core.network.netty.NettyServer;
@@ -108,6 +109,7 @@ import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -193,6 +195,11 @@ class GameModuleTest extends FightBaseCase {
             container.get(ListenerAggregate.class),
             container.get(fr.quatrevieux.araknemu.core.event.Dispatcher.class)
         );
+
+        assertSame(container.get(DispatchProfiler.class), container.get(DispatchProfiler.class));
+        container.get(DispatchProfiler.class).enable();
+        container.get(ListenerAggregate.class).dispatch(new Object());
+        assertEquals(1, container.get(DispatchProfiler.class).metrics().get(Object.class).count());
     }
 
     @Test
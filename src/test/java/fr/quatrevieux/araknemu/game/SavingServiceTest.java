@@ -20,9 +20,12 @@
 package fr.quatrevieux.araknemu.game;
 
 import fr.quatrevieux.araknemu.core.event.Dispatcher;
+import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
 import fr.quatrevieux.araknemu.data.living.entity.player.Player;
+import fr.quatrevieux.araknemu.data.living.repository.writebehind.WriteBehindQueue;
 import fr.quatrevieux.araknemu.data.value.Position;
 import fr.quatrevieux.araknemu.game.connector.RealmConnector;
+import fr.quatrevieux.araknemu.game.event.GameSaved;
 import fr.quatrevieux.araknemu.game.player.GamePlayer;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.network.game.out.info.Error;
@@ -33,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -60,6 +64,41 @@ class SavingServiceTest extends GameBaseCase {
         Mockito.verify(connector).updateState(2, GameHost.State.ONLINE, true);
     }
 
+    @Test
+    void executeShouldOnlySaveModifiedPlayers() throws Exception {
+        setConfigValue("autosave.batchSize", "1");
+
+        SavingService service = new SavingService(container.get(PlayerService.class), container.get(GameConfiguration.class), container.get(Dispatcher.class), container.get(WriteBehindQueue.class), Mockito.mock(Logger.class));
+        GamePlayer player = gamePlayer(true);
+        GamePlayer other = makeOtherPlayer(1);
+        makeSimpleGamePlayer(10, server.createSession(), true);
+
+        AtomicReference<GameSaved> saved = new AtomicReference<>();
+        container.get(ListenerAggregate.class).add(GameSaved.class, saved::set);
+
+        // Save changes done on load
+        assertTrue(service.execute());
+
+        player.setPosition(new Position(123, 45));
+        other.setPosition(new Position(456, 78));
+
+        assertTrue(service.execute());
+        assertEquals(2, saved.get().count());
+        assertFalse(saved.get().duration().isNegative());
+
+        assertEquals(new Position(123, 45), dataSet.refresh(new Player(player.id())).position());
+        assertEquals(new Position(456, 78), dataSet.refresh(new Player(other.id())).position());
+
+        assertTrue(service.execute());
+        assertEquals(0, saved.get().count());
+
+        other.setPosition(new Position(456, 79));
+
+        assertTrue(service.execute());
+        assertEquals(1, saved.get().count());
+        assertEquals(new Position(456, 79), dataSet.refresh(new Player(other.id())).position());
+    }
+
     @Test
     void executeShouldReturnFalseOnSaving() throws Exception {
         ExecutorFactory.disableDirectExecution();
@@ -74,7 +113,7 @@ class SavingServiceTest extends GameBaseCase {
     @Test
     void autosave() throws SQLException, InterruptedException {
         setConfigValue("autosave.interval", "0.01s");
-        SavingService service = new SavingService(container.get(PlayerService.class), container.get(GameConfiguration.class), container.get(Dispatcher.class));
+        SavingService service = new SavingService(container.get(PlayerService.class), container.get(GameConfiguration.class), container.get(Dispatcher.class), container.get(WriteBehindQueue.class), Mockito.mock(Logger.class));
         GamePlayer player = gamePlayer(true);
 
         player.setPosition(new Position(123, 45));
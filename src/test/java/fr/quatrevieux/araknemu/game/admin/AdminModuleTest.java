@@ -33,6 +33,7 @@ import fr.quatrevieux.araknemu.game.admin.context.Context;
 import fr.quatrevieux.araknemu.game.admin.context.SelfContextResolver;
 import fr.quatrevieux.araknemu.game.admin.debug.DebugContext;
 import fr.quatrevieux.araknemu.game.admin.debug.DebugContextResolver;
+import fr.quatrevieux.araknemu.game.admin.debug.EventProfiler;
 import fr.quatrevieux.araknemu.game.admin.debug.FightPos;
 import fr.quatrevieux.araknemu.game.admin.debug.LineOfSight;
 import fr.quatrevieux.araknemu.game.admin.exception.CommandNotFoundException;
@@ -214,6 +215,7 @@ class AdminModuleTest extends GameBaseCase {
         assertInstanceOf(DebugContext.class, context);
         assertInstanceOf(FightPos.class, context.command("fightpos"));
         assertInstanceOf(LineOfSight.class, context.command("lineofsight"));
+        assertInstanceOf(EventProfiler.class, context.command("eventprofiler"));
     }
 
     @Test
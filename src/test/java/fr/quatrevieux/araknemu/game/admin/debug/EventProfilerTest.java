@@ -0,0 +1,98 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.admin.debug;
+
+import fr.quatrevieux.araknemu.core.event.DispatchProfiler;
+import fr.quatrevieux.araknemu.game.admin.CommandTestCase;
+import fr.quatrevieux.araknemu.game.admin.exception.AdminException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventProfilerTest extends CommandTestCase {
+    private DispatchProfiler profiler;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        command = new EventProfiler(profiler = new DispatchProfiler());
+    }
+
+    @Test
+    void enableAndDisable() throws AdminException, SQLException {
+        execute("eventprofiler", "enable");
+        assertTrue(profiler.enabled());
+        assertSuccess("Event profiler enabled");
+
+        execute("eventprofiler", "disable");
+        assertFalse(profiler.enabled());
+        assertSuccess("Event profiler disabled");
+    }
+
+    @Test
+    void reset() throws AdminException, SQLException {
+        profiler.record(String.class, 1000);
+
+        execute("eventprofiler", "reset");
+
+        assertEquals(0, profiler.metrics().size());
+        assertSuccess("Event profiler metrics cleared");
+    }
+
+    @Test
+    void display() throws AdminException, SQLException {
+        profiler.enable();
+        profiler.record(String.class, 1000);
+        profiler.record(Integer.class, 1000);
+        profiler.record(Integer.class, 2000);
+
+        execute("eventprofiler");
+
+        assertOutput(
+            "Event profiler : enabled",
+            "Integer : 2 dispatches, " + profiler.metrics().get(Integer.class),
+            "String : 1 dispatches, " + profiler.metrics().get(String.class)
+        );
+    }
+
+    @Test
+    void help() {
+        assertHelp(
+            "eventprofiler - Profile the events dispatch. Without argument, display the most dispatched events.",
+            "========================================",
+            "SYNOPSIS",
+                "\teventprofiler [enable|disable|reset]",
+            "EXAMPLES",
+                "\teventprofiler enable  - Start collecting metrics",
+                "\teventprofiler         - Display the collected metrics",
+                "\teventprofiler disable - Stop collecting metrics",
+                "\teventprofiler reset   - Clear the collected metrics",
+            "PERMISSIONS",
+                "\t[ACCESS, DEBUG]"
+        );
+    }
+}
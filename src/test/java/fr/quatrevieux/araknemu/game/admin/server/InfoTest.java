@@ -20,23 +20,34 @@
 package fr.quatrevieux.araknemu.game.admin.server;
 
 import fr.quatrevieux.araknemu.core.BootException;
+import fr.quatrevieux.araknemu.core.network.netty.FlushPolicy;
+import fr.quatrevieux.araknemu.core.network.netty.SessionExecutor;
 import fr.quatrevieux.araknemu.game.GameService;
 import fr.quatrevieux.araknemu.game.admin.CommandTestCase;
 import fr.quatrevieux.araknemu.game.admin.exception.AdminException;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
+import fr.quatrevieux.araknemu.game.exploration.map.ExplorationMap;
+import fr.quatrevieux.araknemu.game.exploration.map.ExplorationMapService;
 import fr.quatrevieux.araknemu.game.fight.FightService;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
+import fr.quatrevieux.araknemu.game.fight.builder.ChallengeBuilder;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
+import fr.quatrevieux.araknemu.util.TokenBucket;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.sql.SQLException;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 class InfoTest extends CommandTestCase {
     @Override
     @BeforeEach
     public void setUp() throws Exception {
         super.setUp();
 
-        command = new Info(app, container.get(PlayerService.class), container.get(GameService.class), container.get(FightService.class));
+        command = new Info(app, container.get(PlayerService.class), container.get(GameService.class), container.get(FightService.class), container.get(FlushPolicy.class), container.get(SessionExecutor.class), container.get(Simulator.class), container.get(ChannelSubscribers.class), container.get(TokenBucket.class));
     }
 
     @Test
@@ -47,6 +58,44 @@ class InfoTest extends CommandTestCase {
         assertOutputContains("===== Server information =====");
         assertOutputContains("Online : 1 sessions and 1 players");
         assertOutputContains("Fights : 0 fights with 0 fighters");
+        assertOutputContains("Network : 0 packets sent with 0 flushes");
+        assertOutputContains("Packets : 0 handled, 0 pending, 0 read suspensions");
+        assertOutputContains("Rate limit : 0 packets accepted, 0 dropped");
+        assertOutputContains("Chat : 0 packets sent by global channels");
+        assertTrue(performer.logs.stream().anyMatch(entry -> entry.message.matches("Database game : 0 active, \\d+ idle, 0 waiting \\(max 4\\), 0 timeouts, acquire p50=.*")));
+    }
+
+    @Test
+    void executeWithFight() throws Exception {
+        app.boot();
+        dataSet.pushMaps().pushSubAreas().pushAreas();
+
+        GamePlayer player = gamePlayer(true);
+        GamePlayer other = makeOtherPlayer();
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10340);
+
+        container.get(FightService.class).handler(ChallengeBuilder.class).start(builder -> builder
+            .fighter(player)
+            .fighter(other)
+            .map(map)
+        );
+
+        container.get(FightService.class).fights().forEach(fight -> fight.execute(() -> {}));
+
+        execute("info");
+
+        assertOutputContains("Fights : 1 fights with 2 fighters");
+        assertTrue(performer.logs.stream().anyMatch(entry -> entry.message.matches("Slowest fight : #\\d+ with tasks latency p50=.*")));
+    }
+
+    @Test
+    void executeWithAiMetrics() throws Exception {
+        app.boot();
+        container.get(Simulator.class).executor().record("Attack", 2_000_000);
+
+        execute("info");
+
+        assertOutputContains("AI Attack : 1 actions, p50=2.00ms, p99=2.00ms, max=2.00ms");
     }
 
     @Test
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.chat;
+
+import fr.quatrevieux.araknemu.core.event.DefaultListenerAggregate;
+import fr.quatrevieux.araknemu.core.event.ListenerAggregate;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.handler.event.Disconnected;
+import fr.quatrevieux.araknemu.game.listener.player.chat.RegisterChannelSubscriptions;
+import fr.quatrevieux.araknemu.game.listener.player.chat.UnregisterChannelSubscriber;
+import fr.quatrevieux.araknemu.game.listener.player.chat.UnregisterChannelSubscriptions;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
+import fr.quatrevieux.araknemu.game.player.event.PlayerLoaded;
+import fr.quatrevieux.araknemu.network.game.out.chat.MessageSent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelSubscribersTest extends GameBaseCase {
+    private ChannelSubscribers subscribers;
+    private ListenerAggregate dispatcher;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        subscribers = new ChannelSubscribers();
+        dispatcher = new DefaultListenerAggregate();
+        dispatcher.register(subscribers);
+    }
+
+    @Test
+    void emptyChannels() {
+        for (ChannelType type : ChannelType.values()) {
+            assertEquals(0, subscribers.get(type).length);
+        }
+
+        assertEquals(0, subscribers.sent());
+    }
+
+    @Test
+    void playerLoadedShouldSubscribeCurrentChannels() throws Exception {
+        GamePlayer player = gamePlayer();
+        player.subscriptions().clear();
+        player.subscriptions().addAll(Arrays.asList(ChannelType.TRADE, ChannelType.RECRUITMENT));
+
+        dispatcher.dispatch(new PlayerLoaded(player));
+
+        assertArrayEquals(new GamePlayer[] {player}, subscribers.get(ChannelType.TRADE));
+        assertArrayEquals(new GamePlayer[] {player}, subscribers.get(ChannelType.RECRUITMENT));
+        assertEquals(0, subscribers.get(ChannelType.ADMIN).length);
+
+        assertTrue(player.dispatcher().has(RegisterChannelSubscriptions.class));
+        assertTrue(player.dispatcher().has(UnregisterChannelSubscriptions.class));
+        assertTrue(player.dispatcher().has(UnregisterChannelSubscriber.class));
+    }
+
+    @Test
+    void subscriptionChanges() throws Exception {
+        GamePlayer player = gamePlayer();
+        GamePlayer other = makeOtherPlayer();
+        player.subscriptions().clear();
+        other.subscriptions().clear();
+
+        dispatcher.dispatch(new PlayerLoaded(player));
+        dispatcher.dispatch(new PlayerLoaded(other));
+
+        player.subscriptions().add(ChannelType.TRADE);
+        other.subscriptions().add(ChannelType.TRADE);
+        assertArrayEquals(new GamePlayer[] {player, other}, subscribers.get(ChannelType.TRADE));
+
+        player.subscriptions().addAll(Arrays.asList(ChannelType.TRADE, ChannelType.ADMIN));
+        assertArrayEquals(new GamePlayer[] {player, other}, subscribers.get(ChannelType.TRADE));
+        assertArrayEquals(new GamePlayer[] {player}, subscribers.get(ChannelType.ADMIN));
+
+        player.subscriptions().remove(ChannelType.TRADE);
+        assertArrayEquals(new GamePlayer[] {other}, subscribers.get(ChannelType.TRADE));
+        assertArrayEquals(new GamePlayer[] {player}, subscribers.get(ChannelType.ADMIN));
+
+        player.subscriptions().clear();
+        assertEquals(0, subscribers.get(ChannelType.ADMIN).length);
+    }
+
+    @Test
+    void disconnectedShouldUnsubscribeAllChannels() throws Exception {
+        GamePlayer player = gamePlayer();
+        GamePlayer other = makeOtherPlayer();
+
+        dispatcher.dispatch(new PlayerLoaded(player));
+        dispatcher.dispatch(new PlayerLoaded(other));
+
+        player.dispatch(new Disconnected());
+
+        for (ChannelType type : player.subscriptions()) {
+            assertArrayEquals(new GamePlayer[] {other}, subscribers.get(type));
+        }
+    }
+
+    @Test
+    void send() throws Exception {
+        GamePlayer player = gamePlayer();
+        player.subscriptions().clear();
+        player.subscriptions().add(ChannelType.TRADE);
+        dispatcher.dispatch(new PlayerLoaded(player));
+
+        subscribers.send(ChannelType.TRADE, player, p -> true, new MessageSent(player, ChannelType.TRADE, "Hello", ""));
+
+        requestStack.assertLast(new MessageSent(player, ChannelType.TRADE, "Hello", ""));
+        requestStack.assertCount(1);
+        assertEquals(1, subscribers.sent());
+    }
+
+    @Test
+    void sendShouldAlwaysSendToTheSenderIfNotSubscribed() throws Exception {
+        GamePlayer player = gamePlayer();
+        player.subscriptions().clear();
+        dispatcher.dispatch(new PlayerLoaded(player));
+        requestStack.clear();
+
+        subscribers.send(ChannelType.TRADE, player, p -> true, new MessageSent(player, ChannelType.TRADE, "Hello", ""));
+
+        requestStack.assertLast(new MessageSent(player, ChannelType.TRADE, "Hello", ""));
+        assertEquals(1, subscribers.sent());
+    }
+
+    @Test
+    void sendShouldApplyFilter() throws Exception {
+        GamePlayer player = gamePlayer();
+        dispatcher.dispatch(new PlayerLoaded(player));
+        requestStack.clear();
+
+        subscribers.send(ChannelType.TRADE, player, p -> false, new MessageSent(player, ChannelType.TRADE, "Hello", ""));
+
+        requestStack.assertEmpty();
+        assertEquals(0, subscribers.sent());
+    }
+}
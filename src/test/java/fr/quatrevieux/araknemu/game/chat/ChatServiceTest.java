@@ -31,7 +31,6 @@ import fr.quatrevieux.araknemu.game.listener.player.chat.AddChatChannels;
 import fr.quatrevieux.araknemu.game.listener.player.chat.InitializeChat;
 import fr.quatrevieux.araknemu.game.listener.player.chat.MessageReceived;
 import fr.quatrevieux.araknemu.game.listener.player.chat.PrivateMessageReceived;
-import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.game.player.event.PlayerLoaded;
 import fr.quatrevieux.araknemu.network.game.in.chat.Message;
 import fr.quatrevieux.araknemu.network.game.out.chat.MessageSent;
@@ -56,7 +55,7 @@ class ChatServiceTest extends GameBaseCase {
             container.get(GameConfiguration.class).chat(),
             new Channel[] {
                 new MapChannel(),
-                new GlobalChannel(ChannelType.TRADE, container.get(PlayerService.class))
+                new GlobalChannel(ChannelType.TRADE, container.get(ChannelSubscribers.class))
             }
         );
     }
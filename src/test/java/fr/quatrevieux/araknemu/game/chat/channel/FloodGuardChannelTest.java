@@ -23,6 +23,7 @@ import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.game.GameBaseCase;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.chat.ChatException;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
 import fr.quatrevieux.araknemu.network.game.in.chat.Message;
 import fr.quatrevieux.araknemu.network.game.out.info.Information;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +32,7 @@ import org.mockito.Mockito;
 
 import java.sql.SQLException;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class FloodGuardChannelTest extends GameBaseCase {
@@ -93,4 +95,58 @@ class FloodGuardChannelTest extends GameBaseCase {
             || lastPacket.equals(Information.chatFlood(28).toString())
         );
     }
+
+    @Test
+    void sendFailedShouldNotStartFloodTimer() throws Exception {
+        Message message = new Message(
+            ChannelType.TRADE,
+            null,
+            "Hello",
+            ""
+        );
+
+        Mockito.doThrow(new ChatException(ChatException.Error.DEFAULT)).doNothing().when(inner).send(gamePlayer(), message);
+
+        assertThrows(ChatException.class, () -> channel.send(gamePlayer(), message));
+        channel.send(gamePlayer(), message);
+
+        Mockito.verify(inner, Mockito.times(2)).send(gamePlayer(), message);
+    }
+
+    @Test
+    void sendWithOtherPlayerShouldNotBeBlocked() throws Exception {
+        Message message = new Message(
+            ChannelType.TRADE,
+            null,
+            "Hello",
+            ""
+        );
+
+        GamePlayer other = makeOtherPlayer();
+
+        channel.send(gamePlayer(), message);
+        channel.send(other, message);
+
+        Mockito.verify(inner).send(gamePlayer(), message);
+        Mockito.verify(inner).send(other, message);
+    }
+
+    @Test
+    void sendWithFloodGuardDisabled() throws Exception {
+        setConfigValue("chat.flood.time", "-1");
+
+        channel = new FloodGuardChannel(inner, configuration.chat());
+
+        Message message = new Message(
+            ChannelType.TRADE,
+            null,
+            "Hello",
+            ""
+        );
+
+        channel.send(gamePlayer(), message);
+        channel.send(gamePlayer(), message);
+
+        Mockito.verify(inner, Mockito.times(2)).send(gamePlayer(), message);
+    }
 }
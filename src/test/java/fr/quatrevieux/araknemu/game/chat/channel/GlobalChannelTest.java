@@ -27,19 +27,21 @@ import fr.quatrevieux.araknemu.data.living.entity.player.PlayerSpell;
 import fr.quatrevieux.araknemu.game.GameBaseCase;
 import fr.quatrevieux.araknemu.game.account.AccountService;
 import fr.quatrevieux.araknemu.game.account.GameAccount;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
 import fr.quatrevieux.araknemu.game.chat.ChannelType;
 import fr.quatrevieux.araknemu.game.chat.ChatException;
 import fr.quatrevieux.araknemu.game.chat.ChatService;
-import fr.quatrevieux.araknemu.game.chat.event.BroadcastedMessage;
 import fr.quatrevieux.araknemu.game.player.GamePlayer;
 import fr.quatrevieux.araknemu.game.player.PlayerService;
 import fr.quatrevieux.araknemu.network.game.GameSession;
 import fr.quatrevieux.araknemu.network.game.in.chat.Message;
+import fr.quatrevieux.araknemu.network.game.out.chat.MessageSent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -51,7 +53,8 @@ import static org.junit.jupiter.api.Assertions.fail;
  */
 class GlobalChannelTest extends GameBaseCase {
     private PlayerService service;
-    private Set<GamePlayer> receivers;
+    private ChannelSubscribers subscribers;
+    private DummyChannel[] channels;
 
     private GamePlayer gp1, gp2, gp3, gp4, gp5;
 
@@ -67,44 +70,39 @@ class GlobalChannelTest extends GameBaseCase {
             .use(PlayerItem.class)
         ;
 
-        receivers = new HashSet<>();
-
         service = container.get(PlayerService.class);
+        subscribers = container.get(ChannelSubscribers.class);
+        channels = new DummyChannel[5];
 
-        GameSession session1 = (GameSession) container.get(SessionFactory.class).create(new DummyChannel());
+        GameSession session1 = (GameSession) container.get(SessionFactory.class).create(channels[0] = new DummyChannel());
         session1.attach(new GameAccount(new Account(1), container.get(AccountService.class), 2));
         gp1 = service.load(session1, session1.account(), dataSet.pushPlayer("Bob", 1, 2).id());
-        gp1.dispatcher().add(BroadcastedMessage.class, e -> receivers.add(gp1));
         session1.setPlayer(gp1);
 
-        GameSession session2 = (GameSession) container.get(SessionFactory.class).create(new DummyChannel());
+        GameSession session2 = (GameSession) container.get(SessionFactory.class).create(channels[1] = new DummyChannel());
         session2.attach(new GameAccount(new Account(2), container.get(AccountService.class), 2));
         gp2 = service.load(session2, session2.account(), dataSet.pushPlayer("Robert", 2, 2).id());
-        gp2.dispatcher().add(BroadcastedMessage.class, e -> receivers.add(gp2));
         session2.setPlayer(gp2);
 
-        GameSession session3 = (GameSession) container.get(SessionFactory.class).create(new DummyChannel());
+        GameSession session3 = (GameSession) container.get(SessionFactory.class).create(channels[2] = new DummyChannel());
         session3.attach(new GameAccount(new Account(3), container.get(AccountService.class), 2));
         gp3 = service.load(session3, session3.account(), dataSet.pushPlayer("Jean", 3, 2).id());
-        gp3.dispatcher().add(BroadcastedMessage.class, e -> receivers.add(gp3));
         session3.setPlayer(gp3);
 
-        GameSession session4 = (GameSession) container.get(SessionFactory.class).create(new DummyChannel());
+        GameSession session4 = (GameSession) container.get(SessionFactory.class).create(channels[3] = new DummyChannel());
         session4.attach(new GameAccount(new Account(4), container.get(AccountService.class), 2));
         gp4 = service.load(session4, session4.account(), dataSet.pushPlayer("Kevin", 4, 2).id());
-        gp4.dispatcher().add(BroadcastedMessage.class, e -> receivers.add(gp4));
         session4.setPlayer(gp4);
 
-        GameSession session5 = (GameSession) container.get(SessionFactory.class).create(new DummyChannel());
+        GameSession session5 = (GameSession) container.get(SessionFactory.class).create(channels[4] = new DummyChannel());
         session5.attach(new GameAccount(new Account(5), container.get(AccountService.class), 2));
         gp5 = service.load(session5, session5.account(), dataSet.pushPlayer("Louis", 5, 2).id());
-        gp5.dispatcher().add(BroadcastedMessage.class, e -> receivers.add(gp5));
         session5.setPlayer(gp5);
     }
 
     @Test
     void sendToAll() throws ChatException {
-        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, service);
+        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, subscribers);
 
         channel.send(
             gp1,
@@ -116,6 +114,8 @@ class GlobalChannelTest extends GameBaseCase {
             )
         );
 
+        Set<GamePlayer> receivers = receivers(new MessageSent(gp1, ChannelType.TRADE, "My message", ""));
+
         assertCount(5, receivers);
         assertContains(gp1, receivers);
         assertContains(gp2, receivers);
@@ -126,16 +126,16 @@ class GlobalChannelTest extends GameBaseCase {
 
     @Test
     void authorized() {
-        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> false, service);
+        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> false, subscribers);
         assertFalse(channel.authorized(gp1));
 
-        channel = new GlobalChannel(ChannelType.TRADE, player -> true, service);
+        channel = new GlobalChannel(ChannelType.TRADE, player -> true, subscribers);
         assertTrue(channel.authorized(gp1));
     }
 
     @Test
     void notAuthorized() {
-        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> false, service);
+        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> false, subscribers);
         ChatService service = new ChatService(configuration.chat(), new Channel[] {channel});
 
         try {
@@ -157,7 +157,7 @@ class GlobalChannelTest extends GameBaseCase {
 
     @Test
     void filter() throws ChatException {
-        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> player.name().contains("o"), service);
+        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, player -> player.name().contains("o"), subscribers);
 
         channel.send(
             gp1,
@@ -169,10 +169,48 @@ class GlobalChannelTest extends GameBaseCase {
             )
         );
 
+        Set<GamePlayer> receivers = receivers(new MessageSent(gp1, ChannelType.TRADE, "My message", ""));
+
         assertCount(3, receivers);
 
         assertContains(gp1, receivers);
         assertContains(gp2, receivers);
         assertContains(gp5, receivers);
     }
+
+    @Test
+    void sendShouldIgnoreNotSubscribedPlayers() throws ChatException {
+        GlobalChannel channel = new GlobalChannel(ChannelType.TRADE, subscribers);
+
+        gp2.subscriptions().remove(ChannelType.TRADE);
+        gp3.subscriptions().remove(ChannelType.TRADE);
+
+        channel.send(
+            gp1,
+            new Message(
+                ChannelType.TRADE,
+                null,
+                "My message",
+                ""
+            )
+        );
+
+        Set<GamePlayer> receivers = receivers(new MessageSent(gp1, ChannelType.TRADE, "My message", ""));
+
+        assertCount(3, receivers);
+
+        assertContains(gp1, receivers);
+        assertContains(gp4, receivers);
+        assertContains(gp5, receivers);
+    }
+
+    private Set<GamePlayer> receivers(Object packet) {
+        GamePlayer[] players = new GamePlayer[] {gp1, gp2, gp3, gp4, gp5};
+
+        return IntStream.range(0, players.length)
+            .filter(i -> channels[i].getMessages().stream().anyMatch(message -> message.toString().equals(packet.toString())))
+            .mapToObj(i -> players[i])
+            .collect(Collectors.toSet())
+        ;
+    }
 }
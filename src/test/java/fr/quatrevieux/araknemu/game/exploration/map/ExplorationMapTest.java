@@ -19,6 +19,7 @@
 
 package fr.quatrevieux.araknemu.game.exploration.map;
 
+import fr.arakne.utils.maps.constant.Direction;
 import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.core.event.Listener;
 import fr.quatrevieux.araknemu.data.value.Geolocation;
@@ -38,6 +39,7 @@ import fr.quatrevieux.araknemu.game.exploration.map.event.NewSpriteOnMap;
 import fr.quatrevieux.araknemu.game.exploration.map.event.SpriteRemoveFromMap;
 import fr.quatrevieux.araknemu.game.exploration.npc.GameNpc;
 import fr.quatrevieux.araknemu.game.exploration.npc.NpcService;
+import fr.quatrevieux.araknemu.network.game.out.game.AddSprites;
 import fr.quatrevieux.araknemu.network.game.out.game.RemoveSprite;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,11 +49,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
@@ -95,6 +99,108 @@ class ExplorationMapTest extends GameBaseCase {
         assertEquals(explorationPlayer().sprite().toString(), map.sprites().toArray()[0].toString());
     }
 
+    @Test
+    void spritesPacket() throws Exception {
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10300);
+
+        assertEquals("GM", map.spritesPacket());
+
+        ExplorationPlayer player = explorationPlayer();
+        assertSame(map, player.map());
+
+        String packet = map.spritesPacket();
+
+        assertEquals(new AddSprites(map.sprites()).toString(), packet);
+        assertSame(packet, map.spritesPacket());
+
+        player.changeCell(150);
+        assertEquals(new AddSprites(map.sprites()).toString(), map.spritesPacket());
+        assertTrue(map.spritesPacket().startsWith("GM|+150;"));
+
+        player.setOrientation(Direction.WEST);
+        assertEquals(new AddSprites(map.sprites()).toString(), map.spritesPacket());
+
+        ExplorationPlayer other = makeOtherExplorationPlayer();
+        other.changeMap(map, 200);
+        assertEquals(2, map.spritesPacket().split("\\|\\+").length - 1);
+        assertEquals(new AddSprites(map.sprites()).toString(), map.spritesPacket());
+
+        other.leave();
+        assertEquals(new AddSprites(map.sprites()).toString(), map.spritesPacket());
+    }
+
+    @Test
+    void creaturesOn() throws Exception {
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10300);
+        ExplorationPlayer player = explorationPlayer();
+
+        assertIterableEquals(Collections.singletonList(player), map.creaturesOn(279));
+        assertFalse(map.get(279).free());
+        assertTrue(map.creaturesOn(150).isEmpty());
+
+        player.changeCell(150);
+        assertTrue(map.creaturesOn(279).isEmpty());
+        assertTrue(map.get(279).free());
+        assertIterableEquals(Collections.singletonList(player), map.creaturesOn(150));
+
+        player.move(map.get(200), Direction.WEST);
+        assertTrue(map.creaturesOn(150).isEmpty());
+        assertIterableEquals(Collections.singletonList(player), map.creaturesOn(200));
+
+        ExplorationPlayer other = makeOtherExplorationPlayer();
+        other.changeMap(map, 200);
+        assertIterableEquals(Arrays.asList(player, other), map.creaturesOn(200));
+
+        player.leave();
+        assertIterableEquals(Collections.singletonList(other), map.creaturesOn(200));
+
+        map.updatePosition(player);
+        assertIterableEquals(Collections.singletonList(other), map.creaturesOn(200));
+    }
+
+    @Test
+    void creaturesOnWithCreatureAddedWithoutCell() throws Exception {
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10300);
+        ExplorationCreature creature = Mockito.mock(ExplorationCreature.class);
+        Mockito.when(creature.id()).thenReturn(-5);
+        Mockito.when(creature.cell()).thenThrow(new IllegalStateException());
+
+        map.add(creature);
+        assertTrue(map.creaturesOn(150).isEmpty());
+
+        Mockito.reset(creature);
+        Mockito.when(creature.id()).thenReturn(-5);
+        Mockito.when(creature.cell()).thenReturn(map.get(150));
+
+        map.updatePosition(creature);
+        assertIterableEquals(Collections.singletonList(creature), map.creaturesOn(150));
+
+        map.remove(creature);
+        assertTrue(map.creaturesOn(150).isEmpty());
+
+        map.updatePosition(creature);
+        assertTrue(map.creaturesOn(150).isEmpty());
+    }
+
+    @Test
+    void refreshSprite() throws Exception {
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10300);
+        ExplorationPlayer player = explorationPlayer();
+
+        String packet = map.spritesPacket();
+
+        player.player().restrictions().set(fr.quatrevieux.araknemu.game.player.Restrictions.Restriction.DENY_CHALLENGE);
+        player.restrictions().refresh();
+
+        assertNotEquals(packet, map.spritesPacket());
+        assertEquals(new AddSprites(map.sprites()).toString(), map.spritesPacket());
+
+        packet = map.spritesPacket();
+        map.refreshSprite(player);
+        assertNotSame(packet, map.spritesPacket());
+        assertEquals(packet, map.spritesPacket());
+    }
+
     @Test
     void addPlayerWillDispatchEvent() throws Exception {
         AtomicReference<NewSpriteOnMap> ref = new AtomicReference<>();
@@ -224,6 +330,28 @@ class ExplorationMapTest extends GameBaseCase {
         requestStack.assertLast("my packet");
     }
 
+    @Test
+    void sendShouldIgnoreCreaturesWithoutSessionAndRemovedPlayers() throws Exception {
+        ExplorationMap map = container.get(ExplorationMapService.class).load(10300);
+        ExplorationPlayer player = explorationPlayer();
+
+        ExplorationCreature creature = Mockito.mock(ExplorationCreature.class);
+        Mockito.when(creature.id()).thenReturn(-5);
+        Mockito.when(creature.cell()).thenReturn(map.get(150));
+        map.add(creature);
+
+        map.send("my packet");
+        requestStack.assertLast("my packet");
+        Mockito.verify(creature, Mockito.times(1)).apply(Mockito.any());
+
+        player.leave();
+        requestStack.clear();
+        map.send("other packet");
+
+        requestStack.assertEmpty();
+        Mockito.verify(creature, Mockito.times(1)).apply(Mockito.any());
+    }
+
     @Test
     void removeWillSendPacket() throws Exception {
         explorationPlayer();
@@ -37,6 +37,7 @@ import fr.quatrevieux.araknemu.game.fight.builder.ChallengeBuilderFactory;
 import fr.quatrevieux.araknemu.game.fight.event.FightCreated;
 import fr.quatrevieux.araknemu.game.fight.fighter.FighterFactory;
 import fr.quatrevieux.araknemu.game.fight.fighter.player.PlayerFighter;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometryCache;
 import fr.quatrevieux.araknemu.game.fight.module.FightModule;
 import fr.quatrevieux.araknemu.game.fight.module.RaulebaqueModule;
 import fr.quatrevieux.araknemu.game.fight.state.StatesFlow;
@@ -82,6 +83,7 @@ class FightServiceTest extends FightBaseCase {
                 RaulebaqueModule::new
             ),
             container.get(FightService.FightFactory.class),
+            container.get(MapGeometryCache.class),
             container.get(GameConfiguration.class).fight()
         );
     }
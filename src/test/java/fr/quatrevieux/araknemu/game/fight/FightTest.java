@@ -68,6 +68,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
@@ -76,6 +78,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -251,6 +254,83 @@ class FightTest extends GameBaseCase {
         Mockito.verify(logger).error("Error on fight executor : my error", raisedException);
     }
 
+    @Test
+    void executeFromTaskShouldBeQueued() {
+        List<Integer> calls = new ArrayList<>();
+
+        fight.execute(() -> {
+            calls.add(1);
+            fight.execute(() -> calls.add(3));
+            calls.add(2);
+        });
+
+        assertEquals(Arrays.asList(1, 2, 3), calls);
+        assertEquals(2, fight.taskLatency().count());
+    }
+
+    @RepeatedIfExceptionsTest
+    void tasksShouldNotRunInParallel() throws InterruptedException {
+        AtomicBoolean first = new AtomicBoolean(false);
+        AtomicReference<Boolean> secondSeeFirst = new AtomicReference<>();
+
+        fight.schedule(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+
+            first.set(true);
+        }, Duration.ZERO);
+
+        Thread.sleep(10);
+
+        // The fight is running on the executor thread, so the task is pushed to the mailbox
+        fight.execute(() -> secondSeeFirst.set(first.get()));
+        assertNull(secondSeeFirst.get());
+
+        Thread.sleep(100);
+        assertTrue(secondSeeFirst.get());
+        assertEquals(2, fight.taskLatency().count());
+    }
+
+    @RepeatedIfExceptionsTest
+    void cancelScheduledTaskWaitingInMailbox() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean(false);
+
+        fight.schedule(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }, Duration.ZERO);
+
+        ScheduledFuture<?> future = fight.schedule(() -> executed.set(true), Duration.ZERO);
+
+        // The timer is expired : the task is waiting into the mailbox
+        Thread.sleep(20);
+        assertFalse(executed.get());
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+
+        Thread.sleep(100);
+        assertFalse(executed.get());
+    }
+
+    @Test
+    void cancelScheduledTaskBeforeExpiration() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean(false);
+
+        ScheduledFuture<?> future = fight.schedule(() -> executed.set(true), Duration.ofMillis(50));
+
+        assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 0);
+        assertTrue(future.cancel(false));
+
+        Thread.sleep(100);
+        assertFalse(executed.get());
+    }
+
     @Test
     void executeOnDeadFightShouldBeIgnored() {
         fight.cancel();
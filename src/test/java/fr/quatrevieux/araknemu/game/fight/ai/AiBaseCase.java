@@ -93,6 +93,7 @@ public class AiBaseCase extends FightBaseCase {
         }
 
         ai = new FighterAI(fighter, fight, new DummyGenerator());
+        fighter.attach(ai);
         ai.start(turn = fight.turnList().current().get());
 
         if (action == null && actionFactory != null) {
@@ -114,6 +115,7 @@ public class AiBaseCase extends FightBaseCase {
         }
 
         ai = new FighterAI(fighter, fight, new DummyGenerator());
+        fighter.attach(ai);
         ai.start(turn = fight.turnList().current().get());
 
         if (action == null && actionFactory != null) {
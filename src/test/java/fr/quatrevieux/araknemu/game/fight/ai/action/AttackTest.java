@@ -61,6 +61,19 @@ class AttackTest extends AiBaseCase {
         assertEquals(125, ai.get(CastSpell.LAST_CAST).target().id());
     }
 
+    @Test
+    void shouldRecordGenerationTime() {
+        configureFight(fb -> fb
+            .addSelf(builder -> builder.cell(122))
+            .addEnemy(builder -> builder.player(other).cell(125))
+        );
+
+        generateAction();
+        generateAction();
+
+        assertEquals(2, container.get(Simulator.class).executor().metrics().get("Attack").count());
+    }
+
     @Test
     void shouldSkipIfAllEnemiesAreInvisible() {
         configureFight(fb -> fb
@@ -133,7 +133,9 @@ class MoveToAttackTest extends AiBaseCase {
 
         generateAndPerformMove();
 
-        assertEquals(165, fighter.cell().id());
+        // 136 has the best score. The pathfinder used to go through 165 (180 -> 165 -> 151 -> 136),
+        // so the move was stopped on 165 by the enemy on 150. The path 180 -> 166 -> 151 -> 136 is now used.
+        assertEquals(136, fighter.cell().id());
     }
 
     @Test
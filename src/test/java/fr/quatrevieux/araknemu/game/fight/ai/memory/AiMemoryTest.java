@@ -103,6 +103,23 @@ class AiMemoryTest {
         assertEquals(44, memory.get(key));
     }
 
+    @Test
+    void hasShouldNotCreateDefaultValue() {
+        AiMemory memory = new AiMemory();
+        MemoryKey<Integer> key = new MemoryKey<Integer>() {
+            @Override
+            public Integer defaultValue() {
+                return 42;
+            }
+        };
+
+        assertFalse(memory.has(key));
+        assertFalse(memory.has(key));
+
+        memory.set(key, 22);
+        assertTrue(memory.has(key));
+    }
+
     @Test
     void refreshKeepValue() {
         AiMemory memory = new AiMemory();
@@ -21,6 +21,9 @@ package fr.quatrevieux.araknemu.game.fight.ai.memory;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class TurnMemoryKeyTest {
@@ -42,4 +45,19 @@ class TurnMemoryKeyTest {
 
         assertNull(memory.get(key));
     }
+
+    @Test
+    void getWithDefaultValue() {
+        AiMemory memory = new AiMemory();
+        TurnMemoryKey<List<Integer>> key = new TurnMemoryKey<>(ArrayList::new);
+
+        List<Integer> value = memory.get(key);
+
+        assertEquals(new ArrayList<>(), value);
+        assertSame(value, memory.get(key));
+
+        memory.refresh();
+
+        assertNotSame(value, memory.get(key));
+    }
 }
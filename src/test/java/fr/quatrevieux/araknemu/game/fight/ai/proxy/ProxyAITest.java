@@ -81,8 +81,10 @@ class ProxyAITest extends AiBaseCase {
 
         MemoryKey<Integer> key = new TurnMemoryKey<>();
         assertNull(proxy.get(key));
+        assertFalse(proxy.has(key));
         ai.set(key, 42);
         assertEquals(42, proxy.get(key));
+        assertTrue(proxy.has(key));
     }
 
     @Test
@@ -76,7 +76,8 @@ class ProxyActiveFighterTest extends AiBaseCase {
         assertSame(inner.team(), fighter.team());
         assertSame(inner.sprite(), fighter.sprite());
         assertSame(inner.orientation(), fighter.orientation());
-        assertSame(player.fighter(), fighter.invoker());
+        assertTrue(fighter.invoked());
+        assertTrue(fighter.playable());
         assertTrue(fighter.invoked());
 
         assertEquals(inner.id(), fighter.id());
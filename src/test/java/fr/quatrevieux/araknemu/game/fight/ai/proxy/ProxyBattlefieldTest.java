@@ -19,13 +19,19 @@
 
 package fr.quatrevieux.araknemu.game.fight.ai.proxy;
 
+import fr.arakne.utils.value.Dimensions;
 import fr.quatrevieux.araknemu.game.fight.ai.AiBaseCase;
 import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
 import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import fr.quatrevieux.araknemu.game.fight.map.util.LineOfSightTable;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -107,6 +113,68 @@ class ProxyBattlefieldTest extends AiBaseCase {
         assertTrue(modified.get(123).sightBlocking());
     }
 
+    @Test
+    void modifyChainedShouldNotChangeParent() {
+        configureFight(fb -> fb
+            .addSelf(builder -> builder.cell(152))
+            .addEnemy(builder -> builder.cell(167))
+            .addAlly(builder -> builder.cell(166))
+        );
+
+        FighterData other = Mockito.mock(FighterData.class);
+        ProxyBattlefield first = new ProxyBattlefield(ai.map()).modify(modifier -> modifier.free(152).setFighter(153, other));
+        ProxyBattlefield second = first.modify(modifier -> {
+            modifier.free(153).setFighter(152, other);
+
+            for (int cellId = 200; cellId < 210; ++cellId) {
+                modifier.setFighter(cellId, other);
+            }
+        });
+        ProxyBattlefield third = second.modify(modifier -> modifier.free(205));
+
+        assertNull(first.get(152).fighter());
+        assertSame(other, first.get(153).fighter());
+        assertNull(first.get(200).fighter());
+
+        assertSame(other, second.get(152).fighter());
+        assertNull(second.get(153).fighter());
+        assertSame(other, second.get(200).fighter());
+        assertSame(other, second.get(205).fighter());
+        assertSame(other, second.get(209).fighter());
+        assertSame(ai.map().get(167).fighter(), second.get(167).fighter());
+
+        assertSame(other, third.get(152).fighter());
+        assertNull(third.get(153).fighter());
+        assertSame(other, third.get(204).fighter());
+        assertNull(third.get(205).fighter());
+        assertTrue(third.get(205).walkable());
+        assertSame(other, third.get(206).fighter());
+
+        assertSame(second.get(123), second.get(123));
+        assertNotSame(second.get(123), third.get(123));
+        assertSame(third, third.get(123).map());
+    }
+
+    @Test
+    void modifierGetShouldReturnTheModifiedCell() {
+        configureFight(fb -> fb
+            .addSelf(builder -> builder.cell(152))
+            .addEnemy(builder -> builder.cell(167))
+        );
+
+        FighterData other = Mockito.mock(FighterData.class);
+        BattlefieldCell[] cell = new BattlefieldCell[1];
+
+        ProxyBattlefield battlefield = new ProxyBattlefield(ai.map()).modify(modifier -> {
+            cell[0] = modifier.get(123);
+            modifier.setFighter(123, other);
+        });
+
+        assertSame(cell[0], battlefield.get(123));
+        assertSame(other, cell[0].fighter());
+        assertSame(battlefield, cell[0].map());
+    }
+
     @Test
     void cellSightBlocking() {
         configureFight(fb -> fb
@@ -189,4 +257,90 @@ class ProxyBattlefieldTest extends AiBaseCase {
             assertSame(cell.coordinate(), cell.coordinate());
         }
     }
+
+    @Test
+    void walkableIgnoreFighterCellsShouldOnlyCreateWalkableCells() {
+        configureFight(fb -> fb
+            .addSelf(builder -> builder.cell(152))
+            .addEnemy(builder -> builder.cell(167))
+            .addAlly(builder -> builder.cell(166))
+        );
+
+        CountingMap parent = new CountingMap(ai.map());
+        ProxyBattlefield battlefield = new ProxyBattlefield(parent).modify(modifier -> modifier.free(152));
+        long walkable = StreamSupport.stream(ai.map().spliterator(), false).filter(BattlefieldCell::walkableIgnoreFighter).count();
+
+        parent.loadedCells = 0;
+        List<BattlefieldCell> cells = battlefield.walkableIgnoreFighterCells().collect(Collectors.toList());
+
+        assertEquals(walkable, cells.size());
+        assertTrue(walkable < ai.map().size());
+        assertEquals(walkable - 1, parent.loadedCells); // 152 is already loaded by the modifier
+
+        for (BattlefieldCell cell : cells) {
+            assertTrue(cell.walkableIgnoreFighter());
+            assertSame(battlefield, cell.map());
+            assertSame(battlefield.get(cell.id()), cell);
+        }
+
+        assertNull(battlefield.get(152).fighter());
+
+        // Cells are kept
+        parent.loadedCells = 0;
+        battlefield.walkableIgnoreFighterCells().forEach(cell -> {});
+        assertEquals(0, parent.loadedCells);
+    }
+
+    @Test
+    void walkableIgnoreFighterCellsNotModified() {
+        configureFight(fb -> fb
+            .addSelf(builder -> builder.cell(152))
+            .addEnemy(builder -> builder.cell(167))
+        );
+
+        ProxyBattlefield battlefield = new ProxyBattlefield(ai.map());
+
+        assertIterableEquals(
+            ai.map().walkableIgnoreFighterCells().collect(Collectors.toList()),
+            battlefield.walkableIgnoreFighterCells().collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Count the cells loaded from the original map
+     */
+    private static class CountingMap implements BattlefieldMap {
+        private final BattlefieldMap map;
+        private int loadedCells = 0;
+
+        private CountingMap(BattlefieldMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public BattlefieldCell get(int id) {
+            ++loadedCells;
+            return map.get(id);
+        }
+
+        @Override
+        public Dimensions dimensions() {
+            return map.dimensions();
+        }
+
+        @Override
+        public LineOfSightTable lineOfSight() {
+            return map.lineOfSight();
+        }
+
+        @Override
+        public Iterator<BattlefieldCell> iterator() {
+            return map.iterator();
+        }
+    }
 }
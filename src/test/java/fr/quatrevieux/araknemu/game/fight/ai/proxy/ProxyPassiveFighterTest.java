@@ -55,6 +55,7 @@ class ProxyPassiveFighterTest extends AiBaseCase {
         assertSame(ai.enemy().get().orientation(), fighter.orientation());
         assertNull(fighter.invoker());
         assertFalse(fighter.invoked());
+        assertTrue(fighter.playable());
 
         assertEquals(ai.enemy().get().id(), fighter.id());
         assertEquals(ai.enemy().get().dead(), fighter.dead());
@@ -38,6 +38,7 @@ import java.sql.SQLException;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class CastSimulationTest extends FightBaseCase {
     private CastSimulation simulation;
@@ -397,6 +398,43 @@ class CastSimulationTest extends FightBaseCase {
         assertEquals(13, simulation.enemiesBoost());
     }
 
+    @Test
+    void copy() throws SQLException {
+        PlayerFighter mainEnemy = new PlayerFighter(makeSimpleGamePlayer(11));
+        mainEnemy.setTeam(ennemy.team());
+        mainEnemy.joinFight(fight, fight.map().get(127));
+        mainEnemy.init();
+
+        simulation.setMainEnemy(mainEnemy);
+        simulation.addDamage(new Interval(15, 15), ennemy);
+        simulation.addDamage(new Interval(10, 10), mainEnemy);
+        simulation.addBoost(-5, mainEnemy);
+        simulation.addHeal(new Interval(5, 5), allie);
+        simulation.addBoost(10, fighter);
+        simulation.addInvocation(5);
+        simulation.alterActionPoints(-1);
+
+        CastSimulation copy = simulation.copy(allie, fight.map().get(150));
+
+        assertSame(spell, copy.spell());
+        assertSame(allie, copy.caster());
+        assertSame(fight.map().get(150), copy.target());
+
+        assertEquals(simulation.enemiesLife(), copy.enemiesLife());
+        assertEquals(simulation.mainEnemyLife(), copy.mainEnemyLife());
+        assertEquals(simulation.mainEnemyBoost(), copy.mainEnemyBoost());
+        assertEquals(simulation.alliesLife(), copy.alliesLife());
+        assertEquals(simulation.selfBoost(), copy.selfBoost());
+        assertEquals(simulation.invocation(), copy.invocation());
+        assertEquals(simulation.killedEnemies(), copy.killedEnemies());
+        assertEquals(simulation.actionPointsCost(), copy.actionPointsCost());
+
+        copy.addDamage(new Interval(10, 10), ennemy);
+
+        assertEquals(-25, simulation.enemiesLife());
+        assertEquals(-35, copy.enemiesLife());
+    }
+
     @Test
     void mergeWithMainEnemy() throws SQLException {
         PlayerFighter mainEnemy = new PlayerFighter(makeSimpleGamePlayer(11));
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.simulation;
+
+import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.turn.action.util.BaseCriticalityStrategy;
+import fr.quatrevieux.araknemu.game.spell.Spell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SimulationCacheTest {
+    private SimulationCache cache;
+    private Simulator simulator;
+    private Spell spell;
+    private FighterData caster;
+    private BattlefieldCell casterCell;
+    private BattlefieldCell targetCell;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SimulationCache();
+        simulator = new Simulator(new BaseCriticalityStrategy());
+
+        spell = Mockito.mock(Spell.class);
+        Mockito.when(spell.id()).thenReturn(3);
+        Mockito.when(spell.level()).thenReturn(5);
+
+        casterCell = cell(123);
+        targetCell = cell(125);
+
+        caster = Mockito.mock(FighterData.class);
+        Mockito.when(caster.cell()).thenReturn(casterCell);
+    }
+
+    @Test
+    void getNotComputed() {
+        assertNull(cache.get(simulator, spell, caster, targetCell));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void putAndGet() {
+        CastSimulation simulation = new CastSimulation(spell, caster, targetCell);
+        simulation.addInvocation(10);
+
+        cache.put(simulator, simulation);
+        assertEquals(1, cache.size());
+
+        FighterData otherCaster = Mockito.mock(FighterData.class);
+        BattlefieldCell otherCasterCell = cell(123);
+        BattlefieldCell otherTargetCell = cell(125);
+        Mockito.when(otherCaster.cell()).thenReturn(otherCasterCell);
+
+        CastSimulation cached = cache.get(simulator, spell, otherCaster, otherTargetCell);
+
+        assertNotNull(cached);
+        assertNotSame(simulation, cached);
+        assertSame(spell, cached.spell());
+        assertSame(otherCaster, cached.caster());
+        assertSame(otherTargetCell, cached.target());
+        assertEquals(10, cached.invocation());
+    }
+
+    @Test
+    void putShouldStoreACopy() {
+        CastSimulation simulation = new CastSimulation(spell, caster, targetCell);
+
+        cache.put(simulator, simulation);
+        simulation.addInvocation(10);
+
+        assertEquals(0, cache.get(simulator, spell, caster, targetCell).invocation());
+    }
+
+    @Test
+    void getWithDifferentParameters() {
+        cache.put(simulator, new CastSimulation(spell, caster, targetCell));
+
+        Spell otherLevel = Mockito.mock(Spell.class);
+        Mockito.when(otherLevel.id()).thenReturn(3);
+        Mockito.when(otherLevel.level()).thenReturn(4);
+
+        Spell otherSpell = Mockito.mock(Spell.class);
+        Mockito.when(otherSpell.id()).thenReturn(4);
+        Mockito.when(otherSpell.level()).thenReturn(5);
+
+        FighterData movedCaster = Mockito.mock(FighterData.class);
+        BattlefieldCell movedCasterCell = cell(124);
+        Mockito.when(movedCaster.cell()).thenReturn(movedCasterCell);
+
+        assertNull(cache.get(simulator, otherLevel, caster, targetCell));
+        assertNull(cache.get(simulator, otherSpell, caster, targetCell));
+        assertNull(cache.get(simulator, spell, movedCaster, targetCell));
+        assertNull(cache.get(simulator, spell, caster, cell(126)));
+        assertNull(cache.get(new Simulator(new BaseCriticalityStrategy()), spell, caster, targetCell));
+        assertNotNull(cache.get(simulator, spell, caster, targetCell));
+    }
+
+    @Test
+    void invalidate() {
+        cache.put(simulator, new CastSimulation(spell, caster, targetCell));
+        cache.invalidate();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(simulator, spell, caster, targetCell));
+    }
+
+    private BattlefieldCell cell(int id) {
+        BattlefieldCell cell = Mockito.mock(BattlefieldCell.class);
+        Mockito.when(cell.id()).thenReturn(id);
+
+        return cell;
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.simulation;
+
+import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.spell.Spell;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimulationExecutorTest {
+    private CastSimulation[] results;
+
+    @BeforeEach
+    void setUp() {
+        Spell spell = Mockito.mock(Spell.class);
+        FighterData caster = Mockito.mock(FighterData.class);
+
+        results = IntStream.range(0, 500)
+            .mapToObj(i -> new CastSimulation(spell, caster, Mockito.mock(BattlefieldCell.class)))
+            .toArray(CastSimulation[]::new)
+        ;
+    }
+
+    @Test
+    void executeSequential() {
+        SimulationExecutor executor = new SimulationExecutor();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<CastSimulation> simulations = executor.execute(50, i -> {
+            threads.add(Thread.currentThread());
+            return results[i];
+        }, executor.deadline());
+
+        assertEquals(50, simulations.size());
+
+        for (int i = 0; i < 50; ++i) {
+            assertSame(results[i], simulations.get(i));
+        }
+
+        assertEquals(1, threads.size());
+        assertTrue(threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    void executeParallelShouldKeepOrder() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SimulationExecutor executor = new SimulationExecutor(pool, Duration.ZERO);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<CastSimulation> simulations = executor.execute(500, i -> {
+            threads.add(Thread.currentThread());
+            return results[i];
+        }, executor.deadline());
+
+        assertEquals(500, simulations.size());
+
+        for (int i = 0; i < 500; ++i) {
+            assertSame(results[i], simulations.get(i));
+        }
+
+        assertFalse(threads.contains(Thread.currentThread()));
+
+        pool.shutdown();
+    }
+
+    @Test
+    void executeBelowThresholdShouldRunOnCurrentThread() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SimulationExecutor executor = new SimulationExecutor(pool, Duration.ZERO);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        assertEquals(SimulationExecutor.PARALLEL_THRESHOLD - 1, executor.execute(SimulationExecutor.PARALLEL_THRESHOLD - 1, i -> {
+            threads.add(Thread.currentThread());
+            return results[i];
+        }, executor.deadline()).size());
+
+        assertEquals(1, threads.size());
+        assertTrue(threads.contains(Thread.currentThread()));
+
+        pool.shutdown();
+    }
+
+    @Test
+    void executeShouldStopWhenDeadlineIsReached() {
+        SimulationExecutor executor = new SimulationExecutor(null, Duration.ofMillis(50));
+
+        List<CastSimulation> simulations = executor.execute(100, i -> {
+            sleep(10);
+            return results[i];
+        }, executor.deadline());
+
+        assertTrue(simulations.size() > 0);
+        assertTrue(simulations.size() < 100);
+
+        for (int i = 0; i < simulations.size(); ++i) {
+            assertSame(results[i], simulations.get(i));
+        }
+    }
+
+    @Test
+    void executeParallelShouldStopWhenDeadlineIsReached() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        SimulationExecutor executor = new SimulationExecutor(pool, Duration.ofMillis(50));
+
+        List<CastSimulation> simulations = executor.execute(200, i -> {
+            sleep(10);
+            return results[i];
+        }, executor.deadline());
+
+        assertTrue(simulations.size() > 0);
+        assertTrue(simulations.size() < 200);
+
+        pool.shutdown();
+    }
+
+    @Test
+    void executeIndexed() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        SimulationExecutor executor = new SimulationExecutor(pool, Duration.ofMillis(50));
+
+        CastSimulation[] simulations = executor.executeIndexed(200, i -> {
+            sleep(10);
+            return results[i];
+        }, executor.deadline());
+
+        assertEquals(200, simulations.length);
+        assertSame(results[0], simulations[0]);
+        assertNull(simulations[199]);
+
+        for (int i = 0; i < simulations.length; ++i) {
+            assertTrue(simulations[i] == null || simulations[i] == results[i]);
+        }
+
+        pool.shutdown();
+    }
+
+    @Test
+    void deadline() throws InterruptedException {
+        assertSame(SimulationExecutor.Deadline.NONE, new SimulationExecutor().deadline());
+        assertSame(SimulationExecutor.Deadline.NONE, new SimulationExecutor(null, Duration.ZERO).deadline());
+        assertFalse(SimulationExecutor.Deadline.NONE.reached());
+
+        SimulationExecutor.Deadline deadline = new SimulationExecutor(null, Duration.ofMillis(20)).deadline();
+
+        assertFalse(deadline.reached());
+        Thread.sleep(30);
+        assertTrue(deadline.reached());
+    }
+
+    @Test
+    void create() {
+        SimulationExecutor executor = SimulationExecutor.create(1, Duration.ZERO);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        executor.execute(100, i -> {
+            threads.add(Thread.currentThread());
+            return results[i];
+        }, executor.deadline());
+
+        assertEquals(1, threads.size());
+        assertTrue(threads.contains(Thread.currentThread()));
+
+        executor = SimulationExecutor.create(2, Duration.ZERO);
+        threads.clear();
+
+        executor.execute(100, i -> {
+            threads.add(Thread.currentThread());
+            return results[i];
+        }, executor.deadline());
+
+        assertTrue(threads.stream().allMatch(thread -> thread.getName().startsWith("AI simulation ")));
+    }
+
+    @Test
+    void metrics() {
+        SimulationExecutor executor = new SimulationExecutor();
+
+        assertTrue(executor.metrics().isEmpty());
+
+        executor.record("Attack", 1_000_000);
+        executor.record("Attack", 3_000_000);
+        executor.record("Boost", 2_000_000);
+
+        assertEquals(2, executor.metrics().get("Attack").count());
+        assertEquals(Duration.ofMillis(3), executor.metrics().get("Attack").max());
+        assertEquals(1, executor.metrics().get("Boost").count());
+        assertEquals("Attack,Boost", executor.metrics().keySet().stream().collect(Collectors.joining(",")));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
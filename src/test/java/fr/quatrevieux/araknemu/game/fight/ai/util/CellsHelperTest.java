@@ -22,13 +22,19 @@ package fr.quatrevieux.araknemu.game.fight.ai.util;
 import fr.arakne.utils.maps.MapCell;
 import fr.arakne.utils.maps.constant.Direction;
 import fr.quatrevieux.araknemu.game.fight.ai.AiBaseCase;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
+import fr.quatrevieux.araknemu.game.fight.fighter.invocation.StaticInvocationFighter;
+import fr.quatrevieux.araknemu.game.monster.MonsterService;
 import org.junit.jupiter.api.Test;
 
+import java.sql.SQLException;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class CellsHelperTest extends AiBaseCase {
@@ -71,6 +77,85 @@ class CellsHelperTest extends AiBaseCase {
         assertFalse(helper.adjacentPath().isPresent());
     }
 
+    @Test
+    void reachable() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(110))
+        );
+
+        ReachableCells cells = helper().reachable();
+
+        assertEquals(3, ai.turn().points().movementPoints());
+        assertTrue(cells.reachable(ai.map().get(138)));
+        assertEquals(1, cells.distance(ai.map().get(138)));
+        assertEquals(3, cells.distance(ai.map().get(168)));
+        assertFalse(cells.reachable(ai.map().get(110)));
+
+        // 95 is adjacent to the enemy : the move stops on it
+        assertEquals(2, cells.distance(ai.map().get(95)));
+        assertFalse(cells.reachable(ai.map().get(81)));
+    }
+
+    @Test
+    void reachableShouldIgnoreHiddenEnemy() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(110))
+        );
+
+        getEnemy(0).setHidden(getEnemy(0), true);
+
+        ReachableCells cells = helper().reachable();
+
+        assertEquals(2, cells.distance(ai.map().get(95)));
+        assertEquals(3, cells.distance(ai.map().get(81)));
+    }
+
+    @Test
+    void reachableShouldIgnoreStaticInvocation() throws SQLException {
+        dataSet.pushMonsterTemplateInvocations();
+
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(298))
+        );
+
+        StaticInvocationFighter invoc = new StaticInvocationFighter(
+            -50,
+            container.get(MonsterService.class).load(282).get(5),
+            getEnemy(0).team(),
+            getEnemy(0)
+        );
+        fight.fighters().join(invoc, fight.map().get(110));
+        invoc.init();
+
+        ReachableCells cells = helper().reachable();
+
+        assertFalse(cells.reachable(ai.map().get(110)));
+        assertEquals(3, cells.distance(ai.map().get(81)));
+    }
+
+    @Test
+    void reachableShouldBeSharedUntilInvalidated() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(110))
+        );
+
+        ReachableCells cells = helper().reachable();
+
+        assertSame(cells, helper().reachable());
+
+        ai.get(SimulationCache.KEY).invalidate();
+        assertNotSame(cells, helper().reachable());
+
+        cells = helper().reachable();
+        turn.points().useMovementPoints(1);
+        assertNotSame(cells, helper().reachable());
+        assertEquals(2, helper().reachable().distance(ai.map().get(95)));
+    }
+
     private CellsHelper helper() {
         if (fight == null) {
             configureFight(fb -> fb
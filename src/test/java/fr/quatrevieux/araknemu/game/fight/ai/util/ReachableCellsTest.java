@@ -0,0 +1,137 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.ai.util;
+
+import fr.arakne.utils.maps.MapCell;
+import fr.arakne.utils.maps.path.Decoder;
+import fr.arakne.utils.maps.path.Path;
+import fr.quatrevieux.araknemu.game.fight.ai.AiBaseCase;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReachableCellsTest extends AiBaseCase {
+    @Test
+    void withoutStopZone() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(122))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        ReachableCells cells = new ReachableCells(new Decoder<>(ai.map()), ai.map(), fighter.cell(), 2, null);
+
+        assertArrayEquals(
+            new int[] {92, 93, 94, 107, 108, 121, 123, 136, 137, 150, 151, 152},
+            cells.cells().stream().mapToInt(MapCell::id).toArray()
+        );
+
+        assertTrue(cells.reachable(fighter.cell()));
+        assertEquals(0, cells.distance(fighter.cell()));
+        assertTrue(cells.reachable(ai.map().get(137)));
+        assertEquals(1, cells.distance(ai.map().get(137)));
+        assertEquals(2, cells.distance(ai.map().get(152)));
+        assertFalse(cells.reachable(ai.map().get(167)));
+        assertEquals(-1, cells.distance(ai.map().get(167)));
+    }
+
+    @Test
+    void shouldNotPassThroughUnwalkableCells() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(122))
+            .addEnemy(b -> b.cell(137))
+        );
+
+        ReachableCells cells = new ReachableCells(new Decoder<>(ai.map()), ai.map(), fighter.cell(), 4, null);
+
+        assertFalse(cells.reachable(ai.map().get(137)));
+        assertEquals(4, cells.distance(ai.map().get(152)));
+        assertTrue(cells.pathTo(ai.map().get(152)).get().stream().noneMatch(step -> step.cell().id() == 137));
+    }
+
+    @Test
+    void withStopZone() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(122))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        boolean[] stopZone = new boolean[ai.map().size()];
+        stopZone[137] = true;
+        stopZone[108] = true;
+
+        ReachableCells cells = new ReachableCells(new Decoder<>(ai.map()), ai.map(), fighter.cell(), 2, stopZone);
+
+        assertEquals(1, cells.distance(ai.map().get(137)));
+        assertEquals(1, cells.distance(ai.map().get(108)));
+        assertFalse(cells.reachable(ai.map().get(152)));
+        assertFalse(cells.reachable(ai.map().get(94)));
+        assertEquals(2, cells.distance(ai.map().get(93)));
+        assertEquals(2, cells.distance(ai.map().get(151)));
+    }
+
+    @Test
+    void startCellInStopZoneShouldBeIgnored() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(122))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        boolean[] stopZone = new boolean[ai.map().size()];
+        stopZone[122] = true;
+
+        ReachableCells cells = new ReachableCells(new Decoder<>(ai.map()), ai.map(), fighter.cell(), 2, stopZone);
+
+        assertEquals(12, cells.cells().size());
+    }
+
+    @Test
+    void pathTo() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(122))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        ReachableCells cells = new ReachableCells(new Decoder<>(ai.map()), ai.map(), fighter.cell(), 3, null);
+        Path<BattlefieldCell> path = cells.pathTo(ai.map().get(152)).get();
+
+        assertEquals(3, path.size());
+        assertSame(fighter.cell(), path.first().cell());
+        assertSame(ai.map().get(152), path.last().cell());
+        assertEquals(
+            ai.helper().cells().pathfinder().findPath(fighter.cell(), ai.map().get(152)).size(),
+            path.size()
+        );
+
+        for (int i = 1; i < path.size(); ++i) {
+            assertEquals(
+                path.get(i).cell(),
+                new Decoder<>(ai.map()).nextCellByDirection(path.get(i - 1).cell(), path.get(i).direction()).get()
+            );
+        }
+
+        assertEquals(1, cells.pathTo(fighter.cell()).get().size());
+        assertFalse(cells.pathTo(ai.map().get(167 + 15)).isPresent());
+    }
+}
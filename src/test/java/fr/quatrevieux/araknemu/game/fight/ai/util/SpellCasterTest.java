@@ -23,14 +23,25 @@ import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.ai.AiBaseCase;
 import fr.quatrevieux.araknemu.game.fight.ai.FighterAI;
 import fr.quatrevieux.araknemu.game.fight.ai.action.DummyGenerator;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.CastSimulation;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationExecutor;
 import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.fight.castable.spell.SpellConstraintsValidator;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
 import fr.quatrevieux.araknemu.game.fight.fighter.player.PlayerFighter;
 import fr.quatrevieux.araknemu.game.spell.Spell;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SpellCasterTest extends AiBaseCase {
@@ -75,6 +86,93 @@ class SpellCasterTest extends AiBaseCase {
         assertFalse(caster.simulate(container.get(Simulator.class)).anyMatch(simulation -> simulation.spell().id() == 3));
     }
 
+    @Test
+    void simulateShouldKeepOrderOfSpellsAndTargets() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(125))
+            .addEnemy(b -> b.cell(152))
+        );
+
+        Simulator simulator = container.get(Simulator.class);
+        caster = new SpellCaster(ai, ai.helper(), new SpellConstraintsValidator(fight));
+
+        List<CastSimulation> expected = ai.helper().spells().available()
+            .flatMap(spell -> ai.helper().cells().stream()
+                .filter(target -> caster.validate(spell, target))
+                .map(target -> simulator.simulate(spell, ai, ai.fighter(), target))
+            )
+            .collect(Collectors.toList())
+        ;
+
+        List<CastSimulation> simulations = caster.simulate(simulator).collect(Collectors.toList());
+
+        assertTrue(simulations.size() > SimulationExecutor.PARALLEL_THRESHOLD);
+        assertEquals(expected.size(), simulations.size());
+
+        for (int i = 0; i < expected.size(); ++i) {
+            assertSame(expected.get(i).spell(), simulations.get(i).spell());
+            assertSame(expected.get(i).target(), simulations.get(i).target());
+            assertEquals(expected.get(i).enemiesLife(), simulations.get(i).enemiesLife());
+        }
+    }
+
+    @Test
+    void simulateWithReachedDeadline() throws InterruptedException {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        caster = new SpellCaster(ai, ai.helper(), new SpellConstraintsValidator(fight));
+
+        SimulationExecutor.Deadline deadline = new SimulationExecutor(null, Duration.ofMillis(1)).deadline();
+        Thread.sleep(5);
+
+        assertEquals(0, caster.simulate(container.get(Simulator.class), deadline).count());
+    }
+
+    @Test
+    void simulateShouldReuseCachedSimulationsUntilFightChanges() {
+        configureFight(fb -> fb
+            .addSelf(b -> b.cell(123))
+            .addEnemy(b -> b.cell(125))
+        );
+
+        Simulator simulator = container.get(Simulator.class);
+        caster = new SpellCaster(ai, ai.helper(), new SpellConstraintsValidator(fight));
+
+        List<CastSimulation> first = caster.simulate(simulator).collect(Collectors.toList());
+        SimulationCache cache = ai.get(SimulationCache.KEY);
+
+        assertEquals(first.size(), cache.size());
+
+        List<CastSimulation> second = caster.simulate(simulator).collect(Collectors.toList());
+
+        assertEquals(first.size(), second.size());
+
+        for (int i = 0; i < first.size(); ++i) {
+            assertNotSame(first.get(i), second.get(i));
+            assertSame(first.get(i).spell(), second.get(i).spell());
+            assertSame(first.get(i).target(), second.get(i).target());
+            assertEquals(first.get(i).enemiesLife(), second.get(i).enemiesLife());
+        }
+
+        // Fight state changed : simulations must be computed again
+        Fighter enemy = turn.fight().map().get(125).fighter();
+        enemy.life().damage(enemy, 10);
+
+        assertEquals(0, cache.size());
+
+        CastSimulation simulation = caster.simulate(simulator)
+            .filter(s -> s.spell().id() == 3 && s.target().id() == 125)
+            .findFirst()
+            .get()
+        ;
+
+        assertEquals(simulator.simulate(simulation.spell(), ai, ai.fighter(), simulation.target()).enemiesLife(), simulation.enemiesLife());
+    }
+
     @Test
     void validate() {
         Spell spell = fighter.spells().get(3);
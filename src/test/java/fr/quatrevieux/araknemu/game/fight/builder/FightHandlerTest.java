@@ -31,6 +31,7 @@ import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.FightHandler;
 import fr.quatrevieux.araknemu.game.fight.FightService;
 import fr.quatrevieux.araknemu.game.fight.fighter.FighterFactory;
+import fr.quatrevieux.araknemu.game.fight.map.util.MapGeometryCache;
 import fr.quatrevieux.araknemu.game.fight.module.FightModule;
 import fr.quatrevieux.araknemu.game.fight.state.PlacementState;
 import fr.quatrevieux.araknemu.game.fight.turn.order.AlternateTeamFighterOrder;
@@ -178,6 +179,7 @@ class FightHandlerTest extends GameBaseCase {
                     (fight) -> module
                 ),
                 container.get(FightService.FightFactory.class),
+                container.get(MapGeometryCache.class),
                 container.get(GameConfiguration.class).fight()
             ),
             new ChallengeBuilder(service, container.get(FighterFactory.class), new RandomUtil(), new ChallengeType(configuration.fight()))
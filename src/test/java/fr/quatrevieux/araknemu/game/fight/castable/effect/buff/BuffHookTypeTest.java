@@ -0,0 +1,95 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.castable.effect.buff;
+
+import fr.quatrevieux.araknemu.game.fight.castable.effect.EffectValue;
+import fr.quatrevieux.araknemu.game.fight.castable.effect.handler.damage.Damage;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
+import fr.quatrevieux.araknemu.game.fight.turn.Turn;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BuffHookTypeTest {
+    @Test
+    void maskWithoutOverride() {
+        assertEquals(0, BuffHookType.mask(new BuffHook() {}));
+    }
+
+    @Test
+    void maskWithSimpleHook() {
+        int mask = BuffHookType.mask(new BuffHook() {
+            @Override
+            public void onEndTurn(Buff buff, Turn turn) {}
+        });
+
+        assertEquals(BuffHookType.END_TURN.bit(), mask);
+        assertTrue(BuffHookType.END_TURN.in(mask));
+        assertFalse(BuffHookType.START_TURN.in(mask));
+    }
+
+    @Test
+    void maskWithForwardedHook() {
+        int mask = BuffHookType.mask(new BuffHook() {
+            @Override
+            public void onDamage(Buff buff, Damage value) {}
+        });
+
+        assertEquals(
+            BuffHookType.DIRECT_DAMAGE.bit() | BuffHookType.INDIRECT_DAMAGE.bit() | BuffHookType.BUFF_DAMAGE.bit(),
+            mask
+        );
+
+        mask = BuffHookType.mask(new BuffHook() {
+            @Override
+            public void onLifeAltered(Buff buff, int value) {}
+        });
+
+        assertEquals(BuffHookType.HEAL_APPLIED.bit() | BuffHookType.DAMAGE_APPLIED.bit(), mask);
+    }
+
+    @Test
+    void maskWithMockShouldHandleAllHooks() {
+        int mask = BuffHookType.mask(Mockito.mock(BuffHook.class));
+
+        for (BuffHookType type : BuffHookType.all()) {
+            assertTrue(type.in(mask));
+        }
+    }
+
+    @Test
+    void maskWithSubclass() {
+        class Parent implements BuffHook {
+            @Override
+            public void onCastDamage(Buff buff, Damage damage, Fighter target) {}
+        }
+
+        class Child extends Parent {
+            @Override
+            public void onEffectValueCast(Buff buff, EffectValue value) {}
+        }
+
+        assertEquals(BuffHookType.CAST_DAMAGE.bit() | BuffHookType.EFFECT_VALUE_CAST.bit(), BuffHookType.mask(new Child()));
+        assertEquals(BuffHookType.CAST_DAMAGE.bit(), BuffHookType.mask(new Parent()));
+    }
+}
@@ -32,13 +32,16 @@ import fr.quatrevieux.araknemu.game.fight.turn.Turn;
 import fr.quatrevieux.araknemu.game.spell.Spell;
 import fr.quatrevieux.araknemu.game.spell.effect.SpellEffect;
 import fr.quatrevieux.araknemu.network.game.out.fight.AddBuff;
+import org.checkerframework.checker.index.qual.NonNegative;
 import org.checkerframework.checker.index.qual.Positive;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -656,4 +659,78 @@ class BuffListTest extends FightBaseCase {
 
         assertFalse(list.removeByCaster(other.fighter()));
     }
+
+    @Test
+    void hooksShouldOnlyBeCalledOnBuffsWhichOverrideIt() {
+        List<String> calls = new ArrayList<>();
+
+        Buff damageBuff = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), other.fighter(), player.fighter(), new BuffHook() {
+            @Override
+            public void onDamage(Buff buff, Damage value) {
+                calls.add("damage");
+            }
+        });
+        Buff lifeBuff = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), other.fighter(), player.fighter(), new BuffHook() {
+            @Override
+            public void onLifeAltered(Buff buff, int value) {
+                calls.add("life " + value);
+            }
+        });
+
+        list.add(damageBuff);
+        list.add(lifeBuff);
+
+        Damage damage = new Damage(10, Element.NEUTRAL);
+
+        list.onDirectDamage(other.fighter(), damage);
+        list.onBuffDamage(damageBuff, damage);
+        list.onDamageApplied(5);
+        list.onHealApplied(3);
+        list.onEndTurn(Mockito.mock(Turn.class));
+
+        assertEquals(Arrays.asList("damage", "damage", "life -5", "life 3"), calls);
+    }
+
+    @Test
+    void removedBuffShouldNotBeCalled() {
+        BuffHook hook1, hook2;
+        Buff buff1 = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), other.fighter(), player.fighter(), hook1 = Mockito.mock(BuffHook.class));
+        Buff buff2 = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), player.fighter(), player.fighter(), hook2 = Mockito.mock(BuffHook.class));
+
+        list.add(buff1);
+        list.add(buff2);
+        list.removeByCaster(other.fighter());
+
+        list.onDamageApplied(5);
+
+        Mockito.verify(hook1, Mockito.never()).onDamageApplied(buff1, 5);
+        Mockito.verify(hook2).onDamageApplied(buff2, 5);
+    }
+
+    @Test
+    void removeBuffDuringHookCall() {
+        BuffHook hook2 = Mockito.mock(BuffHook.class);
+        Buff buff2 = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), other.fighter(), player.fighter(), hook2);
+
+        BuffHook hook1 = new BuffHook() {
+            @Override
+            public void onDamageApplied(Buff buff, @NonNegative int value) {
+                list.removeByCaster(other.fighter());
+            }
+        };
+
+        Buff buff1 = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), player.fighter(), player.fighter(), hook1);
+        Buff buff3 = new Buff(Mockito.mock(SpellEffect.class), Mockito.mock(Spell.class), player.fighter(), player.fighter(), Mockito.mock(BuffHook.class));
+
+        list.add(buff1);
+        list.add(buff2);
+        list.add(buff3);
+
+        list.onDamageApplied(15);
+
+        assertIterableEquals(Arrays.asList(buff1, buff3), list);
+        Mockito.verify(hook2, Mockito.never()).onDamageApplied(buff2, 15);
+        Mockito.verify(hook2).onBuffTerminated(buff2);
+        Mockito.verify(buff3.hook()).onDamageApplied(buff3, 15);
+    }
 }
@@ -128,6 +128,7 @@ class DoubleFighterTest extends FightBaseCase {
         assertEquals(player.fighter().level(), fighter.level());
         assertSame(player.fighter(), fighter.invoker());
         assertTrue(fighter.invoked());
+        assertTrue(fighter.playable());
     }
 
     @Test
@@ -98,6 +98,7 @@ class InvocationFighterTest extends FightBaseCase {
         assertEquals(36, fighter.monster().id());
         assertSame(player.fighter(), fighter.invoker());
         assertTrue(fighter.invoked());
+        assertTrue(fighter.playable());
     }
 
     @Test
@@ -95,6 +95,7 @@ class StaticInvocationFighterTest extends FightBaseCase {
         assertEquals(36, fighter.monster().id());
         assertSame(player.fighter(), fighter.invoker());
         assertTrue(fighter.invoked());
+        assertFalse(fighter.playable());
         assertInstanceOf(EmptySpellList.class, fighter.spells());
     }
 
@@ -123,6 +123,7 @@ class MonsterFighterTest extends FightBaseCase {
         assertInstanceOf(Monster.class, fighter.monster());
         assertNull(fighter.invoker());
         assertFalse(fighter.invoked());
+        assertTrue(fighter.playable());
 
         assertEquals(new Interval(50, 70), fighter.reward().kamas());
         assertEquals(12, fighter.reward().experience());
@@ -20,8 +20,10 @@
 package fr.quatrevieux.araknemu.game.fight.fighter.player;
 
 import fr.quatrevieux.araknemu.data.constant.Characteristic;
+import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.FightBaseCase;
 import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterCharacteristicChanged;
+import fr.quatrevieux.araknemu.game.fight.turn.order.AlternateTeamFighterOrder;
 import fr.quatrevieux.araknemu.game.player.characteristic.PlayerCharacteristics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,13 +37,14 @@ class PlayerFighterCharacteristicsTest extends FightBaseCase {
     private PlayerCharacteristics baseCharacteristics;
     private PlayerFighterCharacteristics fighterCharacteristics;
     private PlayerFighter fighter;
+    private Fight fight;
 
     @Override
     @BeforeEach
     public void setUp() throws Exception {
         super.setUp();
 
-        createFight();
+        fight = createFight();
 
         baseCharacteristics = player.properties().characteristics();
         fighterCharacteristics = new PlayerFighterCharacteristics(baseCharacteristics, fighter = player.fighter());
@@ -65,6 +68,29 @@ class PlayerFighterCharacteristicsTest extends FightBaseCase {
         assertEquals(10 + baseCharacteristics.get(Characteristic.STRENGTH), fighterCharacteristics.get(Characteristic.STRENGTH));
     }
 
+    @Test
+    void getShouldFollowBaseChangesDuringPlacement() {
+        final int strength = fighterCharacteristics.get(Characteristic.STRENGTH);
+
+        baseCharacteristics.base().add(Characteristic.STRENGTH, 10);
+
+        assertEquals(strength + 10, fighterCharacteristics.get(Characteristic.STRENGTH));
+    }
+
+    @Test
+    void getOnActiveFightShouldBeUpdatedOnBuffChange() {
+        fight.start(new AlternateTeamFighterOrder());
+
+        final int strength = fighterCharacteristics.get(Characteristic.STRENGTH);
+
+        fighterCharacteristics.alter(Characteristic.STRENGTH, 10);
+        assertEquals(strength + 10, fighterCharacteristics.get(Characteristic.STRENGTH));
+
+        fighterCharacteristics.alter(Characteristic.STRENGTH, -15);
+        assertEquals(strength - 5, fighterCharacteristics.get(Characteristic.STRENGTH));
+        assertEquals(baseCharacteristics.get(Characteristic.AGILITY), fighterCharacteristics.get(Characteristic.AGILITY));
+    }
+
     @Test
     void delegates() {
         assertEquals(baseCharacteristics.base(), fighterCharacteristics.base());
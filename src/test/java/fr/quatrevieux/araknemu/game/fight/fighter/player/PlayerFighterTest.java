@@ -93,6 +93,7 @@ class PlayerFighterTest extends FightBaseCase {
     void invoker() {
         assertNull(fighter.invoker());
         assertFalse(fighter.invoked());
+        assertTrue(fighter.playable());
     }
 
     @Test
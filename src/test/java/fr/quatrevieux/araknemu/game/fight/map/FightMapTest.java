@@ -23,17 +23,22 @@ import fr.arakne.utils.maps.constant.Direction;
 import fr.quatrevieux.araknemu.core.di.ContainerException;
 import fr.quatrevieux.araknemu.data.world.repository.environment.MapTemplateRepository;
 import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
 
 class FightMapTest extends GameBaseCase {
     private FightMap map;
@@ -71,6 +76,16 @@ class FightMapTest extends GameBaseCase {
         assertSame(map.get(2), it.next());
     }
 
+    @Test
+    void walkableIgnoreFighterCells() {
+        List<BattlefieldCell> cells = map.walkableIgnoreFighterCells().collect(Collectors.toList());
+
+        assertSame(map.get(123), cells.get(cells.indexOf(map.get(123))));
+        assertFalse(cells.contains(map.get(1)));
+        assertTrue(cells.stream().allMatch(BattlefieldCell::walkableIgnoreFighter));
+        assertEquals(StreamSupport.stream(map.spliterator(), false).filter(BattlefieldCell::walkableIgnoreFighter).count(), cells.size());
+    }
+
     @Test
     void getWalkable() {
         FightCell cell = map.get(123);
@@ -109,4 +124,15 @@ class FightMapTest extends GameBaseCase {
         assertEquals(15, map.dimensions().width());
         assertEquals(479, map.size());
     }
+
+    @Test
+    void destroy() {
+        final Fighter fighter = mock(Fighter.class);
+
+        map.get(123).set(fighter);
+        map.destroy();
+
+        assertFalse(map.get(123).hasFighter());
+        assertSame(map.get(123), map.get(123));
+    }
 }
@@ -53,16 +53,16 @@ class UnwalkableFightCellTest extends GameBaseCase {
 
     @Test
     void sightBlocking() {
-        UnwalkableFightCell cell = new UnwalkableFightCell(map, mapTemplate.cells()[0], 0);
+        UnwalkableFightCell cell = new UnwalkableFightCell(map, 0);
         assertFalse(cell.sightBlocking());
 
-        cell = new UnwalkableFightCell(map, mapTemplate.cells()[11], 11);
+        cell = new UnwalkableFightCell(map, 11);
         assertTrue(cell.sightBlocking());
     }
 
     @Test
     void getters() {
-        UnwalkableFightCell cell = new UnwalkableFightCell(map, mapTemplate.cells()[0], 0);
+        UnwalkableFightCell cell = new UnwalkableFightCell(map, 0);
 
         assertEquals(0, cell.id());
         assertFalse(cell.walkable());
@@ -76,14 +76,14 @@ class UnwalkableFightCellTest extends GameBaseCase {
 
     @Test
     void set() {
-        UnwalkableFightCell cell = new UnwalkableFightCell(map, mapTemplate.cells()[0], 0);
+        UnwalkableFightCell cell = new UnwalkableFightCell(map, 0);
 
         assertThrows(FightMapException.class, () -> cell.set(Mockito.mock(Fighter.class)));
     }
 
     @Test
     void removeFighter() {
-        UnwalkableFightCell cell = new UnwalkableFightCell(map, mapTemplate.cells()[0], 0);
+        UnwalkableFightCell cell = new UnwalkableFightCell(map, 0);
 
         assertThrows(FightMapException.class, () -> cell.removeFighter());
         cell.removeFighter(Mockito.mock(Fighter.class)); //should not throw
@@ -91,8 +91,8 @@ class UnwalkableFightCellTest extends GameBaseCase {
 
     @Test
     void equals() {
-        UnwalkableFightCell cell0 = new UnwalkableFightCell(map, mapTemplate.cells()[0], 0);
-        UnwalkableFightCell cell1 = new UnwalkableFightCell(map, mapTemplate.cells()[1], 1);
+        UnwalkableFightCell cell0 = new UnwalkableFightCell(map, 0);
+        UnwalkableFightCell cell1 = new UnwalkableFightCell(map, 1);
 
         assertEquals(cell0, cell0);
         assertNotEquals(cell0, cell1);
@@ -49,7 +49,6 @@ class WalkableFightCellTest extends GameBaseCase {
 
         cell = new WalkableFightCell(
             map = new FightMap(container.get(MapTemplateRepository.class).get(10340)),
-            container.get(MapTemplateRepository.class).get(10340).cells()[123],
             123
         );
     }
@@ -126,7 +125,6 @@ class WalkableFightCellTest extends GameBaseCase {
     void equals() throws ContainerException {
         WalkableFightCell other = new WalkableFightCell(
             map = new FightMap(container.get(MapTemplateRepository.class).get(10340)),
-            container.get(MapTemplateRepository.class).get(10340).cells()[456],
             456
         );
 
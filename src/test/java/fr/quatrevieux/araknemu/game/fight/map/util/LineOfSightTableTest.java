@@ -0,0 +1,136 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.exploration.map.ExplorationMapService;
+import fr.quatrevieux.araknemu.game.fight.FightService;
+import fr.quatrevieux.araknemu.game.fight.ai.proxy.ProxyBattlefield;
+import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
+import fr.quatrevieux.araknemu.game.fight.fighter.FighterData;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldCell;
+import fr.quatrevieux.araknemu.game.fight.map.BattlefieldMap;
+import fr.quatrevieux.araknemu.game.fight.map.FightMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LineOfSightTableTest extends GameBaseCase {
+    private FightMap map;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        dataSet.pushMaps().pushSubAreas().pushAreas();
+        map = container.get(FightService.class).map(container.get(ExplorationMapService.class).load(10340));
+    }
+
+    @Test
+    void shouldBeSharedBetweenMapsOfSameTemplate() {
+        FightMap other = container.get(FightService.class).map(container.get(ExplorationMapService.class).load(10340));
+
+        assertSame(map.lineOfSight(), other.lineOfSight());
+    }
+
+    @Test
+    void memory() {
+        LineOfSightTable table = new LineOfSightTable(map.geometry().template());
+
+        assertEquals(0, table.memory());
+
+        table.isFree(map.get(123), map.get(125));
+        long memory = table.memory();
+
+        assertTrue(memory > 0);
+
+        // Row already computed
+        table.isFree(map.get(123), map.get(200));
+        assertEquals(memory, table.memory());
+
+        table.isFree(map.get(124), map.get(200));
+        assertTrue(table.memory() > memory);
+    }
+
+    @Test
+    void isFreeSimple() {
+        assertTrue(map.lineOfSight().isFree(map.get(123), map.get(123)));
+        assertTrue(map.lineOfSight().isFree(map.get(123), map.get(125)));
+        assertFalse(map.lineOfSight().isFree(map.get(186), map.get(299)));
+    }
+
+    @Test
+    void isFreeWithFighter() {
+        assertTrue(map.lineOfSight().isFree(map.get(123), map.get(125)));
+
+        map.get(124).set(Mockito.mock(Fighter.class));
+        assertFalse(map.lineOfSight().isFree(map.get(123), map.get(125)));
+        assertTrue(map.lineOfSight().isFree(map.get(123), map.get(124)));
+
+        map.get(124).removeFighter();
+        assertTrue(map.lineOfSight().isFree(map.get(123), map.get(125)));
+    }
+
+    @Test
+    void isFreeShouldBeSameAsCellSight() {
+        assertSameAsCellSight(map);
+    }
+
+    @Test
+    void isFreeWithFightersShouldBeSameAsCellSight() {
+        map.get(124).set(Mockito.mock(Fighter.class));
+        map.get(200).set(Mockito.mock(Fighter.class));
+        map.get(256).set(Mockito.mock(Fighter.class));
+
+        assertSameAsCellSight(map);
+    }
+
+    @Test
+    void isFreeOnProxyBattlefieldShouldBeSameAsCellSight() {
+        map.get(124).set(Mockito.mock(Fighter.class));
+        map.get(200).set(Mockito.mock(Fighter.class));
+
+        ProxyBattlefield proxy = new ProxyBattlefield(map).modify(modifier -> modifier
+            .free(124)
+            .setFighter(256, Mockito.mock(FighterData.class))
+        );
+
+        assertSame(map.lineOfSight(), proxy.lineOfSight());
+        assertSameAsCellSight(proxy);
+    }
+
+    private void assertSameAsCellSight(BattlefieldMap map) {
+        for (BattlefieldCell source : map) {
+            if (!source.walkableIgnoreFighter()) {
+                continue;
+            }
+
+            for (BattlefieldCell target : map) {
+                assertEquals(source.sight().isFree(target), map.lineOfSight().isFree(source, target), "Line of sight between " + source.id() + " and " + target.id());
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import fr.quatrevieux.araknemu.data.world.repository.environment.MapTemplateRepository;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.fight.map.FightMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MapGeometryCacheTest extends GameBaseCase {
+    private MapTemplate template;
+    private MapTemplate other;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        dataSet.pushMaps().pushSubAreas().pushAreas();
+        template = container.get(MapTemplateRepository.class).get(10340);
+        other = container.get(MapTemplateRepository.class).get(10540);
+    }
+
+    @Test
+    void getShouldBeShared() {
+        MapGeometryCache cache = new MapGeometryCache(1024 * 1024);
+        MapGeometry geometry = cache.get(template);
+
+        assertSame(template, geometry.template());
+        assertSame(geometry, cache.get(template));
+        assertNotSame(geometry, cache.get(other));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void getWithOtherTemplateInstanceShouldRecreateTheGeometry() {
+        MapGeometryCache cache = new MapGeometryCache(1024 * 1024);
+        MapTemplate copy = new MapTemplate(template.id(), template.date(), template.dimensions(), template.key(), template.cells(), template.fightPlaces(), template.geolocation(), template.subAreaId(), template.indoor());
+
+        assertNotSame(cache.get(template), cache.get(copy));
+        assertSame(cache.get(copy), cache.get(copy));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void clear() {
+        MapGeometryCache cache = new MapGeometryCache(1024 * 1024);
+        MapGeometry geometry = cache.get(template);
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.memory());
+        assertNotSame(geometry, cache.get(template));
+    }
+
+    @Test
+    void memory() {
+        MapGeometryCache cache = new MapGeometryCache(1024 * 1024);
+        FightMap map = new FightMap(cache.get(template));
+        FightMap otherMap = new FightMap(cache.get(other));
+
+        map.lineOfSight().isFree(map.get(123), map.get(125));
+        otherMap.lineOfSight().isFree(otherMap.get(123), otherMap.get(125));
+
+        assertEquals(map.geometry().memory() + otherMap.geometry().memory(), cache.memory());
+    }
+
+    @Test
+    void getShouldRemoveLeastRecentlyUsedGeometriesWhenMemoryLimitIsReached() {
+        MapGeometry geometry = new MapGeometry(template);
+        FightMap map = new FightMap(geometry);
+
+        map.lineOfSight().isFree(map.get(123), map.get(125));
+
+        // Only one computed row can be kept
+        MapGeometryCache cache = new MapGeometryCache(geometry.memory() + new MapGeometry(other).memory());
+
+        FightMap first = new FightMap(cache.get(template));
+        first.lineOfSight().isFree(first.get(123), first.get(125));
+
+        FightMap second = new FightMap(cache.get(other));
+        assertEquals(2, cache.size());
+
+        second.lineOfSight().isFree(second.get(123), second.get(125));
+
+        assertSame(second.geometry(), cache.get(other));
+        assertEquals(1, cache.size());
+        assertNotSame(first.geometry(), cache.get(template));
+    }
+
+    @Test
+    void getShouldNotRemoveTheRequestedGeometry() {
+        MapGeometryCache cache = new MapGeometryCache(0);
+        FightMap map = new FightMap(cache.get(template));
+
+        map.lineOfSight().isFree(map.get(123), map.get(125));
+
+        assertSame(map.geometry(), cache.get(template));
+        assertEquals(1, cache.size());
+    }
+}
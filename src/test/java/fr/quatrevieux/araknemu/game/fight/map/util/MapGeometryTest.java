@@ -0,0 +1,86 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.fight.map.util;
+
+import fr.quatrevieux.araknemu.data.world.entity.environment.MapTemplate;
+import fr.quatrevieux.araknemu.data.world.repository.environment.MapTemplateRepository;
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.fight.map.FightMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MapGeometryTest extends GameBaseCase {
+    private MapTemplate template;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        dataSet.pushMaps().pushSubAreas().pushAreas();
+        template = container.get(MapTemplateRepository.class).get(10340);
+    }
+
+    @Test
+    void values() {
+        MapGeometry geometry = new MapGeometry(template);
+
+        assertSame(template, geometry.template());
+        assertSame(geometry.lineOfSight(), geometry.lineOfSight());
+
+        assertTrue(geometry.walkable(123));
+        assertFalse(geometry.sightBlocking(123));
+
+        assertFalse(geometry.walkable(0));
+        assertFalse(geometry.sightBlocking(0));
+
+        assertFalse(geometry.walkable(11));
+        assertTrue(geometry.sightBlocking(11));
+    }
+
+    @Test
+    void fightMapsWithSameGeometryShouldShareStaticData() {
+        MapGeometry geometry = new MapGeometry(template);
+        FightMap map = new FightMap(geometry);
+        FightMap other = new FightMap(geometry);
+
+        assertSame(geometry, map.geometry());
+        assertSame(geometry.lineOfSight(), map.lineOfSight());
+        assertSame(map.lineOfSight(), other.lineOfSight());
+        assertNotSame(map.get(123), other.get(123));
+    }
+
+    @Test
+    void memoryShouldGrowWithComputedLineOfSight() {
+        FightMap map = new FightMap(template);
+        long initial = map.geometry().memory();
+
+        assertTrue(initial > 0);
+
+        map.lineOfSight().isFree(map.get(123), map.get(125));
+
+        assertTrue(map.geometry().memory() > initial);
+    }
+}
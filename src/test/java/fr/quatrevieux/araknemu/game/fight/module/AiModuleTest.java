@@ -22,10 +22,19 @@ package fr.quatrevieux.araknemu.game.fight.module;
 import fr.quatrevieux.araknemu.game.fight.Fight;
 import fr.quatrevieux.araknemu.game.fight.FightBaseCase;
 import fr.quatrevieux.araknemu.game.fight.ai.FighterAI;
+import fr.quatrevieux.araknemu.game.fight.ai.action.DummyGenerator;
 import fr.quatrevieux.araknemu.game.fight.ai.factory.AiFactory;
+import fr.quatrevieux.araknemu.game.fight.ai.factory.ChainAiFactory;
 import fr.quatrevieux.araknemu.game.fight.ai.memory.MemoryKey;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.CastSimulation;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.SimulationCache;
+import fr.quatrevieux.araknemu.game.fight.ai.simulation.Simulator;
 import fr.quatrevieux.araknemu.game.fight.fighter.Fighter;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterHidden;
+import fr.quatrevieux.araknemu.game.fight.fighter.event.FighterMoved;
+import fr.quatrevieux.araknemu.game.fight.fighter.player.PlayerFighter;
 import fr.quatrevieux.araknemu.game.fight.turn.FightTurn;
+import fr.quatrevieux.araknemu.game.fight.turn.action.util.BaseCriticalityStrategy;
 import groovy.util.logging.Log;
 import io.github.artsok.RepeatedIfExceptionsTest;
 import org.apache.logging.log4j.Logger;
@@ -34,6 +43,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -121,4 +131,49 @@ class AiModuleTest extends FightBaseCase {
 
         assertEquals(fight.turnList().fighters().get(2), fight.turnList().current().get().fighter());
     }
+
+    @Test
+    void fightChangeShouldInvalidateSimulationsOfCurrentAi() throws Exception {
+        Fight fight = createFight();
+        fight.register(new AiModule(new ChainAiFactory(), fight, Mockito.mock(Logger.class)));
+        fight.nextState();
+        fight.turnList().start();
+
+        PlayerFighter fighter = player.fighter();
+        FighterAI ai = new FighterAI(fighter, fight, new DummyGenerator());
+        fighter.attach(ai);
+
+        Simulator simulator = new Simulator(new BaseCriticalityStrategy());
+        SimulationCache cache = ai.get(SimulationCache.KEY);
+
+        cache.put(simulator, new CastSimulation(fighter.spells().get(3), fighter, fight.map().get(125)));
+        assertEquals(1, cache.size());
+
+        other.fighter().life().damage(fighter, 10);
+        assertEquals(0, cache.size());
+
+        cache.put(simulator, new CastSimulation(fighter.spells().get(3), fighter, fight.map().get(125)));
+        fight.dispatch(new FighterMoved(other.fighter(), fight.map().get(150)));
+        assertEquals(0, cache.size());
+
+        cache.put(simulator, new CastSimulation(fighter.spells().get(3), fighter, fight.map().get(125)));
+        fight.dispatch(new FighterHidden(other.fighter(), fighter));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void fightChangeShouldNotCreateSimulationCache() throws Exception {
+        Fight fight = createFight();
+        fight.register(new AiModule(new ChainAiFactory(), fight, Mockito.mock(Logger.class)));
+        fight.nextState();
+        fight.turnList().start();
+
+        PlayerFighter fighter = player.fighter();
+        FighterAI ai = new FighterAI(fighter, fight, new DummyGenerator());
+        fighter.attach(ai);
+
+        other.fighter().life().damage(fighter, 10);
+
+        assertFalse(ai.has(SimulationCache.KEY));
+    }
 }
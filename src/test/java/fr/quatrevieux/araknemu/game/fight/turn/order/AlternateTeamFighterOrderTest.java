@@ -323,6 +323,11 @@ class AlternateTeamFighterOrderTest extends TestCase {
             return false;
         }
 
+        @Override
+        public boolean playable() {
+            return true;
+        }
+
         @Override
         public void setInvoker(Fighter invoker) {
 
@@ -0,0 +1,62 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.game.listener.player.chat;
+
+import fr.quatrevieux.araknemu.game.GameBaseCase;
+import fr.quatrevieux.araknemu.game.chat.ChannelSubscribers;
+import fr.quatrevieux.araknemu.game.chat.ChannelType;
+import fr.quatrevieux.araknemu.game.handler.event.Disconnected;
+import fr.quatrevieux.araknemu.game.player.GamePlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UnregisterChannelSubscriberTest extends GameBaseCase {
+    private UnregisterChannelSubscriber listener;
+    private ChannelSubscribers subscribers;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        listener = new UnregisterChannelSubscriber(
+            gamePlayer(),
+            subscribers = new ChannelSubscribers()
+        );
+    }
+
+    @Test
+    void onDisconnected() throws Exception {
+        GamePlayer other = makeOtherPlayer();
+
+        subscribers.subscribe(gamePlayer(), Arrays.asList(ChannelType.PRIVATE, ChannelType.TRADE));
+        subscribers.subscribe(other, Arrays.asList(ChannelType.TRADE));
+
+        listener.on(new Disconnected());
+
+        assertEquals(0, subscribers.get(ChannelType.PRIVATE).length);
+        assertArrayEquals(new GamePlayer[] {other}, subscribers.get(ChannelType.TRADE));
+    }
+}
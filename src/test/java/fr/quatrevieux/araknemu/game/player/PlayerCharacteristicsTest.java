@@ -78,6 +78,17 @@ class PlayerCharacteristicsTest extends GameBaseCase {
         assertEquals(new ComputedCharacteristics<>(new DefaultCharacteristics()), characteristics.stuff());
     }
 
+    @Test
+    void getShouldFollowLevelChange() throws SQLException {
+        assertEquals(6, characteristics.get(Characteristic.ACTION_POINT));
+
+        gamePlayer().entity().setLevel(100);
+        assertEquals(7, characteristics.get(Characteristic.ACTION_POINT));
+
+        gamePlayer().entity().setLevel(50);
+        assertEquals(6, characteristics.get(Characteristic.ACTION_POINT));
+    }
+
     @Test
     void getFromBaseStats() {
         base.set(Characteristic.INTELLIGENCE, 250);
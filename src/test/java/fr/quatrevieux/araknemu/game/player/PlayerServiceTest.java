@@ -288,7 +288,7 @@ class PlayerServiceTest extends GameBaseCase {
         dispatcher.dispatch(new SavingGame());
         requestStack.assertLast(Error.saveInProgress());
 
-        dispatcher.dispatch(new GameSaved());
+        dispatcher.dispatch(new GameSaved(Duration.ZERO, 0));
         requestStack.assertLast(Error.saveTerminated());
     }
 
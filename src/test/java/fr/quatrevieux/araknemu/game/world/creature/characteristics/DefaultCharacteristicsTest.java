@@ -160,4 +160,17 @@ class DefaultCharacteristicsTest {
 
         assertEquals(70, c.get(Characteristic.INTELLIGENCE));
     }
+
+    @Test
+    void allCharacteristicsAreIndependent() {
+        DefaultCharacteristics c = new DefaultCharacteristics();
+
+        for (Characteristic characteristic : Characteristic.values()) {
+            c.set(characteristic, characteristic.id());
+        }
+
+        for (Characteristic characteristic : Characteristic.values()) {
+            assertEquals(characteristic.id(), c.get(characteristic));
+        }
+    }
 }
@@ -25,6 +25,7 @@ import fr.quatrevieux.araknemu.game.item.ItemService;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -47,4 +48,10 @@ class AddSpritesTest extends GameBaseCase {
             new AddSprites(Arrays.asList(p1.sprite(), p2.sprite())).toString()
         );
     }
+
+    @Test
+    void rendered() {
+        assertEquals("GM|+foo|+bar", AddSprites.rendered(Arrays.asList("foo", "bar")).toString());
+        assertEquals("GM", AddSprites.rendered(Collections.emptyList()).toString());
+    }
 }
@@ -31,6 +31,8 @@ import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RealmConfigurationTest {
     private RealmConfiguration configuration;
@@ -72,6 +74,23 @@ class RealmConfigurationTest {
         assertEquals(Duration.ofSeconds(30), configuration.banIpRefresh());
     }
 
+    @Test
+    void authenticationQueue() {
+        assertEquals(Runtime.getRuntime().availableProcessors(), configuration.authenticationThreads());
+        assertEquals(5000, configuration.authenticationQueueSize());
+    }
+
+    @Test
+    void network() {
+        assertTrue(configuration.network().nativeTransport());
+        assertEquals(1, configuration.network().bossThreads());
+        assertEquals(Runtime.getRuntime().availableProcessors(), configuration.network().workerThreads());
+        assertEquals(1, configuration.network().listeners());
+        assertTrue(configuration.network().tcpNoDelay());
+        assertFalse(configuration.network().coalesceWrites());
+        assertTrue(configuration.network().packetCosts().isEmpty());
+    }
+
     @Test
     void argon2() {
         assertEquals(4, configuration.argon2().iterations());
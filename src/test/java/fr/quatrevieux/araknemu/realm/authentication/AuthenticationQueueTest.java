@@ -0,0 +1,161 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.realm.authentication;
+
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthenticationQueueTest {
+    private AuthenticationQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        ExecutorFactory.enableTestingMode();
+        queue = new AuthenticationQueue(ExecutorFactory.create(1), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ExecutorFactory.resetTestingExecutor();
+    }
+
+    @Test
+    void pushWithDirectExecution() {
+        List<String> calls = new ArrayList<>();
+
+        AuthenticationQueue.Ticket ticket = queue.push(() -> calls.add("foo"), false);
+
+        assertNotNull(ticket);
+        assertEquals(0, ticket.position());
+        assertFalse(ticket.priority());
+        assertEquals(1, calls.size());
+        assertEquals(0, queue.size());
+        assertEquals(1, queue.processed());
+        assertEquals(0, queue.rejected());
+    }
+
+    @Test
+    void positionsAndPriority() throws InterruptedException {
+        ExecutorFactory.disableDirectExecution();
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        queue.push(() -> {
+            running.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }, false);
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        AuthenticationQueue.Ticket t1 = queue.push(() -> calls.add("t1"), false);
+        AuthenticationQueue.Ticket t2 = queue.push(() -> calls.add("t2"), false);
+
+        assertEquals(1, t1.position());
+        assertEquals(2, t2.position());
+        assertEquals(2, queue.size());
+
+        AuthenticationQueue.Ticket t3 = queue.push(() -> calls.add("t3"), true);
+
+        assertTrue(t3.priority());
+        assertEquals(1, t3.position());
+        assertEquals(2, t1.position());
+        assertEquals(3, t2.position());
+
+        release.countDown();
+
+        for (int i = 0; i < 500 && calls.size() < 3; ++i) {
+            Thread.sleep(10);
+        }
+
+        assertEquals("[t3, t1, t2]", calls.toString());
+        assertEquals(0, t1.position());
+        assertEquals(0, t2.position());
+        assertEquals(0, t3.position());
+        assertEquals(4, queue.processed());
+        assertTrue(queue.maxWaitTime().compareTo(Duration.ZERO) > 0);
+        assertTrue(queue.averageWaitTime().compareTo(queue.maxWaitTime()) <= 0);
+    }
+
+    @Test
+    void pushQueueFull() throws InterruptedException {
+        ExecutorFactory.disableDirectExecution();
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        queue.push(() -> {
+            running.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }, false);
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        assertNotNull(queue.push(() -> {}, false));
+        assertNotNull(queue.push(() -> {}, false));
+        assertNotNull(queue.push(() -> {}, true));
+        assertNull(queue.push(() -> {}, true));
+        assertEquals(3, queue.size());
+        assertEquals(3, queue.capacity());
+        assertEquals(1, queue.rejected());
+
+        release.countDown();
+    }
+
+    @Test
+    void shutdown() {
+        queue.shutdown();
+
+        assertNull(queue.push(() -> {}, false));
+        assertEquals(1, queue.rejected());
+    }
+
+    @Test
+    void averageWaitTimeWithoutProcessedTasks() {
+        assertEquals(Duration.ZERO, queue.averageWaitTime());
+        assertEquals(Duration.ZERO, queue.maxWaitTime());
+    }
+}
@@ -28,8 +28,10 @@ import fr.quatrevieux.araknemu.data.living.repository.account.AccountRepository;
 import fr.quatrevieux.araknemu.realm.RealmBaseCase;
 import fr.quatrevieux.araknemu.realm.authentication.password.PasswordManager;
 import fr.quatrevieux.araknemu.realm.authentication.password.PlainTextHash;
+import fr.quatrevieux.araknemu.realm.event.AuthStopped;
 import fr.quatrevieux.araknemu.realm.host.GameHost;
 import fr.quatrevieux.araknemu.realm.host.HostService;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -38,6 +40,7 @@ import java.time.temporal.ChronoUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class AuthenticationServiceTest extends RealmBaseCase {
@@ -54,7 +57,8 @@ class AuthenticationServiceTest extends RealmBaseCase {
             container.get(AccountRepository.class),
             container.get(HostService.class),
             container.get(PasswordManager.class),
-            container.get(BanishmentService.class)
+            container.get(BanishmentService.class),
+            container.get(AuthenticationQueue.class)
         );
 
         dataSet.use(Account.class, Banishment.class);
@@ -158,6 +162,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
 
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
 
@@ -202,6 +216,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
 
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
 
@@ -255,6 +279,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
 
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
 
@@ -308,6 +342,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
                 response = "isPlaying";
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
                 response = "banned";
@@ -362,6 +406,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
                 response = "isPlaying";
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
                 response = "banned";
@@ -409,6 +463,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
                 response = "isPlaying";
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
                 response = "banned";
@@ -457,6 +521,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
                 response = "isPlaying";
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
                 response = "banned";
@@ -506,6 +580,16 @@ class AuthenticationServiceTest extends RealmBaseCase {
                 response = "isPlaying";
             }
 
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
             @Override
             public void banned() {
                 response = "banned";
@@ -516,6 +600,77 @@ class AuthenticationServiceTest extends RealmBaseCase {
         assertEquals("pseudo", _account.pseudo());
     }
 
+    @Test
+    void authenticateQueueFull() throws ContainerException {
+        dataSet.push(new Account(-1, "test", "password", "pseudo"));
+
+        service = new AuthenticationService(
+            container.get(AccountRepository.class),
+            container.get(HostService.class),
+            container.get(PasswordManager.class),
+            container.get(BanishmentService.class),
+            new AuthenticationQueue(ExecutorFactory.create(1), 0)
+        );
+
+        service.authenticate(new AuthenticationRequest() {
+            @Override
+            public String username() {
+                return "test";
+            }
+
+            @Override
+            public String password() {
+                return "password";
+            }
+
+            @Override
+            public void success(AuthenticationAccount account) {
+                response = "success";
+            }
+
+            @Override
+            public void invalidCredentials() {
+                response = "invalidCredentials";
+            }
+
+            @Override
+            public void alreadyConnected() {
+                response = "alreadyConnected";
+            }
+
+            @Override
+            public void isPlaying() {
+                response = "isPlaying";
+            }
+
+            @Override
+            public void queued(AuthenticationQueue.Ticket ticket) {
+                response = "queued";
+            }
+
+            @Override
+            public void queueFull() {
+                response = "queueFull";
+            }
+
+            @Override
+            public void banned() {
+                response = "banned";
+            }
+        });
+
+        assertEquals("queueFull", response);
+        assertEquals(1, service.queue().rejected());
+    }
+
+    @Test
+    void listenerOnAuthStoppedShouldShutdownQueue() {
+        container.get(ListenerAggregate.class).register(service);
+        container.get(ListenerAggregate.class).dispatch(new AuthStopped());
+
+        assertNull(service.queue().push(() -> {}, false));
+    }
+
     @Test
     void listenerOnHostUpdatedShouldSendToAuthenticatedAccountsHostsList() {
         AuthenticationAccount account = new AuthenticationAccount(
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.realm.handler;
+
+import fr.quatrevieux.araknemu.network.in.AskQueuePosition;
+import fr.quatrevieux.araknemu.network.out.QueuePosition;
+import fr.quatrevieux.araknemu.realm.RealmBaseCase;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
+import fr.quatrevieux.araknemu.util.ExecutorFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckQueuePositionTest extends RealmBaseCase {
+    @Test
+    void handleWithoutTicket() {
+        new CheckQueuePosition().handle(session, new AskQueuePosition());
+
+        requestStack.assertLast(new QueuePosition(1));
+    }
+
+    @Test
+    void handleWithProcessedTicket() {
+        AuthenticationQueue queue = new AuthenticationQueue(ExecutorFactory.create(1), 10);
+        session.setQueueTicket(queue.push(() -> {}, false));
+
+        new CheckQueuePosition().handle(session, new AskQueuePosition());
+
+        requestStack.assertLast(new QueuePosition(1));
+    }
+
+    @Test
+    void handleWithPendingTicket() throws InterruptedException {
+        ExecutorFactory.disableDirectExecution();
+
+        AuthenticationQueue queue = new AuthenticationQueue(ExecutorFactory.create(1), 10);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        queue.push(() -> {
+            running.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }, false);
+
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        queue.push(() -> {}, false);
+        session.setQueueTicket(queue.push(() -> {}, false));
+
+        new CheckQueuePosition().handle(session, new AskQueuePosition());
+        requestStack.assertLast(new QueuePosition(2));
+
+        release.countDown();
+    }
+}
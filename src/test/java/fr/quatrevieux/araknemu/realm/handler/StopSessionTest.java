@@ -25,6 +25,7 @@ import fr.quatrevieux.araknemu.data.living.entity.account.Account;
 import fr.quatrevieux.araknemu.data.living.repository.account.AccountRepository;
 import fr.quatrevieux.araknemu.realm.RealmBaseCase;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationAccount;
+import fr.quatrevieux.araknemu.realm.authentication.AuthenticationQueue;
 import fr.quatrevieux.araknemu.realm.authentication.AuthenticationService;
 import fr.quatrevieux.araknemu.realm.authentication.password.PasswordManager;
 import fr.quatrevieux.araknemu.realm.authentication.password.PlainTextHash;
@@ -48,7 +49,8 @@ class StopSessionTest extends RealmBaseCase {
                 container.get(AccountRepository.class),
                 container.get(HostService.class),
                 container.get(PasswordManager.class),
-                container.get(BanishmentService.class)
+                container.get(BanishmentService.class),
+                container.get(AuthenticationQueue.class)
             )
         );
     }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -77,6 +78,7 @@ class ExecutorFactoryTest {
         assertNotSame(ExecutorFactory.createSingleThread(), e);
         assertEquals("TestingExecutor", e.getClass().getSimpleName());
         assertEquals("TestingExecutor", ExecutorFactory.create(5).getClass().getSimpleName());
+        assertEquals("TestingExecutor", ExecutorFactory.createWithWheelTimer(5, Duration.ofMillis(10)).getClass().getSimpleName());
     }
 
     @Test
@@ -85,11 +87,14 @@ class ExecutorFactoryTest {
 
         ScheduledExecutorService e1 = ExecutorFactory.createSingleThread();
         ScheduledExecutorService e2 = ExecutorFactory.create(2);
+        ScheduledExecutorService e3 = ExecutorFactory.createWithWheelTimer(2, Duration.ofMillis(10));
 
         assertNotEquals("TestingExecutor", e1.getClass().getSimpleName());
         assertNotEquals("TestingExecutor", e2.getClass().getSimpleName());
+        assertEquals("WheelTimerExecutorService", e3.getClass().getSimpleName());
 
         e1.shutdown();
         e2.shutdown();
+        e3.shutdown();
     }
 }
@@ -0,0 +1,83 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LatencyHistogramTest {
+    @Test
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.count());
+        assertEquals(Duration.ZERO, histogram.average());
+        assertEquals(Duration.ZERO, histogram.max());
+        assertEquals(Duration.ZERO, histogram.percentile(50));
+        assertEquals("p50=0.00ms, p99=0.00ms, max=0.00ms", histogram.toString());
+    }
+
+    @Test
+    void record() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 98; ++i) {
+            histogram.record(200_000); // 200µs
+        }
+
+        histogram.record(20_000_000); // 20ms
+        histogram.record(2_000_000_000); // 2s
+        histogram.record(-5);
+
+        assertEquals(101, histogram.count());
+        assertEquals(Duration.ofSeconds(2), histogram.max());
+        assertEquals(Duration.ofNanos((98 * 200_000L + 20_000_000L + 2_000_000_000L) / 101), histogram.average());
+
+        assertEquals(Duration.ofNanos(10_000), histogram.percentile(0));
+        assertEquals(Duration.ofNanos(500_000), histogram.percentile(50));
+        assertEquals(Duration.ofMillis(50), histogram.percentile(99));
+        assertEquals(Duration.ofSeconds(2), histogram.percentile(100));
+        assertEquals("p50=0.50ms, p99=50.00ms, max=2000.00ms", histogram.toString());
+    }
+
+    @Test
+    void percentileBoundedByMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(2_000_000);
+
+        assertEquals(Duration.ofMillis(2), histogram.percentile(50));
+    }
+
+    @Test
+    void reset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(2_000_000);
+        histogram.reset();
+
+        assertEquals(0, histogram.count());
+        assertEquals(Duration.ZERO, histogram.max());
+        assertEquals(Duration.ZERO, histogram.percentile(99));
+    }
+}
@@ -28,8 +28,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SafeLinkedListTest {
     @Test
@@ -217,4 +219,47 @@ class SafeLinkedListTest {
         assertIterableEquals(Arrays.asList(1, 2, 3, 12, 13, 14, 13, 14, 15, 14, 15, 16), walked);
         assertIterableEquals(Arrays.asList(1, 2, 3, 12, 13, 14, 13, 14, 15, 14, 15, 16), list);
     }
+
+    @Test
+    void removeElement() {
+        SafeLinkedList<Integer> list = new SafeLinkedList<>();
+
+        list.add(1);
+        list.add(2);
+        list.add(3);
+
+        assertTrue(list.remove(2));
+        assertFalse(list.remove(2));
+        assertIterableEquals(Arrays.asList(1, 3), list);
+
+        assertTrue(list.remove(1));
+        assertTrue(list.remove(3));
+        assertIterableEquals(Arrays.asList(), list);
+
+        list.add(4);
+        assertIterableEquals(Arrays.asList(4), list);
+    }
+
+    @Test
+    void removeElementDuringIteration() {
+        SafeLinkedList<Integer> list = new SafeLinkedList<>();
+
+        list.add(1);
+        list.add(2);
+        list.add(3);
+        list.add(4);
+
+        List<Integer> walked = new ArrayList<>();
+
+        for (int i : list) {
+            walked.add(i);
+
+            if (i == 2) {
+                list.remove(3);
+            }
+        }
+
+        assertIterableEquals(Arrays.asList(1, 2, 4), walked);
+        assertIterableEquals(Arrays.asList(1, 2, 4), list);
+    }
 }
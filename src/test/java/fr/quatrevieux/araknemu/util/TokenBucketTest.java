@@ -0,0 +1,156 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    @Test
+    void invalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void tryAcquireBurst() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(3, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        assertEquals(3, limiter.capacity());
+        assertTrue(bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+
+        assertEquals(3, limiter.accepted());
+        assertEquals(2, limiter.dropped());
+    }
+
+    @Test
+    void tryAcquireShouldRefillContinuously() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(4, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        for (int i = 0; i < 4; ++i) {
+            assertTrue(bucket.tryAcquire(1));
+        }
+
+        assertFalse(bucket.tryAcquire(1));
+
+        time.addAndGet(Duration.ofMillis(250).toNanos());
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+
+        time.addAndGet(Duration.ofMillis(500).toNanos());
+        assertTrue(bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void tryAcquireShouldNotAllowBurstOnWindowBoundary() {
+        AtomicLong time = new AtomicLong(Duration.ofMillis(900).toNanos());
+        TokenBucket limiter = new TokenBucket(10, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        int accepted = 0;
+
+        for (int i = 0; i < 10; ++i) {
+            accepted += bucket.tryAcquire(1) ? 1 : 0;
+        }
+
+        time.addAndGet(Duration.ofMillis(200).toNanos());
+
+        for (int i = 0; i < 10; ++i) {
+            accepted += bucket.tryAcquire(1) ? 1 : 0;
+        }
+
+        assertEquals(12, accepted);
+    }
+
+    @Test
+    void tryAcquireShouldNotExceedCapacityAfterLongIdle() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(2, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        time.addAndGet(Duration.ofHours(1).toNanos());
+
+        assertTrue(bucket.tryAcquire(1));
+        assertTrue(bucket.tryAcquire(1));
+        assertFalse(bucket.tryAcquire(1));
+    }
+
+    @Test
+    void tryAcquireWithCost() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(5, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        assertTrue(bucket.tryAcquire(3));
+        assertFalse(bucket.tryAcquire(3));
+        assertTrue(bucket.tryAcquire(2));
+        assertTrue(bucket.tryAcquire(0));
+        assertFalse(limiter.bucket().tryAcquire(6));
+        assertFalse(limiter.bucket().tryAcquire(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void bucketsShouldBeIndependent() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(1, Duration.ofSeconds(1), time::get);
+        TokenBucket.Bucket first = limiter.bucket();
+        TokenBucket.Bucket second = limiter.bucket();
+
+        assertTrue(first.tryAcquire(1));
+        assertFalse(first.tryAcquire(1));
+        assertTrue(second.tryAcquire(1));
+
+        assertEquals(2, limiter.accepted());
+        assertEquals(1, limiter.dropped());
+    }
+
+    @Test
+    void delay() {
+        AtomicLong time = new AtomicLong();
+        TokenBucket limiter = new TokenBucket(1, Duration.ofSeconds(30), time::get);
+        TokenBucket.Bucket bucket = limiter.bucket();
+
+        assertEquals(Duration.ZERO, bucket.delay(1));
+        assertTrue(bucket.tryAcquire(1));
+        assertEquals(Duration.ofSeconds(30), bucket.delay(1));
+
+        time.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(Duration.ofSeconds(20), bucket.delay(1));
+
+        time.addAndGet(Duration.ofSeconds(25).toNanos());
+        assertEquals(Duration.ZERO, bucket.delay(1));
+    }
+}
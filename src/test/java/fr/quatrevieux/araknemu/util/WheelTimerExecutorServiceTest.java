@@ -0,0 +1,205 @@
+/*
+ * This file is part of Araknemu.
+ *
+ * Araknemu is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Araknemu is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with Araknemu.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ * Copyright (c) 2017-2024 Vincent Quatrevieux
+ */
+
+package fr.quatrevieux.araknemu.util;
+
+import io.netty.util.HashedWheelTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WheelTimerExecutorServiceTest {
+    private WheelTimerExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new WheelTimerExecutorService(
+            Executors.newFixedThreadPool(2),
+            new HashedWheelTimer(5, TimeUnit.MILLISECONDS)
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute() throws InterruptedException {
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        executor.execute(() -> thread.set(Thread.currentThread().getName()));
+        Thread.sleep(20);
+
+        assertTrue(thread.get().startsWith("pool-"));
+    }
+
+    @Test
+    void scheduleShouldRunOnWorkerThreadAfterDelay() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+
+        ScheduledFuture<?> future = executor.schedule(() -> thread.set(Thread.currentThread().getName()), 50, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.getDelay(TimeUnit.MILLISECONDS) > 30);
+        assertFalse(future.isDone());
+
+        future.get(1, TimeUnit.SECONDS);
+
+        assertTrue(future.isDone());
+        assertTrue(thread.get().startsWith("pool-"));
+    }
+
+    @Test
+    void scheduleCallable() throws Exception {
+        assertEquals("foo", executor.schedule(() -> "foo", 10, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancel() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean(false);
+
+        ScheduledFuture<?> future = executor.schedule(() -> executed.set(true), 20, TimeUnit.MILLISECONDS);
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+        Thread.sleep(50);
+
+        assertFalse(executed.get());
+        assertFalse(future.cancel(false));
+    }
+
+    @Test
+    void cancelAfterExecution() throws Exception {
+        ScheduledFuture<?> future = executor.schedule(() -> {}, 5, TimeUnit.MILLISECONDS);
+
+        future.get(1, TimeUnit.SECONDS);
+
+        assertFalse(future.cancel(false));
+    }
+
+    @Test
+    void exceptionShouldBeReportedOnFuture() {
+        ScheduledFuture<?> future = executor.schedule(() -> { throw new IllegalStateException("my error"); }, 5, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertEquals("my error", e.getCause().getMessage());
+    }
+
+    @Test
+    void compareTo() {
+        ScheduledFuture<?> first = executor.schedule(() -> {}, 1, TimeUnit.SECONDS);
+        ScheduledFuture<?> second = executor.schedule(() -> {}, 2, TimeUnit.SECONDS);
+
+        assertTrue(first.compareTo(second) < 0);
+        assertTrue(second.compareTo(first) > 0);
+    }
+
+    @Test
+    void scheduleAtFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = executor.scheduleAtFixedRate(latch::countDown, 5, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertFalse(future.isDone());
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void scheduleWithFixedDelay() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+
+        ScheduledFuture<?> future = executor.scheduleWithFixedDelay(latch::countDown, 5, 10, TimeUnit.MILLISECONDS);
+
+        assertTrue(latch.await(1, TimeUnit.SECONDS));
+        assertFalse(future.isDone());
+
+        assertTrue(future.cancel(false));
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    void periodicTaskShouldStopOnCancel() throws InterruptedException {
+        AtomicInteger count = new AtomicInteger();
+
+        ScheduledFuture<?> future = executor.scheduleAtFixedRate(count::incrementAndGet, 5, 5, TimeUnit.MILLISECONDS);
+
+        while (count.get() == 0) {
+            Thread.sleep(1);
+        }
+
+        future.cancel(false);
+        Thread.sleep(20);
+
+        int last = count.get();
+        Thread.sleep(50);
+
+        assertEquals(last, count.get());
+    }
+
+    @Test
+    void periodicTaskShouldStopOnError() {
+        AtomicInteger count = new AtomicInteger();
+
+        ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
+            count.incrementAndGet();
+            throw new IllegalStateException("my error");
+        }, 5, 5, TimeUnit.MILLISECONDS);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertEquals("my error", e.getCause().getMessage());
+        assertEquals(1, count.get());
+    }
+
+    @Test
+    void periodicTaskInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> executor.scheduleAtFixedRate(() -> {}, 1, 0, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> executor.scheduleWithFixedDelay(() -> {}, 1, -1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shutdownNowShouldReturnPendingTasks() throws InterruptedException {
+        executor.schedule(() -> {}, 1, TimeUnit.SECONDS);
+        executor.schedule(() -> {}, 1, TimeUnit.SECONDS);
+
+        List<Runnable> pending = executor.shutdownNow();
+
+        assertEquals(2, pending.size());
+        assertTrue(executor.isShutdown());
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        assertTrue(executor.isTerminated());
+    }
+}